@@ -0,0 +1,26 @@
+package app.tracktune.benchmarks;
+
+import app.tracktune.model.comments.Comment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the {@link app.tracktune.model.comments.CommentDAO} queries listing the comments of a resource.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommentDAOBenchmark {
+
+    /**
+     * Reads the comments of a resource.
+     */
+    @Benchmark
+    public List<Comment> getAllCommentByResource(DatabaseState state) {
+        return state.getDaoProvider().getCommentDAO().getAllCommentByResource(state.nextCommentedResourceId());
+    }
+}
@@ -0,0 +1,43 @@
+package app.tracktune.benchmarks;
+
+import app.tracktune.model.resource.ResourceSummary;
+import app.tracktune.utils.SQLiteScripts;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the {@link SQLiteScripts} queries filling the dashboard.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+
+    /**
+     * Reads the most recent resources.
+     */
+    @Benchmark
+    public List<ResourceSummary> getMostRecentResources(DatabaseState state) {
+        return SQLiteScripts.getMostRecentResources(state.getDbManager());
+    }
+
+    /**
+     * Reads the most popular resources.
+     */
+    @Benchmark
+    public List<ResourceSummary> getMostPopularResources(DatabaseState state) {
+        return SQLiteScripts.getMostPopularResources(state.getDbManager());
+    }
+
+    /**
+     * Reads the most commented resources.
+     */
+    @Benchmark
+    public List<ResourceSummary> getMostCommentedResources(DatabaseState state) {
+        return SQLiteScripts.getMostCommentedResources(state.getDbManager());
+    }
+}
@@ -0,0 +1,85 @@
+package app.tracktune.benchmarks;
+
+import app.tracktune.model.DAOProvider;
+import app.tracktune.utils.DatabaseManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Database the DAO benchmarks run on, generated by {@link SyntheticDatabase} at every scale of {@link #rows}.
+ * <p>
+ * The {@link DatabaseManager} is pointed to the generated database once per trial, and the IDs the benchmarks
+ * query are drawn from a fixed seed, so that a benchmark reads different rows at every invocation
+ * but the same sequence of rows at every run.
+ */
+@State(Scope.Benchmark)
+public class DatabaseState {
+    /**
+     * Scale of the database: number of tracks, resources and comments.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private DatabaseManager dbManager;
+    private DAOProvider daoProvider;
+    private SplittableRandom random;
+
+    /**
+     * Generates the database, if not generated yet, and connects to it.
+     *
+     * @throws Exception if the database cannot be generated
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        DatabaseManager.setDatabasePath(SyntheticDatabase.open(rows).toString());
+        dbManager = DatabaseManager.getInstance();
+        daoProvider = DatabaseManager.getDAOProvider();
+        random = new SplittableRandom(rows);
+    }
+
+    /**
+     * Returns the database manager connected to the generated database.
+     *
+     * @return the database manager
+     */
+    public DatabaseManager getDbManager() {
+        return dbManager;
+    }
+
+    /**
+     * Returns the DAOs reading the generated database.
+     *
+     * @return the DAO provider
+     */
+    public DAOProvider getDaoProvider() {
+        return daoProvider;
+    }
+
+    /**
+     * Draws the ID of a track, which has one resource with the same ID.
+     *
+     * @return a track ID
+     */
+    public int nextTrackId() {
+        return random.nextInt(rows) + 1;
+    }
+
+    /**
+     * Draws the ID of an author, which has about a hundred tracks.
+     *
+     * @return an author ID
+     */
+    public int nextAuthorId() {
+        return random.nextInt(SyntheticDatabase.getAuthorCount(rows)) + 1;
+    }
+
+    /**
+     * Draws the ID of a resource having comments, about a hundred each.
+     *
+     * @return a resource ID
+     */
+    public int nextCommentedResourceId() {
+        return random.nextInt(SyntheticDatabase.getCommentedResourceCount(rows)) + 1;
+    }
+}
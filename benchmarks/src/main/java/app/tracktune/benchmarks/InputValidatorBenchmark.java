@@ -0,0 +1,66 @@
+package app.tracktune.benchmarks;
+
+import app.tracktune.utils.InputValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a check of the {@link InputValidator}, compared with the check it replaced,
+ * which compiled the pattern and upper-cased the text on every call.
+ * <p>
+ * Every invocation checks a batch of names, as a bulk import of authors or genres does,
+ * so the score is the time to validate the whole batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputValidatorBenchmark {
+    /**
+     * Pattern of the replaced check.
+     */
+    private static final String LEGACY_PATTERN = "(--|;|\\bDROP\\b|\\bSELECT\\b|\\bINSERT\\b|\\bUPDATE\\b|\\bDELETE\\b|\\bTRUNCATE\\b|\\bALTER\\b|\\bCREATE\\b|\\bEXEC\\b|\\bUNION\\b|\\bFROM\\b|\\bWHERE\\b|\\bJOIN\\b)";
+
+    /**
+     * Number of names of a batch.
+     */
+    @Param({"1", "1000"})
+    public int names;
+
+    private String[] batch;
+
+    /**
+     * Builds a batch of plausible author names, one in a hundred being an injection attempt.
+     */
+    @Setup
+    public void setup() {
+        batch = new String[names];
+        for (int i = 0; i < names; i++) {
+            batch[i] = i % 100 == 99 ? "Author " + i + "'; DROP TABLE Authors; --" : "The Author Number " + i;
+        }
+    }
+
+    /**
+     * Validates the batch with the precompiled pattern.
+     */
+    @Benchmark
+    public void precompiled(Blackhole blackhole) {
+        for (String name : batch) {
+            blackhole.consume(InputValidator.isInvalid(name));
+        }
+    }
+
+    /**
+     * Validates the batch as the replaced check did.
+     */
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String name : batch) {
+            blackhole.consume(name.isBlank() || name.toUpperCase().matches(".*" + LEGACY_PATTERN + ".*"));
+        }
+    }
+}
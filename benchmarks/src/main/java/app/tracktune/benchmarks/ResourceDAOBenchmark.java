@@ -0,0 +1,26 @@
+package app.tracktune.benchmarks;
+
+import app.tracktune.model.resource.Resource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the {@link app.tracktune.model.resource.ResourceDAO} queries listing resources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceDAOBenchmark {
+
+    /**
+     * Reads the resources of a track, with their content.
+     */
+    @Benchmark
+    public List<Resource> getAllByTrackID(DatabaseState state) {
+        return state.getDaoProvider().getResourceDAO().getAllByTrackID(state.nextTrackId());
+    }
+}
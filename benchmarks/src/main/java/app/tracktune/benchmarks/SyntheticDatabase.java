@@ -0,0 +1,242 @@
+package app.tracktune.benchmarks;
+
+import app.tracktune.model.resource.ResourceTypeEnum;
+import app.tracktune.utils.SchemaMigrator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.util.Random;
+
+/**
+ * Generates the databases the DAO benchmarks run on, with the application schema and a given number of rows.
+ * <p>
+ * A database of scale {@code rows} holds that many tracks, each with one resource, one author and one genre,
+ * and that many comments; the authors and genres are a hundredth of the tracks, so every author and genre
+ * has about a hundred tracks, and the comments are spread over the resources of the first hundredth of the tracks,
+ * about a hundred per resource.
+ * <p>
+ * The content is generated from a fixed seed, so every run measures the same data. A database is generated once
+ * per scale and schema version, and reused by the following runs and by every fork of the benchmarks.
+ */
+public final class SyntheticDatabase {
+    /**
+     * Directory of the generated databases.
+     */
+    private static final Path DIRECTORY = Paths.get("target", "databases");
+
+    /**
+     * Number of rows inserted by a batch.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * Size in bytes of the content of every resource.
+     */
+    private static final int RESOURCE_SIZE = 256;
+
+    private static final String INSERT_USER_STMT = """
+        INSERT INTO Users (username, password, name, surname, status, creationDate, isAdmin)
+        VALUES ('benchmark', 'benchmark', 'Bench', 'Mark', 0, ?, 0)
+        RETURNING ID
+    """;
+
+    private static final String INSERT_AUTHOR_STMT = """
+        INSERT INTO Authors (ID, authorshipName, status)
+        VALUES (?, ?, 0)
+    """;
+
+    private static final String INSERT_GENRE_STMT = """
+        INSERT INTO Genres (ID, name, description)
+        VALUES (?, ?, ?)
+    """;
+
+    private static final String INSERT_TRACK_STMT = """
+        INSERT INTO Tracks (ID, userID, title, creationDate)
+        VALUES (?, ?, ?, ?)
+    """;
+
+    private static final String INSERT_TRACK_AUTHOR_STMT = """
+        INSERT INTO TracksAuthors (trackID, authorID)
+        VALUES (?, ?)
+    """;
+
+    private static final String INSERT_TRACK_GENRE_STMT = """
+        INSERT INTO TracksGenres (trackID, genreID)
+        VALUES (?, ?)
+    """;
+
+    private static final String INSERT_RESOURCE_STMT = """
+        INSERT INTO Resources (ID, type, data, contentSize, contentVersion, creationDate, isMultimedia, isAuthor, trackID, userID)
+        VALUES (?, ?, ?, ?, random(), ?, 0, 0, ?, ?)
+    """;
+
+    private static final String INSERT_COMMENT_STMT = """
+        INSERT INTO Comments (description, startTrackInterval, endTrackInterval, creationDate, userID, resourceID)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
+    private SyntheticDatabase() {
+    }
+
+    /**
+     * Returns the number of authors, and of genres, of a database.
+     *
+     * @param rows the scale of the database
+     * @return the author count, at least 1
+     */
+    public static int getAuthorCount(int rows) {
+        return Math.max(1, rows / 100);
+    }
+
+    /**
+     * Returns the number of resources holding the comments of a database.
+     *
+     * @param rows the scale of the database
+     * @return the commented resource count, at least 1
+     */
+    public static int getCommentedResourceCount(int rows) {
+        return Math.max(1, rows / 100);
+    }
+
+    /**
+     * Returns the database of the given scale, generating it if it does not exist yet.
+     *
+     * @param rows the number of tracks, resources and comments
+     * @return the path of the database file
+     * @throws SQLException if the database cannot be generated
+     * @throws IOException  if the database file cannot be written
+     */
+    public static synchronized Path open(int rows) throws SQLException, IOException {
+        Path file = DIRECTORY.resolve("tracktune-" + rows + "-v" + SchemaMigrator.getLatestVersion() + ".db");
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+
+        Files.createDirectories(DIRECTORY);
+        // generated aside and moved when complete, so an interrupted run leaves no partial database
+        Path tmp = DIRECTORY.resolve(file.getFileName() + ".tmp");
+        Files.deleteIfExists(tmp);
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + tmp)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = OFF;");
+                statement.execute("PRAGMA synchronous = OFF;");
+            }
+            SchemaMigrator.migrate(connection);
+            connection.setAutoCommit(false);
+            fill(connection, rows);
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE;");
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    /**
+     * Inserts the rows of a database.
+     *
+     * @param connection the connection to the empty database, in a transaction
+     * @param rows       the scale of the database
+     * @throws SQLException if an insertion fails
+     */
+    private static void fill(Connection connection, int rows) throws SQLException {
+        Random random = new Random(rows);
+        long now = System.currentTimeMillis();
+        int authors = getAuthorCount(rows);
+        int commentedResources = getCommentedResourceCount(rows);
+
+        int userId;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER_STMT)) {
+            statement.setTimestamp(1, new Timestamp(now));
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                userId = rs.getInt(1);
+            }
+        }
+
+        try (PreparedStatement authorStatement = connection.prepareStatement(INSERT_AUTHOR_STMT);
+             PreparedStatement genreStatement = connection.prepareStatement(INSERT_GENRE_STMT)) {
+            for (int id = 1; id <= authors; id++) {
+                authorStatement.setInt(1, id);
+                authorStatement.setString(2, "Author " + id);
+                authorStatement.addBatch();
+                genreStatement.setInt(1, id);
+                genreStatement.setString(2, "Genre " + id);
+                genreStatement.setString(3, "Description of genre " + id);
+                genreStatement.addBatch();
+                if (id % BATCH_SIZE == 0) {
+                    authorStatement.executeBatch();
+                    genreStatement.executeBatch();
+                }
+            }
+            authorStatement.executeBatch();
+            genreStatement.executeBatch();
+        }
+
+        byte[] content = new byte[RESOURCE_SIZE];
+        try (PreparedStatement trackStatement = connection.prepareStatement(INSERT_TRACK_STMT);
+             PreparedStatement trackAuthorStatement = connection.prepareStatement(INSERT_TRACK_AUTHOR_STMT);
+             PreparedStatement trackGenreStatement = connection.prepareStatement(INSERT_TRACK_GENRE_STMT);
+             PreparedStatement resourceStatement = connection.prepareStatement(INSERT_RESOURCE_STMT);
+             PreparedStatement commentStatement = connection.prepareStatement(INSERT_COMMENT_STMT)) {
+            for (int id = 1; id <= rows; id++) {
+                Timestamp creationDate = new Timestamp(now - (long) (rows - id) * 60_000);
+
+                trackStatement.setInt(1, id);
+                trackStatement.setInt(2, userId);
+                trackStatement.setString(3, "Track " + id);
+                trackStatement.setTimestamp(4, creationDate);
+                trackStatement.addBatch();
+
+                trackAuthorStatement.setInt(1, id);
+                trackAuthorStatement.setInt(2, random.nextInt(authors) + 1);
+                trackAuthorStatement.addBatch();
+
+                trackGenreStatement.setInt(1, id);
+                trackGenreStatement.setInt(2, random.nextInt(authors) + 1);
+                trackGenreStatement.addBatch();
+
+                random.nextBytes(content);
+                resourceStatement.setInt(1, id);
+                resourceStatement.setInt(2, ResourceTypeEnum.pdf.getValue());
+                resourceStatement.setBytes(3, content);
+                resourceStatement.setLong(4, RESOURCE_SIZE);
+                resourceStatement.setTimestamp(5, creationDate);
+                resourceStatement.setInt(6, id);
+                resourceStatement.setInt(7, userId);
+                resourceStatement.addBatch();
+
+                int start = random.nextInt(300);
+                commentStatement.setString(1, "Comment " + id);
+                commentStatement.setInt(2, start);
+                commentStatement.setInt(3, start + random.nextInt(30));
+                commentStatement.setTimestamp(4, creationDate);
+                commentStatement.setInt(5, userId);
+                commentStatement.setInt(6, random.nextInt(commentedResources) + 1);
+                commentStatement.addBatch();
+
+                if (id % BATCH_SIZE == 0) {
+                    executeBatches(trackStatement, trackAuthorStatement, trackGenreStatement, resourceStatement, commentStatement);
+                }
+            }
+            executeBatches(trackStatement, trackAuthorStatement, trackGenreStatement, resourceStatement, commentStatement);
+        }
+    }
+
+    /**
+     * Executes the pending batches of some statements, in order.
+     *
+     * @param statements the statements
+     * @throws SQLException if an insertion fails
+     */
+    private static void executeBatches(PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+    }
+}
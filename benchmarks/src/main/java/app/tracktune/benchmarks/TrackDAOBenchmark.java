@@ -0,0 +1,34 @@
+package app.tracktune.benchmarks;
+
+import app.tracktune.model.track.Track;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the {@link app.tracktune.model.track.TrackDAO} queries listing tracks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackDAOBenchmark {
+
+    /**
+     * Reads all the tracks.
+     */
+    @Benchmark
+    public List<Track> getAll(DatabaseState state) {
+        return state.getDaoProvider().getTrackDAO().getAll();
+    }
+
+    /**
+     * Reads the tracks of an author.
+     */
+    @Benchmark
+    public List<Track> getAllByAuthorId(DatabaseState state) {
+        return state.getDaoProvider().getTrackDAO().getAllByAuthorId(state.nextAuthorId());
+    }
+}
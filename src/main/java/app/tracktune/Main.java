@@ -42,7 +42,17 @@ public class Main extends Application {
     }
 
     /**
-     * Initialize connection with database
+     * Releases the services still running when the application is closed
+     */
+    @Override
+    public void stop(){
+        ResourceManager resourceManager = ResourceManager.getInstance();
+        if(resourceManager != null)
+            resourceManager.stopMediaStreaming();
+    }
+
+    /**
+     * Initialize connection with database and remove the blob store files no longer referenced
      */
     private void initDatabase(){
         dbManager = DatabaseManager.getInstance();
@@ -53,6 +63,13 @@ public class Main extends Application {
             alert.setContentText(Strings.DB_CONN_FAILED);
             alert.showAndWait();
             Platform.exit();
+            return;
+        }
+        // nothing writes yet, so the files of the contents deleted or replaced in the last session can be removed safely
+        try {
+            DatabaseManager.getDAOProvider().getResourceDAO().deleteUnreferencedData();
+        } catch (TrackTuneException e) {
+            System.err.println(e.getMessage());
         }
     }
 
@@ -29,6 +29,123 @@ public class AppConfig {
      */
     public static final String DATABASE_PATH = DATA_DIR + "/database.db";
 
+    /**
+     * Number of read-only connections kept open next to the single writer connection.
+     */
+    public static final int DB_READER_CONNECTIONS = 4;
+
+    /**
+     * Maximum number of bytes of the database file mapped in memory by each connection (256 MB).
+     */
+    public static final long DB_MMAP_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * Page cache size of each connection, in KiB (16 MB).
+     */
+    public static final int DB_CACHE_SIZE_KIB = 16 * 1024;
+
+    /**
+     * Maximum number of prepared statements cached by each connection.
+     */
+    public static final int DB_STATEMENT_CACHE_SIZE = 64;
+
+    /**
+     * Maximum number of authors, genres, instruments and users kept in memory by each DAO cache.
+     */
+    public static final int ENTITY_CACHE_MAX_ENTRIES = 1024;
+
+    /**
+     * Number of bytes of a resource content buffered at a time when streaming it (1 MB).
+     */
+    public static final int BLOB_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * If true, new resource contents are saved in the blob store instead of inline in the database.
+     * Contents already stored in either place stay readable regardless of this setting.
+     * Only contents in the blob store are written and read incrementally; inline ones are held whole in memory.
+     */
+    public static final boolean BLOB_STORE_ENABLED = true;
+
+    /**
+     * Directory of the content-addressed store holding the resource contents.
+     */
+    public static final String BLOB_STORE_DIR = DATA_DIR + "/blobs";
+
+    /**
+     * Milliseconds a connection waits for a lock held by another connection before failing.
+     */
+    public static final int DB_BUSY_TIMEOUT_MS = 5000;
+
+    /**
+     * Number of background threads running database queries and media rendering off the JavaFX thread.
+     * Kept close to the number of database connections, so queued tasks do not just wait for a connection.
+     */
+    public static final int ASYNC_THREADS = DB_READER_CONNECTIONS;
+
+    /**
+     * Resolution the pages of PDF resources are rendered at when viewed.
+     */
+    public static final float PDF_RENDER_DPI = 150;
+
+    /**
+     * Resolution the first page of PDF resources is rendered at for the previews of the resource lists.
+     */
+    public static final float PDF_PREVIEW_DPI = 72;
+
+    /**
+     * Maximum number of bytes of rendered PDF pages kept in memory (256 MB).
+     */
+    public static final long PDF_CACHE_MAX_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * Maximum width and height, in pixels, of the thumbnails shown as previews of the image and PDF resources.
+     * Twice the size of the previews, so they stay sharp on high-density screens.
+     */
+    public static final int THUMBNAIL_SIZE = 280;
+
+    /**
+     * Number of audio samples summarized by each bucket of the finest level of a waveform index,
+     * about 23 ms at 44.1 kHz.
+     */
+    public static final int WAVEFORM_SAMPLES_PER_BUCKET = 1024;
+
+    /**
+     * Maximum number of media players of the whole application loading at the same time.
+     * The other media of a view wait in line, so opening a list of videos does not start all their decoders at once.
+     */
+    public static final int MEDIA_MAX_CONCURRENT_LOADS = 2;
+
+    /**
+     * Number of times the loading of a media player is attempted before giving up.
+     */
+    public static final int MEDIA_LOAD_ATTEMPTS = 3;
+
+    /**
+     * Milliseconds waited before the second attempt to load a media player, doubled at each further attempt.
+     */
+    public static final long MEDIA_RETRY_DELAY_MS = 500;
+
+    /**
+     * Directory of the files played by the media players, written once from the resource contents and reused.
+     */
+    public static final String MEDIA_CACHE_DIR = DATA_DIR + "/media-cache";
+
+    /**
+     * Maximum number of bytes of the files kept in the media cache (1 GB).
+     */
+    public static final long MEDIA_CACHE_MAX_BYTES = 1024L * 1024 * 1024;
+
+    /**
+     * If true, the saved media are streamed to the media players by a local HTTP server reading the database,
+     * otherwise they are first written to the media cache.
+     */
+    public static final boolean MEDIA_STREAMING_ENABLED = true;
+
+    /**
+     * Number of threads of the local HTTP server streaming the media, i.e. of media read at the same time.
+     */
+    public static final int MEDIA_STREAM_THREADS = 4;
+
     // Static block to ensure the data directory exists when the application starts.
     static {
         File dataDir = new File(DATA_DIR);
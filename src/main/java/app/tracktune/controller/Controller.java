@@ -1,29 +1,35 @@
 package app.tracktune.controller;
 
-import app.tracktune.controller.common.ResourceFileController;
+import app.tracktune.model.resource.AudioVideoFileEnum;
 import app.tracktune.model.resource.Resource;
+import app.tracktune.model.track.TrackSummary;
+import app.tracktune.utils.DatabaseManager;
+import app.tracktune.utils.MediaPreloader;
 import app.tracktune.utils.ResourceManager;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.application.Platform;
+import app.tracktune.utils.Strings;
+import app.tracktune.utils.TaskScope;
 import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.MediaView;
-import javafx.util.Duration;
 
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Abstract base controller class providing common functionality for all controllers.
  * <p>
- * Maintains a reference to a parent controller, manages a timeline timer for periodic actions,
+ * Maintains a reference to a parent controller, the background tasks and media loads of the view,
  * and defines constants for resource preview dimensions.
  * <p>
  * Subclasses should extend this class to inherit shared behavior and properties.
@@ -36,31 +42,24 @@ public abstract class Controller {
     public Controller parentController;
 
     /**
-     * Timeline used for scheduling repeated or delayed actions.
-     */
-    private Timeline timer;
-
-    /**
-     * Counter variable, usage defined by subclasses or timer events.
+     * Width for preview images or media nodes.
      */
-    private int counter = 0;
+    protected static final int previewWidth = 140;
 
     /**
-     * Tracks how many times a ready event has occurred.
+     * Height for preview images or media nodes.
      */
-    private int readies = 0;
+    protected static final int previewHeight = 120;
 
     /**
-     * Width for preview images or media nodes.
+     * Background tasks of the view (queries, media rendering), cancelled when the view is disposed.
      */
-    protected static final int previewWidth = 140;
+    protected final TaskScope tasks = new TaskScope();
 
     /**
-     * Height for preview images or media nodes.
+     * Audio and video players of the view being loaded, cancelled when the view is disposed.
      */
-    protected static final int previewHeight = 120;
-
-    private final AtomicBoolean isRunning = new AtomicBoolean(false);
+    protected final MediaPreloader media = new MediaPreloader();
 
     /**
      * Sets the parent controller for this controller.
@@ -106,99 +105,84 @@ public abstract class Controller {
     }
 
     /**
-     * Starts a timer that periodically checks the readiness of media resources within the provided container.
-     * <p>
-     * This method supports two types of containers:
-     * <ul>
-     *     <li><b>VBox</b>: Iterates through each child (expected to be HBoxes containing MediaViews) and replaces
-     *     non-ready media nodes using the provided {@link ResourceManager}.</li>
-     *     <li><b>StackPane</b>: Checks the first MediaView inside the VBox. If the media is ready or playing,
-     *     and the controller is an instance of {@link ResourceFileController}, it initializes and starts playback.</li>
-     * </ul>
-     * The timer stops automatically when all media resources are ready.
+     * Cancels the background tasks and media loads of the view when the given node is removed from its scene,
+     * i.e. when the view is left.
      *
-     * @param container       the JavaFX Node container that holds the media nodes (VBox or StackPane)
-     * @param resources       the list of media resources to manage
-     * @param resourceManager the manager responsible for creating and updating media nodes
+     * @param node a node of the view, e.g. its root container
      */
-    protected void startTimer(Node container, List<Resource> resources, ResourceManager resourceManager) {
-        timer = new Timeline(new KeyFrame(Duration.seconds(1), _ -> {
-            if (isRunning.get()) {
-                return; // Skip if already running
-            }
+    protected void cancelOnDetach(Node node) {
+        tasks.cancelOnDetach(node);
+        media.cancelOnDetach(node);
+    }
 
-            isRunning.set(true);
-
-            Platform.runLater(() -> {
-                try {
-                    if (container instanceof VBox resourcesContainer) {
-                        for (Node resourceBox : resourcesContainer.getChildren()) {
-                            if (resourceBox instanceof HBox hbox) {
-                                if (hbox.getChildren().getFirst() instanceof MediaView mediaView) {
-                                    if (mediaView.getMediaPlayer().getStatus() == MediaPlayer.Status.READY) {
-                                        readies++;
-                                    } else {
-                                        Node node = resourceManager.createMediaNode(resources.get(counter), previewWidth, previewHeight, true);
-                                        hbox.getChildren().set(0, node);
-                                    }
-                                }
-                            }
-                            counter++;
-                        }
-                        if (readies == resources.size()) {
-                            stopTimer();
-                        }
-                        readies = 0;
-                        counter = 0;
-                    } else if (container instanceof StackPane stackPane) {
-                        VBox vbox = (VBox) stackPane.getChildren().getFirst();
-                        MediaView mediaView = (MediaView) vbox.getChildren().getFirst();
-                        if (mediaView.getMediaPlayer().getStatus() == MediaPlayer.Status.READY
-                                || mediaView.getMediaPlayer().getStatus() == MediaPlayer.Status.PLAYING) {
-                            if (this instanceof ResourceFileController controller
-                                    && mediaView.getMediaPlayer().getStatus() == MediaPlayer.Status.READY) {
-                                controller.setupMediaPlayer(mediaView);
-                                controller.handlePlayPause();
-                            }
-                            stopTimer();
-                        } else {
-                            Node node = resourceManager.createMediaNode(resources.get(counter), stackPane.getPrefWidth(), stackPane.getPrefHeight(), false);
-                            vbox.getChildren().set(counter, node);
-                        }
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                } finally {
-                    isRunning.set(false);
-                }
-            });
-        }));
-        timer.setCycleCount(Timeline.INDEFINITE);
-        timer.play();
+    /**
+     * Shows a progress indicator in place of the preview of a resource and renders the preview in the background,
+     * replacing the indicator once ready.
+     * Audio and video previews are replaced once their player is ready to play, through the media loads of the view.
+     *
+     * @param container       the box holding the preview as its first child
+     * @param resource        the resource to preview
+     * @param resourceManager the manager creating the preview
+     */
+    protected void loadPreviewAsync(HBox container, Resource resource, ResourceManager resourceManager) {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(previewHeight / 3.0, previewHeight / 3.0);
+        StackPane placeholder = new StackPane(indicator);
+        placeholder.setPrefSize(previewWidth, previewHeight);
+        if (container.getChildren().isEmpty()) {
+            container.getChildren().add(placeholder);
+        } else {
+            container.getChildren().set(0, placeholder);
+        }
+
+        Consumer<Node> onReady = preview -> container.getChildren().set(0, preview);
+        Consumer<Throwable> onError = error -> {
+            Label errorLabel = new Label(Strings.MEDIA_ERROR);
+            errorLabel.setPrefWidth(previewWidth);
+            errorLabel.getStyleClass().add("resource-link-label");
+            container.getChildren().set(0, errorLabel);
+            System.err.println(error != null ? error.getMessage() : Strings.MEDIA_ERROR);
+        };
+
+        Callable<Node> preview = () -> resourceManager.createMediaNode(resource, previewWidth, previewHeight, true);
+        if (AudioVideoFileEnum.isSupported(resource.getType().toString())) {
+            media.load(preview, onReady, onError);
+        } else {
+            tasks.run(preview, onReady, onError);
+        }
     }
 
     /**
-     * Stops the currently running timer, if it exists.
-     * <p>
-     * This method safely checks whether the timer has been initialized before attempting to stop it.
+     * Reads with a single query the summaries of the tracks the given resources belong to.
+     * Meant to be called in a background task, before building the items of a list of resources.
+     *
+     * @param resources the resources
+     * @return the track summaries keyed by track ID
      */
-    protected void stopTimer() {
-        if (timer != null) {
-            timer.stop();
+    protected static Map<Integer, TrackSummary> getTrackSummaries(List<? extends Resource> resources) {
+        List<Integer> trackIds = resources.stream()
+                .map(Resource::getTrackID)
+                .distinct()
+                .toList();
+        Map<Integer, TrackSummary> summaries = new HashMap<>();
+        for (TrackSummary summary : DatabaseManager.getDAOProvider().getTrackDAO().getSummariesByIds(trackIds)) {
+            summaries.put(summary.getId(), summary);
         }
+        return summaries;
     }
 
     /**
-     * Disposes all media players contained within the given VBox and stops the timer.
+     * Disposes all media players contained within the given VBox and cancels the loads in progress.
      * <p>
      * This method iterates over each child of the provided VBox, expecting HBoxes that contain
      * {@link MediaView} nodes. For each media player found, it stops playback and releases associated resources.
-     * The timer is also stopped to prevent further updates.
+     * The pending background tasks and media loads are also cancelled, disposing the players not shown yet.
      *
      * @param resourcesContainer the VBox containing the media nodes to be disposed
      */
     protected void dispose(VBox resourcesContainer) {
-        stopTimer();
+        tasks.cancelAll();
+        media.cancelAll();
 
         for (Node node : resourcesContainer.getChildren()) {
             if (node instanceof HBox hbox && hbox.getChildren().getFirst() instanceof MediaView mediaView) {
@@ -3,6 +3,7 @@ package app.tracktune.controller.admin;
 import app.tracktune.controller.Controller;
 import app.tracktune.utils.DatabaseManager;
 import app.tracktune.model.user.*;
+import app.tracktune.utils.PageNavigator;
 import app.tracktune.utils.Strings;
 import app.tracktune.view.ViewManager;
 import javafx.fxml.FXML;
@@ -17,7 +18,6 @@ import javafx.scene.layout.VBox;
 import java.net.URL;
 import java.sql.Timestamp;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class RequestsController extends Controller implements Initializable {
     /**
@@ -50,24 +50,15 @@ public class RequestsController extends Controller implements Initializable {
     private AuthRequestStatusEnum currentFilter = AuthRequestStatusEnum.CREATED;
 
     /**
-     * List of all pending authorization requests retrieved from the database.
-     */
-    private List<PendingUser> allRequests = new ArrayList<>();
-
-    /**
-     * List of authorization requests filtered by the current filter status.
+     * Number of items (requests) displayed per page.
      */
-    private List<PendingUser> filteredRequests = new ArrayList<>();
+    private final int itemsPerPage = 5;
 
     /**
-     * Index of the current page being displayed (zero-based).
+     * Pages of the requests with the current filter status, sorted by request date.
+     * Only the current page is read from the database.
      */
-    private int currentPage = 0;
-
-    /**
-     * Number of items (requests) displayed per page.
-     */
-    private final int itemsPerPage = 5;
+    private final PageNavigator<PendingUser> requestPages = new PageNavigator<>(itemsPerPage, PendingUserSortEnum.REQUEST_DATE);
 
     /**
      * Initializes the controller after the root element has been completely processed.
@@ -84,19 +75,20 @@ public class RequestsController extends Controller implements Initializable {
         createTabsFromEnum();
 
         prevButton.setOnAction(_ -> {
-            if (currentPage > 0) {
-                currentPage--;
+            if (requestPages.hasPrevious()) {
+                requestPages.previous();
                 updateRequests();
             }
         });
 
         nextButton.setOnAction(_ -> {
-            if ((currentPage + 1) * itemsPerPage < filteredRequests.size()) {
-                currentPage++;
+            if (requestPages.hasNext()) {
+                requestPages.next();
                 updateRequests();
             }
         });
 
+        filterRequests();
         updateRequests();
     }
 
@@ -117,7 +109,7 @@ public class RequestsController extends Controller implements Initializable {
         filterTabPane.getSelectionModel().selectedItemProperty().addListener((_, _, newTab) -> {
             if (newTab != null) {
                 currentFilter = (AuthRequestStatusEnum) newTab.getUserData();
-                currentPage = 0;
+                filterRequests();
                 updateRequests();
             }
         });
@@ -126,40 +118,32 @@ public class RequestsController extends Controller implements Initializable {
     }
 
     /**
-     * Filters the list of all requests according to the current filter status.
+     * Filters the requests according to the current filter status, reading the first page from the database.
      * <p>
-     * The filtered list is sorted by the request date in ascending order.
-     * The filtered results are stored in filteredRequests for further processing.
+     * The requests are sorted by the request date in ascending order.
      */
     private void filterRequests() {
-        filteredRequests = allRequests.stream()
-                .filter(r -> r.getStatus() == currentFilter)
-                .sorted(Comparator.comparing(PendingUser::getRequestDate))
-                .collect(Collectors.toList());
+        PendingUserDAO pendingUserDAO = DatabaseManager.getDAOProvider().getPendingUserDAO();
+        AuthRequestStatusEnum status = currentFilter;
+        requestPages.reset(request -> pendingUserDAO.getPageByStatus(status, request));
     }
 
     /**
      * Updates the displayed list of authorization requests according to the current filter and pagination.
      * <p>
-     * Fetches all pending user requests from the database, applies the current status filter,
-     * and clears the UI container before repopulating it with the current page of filtered requests.
-     * Handles enabling/disabling pagination buttons based on the current page and total requests.
+     * Clears the UI container before repopulating it with the current page of filtered requests.
+     * Handles enabling/disabling pagination buttons based on the existence of a previous and a following page.
      * <p>
      * If no requests are available after filtering, displays a placeholder label indicating an empty list.
      */
     private void updateRequests() {
-        allRequests = new ArrayList<>(DatabaseManager.getDAOProvider().getPendingUserDAO().getAll());
-        filterRequests();
         requestsContainer.getChildren().clear();
 
-        int totalRequests = filteredRequests.size();
-        int start = currentPage * itemsPerPage;
-        int end = Math.min(start + itemsPerPage, totalRequests);
+        List<PendingUser> pageItems = requestPages.getItems();
+        prevButton.setDisable(!requestPages.hasPrevious());
+        nextButton.setDisable(!requestPages.hasNext());
 
-        prevButton.setDisable(currentPage == 0);
-        nextButton.setDisable(end >= totalRequests);
-
-        if (filteredRequests.isEmpty()) {
+        if (pageItems.isEmpty()) {
             Label emptyLabel = new Label(Strings.EMPTY_LIST);
             emptyLabel.getStyleClass().add("empty-list-label");
 
@@ -167,7 +151,6 @@ public class RequestsController extends Controller implements Initializable {
             emptyBox.setAlignment(Pos.CENTER);
             requestsContainer.getChildren().add(emptyBox);
         } else {
-            List<PendingUser> pageItems = filteredRequests.subList(start, end);
             for (PendingUser request : pageItems) {
                 requestsContainer.getChildren().add(createRequestItem(request));
             }
@@ -232,7 +215,7 @@ public class RequestsController extends Controller implements Initializable {
      * Accepts an authorization request by updating its status to ACCEPTED and
      * creating a new active authenticated user based on the request details.
      * <p>
-     * Updates the request in the database and the local list, then inserts a new user
+     * Updates the request in the database, then inserts a new user
      * record with an active status and the current timestamp.
      * Finally, refreshes the UI to reflect changes.
      * <p>
@@ -251,9 +234,6 @@ public class RequestsController extends Controller implements Initializable {
                     AuthRequestStatusEnum.ACCEPTED
             );
             DatabaseManager.getDAOProvider().getPendingUserDAO().updateById(updatedRequest, request.getId());
-            allRequests = allRequests.stream()
-                    .map(r -> Objects.equals(r.getId(), request.getId()) ? updatedRequest : r)
-                    .collect(Collectors.toList());
 
             AuthenticatedUser au = new AuthenticatedUser(
                     request.getUsername(),
@@ -275,7 +255,7 @@ public class RequestsController extends Controller implements Initializable {
     /**
      * Rejects an authorization request by updating its status to REJECTED.
      * <p>
-     * Updates the request in the database and the local list, then refreshes the UI
+     * Updates the request in the database, then refreshes the UI
      * to reflect changes.
      * <p>
      * If any exception occurs during this process, an error alert is shown and the error is logged.
@@ -294,10 +274,6 @@ public class RequestsController extends Controller implements Initializable {
             );
             DatabaseManager.getDAOProvider().getPendingUserDAO().updateById(updatedRequest, request.getId());
 
-            allRequests = allRequests.stream()
-                    .map(r -> Objects.equals(r.getId(), request.getId()) ? updatedRequest : r)
-                    .collect(Collectors.toList());
-
             removeRequestAndUpdate();
         } catch (Exception ex) {
             ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, Strings.ERR_GENERAL, Alert.AlertType.ERROR);
@@ -306,16 +282,13 @@ public class RequestsController extends Controller implements Initializable {
     }
 
     /**
-     * Adjusts the current page if needed and refreshes the request list display.
+     * Reads the current page again and refreshes the request list display.
      * <p>
-     * Ensures the current page is within valid bounds after modifications to the request list,
-     * then calls {@link #updateRequests()} to refresh the UI.
+     * The updated request no longer matches the current filter, so the current page is read again
+     * (moving to the previous page if it is left empty), then {@link #updateRequests()} refreshes the UI.
      */
     private void removeRequestAndUpdate() {
-        int maxPage = (int) Math.ceil((double) filteredRequests.size() / itemsPerPage) - 1;
-        if (currentPage > maxPage) {
-            currentPage = Math.max(0, maxPage);
-        }
+        requestPages.reload();
         updateRequests();
     }
 }
\ No newline at end of file
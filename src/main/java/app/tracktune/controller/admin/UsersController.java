@@ -3,6 +3,7 @@ package app.tracktune.controller.admin;
 import app.tracktune.controller.Controller;
 import app.tracktune.utils.DatabaseManager;
 import app.tracktune.model.user.*;
+import app.tracktune.utils.PageNavigator;
 import app.tracktune.utils.Strings;
 import app.tracktune.view.ViewManager;
 import javafx.fxml.FXML;
@@ -16,7 +17,6 @@ import javafx.scene.layout.VBox;
 
 import java.net.URL;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class UsersController extends Controller implements Initializable {
     /**
@@ -49,24 +49,15 @@ public class UsersController extends Controller implements Initializable {
     private Object currentFilter = UserStatusEnum.ACTIVE;
 
     /**
-     * List of all authenticated users retrieved from the database.
-     */
-    private final List<AuthenticatedUser> users = new ArrayList<>();
-
-    /**
-     * List of users filtered by the current filter status.
-     */
-    private List<AuthenticatedUser> filteredUsers = new ArrayList<>();
-
-    /**
-     * Index of the current page being displayed (zero-based).
+     * Number of items (users) displayed per page.
      */
-    private int currentPage = 0;
+    private final int itemsPerPage = 5;
 
     /**
-     * Number of items (users) displayed per page.
+     * Pages of the users matching the current filter, sorted by username.
+     * Only the current page is read from the database.
      */
-    private final int itemsPerPage = 5;
+    private final PageNavigator<User> userPages = new PageNavigator<>(itemsPerPage, UserSortEnum.USERNAME);
 
     // CONSTANTS
     private static final String ADMIN = "ADMIN";
@@ -74,7 +65,7 @@ public class UsersController extends Controller implements Initializable {
     /**
      * Initializes the controller after its root element has been completely processed.
      * <p>
-     * Loads all authenticated users from the database, sets up filter tabs based on user status,
+     * Sets up filter tabs based on user status, which loads the first page of users of the selected tab,
      * and configures pagination controls (previous and next buttons) with their respective actions.
      * Finally, updates the user list display according to the current filter and page.
      * </p>
@@ -85,29 +76,23 @@ public class UsersController extends Controller implements Initializable {
     @FXML
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        users.clear();
-        users.addAll(
-                DatabaseManager.getDAOProvider().getUserDAO().getAll().stream()
-                        .filter(u -> u instanceof AuthenticatedUser)
-                        .map(u -> (AuthenticatedUser) u)
-                        .toList()
-        );
         createTabsFromEnum();
 
         prevButton.setOnAction(_ -> {
-            if (currentPage > 0) {
-                currentPage--;
+            if (userPages.hasPrevious()) {
+                userPages.previous();
                 updateUsers();
             }
         });
 
         nextButton.setOnAction(_ -> {
-            if ((currentPage + 1) * itemsPerPage < filteredUsers.size()) {
-                currentPage++;
+            if (userPages.hasNext()) {
+                userPages.next();
                 updateUsers();
             }
         });
 
+        filterUsers();
         updateUsers();
     }
 
@@ -132,7 +117,7 @@ public class UsersController extends Controller implements Initializable {
         filterTabPane.getSelectionModel().selectedItemProperty().addListener((_, _, newTab) -> {
             if (newTab != null) {
                 currentFilter = newTab.getUserData();
-                currentPage = 0;
+                filterUsers();
                 updateUsers();
             }
         });
@@ -145,24 +130,19 @@ public class UsersController extends Controller implements Initializable {
     }
 
     /**
-     * Filters the list of users based on the currently selected filter.
+     * Filters the users based on the currently selected filter, reading the first page from the database.
      * <p>
      * If the current filter is the special "ADMIN" tab, only active administrators are included.
      * Otherwise, users are filtered by the selected status excluding administrators.
-     * The resulting list is sorted alphabetically by username.
+     * The users are sorted alphabetically by username.
      * </p>
      */
     private void filterUsers() {
+        UserDAO userDAO = DatabaseManager.getDAOProvider().getUserDAO().getDAO();
         if (ADMIN.equals(currentFilter)) {
-            filteredUsers = users.stream()
-                    .filter(u -> u instanceof Administrator && u.getStatus() == UserStatusEnum.ACTIVE)
-                    .sorted(Comparator.comparing(User::getUsername))
-                    .collect(Collectors.toList());
-        } else {
-            filteredUsers = users.stream()
-                    .filter(u -> u.getStatus() == currentFilter && !(u instanceof Administrator))
-                    .sorted(Comparator.comparing(User::getUsername))
-                    .collect(Collectors.toList());
+            userPages.reset(request -> userDAO.getPageByStatus(UserStatusEnum.ACTIVE, true, request));
+        } else if (currentFilter instanceof UserStatusEnum status) {
+            userPages.reset(request -> userDAO.getPageByStatus(status, false, request));
         }
     }
 
@@ -175,17 +155,13 @@ public class UsersController extends Controller implements Initializable {
      * </p>
      */
     private void updateUsers() {
-        filterUsers();
         usersContainer.getChildren().clear();
 
-        int totalUsers = filteredUsers.size();
-        int start = currentPage * itemsPerPage;
-        int end = Math.min(start + itemsPerPage, totalUsers);
-
-        prevButton.setDisable(currentPage == 0);
-        nextButton.setDisable(end >= totalUsers);
+        List<User> pageItems = userPages.getItems();
+        prevButton.setDisable(!userPages.hasPrevious());
+        nextButton.setDisable(!userPages.hasNext());
 
-        if (filteredUsers.isEmpty()) {
+        if (pageItems.isEmpty()) {
             Label emptyLabel = new Label(Strings.EMPTY_LIST);
             emptyLabel.getStyleClass().add("empty-list-label");
 
@@ -193,10 +169,10 @@ public class UsersController extends Controller implements Initializable {
             emptyBox.setAlignment(Pos.CENTER);
             usersContainer.getChildren().add(emptyBox);
         } else {
-            List<AuthenticatedUser> pageItems = filteredUsers.subList(start, end);
-
-            for (AuthenticatedUser user : pageItems) {
-                usersContainer.getChildren().add(createUserItem(user));
+            for (User user : pageItems) {
+                if (user instanceof AuthenticatedUser authenticatedUser) {
+                    usersContainer.getChildren().add(createUserItem(authenticatedUser));
+                }
             }
         }
     }
@@ -268,7 +244,7 @@ public class UsersController extends Controller implements Initializable {
 
     /**
      * Restores a user by setting their status to ACTIVE,
-     * updates the database, refreshes the local list,
+     * updates the database, reads the current page again,
      * and updates the UI accordingly.
      *
      * @param user the AuthenticatedUser to restore
@@ -277,8 +253,6 @@ public class UsersController extends Controller implements Initializable {
         try {
             user.setStatus(UserStatusEnum.ACTIVE);
             DatabaseManager.getDAOProvider().getUserDAO().updateById(user, user.getId());
-            int index = users.indexOf(user);
-            if (index >= 0) users.set(index, user);
             adjustPageAfterUpdate();
         } catch (Exception ex) {
             ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, Strings.ERR_GENERAL, Alert.AlertType.ERROR);
@@ -288,7 +262,7 @@ public class UsersController extends Controller implements Initializable {
 
     /**
      * Removes a user by setting their status to REMOVED,
-     * updates the database, refreshes the local list,
+     * updates the database, reads the current page again,
      * and updates the UI accordingly.
      *
      * @param user the AuthenticatedUser to remove
@@ -297,8 +271,6 @@ public class UsersController extends Controller implements Initializable {
         try {
             user.setStatus(UserStatusEnum.REMOVED);
             DatabaseManager.getDAOProvider().getUserDAO().updateById(user, user.getId());
-            int index = users.indexOf(user);
-            if (index >= 0) users.set(index, user);
             adjustPageAfterUpdate();
         } catch (Exception ex) {
             ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, Strings.ERR_GENERAL, Alert.AlertType.ERROR);
@@ -315,8 +287,6 @@ public class UsersController extends Controller implements Initializable {
         try {
             user.setStatus(UserStatusEnum.SUSPENDED);
             DatabaseManager.getDAOProvider().getUserDAO().updateById(user, user.getId());
-            int index = users.indexOf(user);
-            if (index >= 0) users.set(index, user);
             adjustPageAfterUpdate();
         } catch (Exception ex) {
             ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, Strings.ERR_GENERAL, Alert.AlertType.ERROR);
@@ -333,8 +303,6 @@ public class UsersController extends Controller implements Initializable {
         try {
             Administrator ad = new Administrator(user.getId(), user.getUsername(), user.getPassword(), user.getName(), user.getSurname(), user.getStatus(), user.getCreationDate());
             DatabaseManager.getDAOProvider().getUserDAO().updateById(ad, user.getId());
-            int index = users.indexOf(user);
-            if (index >= 0) users.set(index, ad);
             adjustPageAfterUpdate();
         } catch (Exception ex) {
             ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, Strings.ERR_GENERAL, Alert.AlertType.ERROR);
@@ -344,14 +312,11 @@ public class UsersController extends Controller implements Initializable {
 
 
     /**
-     * Adjusts the current page index if the number of filtered users has changed due to an update.
-     * Ensures the current page is within valid bounds.
+     * Reads the current page again after an update, since the updated user may no longer match the filter.
+     * Moves to the previous page if the current one is left empty.
      */
     private void adjustPageAfterUpdate() {
-        int maxPage = (int) Math.ceil((double) filteredUsers.size() / itemsPerPage) - 1;
-        if (currentPage > maxPage) {
-            currentPage = Math.max(0, maxPage);
-        }
+        userPages.reload();
         updateUsers();
     }
 }
\ No newline at end of file
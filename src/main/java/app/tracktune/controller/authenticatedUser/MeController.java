@@ -118,7 +118,7 @@ public class MeController extends Controller implements Initializable {
                         throw new SQLInjectionException(Strings.ERR_SQL_INJECTION);
                     }
 
-                    AuthenticatedUser existingUser = (AuthenticatedUser) DatabaseManager.getDAOProvider().getUserDAO().getActiveUserByUsername(username);
+                    AuthenticatedUser existingUser = (AuthenticatedUser) DatabaseManager.getDAOProvider().getUserDAO().getDAO().getActiveUserByUsername(username);
                     if (existingUser != null && !existingUser.getId().equals(user.getId())) {
                         throw new TrackTuneException(Strings.ERR_USER_ALREADY_EXISTS);
                     }
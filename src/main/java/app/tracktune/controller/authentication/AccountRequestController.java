@@ -70,7 +70,7 @@ public class AccountRequestController extends Controller {
             if(DatabaseManager.getDAOProvider().getPendingUserDAO().getByUsername(username) != null)
                 throw new EntityAlreadyExistsException(Strings.ERR_REQUEST_ALREADY_EXISTS);
 
-            if(DatabaseManager.getDAOProvider().getUserDAO().getActiveUserByUsername(username) != null)
+            if(DatabaseManager.getDAOProvider().getUserDAO().getDAO().getActiveUserByUsername(username) != null)
                 throw new EntityAlreadyExistsException(Strings.ERR_USER_ALREADY_EXISTS);
             PendingUser pendingUser = new PendingUser(
                     username,
@@ -49,7 +49,7 @@ public class LoginController extends Controller {
             }
 
             // Check if it's an admin or authenticated user
-            User user = DatabaseManager.getDAOProvider().getUserDAO().getActiveUserByUsername(username);
+            User user = DatabaseManager.getDAOProvider().getUserDAO().getDAO().getActiveUserByUsername(username);
             if (user != null && user.getPassword().equals(password)) {
                 if(user instanceof Administrator admin){
                     ViewManager.initSessionManager(admin);
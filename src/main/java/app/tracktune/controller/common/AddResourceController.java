@@ -16,6 +16,9 @@ import app.tracktune.model.track.*;
 import app.tracktune.utils.Frames;
 import app.tracktune.utils.SQLiteScripts;
 import app.tracktune.utils.Strings;
+import app.tracktune.utils.ThumbnailStore;
+import app.tracktune.utils.Transaction;
+import app.tracktune.utils.WaveformStore;
 import app.tracktune.view.ViewManager;
 import io.github.palexdev.materialfx.controls.MFXToggleButton;
 import javafx.collections.FXCollections;
@@ -30,13 +33,17 @@ import javafx.stage.FileChooser;
 import javafx.util.StringConverter;
 import org.kordamp.ikonli.javafx.FontIcon;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Date;
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.stream.Collectors;
@@ -165,7 +172,7 @@ public class AddResourceController extends Controller implements Initializable {
     public void initialize(URL url, ResourceBundle resourceBundle) {
         try {
             allTracks.addAll(DatabaseManager.getDAOProvider().getTrackDAO().getAll());
-            allAuthors.addAll(DatabaseManager.getDAOProvider().getAuthorDAO().getAllActive());
+            allAuthors.addAll(DatabaseManager.getDAOProvider().getAuthorDAO().getDAO().getAllActive());
             allGenres.addAll(DatabaseManager.getDAOProvider().getGenreDAO().getAll());
             allMusicalInstruments.addAll(DatabaseManager.getDAOProvider().getMusicalInstrumentDAO().getAll());
 
@@ -461,22 +468,39 @@ public class AddResourceController extends Controller implements Initializable {
 
             String filePath = txtFilePath.getText();
 
-            byte[] data;
+            byte[] link = null;
+            Path file = null;
             if(btnIsLink.isSelected())
-                data = txtResourceLink.getText().getBytes(StandardCharsets.UTF_8);
+                link = txtResourceLink.getText().getBytes(StandardCharsets.UTF_8);
             else
-                data = createBytesFromPath(filePath);
-
-            int trackId;
-            if(selectedTracks.isEmpty())
-                trackId = DatabaseManager.getDAOProvider().getTrackDAO().insert(new Track(trackTitle,new Timestamp(System.currentTimeMillis()), ViewManager.getSessionUser().getId()));
-            else
-                trackId = selectedTracks.getFirst().getId();
-
-            manageTrackEntity(trackId, authorIds, genreIds, instrumentIds);
-            Integer result = manageResourceEntity(type, data, trackId, btnIsMultimedia.isSelected());
+                file = getFileFromPath(filePath);
+
+            // the track, its links and the resource are saved together or not at all
+            Integer result;
+            try (Transaction transaction = DatabaseManager.getInstance().beginTransaction()) {
+                int trackId;
+                if(selectedTracks.isEmpty())
+                    trackId = DatabaseManager.getDAOProvider().getTrackDAO().insert(new Track(trackTitle,new Timestamp(System.currentTimeMillis()), ViewManager.getSessionUser().getId()));
+                else
+                    trackId = selectedTracks.getFirst().getId();
+
+                manageTrackEntity(trackId, authorIds, genreIds, instrumentIds);
+                if(link != null) {
+                    result = manageResourceEntity(type, new ByteArrayInputStream(link), link.length, trackId, btnIsMultimedia.isSelected());
+                } else {
+                    try (InputStream data = Files.newInputStream(file)) {
+                        result = manageResourceEntity(type, data, Files.size(file), trackId, btnIsMultimedia.isSelected());
+                    }
+                }
+                if (result != null)
+                    transaction.commit();
+            }
 
             if (result != null){
+                if (ThumbnailStore.isSupported(type))
+                    ThumbnailStore.createAsync(result);
+                if (WaveformStore.isSupported(type))
+                    WaveformStore.createAsync(result);
                 ViewManager.setAndShowAlert(Strings.SUCCESS, Strings.RESULT, Strings.RESOURCE_UPLOADED, Alert.AlertType.INFORMATION);
                 resetFields();
             }
@@ -526,24 +550,19 @@ public class AddResourceController extends Controller implements Initializable {
     }
 
     /**
-     * Creates a byte array by reading the content of the file at the given path.
+     * Checks that the given path points to a readable file.
+     * The file is not loaded in memory: its content is streamed to the database on upload.
      *
-     * @param filePath the full path of the file to read.
-     * @return a byte array containing the file data.
+     * @param filePath the full path of the file to upload.
+     * @return the path of the file.
      * @throws IOException if the file does not exist or is not a valid file.
-     * @throws TrackTuneException if an error occurs while reading the file.
      */
-    public byte[] createBytesFromPath(String filePath) throws IOException {
-        File file = new File(filePath);
-        if (!file.exists() || !file.isFile()) {
+    public Path getFileFromPath(String filePath) throws IOException {
+        Path file = Path.of(filePath);
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
             throw new IOException(Strings.ERR_FILE_NOT_FOUND);
         }
-
-        try (FileInputStream fis = new FileInputStream(file)) {
-            return fis.readAllBytes();
-        } catch (IOException e) {
-            throw new TrackTuneException(Strings.ERR_LOAD_FILE);
-        }
+        return file;
     }
 
     /**
@@ -586,29 +605,30 @@ public class AddResourceController extends Controller implements Initializable {
      * Uses the provided type, data, associated trackId, and flags indicating if it's multimedia and if the current user is the author.
      *
      * @param type The type of resource (audio, video, link, etc.).
-     * @param data The resource data in bytes.
+     * @param data The stream with the resource content.
+     * @param size The size in bytes of the resource content.
      * @param trackId The ID of the associated track.
      * @param isMultimedia Whether the resource is multimedia (has location and date info).
      * @return The generated ID of the inserted resource, or null if insertion failed.
      */
-    private Integer manageResourceEntity(ResourceTypeEnum type, byte[] data, int trackId, boolean isMultimedia) {
+    private Integer manageResourceEntity(ResourceTypeEnum type, InputStream data, long size, int trackId, boolean isMultimedia) {
         Resource resource;
         if (isMultimedia) {
             String location = null;
             if(txtLocation.getText() != null && !txtLocation.getText().isEmpty())
                 location = txtLocation.getText();
             Date date = resourceDate.getValue() != null ? Date.valueOf(resourceDate.getValue()) : null;
-            resource = new MultimediaResource(type, data, new Timestamp(System.currentTimeMillis()), true,
+            resource = new MultimediaResource(type, null, new Timestamp(System.currentTimeMillis()), true,
                     location, date, btnIsAuthor.isSelected(), trackId, SessionManager.getInstance().getUser().getId());
         } else {
-            resource = new Resource(type, data, new Timestamp(System.currentTimeMillis()), false, btnIsAuthor.isSelected(),trackId, SessionManager.getInstance().getUser().getId());
+            resource = new Resource(type, null, new Timestamp(System.currentTimeMillis()), false, btnIsAuthor.isSelected(),trackId, SessionManager.getInstance().getUser().getId());
         }
-        return DatabaseManager.getDAOProvider().getResourceDAO().insert(resource);
+        return DatabaseManager.getDAOProvider().getResourceDAO().insert(resource, data, size);
     }
 
     /**
      * Manages the associations between a track and its related authors, genres, and instruments.
-     * Calls helper methods to insert missing relations in the database.
+     * Calls helper methods to insert missing relations in the database, one batch per kind of relation.
      *
      * @param trackId The ID of the track.
      * @param authorIds Array of author IDs related to the track.
@@ -628,9 +648,7 @@ public class AddResourceController extends Controller implements Initializable {
      * @param trackId The track ID.
      */
     private void manageTrackAuthorRelation(Integer[] authorIds, int trackId){
-        for(int authorId : authorIds)
-            if(DatabaseManager.getDAOProvider().getTrackAuthorDAO().getByTrackIdAndAuthorId(trackId, authorId) == null)
-                DatabaseManager.getDAOProvider().getTrackAuthorDAO().insert(new TrackAuthor(trackId, authorId));
+        DatabaseManager.getDAOProvider().getTrackAuthorDAO().insertMissing(trackId, Arrays.asList(authorIds));
     }
 
     /**
@@ -640,9 +658,7 @@ public class AddResourceController extends Controller implements Initializable {
      * @param trackId The track ID.
      */
     private void manageTrackGenreRelation(Integer[] genreIds, int trackId){
-        for(int genreId: genreIds)
-            if(DatabaseManager.getDAOProvider().getTrackGenreDAO().getByTrackIdAndGenreId(trackId, genreId) == null)
-                DatabaseManager.getDAOProvider().getTrackGenreDAO().insert(new TrackGenre(trackId, genreId));
+        DatabaseManager.getDAOProvider().getTrackGenreDAO().insertMissing(trackId, Arrays.asList(genreIds));
     }
 
     /**
@@ -652,9 +668,7 @@ public class AddResourceController extends Controller implements Initializable {
      * @param trackId The track ID.
      */
     private void manageTrackInstrumentRelation(Integer[] instrumentIds, int trackId){
-        for(int instrumentId : instrumentIds)
-            if(DatabaseManager.getDAOProvider().getTrackInstrumentDAO().getByTrackIdAndInstrumentId(trackId, instrumentId) == null)
-                DatabaseManager.getDAOProvider().getTrackInstrumentDAO().insert(new TrackInstrument(trackId, instrumentId));
+        DatabaseManager.getDAOProvider().getTrackInstrumentDAO().insertMissing(trackId, Arrays.asList(instrumentIds));
     }
 
     /**
@@ -737,7 +751,7 @@ public class AddResourceController extends Controller implements Initializable {
             if(SQLiteScripts.checkForSQLInjection(authorString))
                 throw new TrackTuneException(Strings.ERR_SQL_INJECTION);
 
-            if(!DatabaseManager.getDAOProvider().getAuthorDAO().existByAuthorshipName(Controller.toTitleCase(authorString))){
+            if(!DatabaseManager.getDAOProvider().getAuthorDAO().getDAO().existByAuthorshipName(Controller.toTitleCase(authorString))){
                 Author newAuthor = new Author(authorString, AuthorStatusEnum.ACTIVE);
                 int id = DatabaseManager.getDAOProvider().getAuthorDAO().insert(newAuthor);
                 if(id != 0){
@@ -6,11 +6,10 @@ import app.tracktune.controller.admin.AdminDashboardController;
 import app.tracktune.controller.authenticatedUser.AuthenticatedUserDashboardController;
 import app.tracktune.utils.SessionManager;
 import app.tracktune.utils.DatabaseManager;
-import app.tracktune.model.author.Author;
 import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceSummary;
 import app.tracktune.model.resource.ResourceTypeEnum;
-import app.tracktune.model.track.Track;
-import app.tracktune.model.track.TrackAuthor;
+import app.tracktune.model.track.TrackSummary;
 import app.tracktune.utils.*;
 import app.tracktune.view.ViewManager;
 import javafx.application.Platform;
@@ -18,7 +17,6 @@ import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -26,7 +24,9 @@ import javafx.scene.layout.*;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
 
 public class DiscoverController extends Controller implements Initializable {
     /**
@@ -63,9 +63,15 @@ public class DiscoverController extends Controller implements Initializable {
      */
     private BrowserManager browserManager;
 
+    /**
+     * Resources shown in a tab, with the summaries of their tracks keyed by track ID.
+     */
+    private record TabContent(List<ResourceSummary> resources, Map<Integer, TrackSummary> tracks) {
+    }
+
     /**
      * Initializes the controller by setting up singleton instances and populating
-     * the resource tabs with data retrieved from the database.
+     * the resource tabs with data retrieved from the database in the background.
      *
      * @param location  The location used to resolve relative paths for the root object, or null if unknown.
      * @param resources The resources used to localize the root object, or null if not localized.
@@ -74,10 +80,26 @@ public class DiscoverController extends Controller implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         browserManager = BrowserManager.getInstance();
         resourceManager = ResourceManager.getInstance();
-        populateTab(tabMostRecent, SQLiteScripts.getMostRecentResources(Main.dbManager));
-        populateTab(tabMostPopular, SQLiteScripts.getMostPopularResources(Main.dbManager));
-        populateTab(tabMostCommented, SQLiteScripts.getMostCommentedResources(Main.dbManager));
-        populateTab(tabLastCommented, DatabaseManager.getDAOProvider().getResourceDAO().getAllCommentedResourcesByUserID(SessionManager.getInstance().getUser().getId()));
+        cancelOnDetach(tabMostRecent.getTabPane());
+        int userId = SessionManager.getInstance().getUser().getId();
+        loadTab(tabMostRecent, () -> SQLiteScripts.getMostRecentResources(Main.dbManager));
+        loadTab(tabMostPopular, () -> SQLiteScripts.getMostPopularResources(Main.dbManager));
+        loadTab(tabMostCommented, () -> SQLiteScripts.getMostCommentedResources(Main.dbManager));
+        loadTab(tabLastCommented, () -> DatabaseManager.getDAOProvider().getResourceDAO().getAllCommentedSummariesByUserID(userId));
+    }
+
+    /**
+     * Reads the resources of a tab and the summaries of their tracks in the background,
+     * then populates the tab with them.
+     *
+     * @param tab    The Tab to populate with resource items.
+     * @param loader The query reading the resources of the tab.
+     */
+    private void loadTab(Tab tab, Callable<List<ResourceSummary>> loader) {
+        tasks.run(() -> {
+            List<ResourceSummary> resources = loader.call();
+            return new TabContent(resources, getTrackSummaries(resources));
+        }, content -> populateTab(tab, content));
     }
 
     /**
@@ -86,16 +108,17 @@ public class DiscoverController extends Controller implements Initializable {
      * wrapped in a ScrollPane, and anchored to fill the tab content area.
      * A timer is started to update the content dynamically.
      *
-     * @param tab       The Tab to populate with resource items.
-     * @param resources The list of Resource objects to display in the tab.
+     * @param tab     The Tab to populate with resource items.
+     * @param content The resource summaries to display in the tab and the summaries of their tracks.
      */
-    private void populateTab(Tab tab, List<Resource> resources) {
+    private void populateTab(Tab tab, TabContent content) {
+        List<ResourceSummary> resources = content.resources();
         VBox contentBox = new VBox(10);
         VBox.setVgrow(contentBox, javafx.scene.layout.Priority.ALWAYS);
         contentBox.setStyle("-fx-padding: 20;");
 
-        for (Resource resource : resources) {
-            contentBox.getChildren().add(createResourceItemBox(resource));
+        for (ResourceSummary resource : resources) {
+            contentBox.getChildren().add(createResourceItemBox(resource, content.tracks().get(resource.getTrackID())));
         }
 
         ScrollPane scrollPane = new ScrollPane(contentBox);
@@ -111,25 +134,24 @@ public class DiscoverController extends Controller implements Initializable {
         AnchorPane.setBottomAnchor(scrollPane, 0.0);
 
         Platform.runLater(() -> Main.root.setOnCloseRequest(_ -> dispose(contentBox)));
-        startTimer(contentBox, resources, resourceManager);
         tab.setContent(anchor);
     }
 
     /**
      * Creates a horizontal box (HBox) containing a media preview and
      * resource details for a single Resource.
-     * The preview is created with fixed width and height and the resource
+     * The preview is rendered in the background with fixed width and height and the resource
      * details box fills the remaining space.
      *
      * @param resource The Resource object for which the UI component is created.
+     * @param track    The summary of the track the resource belongs to.
      * @return An HBox containing the media preview and resource details.
      */
-    private HBox createResourceItemBox(Resource resource) {
-        Node preview = resourceManager.createMediaNode(resource, previewWidth, previewHeight, true);
-
-        HBox requestItemBox = createRequestItem(resource);
+    private HBox createResourceItemBox(ResourceSummary resource, TrackSummary track) {
+        HBox requestItemBox = createRequestItem(resource, track);
 
-        HBox container = new HBox(15, preview, requestItemBox);
+        HBox container = new HBox(15, requestItemBox);
+        loadPreviewAsync(container, resource, resourceManager);
         container.setAlignment(Pos.CENTER_LEFT);
         HBox.setHgrow(requestItemBox, Priority.ALWAYS);
         container.getStyleClass().add("request-item");
@@ -148,26 +170,14 @@ public class DiscoverController extends Controller implements Initializable {
      * the button to the right, ensuring a clean and responsive UI.
      * </p>
      * @param resource The Resource object for which the UI item is created.
+     * @param track    The summary of the track the resource belongs to, with its author names.
      * @return An HBox representing the resource's display item with title, authors, date, and a view button.
      */
-    private HBox createRequestItem(Resource resource) {
-        Track track = DatabaseManager.getDAOProvider().getTrackDAO().getById(resource.getTrackID());
-        List<TrackAuthor> trackAuthors = DatabaseManager.getDAOProvider().getTrackAuthorDAO().getByTrackId(resource.getTrackID());
-
+    private HBox createRequestItem(ResourceSummary resource, TrackSummary track) {
         Label trackLabel = new Label(track.getTitle());
         trackLabel.getStyleClass().add("request-item-title");
 
-        StringBuilder authorNames = new StringBuilder();
-        for (TrackAuthor trackAuthor : trackAuthors) {
-            Author author = DatabaseManager.getDAOProvider().getAuthorDAO().getById(trackAuthor.getAuthorId());
-            authorNames.append(author.getAuthorshipName()).append(", ");
-        }
-
-        if (!authorNames.isEmpty()) {
-            authorNames.setLength(authorNames.length() - 2);
-        }
-
-        Label authorsLabel = new Label("Authors: " + authorNames);
+        Label authorsLabel = new Label("Authors: " + String.join(", ", track.getAuthorNames()));
         authorsLabel.getStyleClass().add("request-item-authors");
 
         HBox titleBox = new HBox(10, trackLabel, authorsLabel);
@@ -212,13 +222,14 @@ public class DiscoverController extends Controller implements Initializable {
      * the ResourceFileController.
      * The method also manages the view switching depending on the type of parent controller.
      * </p>
-     * @param resource The Resource object to be viewed.
+     * @param summary the summary of the resource to be viewed; its content is read on demand
      */
     @FXML
-    private void viewResource(Resource resource) {
+    private void viewResource(ResourceSummary summary) {
         try{
+            Resource resource = DatabaseManager.getDAOProvider().getResourceDAO().getMetadataById(summary.getId());
             if(resource.getType().equals(ResourceTypeEnum.link)){
-                String url = new String(resource.getData(), StandardCharsets.UTF_8);
+                String url = new String(DatabaseManager.getDAOProvider().getResourceDAO().getDataById(resource.getId()), StandardCharsets.UTF_8);
                 browserManager.browse(url);
             }else {
                 FXMLLoader loader = new FXMLLoader(this.getClass().getResource(Frames.RESOURCE_FILE_VIEW_PATH));
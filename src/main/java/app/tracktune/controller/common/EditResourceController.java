@@ -328,13 +328,14 @@ public class EditResourceController extends Controller implements Initializable
                     .map(MusicalInstrument::getId)
                     .toArray(Integer[]::new);
 
-            byte[] data = resource.getData();
-
             boolean isMultimedia = btnIsMultimedia.isSelected();
 
-            int trackId = manageTrackEntity(trackName, ViewManager.getSessionUser().getId(), authorIds, genreIds, instrumentIds);
-
-            manageResourceEntity(type, data, trackId, isMultimedia);
+            // the track, its links and the resource are updated together or not at all
+            DatabaseManager.getInstance().executeInTransaction(() -> {
+                int trackId = manageTrackEntity(trackName, ViewManager.getSessionUser().getId(), authorIds, genreIds, instrumentIds);
+                manageResourceEntity(type, trackId, isMultimedia);
+                return trackId;
+            });
 
             ViewManager.setAndShowAlert(Strings.SUCCESS, Strings.RESULT, Strings.RESOURCE_UPDATED, Alert.AlertType.INFORMATION);
         } catch (TrackTuneException e) {
@@ -390,20 +391,19 @@ public class EditResourceController extends Controller implements Initializable
      * Updates the resource entity in the database, handling both multimedia and regular resources.
      *
      * @param type the resource type enum
-     * @param data the resource data as a byte array
      * @param trackId the ID of the associated track
      * @param isMultimedia true if the resource is multimedia, false otherwise
      */
-    private void manageResourceEntity(ResourceTypeEnum type, byte[] data, int trackId, boolean isMultimedia) {
+    private void manageResourceEntity(ResourceTypeEnum type, int trackId, boolean isMultimedia) {
         if (isMultimedia) {
             String location = null;
             if(txtLocation.getText() != null && !txtLocation.getText().isEmpty())
                 location = txtLocation.getText();
             Date date = resourceDate.getValue() != null ? Date.valueOf(resourceDate.getValue()) : null;
 
-            DatabaseManager.getDAOProvider().getResourceDAO().updateById(new MultimediaResource(type, data, new Timestamp(System.currentTimeMillis()), true,  location, date, resource.isAuthor(), trackId, resource.getUserID()), resource.getId());
+            DatabaseManager.getDAOProvider().getResourceDAO().updateMetadataById(new MultimediaResource(type, null, new Timestamp(System.currentTimeMillis()), true,  location, date, resource.isAuthor(), trackId, resource.getUserID()), resource.getId());
         } else {
-            DatabaseManager.getDAOProvider().getResourceDAO().updateById(new Resource(type, data, new Timestamp(System.currentTimeMillis()), false, resource.isAuthor(), trackId, resource.getUserID()), resource.getId());
+            DatabaseManager.getDAOProvider().getResourceDAO().updateMetadataById(new Resource(type, null, new Timestamp(System.currentTimeMillis()), false, resource.isAuthor(), trackId, resource.getUserID()), resource.getId());
         }
     }
 
@@ -443,10 +443,7 @@ public class EditResourceController extends Controller implements Initializable
     private void manageTrackAuthorRelation(Integer[] authorIds, int trackId){
         List<TrackAuthor> trackAuthors = DatabaseManager.getDAOProvider().getTrackAuthorDAO().getByTrackId(trackId);
 
-        for(int authorId : authorIds){
-            if(DatabaseManager.getDAOProvider().getTrackAuthorDAO().getByTrackIdAndAuthorId(trackId, authorId) == null)
-                DatabaseManager.getDAOProvider().getTrackAuthorDAO().insert(new TrackAuthor(trackId, authorId));
-        }
+        DatabaseManager.getDAOProvider().getTrackAuthorDAO().insertMissing(trackId, Arrays.asList(authorIds));
 
         Set<Integer> newAuthorIdSet = new HashSet<>(Arrays.asList(authorIds));
         for (TrackAuthor ta : trackAuthors) {
@@ -467,10 +464,7 @@ public class EditResourceController extends Controller implements Initializable
     private void manageTrackGenreRelation(Integer[] genreIds, int trackId){
         List<TrackGenre> trackGenres = DatabaseManager.getDAOProvider().getTrackGenreDAO().getByTrackId(trackId);
 
-        for(int genreId: genreIds){
-            if(DatabaseManager.getDAOProvider().getTrackGenreDAO().getByTrackIdAndGenreId(trackId, genreId) == null)
-                DatabaseManager.getDAOProvider().getTrackGenreDAO().insert(new TrackGenre(trackId, genreId));
-        }
+        DatabaseManager.getDAOProvider().getTrackGenreDAO().insertMissing(trackId, Arrays.asList(genreIds));
 
         Set<Integer> newAuthorIdSet = new HashSet<>(Arrays.asList(genreIds));
         for (TrackGenre tg : trackGenres) {
@@ -491,10 +485,7 @@ public class EditResourceController extends Controller implements Initializable
     private void manageTrackInstrumentRelation(Integer[] instrumentIds, int trackId){
         List<TrackInstrument> trackInstruments = DatabaseManager.getDAOProvider().getTrackInstrumentDAO().getByTrackId(trackId);
 
-        for(int instrumentId : instrumentIds){
-            if(DatabaseManager.getDAOProvider().getTrackInstrumentDAO().getByTrackIdAndInstrumentId(trackId, instrumentId) == null)
-                DatabaseManager.getDAOProvider().getTrackInstrumentDAO().insert(new TrackInstrument(trackId, instrumentId));
-        }
+        DatabaseManager.getDAOProvider().getTrackInstrumentDAO().insertMissing(trackId, Arrays.asList(instrumentIds));
 
         Set<Integer> newAuthorIdSet = new HashSet<>(Arrays.asList(instrumentIds));
         for (TrackInstrument ti : trackInstruments) {
@@ -579,7 +570,7 @@ public class EditResourceController extends Controller implements Initializable
             if(SQLiteScripts.checkForSQLInjection(authorString))
                 throw new TrackTuneException(Strings.ERR_SQL_INJECTION);
 
-            if(!DatabaseManager.getDAOProvider().getAuthorDAO().existByAuthorshipName(Controller.toTitleCase(authorString))){
+            if(!DatabaseManager.getDAOProvider().getAuthorDAO().getDAO().existByAuthorshipName(Controller.toTitleCase(authorString))){
                 Author newAuthor = new Author(Controller.toTitleCase(authorString), AuthorStatusEnum.ACTIVE);
                 if(DatabaseManager.getDAOProvider().getAuthorDAO().insert(newAuthor) != null){
                     selectedAuthors.add(newAuthor);
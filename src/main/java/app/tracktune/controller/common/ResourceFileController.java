@@ -7,19 +7,22 @@ import app.tracktune.controller.authenticatedUser.AuthenticatedUserDashboardCont
 import app.tracktune.utils.SessionManager;
 import app.tracktune.exceptions.TrackTuneException;
 import app.tracktune.utils.DatabaseManager;
-import app.tracktune.model.author.Author;
 import app.tracktune.model.comments.Comment;
-import app.tracktune.model.genre.Genre;
-import app.tracktune.model.musicalInstrument.MusicalInstrument;
+import app.tracktune.model.comments.CommentThread;
+import app.tracktune.model.resource.AudioVideoFileEnum;
 import app.tracktune.model.resource.MultimediaResource;
 import app.tracktune.model.resource.Resource;
 import app.tracktune.model.resource.ResourceTypeEnum;
 import app.tracktune.model.track.Track;
+import app.tracktune.model.track.TrackSummary;
 import app.tracktune.model.user.Administrator;
 import app.tracktune.model.user.User;
 import app.tracktune.utils.Frames;
+import app.tracktune.utils.IntervalTree;
 import app.tracktune.utils.ResourceManager;
 import app.tracktune.utils.Strings;
+import app.tracktune.utils.WaveformStore;
+import app.tracktune.utils.WaveformView;
 import app.tracktune.view.ViewManager;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -48,7 +51,6 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class ResourceFileController extends Controller implements Initializable {
     /** Container pane for displaying the media file (audio/video). */
@@ -99,6 +101,36 @@ public class ResourceFileController extends Controller implements Initializable
     /** Stage used for full-screen playback mode (optional). */
     private Stage fullStage = null;
 
+    /** Height of the waveform drawn for audio files. */
+    private final double waveformHeight = 120;
+
+    /** Waveform of the audio file, null until its peak index is loaded or for video files. */
+    private WaveformView waveformView;
+
+    /** Comments referring to a segment of the media, marked on the waveform. */
+    private final List<Comment> segmentComments = new ArrayList<>();
+
+    /** Interval index of the segment comments, used to find the comments referring to the time played. */
+    private IntervalTree<Comment> segmentIndex = IntervalTree.of(List.of(), Comment::getStartTrackInterval, Comment::getEndTrackInterval);
+
+    /** Nodes of the segment comments keyed by comment ID, highlighted while their segment is played. */
+    private final Map<Integer, Node> segmentCommentNodes = new HashMap<>();
+
+    /** Segment comments currently highlighted. */
+    private List<Comment> activeComments = List.of();
+
+    /** Second of the media the highlighted comments refer to, -1 to look them up again on the next tick. */
+    private int activeSecond = -1;
+
+    /**
+     * Content of the view read in the background when it is opened: the media node, the metadata of the resource
+     * and its comment threads, with their authors and replies.
+     * The media node is null for audio and video resources, whose player is loaded separately until ready to play.
+     */
+    private record LoadedResource(Node resourceNode, TrackSummary track, long size, User uploader,
+                                  List<CommentThread> comments) {
+    }
+
     /**
      * Constructs a {@code ResourceFileController} and initializes the {@link ResourceManager}
      * with the provided resource.
@@ -113,7 +145,7 @@ public class ResourceFileController extends Controller implements Initializable
     /**
      * Initializes the controller and sets up the media or resource display based on the provided resource type.
      * <p>
-     * This method configures the UI layout and event handling for the resource view. If the resource is a multimedia file
+     * The media node, the metadata and the comments are read in the background, then this method configures the UI layout and event handling for the resource view. If the resource is a multimedia file
      * (such as video or audio), the media player is set up and a timer is started to track media readiness.
      * Non-multimedia resources (e.g., images or PDFs) are displayed without media controls.
      * <p>
@@ -129,12 +161,43 @@ public class ResourceFileController extends Controller implements Initializable
      */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        Platform.runLater(() -> Main.root.setOnCloseRequest(_ -> disposeMediaPlayer()));
+        cancelOnDetach(fileContainer);
+        Resource resource = resourceManager.getResource();
+        double width = fileContainer.getPrefWidth();
+        double height = fileContainer.getPrefHeight();
+        tasks.run(() -> loadResource(resource, width, height), this::showResource, this::handleLoadError);
+    }
+
+    /**
+     * Reads the content of the view, off the JavaFX thread.
+     *
+     * @param resource the resource shown
+     * @param width    the width of the media node
+     * @param height   the height of the media node
+     * @return the media node, metadata and comments of the resource
+     */
+    private LoadedResource loadResource(Resource resource, double width, double height) {
+        Node resourceNode = isMultimedia(resource) ? null : resourceManager.createMediaNode(resource, width, height, false);
+        TrackSummary summary = DatabaseManager.getDAOProvider().getTrackDAO().getSummariesByIds(List.of(resource.getTrackID())).getFirst();
+        long size = DatabaseManager.getDAOProvider().getResourceDAO().getDataSize(resource.getId());
+        User uploader = DatabaseManager.getDAOProvider().getUserDAO().getById(resource.getUserID());
+
+        List<CommentThread> comments = DatabaseManager.getDAOProvider().getCommentDAO().getThreadsByResource(resource.getId());
+        return new LoadedResource(resourceNode, summary, size, uploader, comments);
+    }
+
+    /**
+     * Shows the content of the view once read.
+     *
+     * @param loaded the media node, metadata and comments of the resource
+     */
+    private void showResource(LoadedResource loaded) {
         try {
-            Platform.runLater(() -> Main.root.setOnCloseRequest(_ -> disposeMediaPlayer()));
-            Node resourceNode = resourceManager.createMediaNode(resourceManager.getResource(), fileContainer.getPrefWidth(), fileContainer.getPrefHeight(), false);
-            boolean isMultimedia = resourceNode instanceof MediaView;
+            Resource resource = resourceManager.getResource();
 
-            if (!isMultimedia) {
+            if (!isMultimedia(resource)) {
+                Node resourceNode = loaded.resourceNode();
                 int defaultGapTitle = 10;
                 int defaultGapContainerToolBox = 30;
 
@@ -142,7 +205,7 @@ public class ResourceFileController extends Controller implements Initializable
                 fileContainer.setLayoutY(fileContainer.getLayoutY() + defaultGapContainerToolBox);
                 fileContainer.getChildren().add(resourceNode);
                 videoToolBox.setVisible(false);
-                metadataBox.getChildren().add(setDetailsInfo());
+                metadataBox.getChildren().add(setDetailsInfo(loaded));
                 metadataBox.setAlignment(Pos.CENTER);
 
                 if(resourceManager.getResource().getType().equals(ResourceTypeEnum.pdf))
@@ -150,21 +213,42 @@ public class ResourceFileController extends Controller implements Initializable
             }
             else{
                 segmentButton.setVisible(true);
-                setupMediaPlayer(resourceNode);
-                metadataBox.getChildren().add(setDetailsInfo());
+                metadataBox.getChildren().add(setDetailsInfo(loaded));
+                double width = fileContainer.getPrefWidth();
+                double height = fileContainer.getPrefHeight();
+                media.load(() -> resourceManager.createMediaNode(resource, width, height, false),
+                        this::setupMediaPlayer,
+                        error -> handleLoadError(error instanceof TrackTuneException ? error : new TrackTuneException(Strings.MEDIA_ERROR)));
             }
-            if(resourceManager.getResource().getType() == ResourceTypeEnum.mp4)
-                startTimer(fileContainer, List.of(resourceManager.getResource()), resourceManager);
-            setComments();
-        } catch (TrackTuneException ex) {
-            ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, ex.getMessage(), Alert.AlertType.ERROR);
-            disposeMediaPlayer();
-            handleReturn();
+            setComments(loaded);
         } catch (Exception e) {
-            System.err.println(e.getMessage());
-            disposeMediaPlayer();
-            handleReturn();
+            handleLoadError(e);
+        }
+    }
+
+    /**
+     * Tells if the resource is an audio or video file, played by a media player.
+     *
+     * @param resource the resource
+     * @return true if the resource is played by a media player
+     */
+    private static boolean isMultimedia(Resource resource) {
+        return AudioVideoFileEnum.isSupported(resource.getType().toString());
+    }
+
+    /**
+     * Handles an error while opening the resource by showing an error alert if needed and safely returning to the previous view.
+     *
+     * @param error the exception thrown while reading or showing the resource
+     */
+    private void handleLoadError(Throwable error) {
+        if (error instanceof TrackTuneException) {
+            ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, error.getMessage(), Alert.AlertType.ERROR);
+        } else if (error != null) {
+            System.err.println(error.getMessage());
         }
+        disposeMediaPlayer();
+        handleReturn();
     }
 
     /**
@@ -172,11 +256,13 @@ public class ResourceFileController extends Controller implements Initializable
      * <p>
      * This method performs the following actions:
      * <ul>
-     *     <li>Extracts the {@link MediaPlayer} from the given {@link MediaView} node.</li>
+     *     <li>Extracts the {@link MediaPlayer}, already ready to play, from the given {@link MediaView} node.</li>
      *     <li>Initializes the progress slider, time labels, and their event listeners.</li>
-     *     <li>Creates and styles the video or audio control layout based on the resource type.</li>
+     *     <li>Creates and styles the video or audio control layout based on the resource type,
+     *     loading the waveform of audio files in the background.</li>
      *     <li>Updates the UI to display the media player and enables media controls.</li>
      *     <li>Attaches a listener to update time labels as the media plays.</li>
+     *     <li>Adds the duration, registration date and location to the metadata of multimedia resources.</li>
      * </ul>
      *
      * @param resourceNode the {@link Node} containing the media player to be configured
@@ -199,7 +285,11 @@ public class ResourceFileController extends Controller implements Initializable
             label.setWrapText(true);
             label.getStyleClass().add("audio-label");
 
-            VBox audioLayout = new VBox(10, label, videoControls);
+            StackPane waveformPane = new StackPane(label);
+            waveformPane.setPrefHeight(waveformHeight);
+            loadWaveform(waveformPane);
+
+            VBox audioLayout = new VBox(10, waveformPane, videoControls);
             audioLayout.setAlignment(Pos.CENTER);
             audioLayout.setPadding(new Insets(10));
             videoLayout.getChildren().add(audioLayout);
@@ -214,28 +304,80 @@ public class ResourceFileController extends Controller implements Initializable
 
         fileContainer.getChildren().add(videoLayout);
 
-        mediaPlayer.currentTimeProperty().addListener((_, _, newTime) -> updateTimeLabels(newTime));
-        mediaPlayer.setOnReady(() -> sliderProgress.setDisable(false));
+        mediaPlayer.currentTimeProperty().addListener((_, _, newTime) -> {
+            updateTimeLabels(newTime);
+            if (waveformView != null)
+                waveformView.setPosition(newTime.toSeconds());
+            highlightActiveComments((int) newTime.toSeconds());
+        });
+        sliderProgress.setDisable(false);
+
+        if (resourceManager.getResource() instanceof MultimediaResource multimediaResource) {
+            metadataBox.getChildren().add(createMetadataRow(Strings.DURATION, formatDuration(mediaPlayer.getTotalDuration())));
+            metadataBox.getChildren().add(
+                    createMetadataRow(Strings.REGISTERED_DATA,
+                            multimediaResource.getResourceDate() != null
+                                    ? multimediaResource.getResourceDate().toString()
+                                    : Strings.NO_REGISTERED)
+            );
+            metadataBox.getChildren().add(
+                    createMetadataRow(Strings.LOCATION,
+                            multimediaResource.getLocation() != null
+                                    ? multimediaResource.getLocation()
+                                    : Strings.NO_REGISTERED)
+            );
+        }
 
         videoToolBox.setVisible(true);
         handlePlayPause();
     }
 
     /**
-     * Loads and displays all comments associated with the current resource.
+     * Loads the waveform of the audio file in the background, reading its saved peak index
+     * (or creating it on the first view), and shows it in place of the audio file label once loaded.
+     * Clicking the waveform seeks to the clicked time. If the waveform cannot be created, the label is kept.
+     *
+     * @param waveformPane the pane showing the audio file label, replaced by the waveform
+     */
+    private void loadWaveform(StackPane waveformPane) {
+        Resource resource = resourceManager.getResource();
+        tasks.run(() -> WaveformStore.get(resource),
+                index -> {
+                    waveformView = new WaveformView(fileContainer.getPrefWidth() - 20, waveformHeight);
+                    waveformView.setIndex(index);
+                    waveformView.setOnSeek(seconds -> seekTo(Duration.seconds(seconds)));
+                    for (Comment comment : segmentComments)
+                        markSegment(comment);
+                    waveformView.setPosition(mediaPlayer.getCurrentTime().toSeconds());
+                    waveformPane.getChildren().setAll(waveformView);
+                },
+                error -> System.err.println(Strings.MEDIA_ERROR + error.getMessage()));
+    }
+
+    /**
+     * Marks on the waveform the segment a comment refers to.
+     *
+     * @param comment the comment, referring to a segment
+     */
+    private void markSegment(Comment comment) {
+        int end = Math.max(comment.getStartTrackInterval(), comment.getEndTrackInterval());
+        waveformView.addSegment(comment.getStartTrackInterval(), end);
+    }
+
+    /**
+     * Displays all comments associated with the current resource.
      * <p>
-     * For each comment retrieved from the database, the corresponding user is also fetched.
-     * If the user exists, the comment is added to the user interface.
+     * The comments have been read together with their authors and replies,
+     * so the threads are added to the user interface without further queries.
      * </p>
+     *
+     * @param loaded the content read in the background, with the comment threads
      */
-    private void setComments() {
-        if (resourceManager.getResource() != null) {
-            for (Comment comment : DatabaseManager.getDAOProvider().getCommentDAO().getAllCommentByResource(resourceManager.getResource().getId())) {
-                User user = DatabaseManager.getDAOProvider().getUserDAO().getById(comment.getUserID());
-                if(user != null)
-                    addCommentOnView(comment, user);
-            }
+    private void setComments(LoadedResource loaded) {
+        for (CommentThread thread : loaded.comments()) {
+            addCommentOnView(thread, thread.getUser(), thread.getReplies());
         }
+        indexSegmentComments();
     }
 
     /**
@@ -248,59 +390,30 @@ public class ResourceFileController extends Controller implements Initializable
      *     <li>Genres linked to the track</li>
      *     <li>Musical instruments involved</li>
      *     <li>File format and size</li>
-     *     <li>For multimedia resources, duration and registration date (added once media is ready)</li>
+     *     <li>For multimedia resources, duration and registration date (added by {@link #setupMediaPlayer} once the media is ready)</li>
      *     <li>Name of the user who uploaded the resource</li>
      * </ul>
      * </p>
      *
+     * @param loaded the content read in the background, with the track summary, size and uploader of the resource
      * @return a {@code VBox} node containing the metadata rows to be displayed in the UI
      */
-    private VBox setDetailsInfo() {
+    private VBox setDetailsInfo(LoadedResource loaded) {
         VBox box = new VBox();
         box.setAlignment(Pos.CENTER_LEFT);
         box.setSpacing(5);
 
-        track = DatabaseManager.getDAOProvider().getTrackDAO().getTrackByResourceId(resourceManager.getResource().getId());
-        String title = track.getTitle();
-        box.getChildren().add(createMetadataRow(Strings.TRACKS, title));
-
-        String authors = DatabaseManager.getDAOProvider().getAuthorDAO().getAllAuthorsByTrackId(track.getId()).stream()
-                .map(Author::getAuthorshipName)
-                .collect(Collectors.joining(", "));
-        box.getChildren().add(createMetadataRow(Strings.AUTHORS, authors));
-
-        String genres = DatabaseManager.getDAOProvider().getGenreDAO().getAllGenresByTrackId(track.getId()).stream()
-                .map(Genre::getName)
-                .collect(Collectors.joining(", "));
-        box.getChildren().add(createMetadataRow(Strings.GENRES, genres));
-
-        String instruments = DatabaseManager.getDAOProvider().getMusicalInstrumentDAO().getAllInstrumentByTrackId(track.getId()).stream()
-                .map(MusicalInstrument::getName)
-                .collect(Collectors.joining(", "));
-        box.getChildren().add(createMetadataRow(Strings.INSTRUMENTS, instruments));
+        TrackSummary summary = loaded.track();
+        track = summary;
+        box.getChildren().add(createMetadataRow(Strings.TRACKS, summary.getTitle()));
+        box.getChildren().add(createMetadataRow(Strings.AUTHORS, String.join(", ", summary.getAuthorNames())));
+        box.getChildren().add(createMetadataRow(Strings.GENRES, String.join(", ", summary.getGenreNames())));
+        box.getChildren().add(createMetadataRow(Strings.INSTRUMENTS, String.join(", ", summary.getInstrumentNames())));
 
         box.getChildren().add(createMetadataRow(Strings.FILE_FORMAT, resourceManager.getResource().getType().toString()));
-        box.getChildren().add(createMetadataRow(Strings.RESOURCE_SIZE, humanReadableByteCount(resourceManager.getResource().getData().length)));
-
-        if(resourceManager.getResource() instanceof MultimediaResource multimediaResource) {
-            mediaPlayer.setOnReady(() -> {
-                metadataBox.getChildren().add(createMetadataRow(Strings.DURATION, formatDuration(mediaPlayer.getTotalDuration())));
-                metadataBox.getChildren().add(
-                        createMetadataRow(Strings.REGISTERED_DATA,
-                                multimediaResource.getResourceDate() != null
-                                        ? multimediaResource.getResourceDate().toString()
-                                        : Strings.NO_REGISTERED)
-                );
-                metadataBox.getChildren().add(
-                        createMetadataRow(Strings.LOCATION,
-                                multimediaResource.getLocation() != null
-                                        ? multimediaResource.getLocation()
-                                        : Strings.NO_REGISTERED)
-                );
-            });
-        }
+        box.getChildren().add(createMetadataRow(Strings.RESOURCE_SIZE, humanReadableByteCount(loaded.size())));
 
-        User user = DatabaseManager.getDAOProvider().getUserDAO().getById(resourceManager.getResource().getUserID());
+        User user = loaded.uploader();
         box.getChildren().add(createMetadataRow(Strings.UPLOADED, user.getName() + " " + user.getSurname()));
 
         return box;
@@ -722,20 +835,72 @@ public class ResourceFileController extends Controller implements Initializable
             c = new Comment(commentText, new Timestamp(System.currentTimeMillis()), ViewManager.getSessionUser().getId(), resourceManager.getResource().getId());
             int id = DatabaseManager.getDAOProvider().getCommentDAO().insert(c);
             c = new Comment(id, c.getDescription(), c.getStartTrackInterval(), c.getEndTrackInterval(), c.getCreationDate(), c.getUserID(), resourceManager.getResource().getId());
-            addCommentOnView(c, ViewManager.getSessionUser());
+            addPostedComment(c);
             commentField.clear();
         }
     }
 
+    /**
+     * Adds a comment just posted by the session user to the view, indexing it if it refers to a segment of the media.
+     *
+     * @param comment the posted {@link Comment}, with its generated ID
+     */
+    private void addPostedComment(Comment comment) {
+        addCommentOnView(comment, ViewManager.getSessionUser(), List.of());
+        if (segmentCommentNodes.containsKey(comment.getID()))
+            indexSegmentComments();
+    }
+
+    /**
+     * Rebuilds the interval index of the segment comments, once all the comments being added are on the view.
+     */
+    private void indexSegmentComments() {
+        segmentIndex = IntervalTree.of(segmentComments, Comment::getStartTrackInterval, Comment::getEndTrackInterval);
+        activeSecond = -1;
+    }
+
     /**
      * Adds a comment node representing the given comment and user to the comments container in the UI.
+     * A comment referring to a segment of the media is also marked on the waveform,
+     * and found by the highlight once {@link #indexSegmentComments()} is called.
      *
      * @param comment the {@link Comment} to be displayed
      * @param user the {@link User} who posted the comment
+     * @param replies the replies to the comment, with their authors and replies
      */
-    private void addCommentOnView(Comment comment, User user) {
-        VBox commentNode = createCommentNode(comment, user, 0);
+    private void addCommentOnView(Comment comment, User user, List<CommentThread> replies) {
+        VBox commentNode = createCommentNode(comment, user, replies, 0);
         commentVBox.getChildren().add(commentNode);
+
+        if (comment.isOnSegment()) {
+            segmentComments.add(comment);
+            segmentCommentNodes.put(comment.getID(), commentNode);
+            if (waveformView != null)
+                markSegment(comment);
+        }
+    }
+
+    /**
+     * Highlights the comments referring to a segment that covers the time played, looking them up
+     * in the interval index only when the played second changes, and removes the highlight from the others.
+     *
+     * @param second the second of the media being played
+     */
+    private void highlightActiveComments(int second) {
+        if (second == activeSecond || segmentCommentNodes.isEmpty()) {
+            return;
+        }
+        activeSecond = second;
+        List<Comment> active = segmentIndex.findAt(second);
+        for (Comment comment : activeComments) {
+            if (!active.contains(comment))
+                segmentCommentNodes.get(comment.getID()).getStyleClass().remove("comment-active");
+        }
+        for (Comment comment : active) {
+            if (!activeComments.contains(comment))
+                segmentCommentNodes.get(comment.getID()).getStyleClass().add("comment-active");
+        }
+        activeComments = active;
     }
 
     /**
@@ -752,15 +917,16 @@ public class ResourceFileController extends Controller implements Initializable
      *   <li>A nested section to show replies to the comment, with expand/collapse functionality.</li>
      * </ul>
      *
-     * The method also handles the logic for adding new replies, recursively loading existing replies from the database,
-     * and event handling for user interactions with the buttons.
+     * The method also handles the logic for adding new replies, recursively creating the nodes of the existing replies,
+     * already read with the comment, and event handling for user interactions with the buttons.
      *
      * @param comment the comment object to be represented in the node
      * @param user the user who authored the comment, used to display name and role
+     * @param replies the existing replies to the comment, with their authors and replies
      * @param indentLevel the indentation level for the node, used to format nested replies visually
      * @return a VBox containing the complete structure of the comment including any nested replies
      */
-    private VBox createCommentNode(Comment comment, User user, int indentLevel) {
+    private VBox createCommentNode(Comment comment, User user, List<CommentThread> replies, int indentLevel) {
         Label nameLabel = new Label(user.getName() + " " + user.getSurname());
         nameLabel.setWrapText(true);
         nameLabel.getStyleClass().add("comment-author");
@@ -849,14 +1015,14 @@ public class ResourceFileController extends Controller implements Initializable
         commentBox.setMaxWidth(280);
         HBox role =  new HBox(roleLB);
         role.setAlignment(Pos.CENTER);
-        if(comment.getStartTrackInterval() != 0 && comment.getEndTrackInterval() != comment.getStartTrackInterval()){
+        if(comment.isOnSegment()){
             Label start = new Label(formatDuration(new Duration(comment.getStartTrackInterval()*1000)));
             Label dash = new Label("- ");
             Label end = new Label(formatDuration(new Duration(comment.getEndTrackInterval()*1000)));
             HBox intervals = new HBox();
 
             start.setOnMouseClicked(_ -> seekTo(new Duration(comment.getStartTrackInterval() * 1000)));
-            if(comment.getEndTrackInterval() != 0){
+            if(comment.getEndTrackInterval() > comment.getStartTrackInterval()){
                 intervals.getChildren().addAll(start, dash, end);
                 end.setOnMouseClicked(_ -> seekTo(new Duration(comment.getEndTrackInterval() * 1000)));
             }
@@ -910,6 +1076,7 @@ public class ResourceFileController extends Controller implements Initializable
                     VBox replyNode = createCommentNode(
                             newReply,
                             SessionManager.getInstance().getUser(),
+                            List.of(),
                             1
                     );
 
@@ -923,13 +1090,13 @@ public class ResourceFileController extends Controller implements Initializable
             });
         });
 
-        List<Comment> replies = DatabaseManager.getDAOProvider().getCommentDAO().getAllReplies(comment.getID());
-        if (replies != null && !replies.isEmpty()) {
+        if (!replies.isEmpty()) {
             repliesLabel.setVisible(true);
-            for (Comment reply : replies) {
+            for (CommentThread reply : replies) {
                 VBox replyNode = createCommentNode(
                         reply,
-                        getUser(reply.getUserID()),
+                        reply.getUser(),
+                        reply.getReplies(),
                         1
                 );
                 repliesBox.getChildren().add(replyNode);
@@ -947,16 +1114,6 @@ public class ResourceFileController extends Controller implements Initializable
         return container;
     }
 
-    /**
-     * Retrieves a User object from the database based on the given user ID.
-     *
-     * @param userId the unique identifier of the user to fetch
-     * @return the User object corresponding to the given ID, or null if not found
-     */
-    private User getUser(int userId) {
-        return DatabaseManager.getDAOProvider().getUserDAO().getById(userId);
-    }
-
     /**
      * Opens a dialog to add a time-segment-specific comment on the media track.
      * The user inputs a start time, an optional end time, and a comment description.
@@ -1010,7 +1167,7 @@ public class ResourceFileController extends Controller implements Initializable
 
                     int id = DatabaseManager.getDAOProvider().getCommentDAO().insert(c);
                     c = new Comment(id, c.getDescription(), c.getStartTrackInterval(), c.getEndTrackInterval(), c.getCreationDate(), c.getUserID(), resourceManager.getResource().getId());
-                    addCommentOnView(c, ViewManager.getSessionUser());
+                    addPostedComment(c);
                 } catch (DateTimeParseException ex) {
                     ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, Strings.INVALID_TIME_FORMAT + ex.getParsedString(), Alert.AlertType.ERROR);
                 }
@@ -1076,7 +1233,7 @@ public class ResourceFileController extends Controller implements Initializable
         File selectedFile = fileChooser.showSaveDialog(Main.root);
         if (selectedFile != null) {
             try (FileOutputStream fos = new FileOutputStream(selectedFile)) {
-                fos.write(r.getData());
+                DatabaseManager.getDAOProvider().getResourceDAO().copyDataTo(r.getId(), fos);
                 ViewManager.setAndShowAlert(Strings.SUCCESS, Strings.SUCCESS, Strings.FILE_DOWNLOADED, Alert.AlertType.INFORMATION);
             } catch (IOException e) {
                 System.out.println("Error saving file: " + e.getMessage());
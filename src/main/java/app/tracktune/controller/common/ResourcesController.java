@@ -4,17 +4,16 @@ import app.tracktune.Main;
 import app.tracktune.controller.Controller;
 import app.tracktune.controller.admin.AdminDashboardController;
 import app.tracktune.controller.authenticatedUser.AuthenticatedUserDashboardController;
-import app.tracktune.model.track.TrackGenre;
-import app.tracktune.model.track.TrackInstrument;
 import app.tracktune.utils.SessionManager;
 import app.tracktune.utils.DatabaseManager;
-import app.tracktune.model.author.Author;
 import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceSortEnum;
+import app.tracktune.model.resource.ResourceSummary;
 import app.tracktune.model.resource.ResourceTypeEnum;
-import app.tracktune.model.track.Track;
-import app.tracktune.model.track.TrackAuthor;
+import app.tracktune.model.track.TrackSummary;
 import app.tracktune.utils.BrowserManager;
 import app.tracktune.utils.Frames;
+import app.tracktune.utils.PageNavigator;
 import app.tracktune.utils.ResourceManager;
 import app.tracktune.utils.Strings;
 import app.tracktune.view.ViewManager;
@@ -23,7 +22,6 @@ import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
@@ -33,10 +31,11 @@ import javafx.scene.layout.VBox;
 
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
 
 public class ResourcesController extends Controller implements Initializable {
     /** Container VBox where resource UI items are displayed. */
@@ -48,9 +47,6 @@ public class ResourcesController extends Controller implements Initializable {
     /** Button to navigate to the next page of resources. */
     @FXML private Button btnNext;
 
-    /** List holding all resources to be paginated and displayed. */
-    private List<Resource> resources = new ArrayList<>();
-
     /** Manager responsible for browser navigation actions (e.g., opening URLs). */
     private BrowserManager browserManager;
 
@@ -63,8 +59,22 @@ public class ResourcesController extends Controller implements Initializable {
     /** Number of resource items shown per page in the UI. */
     private final int itemsPerPage = 5;
 
-    /** Current page index in the pagination (zero-based). */
-    private int currentPage = 0;
+    /** Pages of resource metadata read from the database, only the current page is kept in memory. */
+    private final PageNavigator<ResourceSummary> resourcePages = new PageNavigator<>(itemsPerPage, ResourceSortEnum.ID);
+
+    /** Background load of the page being shown, cancelled when another page is requested. */
+    private CompletableFuture<?> pageLoad;
+
+    /** Number of page loads requested, so that only the last one is shown. */
+    private int pageLoadCount = 0;
+
+    /**
+     * A page of resources read in the background, with the summaries of the tracks of its resources.
+     *
+     * @param position the position of the page
+     * @param tracks   the summaries of the tracks, keyed by track ID
+     */
+    private record ResourcePage(PageNavigator.Position<ResourceSummary> position, Map<Integer, TrackSummary> tracks) {}
 
     /**
      * Initializes the controller by loading user-specific resources, setting up navigation buttons,
@@ -72,11 +82,11 @@ public class ResourcesController extends Controller implements Initializable {
      * <p>
      * Specifically:
      * <ul>
-     *     <li>Retrieves all resources associated with the current user from the database.</li>
+     *     <li>Retrieves the first page of resources associated with the current user from the database in the background.</li>
      *     <li>Initializes the {@link BrowserManager} and {@link ResourceManager} singletons.</li>
      *     <li>Configures the window to dispose of media players when closed.</li>
      *     <li>Sets up pagination controls to navigate between resource pages.</li>
-     *     <li>Starts a timer to track the readiness of media resources and updates the displayed content.</li>
+     *     <li>Updates the displayed content, starting a timer to track the readiness of its media resources.</li>
      * </ul>
      *
      * @param location the location used to resolve relative paths for the root object (unused in this method)
@@ -87,24 +97,51 @@ public class ResourcesController extends Controller implements Initializable {
         browserManager = BrowserManager.getInstance();
         resourceManager = ResourceManager.getInstance();
         Platform.runLater(() -> Main.root.setOnCloseRequest(_ -> dispose(resourcesContainer)));
-        resources = DatabaseManager.getDAOProvider().getResourceDAO().getAllByUserID(SessionManager.getInstance().getUser().getId());
+        cancelOnDetach(resourcesContainer);
+        int userId = SessionManager.getInstance().getUser().getId();
 
         btnPrev.setOnAction(_ -> {
-            if (currentPage > 0) {
-                currentPage--;
-                updateResources();
+            if (resourcePages.hasPrevious()) {
+                loadResources(resourcePages::readPrevious);
             }
         });
 
         btnNext.setOnAction(_ -> {
-            if ((currentPage + 1) * itemsPerPage < resources.size()) {
-                currentPage++;
-                updateResources();
+            if (resourcePages.hasNext()) {
+                loadResources(resourcePages::readNext);
             }
         });
 
-        startTimer(resourcesContainer, resources, resourceManager);
-        updateResources();
+        loadResources(_ -> resourcePages.readFirst(request -> DatabaseManager.getDAOProvider().getResourceDAO().getSummaryPageByUserID(userId, request)));
+    }
+
+    /**
+     * Moves to another page of resources in the background, then shows it.
+     * <p>
+     * The page and the summaries of the tracks of its resources are read off the JavaFX thread,
+     * after any load still running; a load not started yet is cancelled since its page would be immediately replaced.
+     * The page navigator is moved on the JavaFX thread together with the list, and only by the last load requested.
+     *
+     * @param move reads the page to move to from the current position, e.g. the next page
+     */
+    private void loadResources(UnaryOperator<PageNavigator.Position<ResourceSummary>> move) {
+        if (pageLoad != null) {
+            pageLoad.cancel(false);
+        }
+        btnPrev.setDisable(true);
+        btnNext.setDisable(true);
+
+        int load = ++pageLoadCount;
+        PageNavigator.Position<ResourceSummary> from = resourcePages.getPosition();
+        pageLoad = tasks.runInOrder(() -> {
+            PageNavigator.Position<ResourceSummary> to = move.apply(from);
+            return new ResourcePage(to, getTrackSummaries(to.page().items()));
+        }, page -> {
+            if (load == pageLoadCount) {
+                resourcePages.moveTo(page.position());
+                updateResources(page.tracks());
+            }
+        });
     }
 
     /**
@@ -136,13 +173,14 @@ public class ResourcesController extends Controller implements Initializable {
      * Otherwise, it loads the resource file view and sets it in the main content area
      * of the parent dashboard controller.
      *
-     * @param resource the resource to view
+     * @param summary the summary of the resource to be viewed; its content is read on demand
      */
     @FXML
-    private void viewResource(Resource resource) {
+    private void viewResource(ResourceSummary summary) {
         try{
+            Resource resource = DatabaseManager.getDAOProvider().getResourceDAO().getMetadataById(summary.getId());
             if(resource.getType().equals(ResourceTypeEnum.link)){
-                String url = new String(resource.getData(), StandardCharsets.UTF_8);
+                String url = new String(DatabaseManager.getDAOProvider().getResourceDAO().getDataById(resource.getId()), StandardCharsets.UTF_8);
                 browserManager.browse(url);
             }else{
                 FXMLLoader loader = new FXMLLoader(this.getClass().getResource(Frames.RESOURCE_FILE_VIEW_PATH));
@@ -171,11 +209,12 @@ public class ResourcesController extends Controller implements Initializable {
      * and replaces the main content of the parent dashboard controller with this view.
      * If an error occurs during loading, an error alert is displayed.
      *
-     * @param resource the resource to be edited
+     * @param summary the summary of the resource to be edited; its content is read on demand
      */
     @FXML
-    private void editResource(Resource resource) {
+    private void editResource(ResourceSummary summary) {
         try{
+            Resource resource = DatabaseManager.getDAOProvider().getResourceDAO().getMetadataById(summary.getId());
             FXMLLoader loader = new FXMLLoader(this.getClass().getResource(Frames.EDIT_RESOURCE_VIEW_PATH));
             loader.setControllerFactory(_ -> new EditResourceController(resource));
             Parent view = loader.load();
@@ -196,22 +235,21 @@ public class ResourcesController extends Controller implements Initializable {
     /**
      * Updates the resources view by displaying the current page of resource items.
      * <p>
-     * Clears the current displayed resources, calculates the subset of resources
-     * for the current page, updates pagination button states, and populates the container
-     * with resource items. If the resource list is empty, displays a message indicating
-     * the list is empty.
+     * Clears the current displayed resources, updates pagination button states, and populates the container
+     * with the resource items of the current page, whose previews are loaded in the background.
+     * If the page is empty, displays a message indicating the list is empty.
+     *
+     * @param tracks the summaries of the tracks of the resources of the current page, keyed by track ID
      */
-    private void updateResources() {
+    private void updateResources(Map<Integer, TrackSummary> tracks) {
         resourcesContainer.getChildren().clear();
+        media.cancelAll();
 
-        int total = resources.size();
-        int start = currentPage * itemsPerPage;
-        int end = Math.min(start + itemsPerPage, total);
+        List<ResourceSummary> pageItems = resourcePages.getItems();
+        btnPrev.setDisable(!resourcePages.hasPrevious());
+        btnNext.setDisable(!resourcePages.hasNext());
 
-        btnPrev.setDisable(currentPage == 0);
-        btnNext.setDisable(end >= total);
-
-        if (resources.isEmpty()) {
+        if (pageItems.isEmpty()) {
             Label emptyLabel = new Label(Strings.EMPTY_LIST);
             emptyLabel.getStyleClass().add("empty-list-label");
 
@@ -219,9 +257,8 @@ public class ResourcesController extends Controller implements Initializable {
             emptyBox.setAlignment(Pos.CENTER);
             resourcesContainer.getChildren().add(emptyBox);
         } else {
-            List<Resource> pageItems = resources.subList(start, end);
-            for (Resource resource : pageItems) {
-                HBox itemBox = createResourceItemBox(resource);
+            for (ResourceSummary resource : pageItems) {
+                HBox itemBox = createResourceItemBox(resource, tracks.get(resource.getTrackID()));
                 resourcesContainer.getChildren().add(itemBox);
             }
         }
@@ -230,19 +267,19 @@ public class ResourcesController extends Controller implements Initializable {
     /**
      * Creates an HBox container representing a single resource item with a media preview and details.
      * <p>
-     * This method sets the resource in the resource manager, generates a media preview node,
+     * This method renders the media preview node in the background
      * and combines it with the resource's detail view (created by {@code createRequestItem})
      * into an HBox with spacing and alignment configured.
      *
      * @param resource the resource to create the item box for
+     * @param track    the summary of the track the resource belongs to
      * @return an HBox containing the media preview and resource details, styled and aligned properly
      */
-    private HBox createResourceItemBox(Resource resource) {
-        Node preview = resourceManager.createMediaNode(resource, previewWidth, previewHeight, true);
-
-        HBox requestItemBox = createRequestItem(resource);
+    private HBox createResourceItemBox(ResourceSummary resource, TrackSummary track) {
+        HBox requestItemBox = createRequestItem(resource, track);
 
-        HBox container = new HBox(15, preview, requestItemBox);
+        HBox container = new HBox(15, requestItemBox);
+        loadPreviewAsync(container, resource, resourceManager);
         container.setAlignment(Pos.CENTER_LEFT);
         HBox.setHgrow(requestItemBox, Priority.ALWAYS);
         container.getStyleClass().add("request-item");
@@ -256,48 +293,28 @@ public class ResourcesController extends Controller implements Initializable {
      * Creates an HBox representing the detailed view of a resource item, including its track title,
      * authors, creation date, and action buttons for viewing, editing, and deleting.
      * <p>
-     * The method queries the database for the track and authors associated with the resource,
-     * formats the information into labels, and arranges them with buttons in a styled HBox.
+     * The track title and the names of its authors, genres and instruments are taken from the track summary,
+     * read together with the page, then formatted into labels and arranged with buttons in a styled HBox.
      * The buttons trigger the respective actions on the resource.
      *
      * @param resource the resource to create the request item view for
+     * @param track    the summary of the track the resource belongs to
      * @return an HBox containing the resource's metadata and action buttons, styled and aligned
      */
-    private HBox createRequestItem(Resource resource) {
-        Track track = DatabaseManager.getDAOProvider().getTrackDAO().getById(resource.getTrackID());
-        List<TrackAuthor> authors = DatabaseManager.getDAOProvider().getTrackAuthorDAO().getByTrackId(resource.getTrackID());
-        List<TrackGenre> genres = DatabaseManager.getDAOProvider().getTrackGenreDAO().getByTrackId(track.getId());
-        List<TrackInstrument> instruments = DatabaseManager.getDAOProvider().getTrackInstrumentDAO().getByTrackId(track.getId());
-
+    private HBox createRequestItem(ResourceSummary resource, TrackSummary track) {
         Label trackLabel = new Label(track.getTitle());
         trackLabel.getStyleClass().add("request-item-title");
 
-        StringBuilder authorNames = new StringBuilder();
-        for (TrackAuthor trackAuthor : authors) {
-            Author author = DatabaseManager.getDAOProvider().getAuthorDAO().getById(trackAuthor.getAuthorId());
-            authorNames.append(author.getAuthorshipName()).append(", ");
-        }
-
-        String genreNames = genres.stream()
-                .map(tg -> DatabaseManager.getDAOProvider().getGenreDAO().getById(tg.getGenreId()).getName())
-                .collect(Collectors.joining(", "));
-        Label genresLabel = new Label("Genres: " + genreNames);
+        Label genresLabel = new Label("Genres: " + String.join(", ", track.getGenreNames()));
         genresLabel.getStyleClass().add("request-item-authors");
 
         Label instrumentsLabel = null;
-        if(!instruments.isEmpty()){
-            String instrumentsNames = instruments.stream()
-                    .map(ti -> DatabaseManager.getDAOProvider().getMusicalInstrumentDAO().getById(ti.getInstrumentId()).getName())
-                    .collect(Collectors.joining(", "));
-            instrumentsLabel = new Label("Instruments: " + instrumentsNames);
+        if(!track.getInstrumentNames().isEmpty()){
+            instrumentsLabel = new Label("Instruments: " + String.join(", ", track.getInstrumentNames()));
             instrumentsLabel.getStyleClass().add("request-item-authors");
         }
 
-        if (!authorNames.isEmpty()) {
-            authorNames.setLength(authorNames.length() - 2);
-        }
-
-        Label authorsLabel = new Label("Authors: " + authorNames);
+        Label authorsLabel = new Label("Authors: " + String.join(", ", track.getAuthorNames()));
         authorsLabel.getStyleClass().add("request-item-authors");
 
         HBox titleBox = new HBox(10, trackLabel, authorsLabel, genresLabel, instrumentsLabel);
@@ -349,24 +366,19 @@ public class ResourcesController extends Controller implements Initializable {
      * Deletes the specified resource after user confirmation.
      * <p>
      * Prompts the user with a confirmation dialog. If the user confirms,
-     * deletes the resource from the database and removes it from the local resource list.
-     * Adjusts the current page if necessary and refreshes the displayed resources.
+     * deletes the resource from the database in the background and reads the current page again,
+     * moving to the previous page if the current one is left empty, then refreshes the displayed resources.
      *
      * @param resource the resource to be deleted
      */
-    private void deleteResource(Resource resource) {
+    private void deleteResource(ResourceSummary resource) {
         boolean response = ViewManager.setAndGetConfirmAlert(Strings.CONFIRM_DELETION, Strings.CONFIRM_DELETION, Strings.ARE_YOU_SURE);
         if (response)
-            try {
-                DatabaseManager.getDAOProvider().getResourceDAO().deleteById(resource.getId());
-                resources.remove(resource);
-                int maxPage = (int) Math.ceil((double) resources.size() / itemsPerPage);
-                if (currentPage >= maxPage && currentPage > 0) {
-                    currentPage--;
-                }
-                updateResources();
-            } catch (Exception ex) {
-                ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERR_GENERAL, ex.getMessage(), Alert.AlertType.ERROR);
-            }
+            tasks.runInOrder(() -> {
+                        DatabaseManager.getDAOProvider().getResourceDAO().deleteById(resource.getId());
+                        return null;
+                    },
+                    _ -> loadResources(resourcePages::readAgain),
+                    ex -> ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERR_GENERAL, ex.getMessage(), Alert.AlertType.ERROR));
     }
 }
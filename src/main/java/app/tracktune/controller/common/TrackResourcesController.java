@@ -9,6 +9,8 @@ import app.tracktune.model.track.TrackInstrument;
 import app.tracktune.utils.*;
 import app.tracktune.model.author.Author;
 import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceSortEnum;
+import app.tracktune.model.resource.ResourceSummary;
 import app.tracktune.model.resource.ResourceTypeEnum;
 import app.tracktune.model.track.Track;
 import app.tracktune.model.track.TrackAuthor;
@@ -19,7 +21,6 @@ import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
@@ -31,7 +32,6 @@ import javafx.scene.layout.VBox;
 
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.stream.Collectors;
@@ -55,11 +55,6 @@ public class TrackResourcesController extends Controller implements Initializabl
     @FXML
     private Button btnNext;
 
-    /**
-     * List of all resources currently managed/displayed.
-     */
-    private List<Resource> resources = new ArrayList<>();
-
     /**
      * The Track associated with the resources.
      */
@@ -76,14 +71,14 @@ public class TrackResourcesController extends Controller implements Initializabl
     private BrowserManager browserManager;
 
     /**
-     * Current page index for resource pagination (0-based).
+     * Number of resource items displayed per page.
      */
-    private int currentPage = 0;
+    private final int itemsPerPage = 5;
 
     /**
-     * Number of resource items displayed per page.
+     * Pages of resources of the track read from the database, only the current page is kept in memory.
      */
-    private final int itemsPerPage = 5;
+    private final PageNavigator<ResourceSummary> resourcePages = new PageNavigator<>(itemsPerPage, ResourceSortEnum.ID);
 
     /**
      * Constructs a TrackResourcesController for managing resources related to a specific track.
@@ -101,9 +96,8 @@ public class TrackResourcesController extends Controller implements Initializabl
      * <ul>
      *   <li>Initializes singleton managers (BrowserManager and ResourceManager).</li>
      *   <li>Sets a close request handler to dispose of resources properly when the application closes.</li>
-     *   <li>Loads all resources associated with the current track from the database.</li>
+     *   <li>Loads the first page of resources associated with the current track from the database.</li>
      *   <li>Sets up pagination controls (Previous and Next buttons) to navigate resource pages.</li>
-     *   <li>Starts any required timers related to resource display updates.</li>
      *   <li>Populates the initial page of resources in the UI.</li>
      * </ul>
      *
@@ -115,22 +109,22 @@ public class TrackResourcesController extends Controller implements Initializabl
         browserManager = BrowserManager.getInstance();
         resourceManager = ResourceManager.getInstance();
         Platform.runLater(() -> Main.root.setOnCloseRequest(_ -> dispose(resourcesContainer)));
-        resources = DatabaseManager.getDAOProvider().getResourceDAO().getAllByTrackID(track.getId());
+        cancelOnDetach(resourcesContainer);
+        resourcePages.reset(request -> DatabaseManager.getDAOProvider().getResourceDAO().getSummaryPageByTrackID(track.getId(), request));
 
         btnPrev.setOnAction(_ -> {
-            if (currentPage > 0) {
-                currentPage--;
+            if (resourcePages.hasPrevious()) {
+                resourcePages.previous();
                 updateResources();
             }
         });
 
         btnNext.setOnAction(_ -> {
-            if ((currentPage + 1) * itemsPerPage < resources.size()) {
-                currentPage++;
+            if (resourcePages.hasNext()) {
+                resourcePages.next();
                 updateResources();
             }
         });
-        startTimer(resourcesContainer, resources, resourceManager);
         updateResources();
     }
 
@@ -164,12 +158,13 @@ public class TrackResourcesController extends Controller implements Initializabl
      * <p>
      * Errors are caught and reported with a generic error alert.
      *
-     * @param resource the resource to be viewed
+     * @param summary the summary of the resource to be viewed; its content is read on demand
      */
-    private void viewResource(Resource resource) {
+    private void viewResource(ResourceSummary summary) {
         try{
+            Resource resource = DatabaseManager.getDAOProvider().getResourceDAO().getMetadataById(summary.getId());
             if(resource.getType().equals(ResourceTypeEnum.link)){
-                String url = new String(resource.getData(), StandardCharsets.UTF_8);
+                String url = new String(DatabaseManager.getDAOProvider().getResourceDAO().getDataById(resource.getId()), StandardCharsets.UTF_8);
                 browserManager.browse(url);
             }else{
                 FXMLLoader loader = new FXMLLoader(this.getClass().getResource(Frames.RESOURCE_FILE_VIEW_PATH));
@@ -200,10 +195,11 @@ public class TrackResourcesController extends Controller implements Initializabl
      * <p>
      * If an exception occurs during loading or displaying the view, a generic error alert is shown.
      *
-     * @param resource the resource to be edited
+     * @param summary the summary of the resource to be edited; its content is read on demand
      */
-    private void editResource(Resource resource) {
+    private void editResource(ResourceSummary summary) {
         try{
+            Resource resource = DatabaseManager.getDAOProvider().getResourceDAO().getMetadataById(summary.getId());
             FXMLLoader loader = new FXMLLoader(this.getClass().getResource(Frames.EDIT_RESOURCE_VIEW_PATH));
             loader.setControllerFactory(_ -> new EditResourceController(resource));
             Parent view = loader.load();
@@ -225,21 +221,20 @@ public class TrackResourcesController extends Controller implements Initializabl
      * Updates the displayed list of resources in the UI according to the current page.
      * <p>
      * Clears the resources container and populates it with resource items for the current page,
+     * whose previews are loaded in the background, and
      * applying pagination controls to enable/disable navigation buttons accordingly.
      * <p>
      * If there are no resources, displays a message indicating the list is empty.
      */
     private void updateResources() {
         resourcesContainer.getChildren().clear();
+        media.cancelAll();
 
-        int total = resources.size();
-        int start = currentPage * itemsPerPage;
-        int end = Math.min(start + itemsPerPage, total);
-
-        btnPrev.setDisable(currentPage == 0);
-        btnNext.setDisable(end >= total);
+        List<ResourceSummary> pageItems = resourcePages.getItems();
+        btnPrev.setDisable(!resourcePages.hasPrevious());
+        btnNext.setDisable(!resourcePages.hasNext());
 
-        if (resources.isEmpty()) {
+        if (pageItems.isEmpty()) {
             Label emptyLabel = new Label(Strings.EMPTY_LIST);
             emptyLabel.getStyleClass().add("empty-list-label");
 
@@ -247,8 +242,7 @@ public class TrackResourcesController extends Controller implements Initializabl
             emptyBox.setAlignment(Pos.CENTER);
             resourcesContainer.getChildren().add(emptyBox);
         } else {
-            List<Resource> pageItems = resources.subList(start, end);
-            for (Resource resource : pageItems) {
+            for (ResourceSummary resource : pageItems) {
                 HBox itemBox = createResourceItemBox(resource);
                 resourcesContainer.getChildren().add(itemBox);
             }
@@ -258,7 +252,7 @@ public class TrackResourcesController extends Controller implements Initializabl
     /**
      * Creates an HBox representing a single resource item with a media preview and details.
      * <p>
-     * The preview is generated using the ResourceManager and sized to fixed dimensions.
+     * The preview is generated in the background using the ResourceManager and sized to fixed dimensions.
      * The resource details and controls are created by the {@code createRequestItem} method.
      * <p>
      * The returned HBox arranges the preview and the details side by side with spacing,
@@ -267,15 +261,11 @@ public class TrackResourcesController extends Controller implements Initializabl
      * @param resource the Resource object to represent visually
      * @return an HBox containing the media preview and resource details
      */
-    private HBox createResourceItemBox(Resource resource) {
-        int previewWidth = 140;
-        int previewHeight = 120;
-
-        Node preview = resourceManager.createMediaNode(resource, previewWidth, previewHeight, true);
-
+    private HBox createResourceItemBox(ResourceSummary resource) {
         HBox requestItemBox = createRequestItem(resource);
 
-        HBox container = new HBox(15, preview, requestItemBox);
+        HBox container = new HBox(15, requestItemBox);
+        loadPreviewAsync(container, resource, resourceManager);
         container.setAlignment(Pos.CENTER_LEFT);
         HBox.setHgrow(requestItemBox, Priority.ALWAYS);
         container.getStyleClass().add("request-item");
@@ -301,7 +291,7 @@ public class TrackResourcesController extends Controller implements Initializabl
      * @param resource the Resource object for which to create the UI item
      * @return an HBox containing the resource's information and control buttons
      */
-    private HBox createRequestItem(Resource resource) {
+    private HBox createRequestItem(ResourceSummary resource) {
         Track track = DatabaseManager.getDAOProvider().getTrackDAO().getById(resource.getTrackID());
         List<TrackAuthor> trackAuthors = DatabaseManager.getDAOProvider().getTrackAuthorDAO().getByTrackId(resource.getTrackID());
         List<TrackGenre> genres = DatabaseManager.getDAOProvider().getTrackGenreDAO().getByTrackId(track.getId());
@@ -393,23 +383,19 @@ public class TrackResourcesController extends Controller implements Initializabl
      * Deletes the specified resource after user confirmation.
      * <p>
      * Displays a confirmation dialog to the user. If confirmed, attempts to delete the resource
-     * from the database and remove it from the local list. Adjusts the current page if necessary
-     * to ensure the pagination remains valid, then updates the resource display.
+     * from the database and reads the current page again, moving to the previous page if the current one
+     * is left empty, then updates the resource display.
      * <p>
      * If any exception occurs during deletion, an error alert is shown to the user.
      *
      * @param resource the Resource to be deleted
      */
-    private void deleteResource(Resource resource) {
+    private void deleteResource(ResourceSummary resource) {
         boolean response = ViewManager.setAndGetConfirmAlert(Strings.CONFIRM_DELETION, Strings.CONFIRM_DELETION, Strings.ARE_YOU_SURE);
         if (response)
             try {
                 DatabaseManager.getDAOProvider().getResourceDAO().deleteById(resource.getId());
-                resources.remove(resource);
-                int maxPage = (int) Math.ceil((double) resources.size() / itemsPerPage);
-                if (currentPage >= maxPage && currentPage > 0) {
-                    currentPage--;
-                }
+                resourcePages.reload();
                 updateResources();
             } catch (Exception ex) {
                 ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERR_GENERAL, ex.getMessage(), Alert.AlertType.ERROR);
@@ -3,7 +3,6 @@ package app.tracktune.controller.common;
 import app.tracktune.controller.Controller;
 import app.tracktune.controller.admin.AdminDashboardController;
 import app.tracktune.controller.authenticatedUser.AuthenticatedUserDashboardController;
-import app.tracktune.exceptions.SQLiteException;
 import app.tracktune.utils.DatabaseManager;
 import app.tracktune.model.author.Author;
 import app.tracktune.model.author.AuthorDAO;
@@ -15,6 +14,7 @@ import app.tracktune.model.resource.Resource;
 import app.tracktune.model.track.*;
 import app.tracktune.model.user.Administrator;
 import app.tracktune.utils.Frames;
+import app.tracktune.utils.PageNavigator;
 import app.tracktune.utils.Strings;
 import app.tracktune.view.ViewManager;
 import javafx.collections.FXCollections;
@@ -32,7 +32,8 @@ import org.kordamp.ikonli.javafx.FontIcon;
 
 import java.net.URL;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
 
 /**
  * JavaFX controller for managing the music tracks view in the admin panel.
@@ -69,23 +70,31 @@ public class TracksController extends Controller implements Initializable {
      */
     @FXML private HBox filterControlsContainer;
 
+    // CONSTANTS
+    private static final int ITEMS_PER_PAGE = 6;
+
     /**
-     * A list containing all available {@link Track} instances, usually loaded from the database.
+     * Pages of the {@link Track} instances that match the current filter criteria, read from the database one at a time.
      */
-    private List<Track> allTracks = new ArrayList<>();
+    private final PageNavigator<Track> trackPages = new PageNavigator<>(ITEMS_PER_PAGE, TrackSortEnum.ID);
 
     /**
-     * A list of {@link Track} instances that match the current filter criteria.
+     * Background load of the page being shown, cancelled when another page or filter is requested.
      */
-    private List<Track> filteredTracks = new ArrayList<>();
+    private CompletableFuture<?> pageLoad;
 
     /**
-     * Index of the current page based on the pagination logic
+     * Number of page loads requested, so that only the last one is shown.
      */
-    private int currentPage = 0;
-    // CONSTANTS
-    private static final int ITEMS_PER_PAGE = 6;
+    private int pageLoadCount = 0;
 
+    /**
+     * A page of tracks read in the background, with the summaries of its tracks.
+     *
+     * @param position the position of the page
+     * @param tracks   the summaries of the tracks of the page
+     */
+    private record TrackPage(PageNavigator.Position<Track> position, List<TrackSummary> tracks) {}
 
     protected Resource resource;
 
@@ -101,17 +110,17 @@ public class TracksController extends Controller implements Initializable {
     /**
      * Called automatically after FXML loading is complete.
      * Initializes the controller by loading tracks, setting up filters, and pagination.
+     * Tracks are read in the background, and the loads still pending are cancelled when the view is left.
      *
      * @param location  the location used to resolve relative paths for the root object, or null if not known
      * @param resources the resources used to localize the root object, or null if not localized
      */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        allTracks = DatabaseManager.getDAOProvider().getTrackDAO().getAll();
-        filteredTracks = new ArrayList<>(allTracks);
+        cancelOnDetach(tracksContainer);
         setupFilterComboBox();
         setupPaginationButtons();
-        updateTracks();
+        showAllTracks();
     }
 
     /**
@@ -125,10 +134,7 @@ public class TracksController extends Controller implements Initializable {
         filterTypeComboBox.setCellFactory(_ -> createFilterListCell());
         filterTypeComboBox.setButtonCell(createFilterListCell());
 
-        filterTypeComboBox.setOnAction(_ -> {
-            filteredTracks = new ArrayList<>(allTracks);
-            applyFilter(filterTypeComboBox.getValue());
-        });
+        filterTypeComboBox.setOnAction(_ -> applyFilter(filterTypeComboBox.getValue()));
     }
 
     /**
@@ -162,18 +168,24 @@ public class TracksController extends Controller implements Initializable {
      * @param filter the selected filter type
      */
     private void applyFilter(String filter) {
-        currentPage = 0;
         filterControlsContainer.getChildren().remove(1, filterControlsContainer.getChildren().size());
 
         switch (filter) {
-            case "Author" -> setupEntityFilter(DatabaseManager.getDAOProvider().getAuthorDAO().getAll());
-            case "Genre" -> setupEntityFilter(DatabaseManager.getDAOProvider().getGenreDAO().getAll());
-            case "Instrument" -> setupEntityFilter(DatabaseManager.getDAOProvider().getMusicalInstrumentDAO().getAll());
+            case "Author" -> tasks.run(() -> DatabaseManager.getDAOProvider().getAuthorDAO().getAll(), this::setupEntityFilter);
+            case "Genre" -> tasks.run(() -> DatabaseManager.getDAOProvider().getGenreDAO().getAll(), this::setupEntityFilter);
+            case "Instrument" -> tasks.run(() -> DatabaseManager.getDAOProvider().getMusicalInstrumentDAO().getAll(), this::setupEntityFilter);
             case "Title" -> setupTitleFilter();
-            default -> filteredTracks = new ArrayList<>(allTracks);
         }
 
-        updateTracks();
+        // all the tracks are shown until a value is selected for the filter
+        showAllTracks();
+    }
+
+    /**
+     * Removes any filter and shows the first page of all the tracks.
+     */
+    private void showAllTracks() {
+        loadTracks(_ -> trackPages.readFirst(DatabaseManager.getDAOProvider().getTrackDAO()::getPage));
     }
 
     /**
@@ -185,11 +197,8 @@ public class TracksController extends Controller implements Initializable {
         titleField.getStyleClass().add("textField");
 
         titleField.setOnKeyReleased(_ -> {
-            String input = titleField.getText().toLowerCase();
-            filteredTracks = allTracks.stream()
-                    .filter(t -> t.getTitle().toLowerCase().contains(input))
-                    .collect(Collectors.toList());
-            updateTracks();
+            String input = titleField.getText();
+            loadTracks(_ -> trackPages.readFirst(request -> DatabaseManager.getDAOProvider().getTrackDAO().getPageByTitle(input, request)));
         });
 
         filterControlsContainer.getChildren().add(titleField);
@@ -237,14 +246,14 @@ public class TracksController extends Controller implements Initializable {
     private <T> void setupComboBoxAction(ComboBox<T> comboBox) {
         comboBox.setOnAction(_ -> {
             T selected = comboBox.getValue();
+            TrackDAO trackDAO = DatabaseManager.getDAOProvider().getTrackDAO();
             if (selected instanceof Author author) {
-                filteredTracks = DatabaseManager.getDAOProvider().getTrackDAO().getAllByAuthorId(author.getId());
+                loadTracks(_ -> trackPages.readFirst(request -> trackDAO.getPageByAuthorId(author.getId(), request)));
             } else if (selected instanceof Genre genre) {
-                filteredTracks = DatabaseManager.getDAOProvider().getTrackDAO().getAllByGenreId(genre.getId());
+                loadTracks(_ -> trackPages.readFirst(request -> trackDAO.getPageByGenreId(genre.getId(), request)));
             } else if (selected instanceof MusicalInstrument instrument) {
-                filteredTracks = DatabaseManager.getDAOProvider().getTrackDAO().getAllByInstrumentId(instrument.getId());
+                loadTracks(_ -> trackPages.readFirst(request -> trackDAO.getPageByInstrumentId(instrument.getId(), request)));
             }
-            updateTracks();
         });
     }
 
@@ -253,40 +262,70 @@ public class TracksController extends Controller implements Initializable {
      */
     private void setupPaginationButtons() {
         btnPrev.setOnAction(_ -> {
-            if (currentPage > 0) {
-                currentPage--;
-                updateTracks();
+            if (trackPages.hasPrevious()) {
+                loadTracks(trackPages::readPrevious);
             }
         });
 
         btnNext.setOnAction(_ -> {
-            if ((currentPage + 1) * ITEMS_PER_PAGE < filteredTracks.size()) {
-                currentPage++;
-                updateTracks();
+            if (trackPages.hasNext()) {
+                loadTracks(trackPages::readNext);
             }
         });
     }
 
     /**
-     * Updates the displayed list of tracks based on the current page and applied filters.
+     * Moves to another page of tracks in the background, then shows it.
+     * <p>
+     * The page and the summaries of its tracks are read off the JavaFX thread, after any load still running,
+     * and a load not started yet is cancelled since its page would be immediately replaced.
+     * The page navigator is moved on the JavaFX thread together with the list, and only by the last load requested.
+     * The pagination buttons are disabled meanwhile.
+     *
+     * @param move reads the page to move to from the current position, e.g. with a new filter or the next page
      */
-    private void updateTracks() {
-        tracksContainer.getChildren().clear();
+    private void loadTracks(UnaryOperator<PageNavigator.Position<Track>> move) {
+        if (pageLoad != null) {
+            pageLoad.cancel(false);
+        }
+        btnPrev.setDisable(true);
+        btnNext.setDisable(true);
+
+        int load = ++pageLoadCount;
+        PageNavigator.Position<Track> from = trackPages.getPosition();
+        pageLoad = tasks.runInOrder(() -> {
+            PageNavigator.Position<Track> to = move.apply(from);
+            List<Integer> pageIds = to.page().items().stream()
+                    .map(Track::getId)
+                    .toList();
+            return new TrackPage(to, DatabaseManager.getDAOProvider().getTrackDAO().getSummariesByIds(pageIds));
+        }, page -> {
+            if (load == pageLoadCount) {
+                trackPages.moveTo(page.position());
+                updateTracks(page.tracks());
+            }
+        });
+    }
 
-        int start = currentPage * ITEMS_PER_PAGE;
-        int end = Math.min(start + ITEMS_PER_PAGE, filteredTracks.size());
+    /**
+     * Updates the displayed list of tracks with the current page of the applied filter.
+     *
+     * @param pageTracks the summaries of the tracks of the current page
+     */
+    private void updateTracks(List<TrackSummary> pageTracks) {
+        tracksContainer.getChildren().clear();
 
-        btnPrev.setDisable(currentPage == 0);
-        btnNext.setDisable(end >= filteredTracks.size());
+        btnPrev.setDisable(!trackPages.hasPrevious());
+        btnNext.setDisable(!trackPages.hasNext());
 
-        if (filteredTracks.isEmpty()) {
+        if (pageTracks.isEmpty()) {
             Label emptyLabel = new Label(Strings.EMPTY_LIST);
             emptyLabel.getStyleClass().add("empty-list-label");
             HBox emptyBox = new HBox(emptyLabel);
             emptyBox.setAlignment(Pos.CENTER);
             tracksContainer.getChildren().add(emptyBox);
         } else {
-            for (Track track : filteredTracks.subList(start, end)) {
+            for (TrackSummary track : pageTracks) {
                 tracksContainer.getChildren().add(createTrackItemBox(track));
             }
         }
@@ -295,35 +334,25 @@ public class TracksController extends Controller implements Initializable {
     /**
      * Creates a visual HBox component for a single track, showing basic information and action buttons.
      *
-     * @param track the track to display
+     * @param track the summary of the track to display, with the names of its authors, genres and instruments
      * @return the HBox representing the track item
      */
-    private HBox createTrackItemBox(Track track) {
-        List<TrackAuthor> authors = DatabaseManager.getDAOProvider().getTrackAuthorDAO().getByTrackId(track.getId());
-        List<TrackGenre> genres = DatabaseManager.getDAOProvider().getTrackGenreDAO().getByTrackId(track.getId());
-        List<TrackInstrument> instruments = DatabaseManager.getDAOProvider().getTrackInstrumentDAO().getByTrackId(track.getId());
-
+    private HBox createTrackItemBox(TrackSummary track) {
         Label titleLabel = new Label(track.getTitle());
         titleLabel.getStyleClass().add("request-item-title");
 
-        String authorNames = authors.stream()
-                .map(ta -> DatabaseManager.getDAOProvider().getAuthorDAO().getById(ta.getAuthorId()).getAuthorshipName())
-                .collect(Collectors.joining(", "));
+        String authorNames = String.join(", ", track.getAuthorNames());
 
         Label authorsLabel = new Label("Authors: " + authorNames);
         authorsLabel.getStyleClass().add("request-item-authors");
 
-        String genreNames = genres.stream()
-                .map(tg -> DatabaseManager.getDAOProvider().getGenreDAO().getById(tg.getGenreId()).getName())
-                .collect(Collectors.joining(", "));
+        String genreNames = String.join(", ", track.getGenreNames());
         Label genresLabel = new Label("Genres: " + genreNames);
         genresLabel.getStyleClass().add("request-item-authors");
 
         Label instrumentsLabel = null;
-        if(!instruments.isEmpty()){
-            String instrumentsNames = instruments.stream()
-                    .map(ti -> DatabaseManager.getDAOProvider().getMusicalInstrumentDAO().getById(ti.getInstrumentId()).getName())
-                    .collect(Collectors.joining(", "));
+        if(!track.getInstrumentNames().isEmpty()){
+            String instrumentsNames = String.join(", ", track.getInstrumentNames());
             instrumentsLabel = new Label("Instruments: " + instrumentsNames);
             instrumentsLabel.getStyleClass().add("request-item-authors");
         }
@@ -408,9 +437,8 @@ public class TracksController extends Controller implements Initializable {
      * Deletes the specified {@link Track} from the database and the UI lists, after user confirmation.
      * <p>
      * This method first prompts the user with a confirmation alert. If the user confirms,
-     * it attempts to delete the track from the database using its ID. If the deletion is successful,
-     * the track is also removed from the `allTracks` and `filteredTracks` lists, and the
-     * track list is updated in the UI. If an error occurs during the deletion process,
+     * it deletes the track from the database in the background using its ID, then the current page
+     * is read again and the track list is updated in the UI. If an error occurs during the deletion process,
      * an error alert is shown and the exception is logged to the console.
      *
      * @param track the {@link Track} object to be deleted
@@ -418,16 +446,16 @@ public class TracksController extends Controller implements Initializable {
     private void deleteTrack(Track track) {
         boolean response = ViewManager.setAndGetConfirmAlert(Strings.CONFIRM_DELETION, Strings.CONFIRM_DELETION, Strings.ARE_YOU_SURE);
         if(response){
-            try{
-                DatabaseManager.getDAOProvider().getTrackDAO().deleteById(track.getId());
-            }catch (SQLiteException ex) {
-                ViewManager.setAndShowAlert(Strings.ERROR, Strings.DELETE, Strings.ERR_DELETE_TRACK, Alert.AlertType.ERROR);
-                System.err.println(ex.getMessage());
-            }
-
-            allTracks.remove(track);
-            filteredTracks.remove(track);
-            updateTracks();
+            tasks.runInOrder(() -> {
+                        DatabaseManager.getDAOProvider().getTrackDAO().deleteById(track.getId());
+                        return null;
+                    },
+                    _ -> loadTracks(trackPages::readAgain),
+                    ex -> {
+                        ViewManager.setAndShowAlert(Strings.ERROR, Strings.DELETE, Strings.ERR_DELETE_TRACK, Alert.AlertType.ERROR);
+                        System.err.println(ex.getMessage());
+                        loadTracks(trackPages::readAgain);
+                    });
         }
     }
 
@@ -44,7 +44,7 @@ public class PendingUserDashboardController extends Controller implements Initia
 
             LblStatusValue.setText(pendingUser.getStatus().toString());
             if(pendingUser.getStatus().equals(AuthRequestStatusEnum.ACCEPTED)){
-                AuthenticatedUser u = (AuthenticatedUser) DatabaseManager.getDAOProvider().getUserDAO().getSingleActiveUserByUsername((pendingUser.getUsername()));
+                AuthenticatedUser u = (AuthenticatedUser) DatabaseManager.getDAOProvider().getUserDAO().getDAO().getSingleActiveUserByUsername((pendingUser.getUsername()));
                 LblStatusValue.setText(u.getStatus().toString());
             }
         } else {
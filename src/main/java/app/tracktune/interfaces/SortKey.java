@@ -0,0 +1,37 @@
+package app.tracktune.interfaces;
+
+/**
+ * Sort order of a paginated query.
+ * <p>
+ * Pages are read with keyset (seek) pagination: every page starts right after the sort key
+ * and ID of the last row of the previous one, so the cost of a page does not depend on its position.
+ * The sort column must be NOT NULL, and rows with the same sort key are ordered by ID.
+ * The column must also lead an index of the queried rows (SQLite appends the ID to every index),
+ * otherwise every page sorts the whole table.
+ *
+ * @param <T> the type of the sorted entity
+ */
+public interface SortKey<T> {
+
+    /**
+     * Returns the column rows are sorted by.
+     *
+     * @return the name of a NOT NULL column of the queried table
+     */
+    String column();
+
+    /**
+     * Tells if rows are sorted from the greatest to the smallest key.
+     *
+     * @return true for descending order, false for ascending order
+     */
+    boolean descending();
+
+    /**
+     * Returns the value of the sort column for an entity, used as cursor to read the next page.
+     *
+     * @param item the entity
+     * @return the value stored in the sort column for the entity
+     */
+    Object keyOf(T item);
+}
@@ -0,0 +1,137 @@
+package app.tracktune.model;
+
+import app.tracktune.interfaces.DAO;
+import app.tracktune.utils.DatabaseManager;
+import app.tracktune.utils.EntityCache;
+
+import java.util.List;
+
+/**
+ * {@link DAO} decorator keeping the entities read by ID in an {@link EntityCache},
+ * so that the views reading them once per row of their lists hit memory instead of the database.
+ * Every write through the decorator invalidates the entity it changes once it is committed,
+ * i.e. when the outermost transaction it runs in ends, and reads made inside a transaction bypass the cache,
+ * so no entity is cached before or after the commit with data other threads should not see.
+ * <p>
+ * The queries specific to an entity are read from the decorated DAO, see {@link #getDAO()}.
+ *
+ * @param <T> type of the entities
+ * @param <D> type of the decorated DAO
+ */
+public class CachedDAO<T, D extends DAO<T>> implements DAO<T> {
+    private final DatabaseManager dbManager;
+    private final D dao;
+    private final EntityCache<T> cache;
+
+    /**
+     * Creates a decorator with an empty cache.
+     *
+     * @param dbManager  the database manager the DAO runs its statements on
+     * @param dao        the DAO reading and writing the database
+     * @param maxEntries maximum number of cached entities
+     */
+    public CachedDAO(DatabaseManager dbManager, D dao, int maxEntries) {
+        this.dbManager = dbManager;
+        this.dao = dao;
+        this.cache = new EntityCache<>(maxEntries);
+    }
+
+    /**
+     * Inserts a new entity into the database.
+     *
+     * @param data the entity to insert
+     * @return the generated ID of the inserted entity
+     */
+    @Override
+    public Integer insert(T data) {
+        Integer id = dao.insert(data);
+        // reads finding nothing are not cached, but a row deleted by another connection may have had the ID
+        if (id != null) {
+            invalidate(id);
+        }
+        return id;
+    }
+
+    /**
+     * Updates an existing entity in the database by ID and drops it from memory.
+     *
+     * @param data the entity with updated data
+     * @param id   the ID of the entity to update
+     */
+    @Override
+    public void updateById(T data, int id) {
+        try {
+            dao.updateById(data, id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Deletes an entity from the database by ID and drops it from memory.
+     *
+     * @param id the ID of the entity to delete
+     */
+    @Override
+    public void deleteById(int id) {
+        try {
+            dao.deleteById(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Retrieves an entity by its ID, from memory if it has been read before.
+     *
+     * @param id the ID of the entity to retrieve
+     * @return the entity, or null if not found
+     */
+    @Override
+    public T getById(int id) {
+        if (dbManager.isWriting()) {
+            // may read changes not committed yet
+            return dao.getById(id);
+        }
+        return cache.get(id, dao::getById);
+    }
+
+    /**
+     * Retrieves all the entities from the database.
+     *
+     * @return the list of all the entities
+     */
+    @Override
+    public List<T> getAll() {
+        return dao.getAll();
+    }
+
+    /**
+     * Returns the decorated DAO, for the queries specific to the entity.
+     * Its writes are not seen by the cache, so entities must be written through this decorator.
+     *
+     * @return the decorated DAO
+     */
+    public D getDAO() {
+        return dao;
+    }
+
+    /**
+     * Drops an entity from memory once the write changing it is committed.
+     * Until then other threads read the committed entity, and loads started before the commit are not cached.
+     *
+     * @param id the ID of the written entity
+     */
+    private void invalidate(int id) {
+        dbManager.runAfterWrites(() -> cache.invalidate(id));
+    }
+
+    /**
+     * Returns the cache of the entities read by ID, e.g. to read its hit rate.
+     *
+     * @return the cache
+     */
+    public EntityCache<T> getCache() {
+        return cache;
+    }
+}
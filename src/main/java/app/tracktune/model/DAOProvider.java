@@ -1,15 +1,21 @@
 package app.tracktune.model;
 
+import app.tracktune.config.AppConfig;
+import app.tracktune.model.author.Author;
 import app.tracktune.model.author.AuthorDAO;
 import app.tracktune.model.comments.CommentDAO;
+import app.tracktune.model.genre.Genre;
 import app.tracktune.model.genre.GenreDAO;
+import app.tracktune.model.musicalInstrument.MusicalInstrument;
 import app.tracktune.model.musicalInstrument.MusicalInstrumentDAO;
 import app.tracktune.model.resource.ResourceDAO;
+import app.tracktune.model.search.SearchDAO;
 import app.tracktune.model.track.TrackAuthorDAO;
 import app.tracktune.model.track.TrackDAO;
 import app.tracktune.model.track.TrackGenreDAO;
 import app.tracktune.model.track.TrackInstrumentDAO;
 import app.tracktune.model.user.PendingUserDAO;
+import app.tracktune.model.user.User;
 import app.tracktune.model.user.UserDAO;
 import app.tracktune.utils.DatabaseManager;
 
@@ -19,20 +25,22 @@ import app.tracktune.utils.DatabaseManager;
  * <p>
  * This class acts as a centralized factory for DAO objects, promoting
  * easy management and consistency across data access layers.
+ * The DAOs of reference data (authors, genres, musical instruments and users) are wrapped in a {@link CachedDAO}.
  */
 public class DAOProvider {
 
-    private final AuthorDAO authorDAO;
+    private final CachedDAO<Author, AuthorDAO> authorDAO;
     private final CommentDAO commentDAO;
-    private final GenreDAO genreDAO;
-    private final MusicalInstrumentDAO musicalInstrumentDAO;
+    private final CachedDAO<Genre, GenreDAO> genreDAO;
+    private final CachedDAO<MusicalInstrument, MusicalInstrumentDAO> musicalInstrumentDAO;
     private final ResourceDAO resourceDAO;
     private final TrackDAO trackDAO;
     private final TrackAuthorDAO trackAuthorDAO;
     private final TrackGenreDAO trackGenreDAO;
     private final TrackInstrumentDAO trackInstrumentDAO;
     private final PendingUserDAO pendingUserDAO;
-    private final UserDAO userDAO;
+    private final CachedDAO<User, UserDAO> userDAO;
+    private final SearchDAO searchDAO;
 
     /**
      * Constructs a DAOProvider and initializes all DAO instances
@@ -40,24 +48,25 @@ public class DAOProvider {
      */
     public DAOProvider() {
         DatabaseManager db = DatabaseManager.getInstance();
-        this.authorDAO = new AuthorDAO(db);
+        this.authorDAO = new CachedDAO<>(db, new AuthorDAO(db), AppConfig.ENTITY_CACHE_MAX_ENTRIES);
         this.commentDAO = new CommentDAO(db);
-        this.genreDAO = new GenreDAO(db);
-        this.musicalInstrumentDAO = new MusicalInstrumentDAO(db);
+        this.genreDAO = new CachedDAO<>(db, new GenreDAO(db), AppConfig.ENTITY_CACHE_MAX_ENTRIES);
+        this.musicalInstrumentDAO = new CachedDAO<>(db, new MusicalInstrumentDAO(db), AppConfig.ENTITY_CACHE_MAX_ENTRIES);
         this.resourceDAO = new ResourceDAO(db);
         this.trackDAO = new TrackDAO(db);
         this.trackAuthorDAO = new TrackAuthorDAO(db);
         this.trackGenreDAO = new TrackGenreDAO(db);
         this.trackInstrumentDAO = new TrackInstrumentDAO(db);
         this.pendingUserDAO = new PendingUserDAO(db);
-        this.userDAO = new UserDAO(db);
+        this.userDAO = new CachedDAO<>(db, new UserDAO(db), AppConfig.ENTITY_CACHE_MAX_ENTRIES);
+        this.searchDAO = new SearchDAO(db);
     }
 
     /**
-     * Gets the AuthorDAO instance.
+     * Gets the AuthorDAO instance, caching the {@link Author} entities read by ID.
      * @return the AuthorDAO
      */
-    public AuthorDAO getAuthorDAO() {
+    public CachedDAO<Author, AuthorDAO> getAuthorDAO() {
         return authorDAO;
     }
 
@@ -78,18 +87,18 @@ public class DAOProvider {
     }
 
     /**
-     * Gets the GenreDAO instance.
+     * Gets the GenreDAO instance, caching the {@link Genre} entities read by ID.
      * @return the GenreDAO
      */
-    public GenreDAO getGenreDAO() {
+    public CachedDAO<Genre, GenreDAO> getGenreDAO() {
         return genreDAO;
     }
 
     /**
-     * Gets the MusicalInstrumentDAO instance.
+     * Gets the MusicalInstrumentDAO instance, caching the {@link MusicalInstrument} entities read by ID.
      * @return the MusicalInstrumentDAO
      */
-    public MusicalInstrumentDAO getMusicalInstrumentDAO() {
+    public CachedDAO<MusicalInstrument, MusicalInstrumentDAO> getMusicalInstrumentDAO() {
         return musicalInstrumentDAO;
     }
 
@@ -134,10 +143,18 @@ public class DAOProvider {
     }
 
     /**
-     * Gets the UserDAO instance.
+     * Gets the UserDAO instance, caching the {@link User} entities read by ID.
      * @return the UserDAO
      */
-    public UserDAO getUserDAO() {
+    public CachedDAO<User, UserDAO> getUserDAO() {
         return userDAO;
     }
+
+    /**
+     * Gets the SearchDAO instance.
+     * @return the SearchDAO
+     */
+    public SearchDAO getSearchDAO() {
+        return searchDAO;
+    }
 }
@@ -0,0 +1,22 @@
+package app.tracktune.model;
+
+import java.util.List;
+
+/**
+ * Page of rows read by a DAO with keyset pagination.
+ *
+ * @param items the rows of the page
+ * @param next  the cursor to read the following page, or null if this is the last page
+ * @param <T>   the type of the entities
+ */
+public record Page<T>(List<T> items, PageCursor next) {
+
+    /**
+     * Tells if there are rows after this page.
+     *
+     * @return true if a following page exists, false otherwise
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
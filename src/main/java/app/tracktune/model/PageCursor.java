@@ -0,0 +1,11 @@
+package app.tracktune.model;
+
+/**
+ * Position in a sorted list of rows: a page read after this cursor starts
+ * with the first row following the one with the given sort key and ID.
+ *
+ * @param key the sort key of the last row read
+ * @param id  the ID of the last row read
+ */
+public record PageCursor(Object key, int id) {
+}
@@ -0,0 +1,26 @@
+package app.tracktune.model;
+
+import app.tracktune.interfaces.SortKey;
+
+/**
+ * Request of a page of rows to a DAO.
+ *
+ * @param size  maximum number of rows of the page
+ * @param sort  the order of the rows
+ * @param after the cursor the page starts after, or null for the first page
+ * @param <T>   the type of the requested entities
+ */
+public record PageRequest<T>(int size, SortKey<T> sort, PageCursor after) {
+
+    /**
+     * Creates the request of the first page.
+     *
+     * @param size maximum number of rows of the page
+     * @param sort the order of the rows
+     * @param <T>  the type of the requested entities
+     * @return the request of the first page
+     */
+    public static <T> PageRequest<T> first(int size, SortKey<T> sort) {
+        return new PageRequest<>(size, sort, null);
+    }
+}
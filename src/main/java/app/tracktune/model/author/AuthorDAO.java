@@ -31,6 +31,7 @@ public class AuthorDAO implements DAO<Author> {
     private static final String INSERT_AUTHOR_STMT = """
         INSERT INTO Authors (authorshipName, status)
         VALUES (?, ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_AUTHOR_STMT = """
@@ -88,16 +89,16 @@ public class AuthorDAO implements DAO<Author> {
      */
     @Override
     public Integer insert(Author author) {
-        boolean success = dbManager.executeUpdate(INSERT_AUTHOR_STMT,
+        Integer id = dbManager.executeInsert(INSERT_AUTHOR_STMT,
                 author.getAuthorshipName(),
                 author.getStatus().ordinal()
         );
 
-        if (!success) {
+        if (id == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
 
-        return dbManager.getLastInsertId();
+        return id;
     }
 
     /**
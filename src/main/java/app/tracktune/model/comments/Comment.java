@@ -110,6 +110,17 @@ public class Comment {
         return endTrackInterval;
     }
 
+    /**
+     * Tells if the comment refers to a segment of the track, i.e. it has a start position.
+     * A comment without an end position, or ending where it starts, refers to the single second it starts at.
+     * It is the condition the comments are indexed by segment with in the database.
+     *
+     * @return true if the comment refers to a segment of the track
+     */
+    public boolean isOnSegment() {
+        return startTrackInterval != 0;
+    }
+
     /**
      * Returns the creation timestamp of the comment.
      *
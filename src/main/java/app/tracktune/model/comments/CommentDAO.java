@@ -2,6 +2,10 @@ package app.tracktune.model.comments;
 
 import app.tracktune.exceptions.SQLiteException;
 import app.tracktune.interfaces.DAO;
+import app.tracktune.model.user.Administrator;
+import app.tracktune.model.user.AuthenticatedUser;
+import app.tracktune.model.user.User;
+import app.tracktune.model.user.UserStatusEnum;
 import app.tracktune.utils.DatabaseManager;
 import app.tracktune.utils.Strings;
 
@@ -9,8 +13,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object (DAO) implementation for {@link Comment} entities.
@@ -27,11 +34,20 @@ public class CommentDAO implements DAO<Comment> {
     private static final String CREATION_DATE = "creationDate";
     private static final String USER_ID = "userID";
     private static final String RESOURCE_ID = "resourceID";
+    private static final String PARENT_ID = "parentID";
+    private static final String USERNAME = "username";
+    private static final String PASSWORD = "password";
+    private static final String NAME = "name";
+    private static final String SURNAME = "surname";
+    private static final String STATUS = "status";
+    private static final String USER_CREATION_DATE = "userCreationDate";
+    private static final String IS_ADMIN = "isAdmin";
 
     // SQL statements for CRUD and related operations
     private static final String INSERT_COMMENT_STMT = """
         INSERT INTO Comments (description, startTrackInterval, endTrackInterval, creationDate, userID, resourceID)
         VALUES (?, ?, ?, ?, ?, ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_COMMENT_STMT = """
@@ -40,14 +56,30 @@ public class CommentDAO implements DAO<Comment> {
         WHERE ID = ?
     """;
 
-    private static final String DELETE_COMMENT_STMT = """
+    // The IDs of the thread are bound as a single JSON array, so a whole thread is deleted by one statement per table
+    private static final String DELETE_COMMENTS_BY_IDS_STMT = """
         DELETE FROM Comments
-        WHERE ID = ?
+        WHERE ID IN (SELECT value FROM json_each(?))
     """;
 
-    private static final String DELETE_INTERACTIONS_BY_COMMENT_STMT = """
+    private static final String DELETE_INTERACTIONS_BY_COMMENT_IDS_STMT = """
         DELETE FROM Interactions
-        WHERE commentID = ? OR replyID = ?
+        WHERE commentID IN (SELECT value FROM json_each(?))
+        OR replyID IN (SELECT value FROM json_each(?))
+    """;
+
+    // UNION instead of UNION ALL stops the walk if the interactions ever form a cycle
+    private static final String GET_THREAD_IDS_BY_COMMENT_ID_STMT = """
+        WITH RECURSIVE thread(ID) AS (
+            SELECT ?
+            UNION
+            SELECT i.replyID
+            FROM Interactions i
+            JOIN thread t ON i.commentID = t.ID
+        )
+        SELECT t.ID
+        FROM thread t
+        JOIN Comments c ON c.ID = t.ID;
     """;
 
     private static final String GET_ALL_COMMENTS_STMT = """
@@ -74,6 +106,38 @@ public class CommentDAO implements DAO<Comment> {
         WHERE i.commentID = ?;
     """;
 
+    // Walks the replies down from the top-level comments of the resource, joining every comment with its author.
+    // UNION instead of UNION ALL stops the walk if the interactions ever form a cycle
+    private static final String GET_COMMENT_THREADS_BY_RESOURCE_ID_STMT = """
+        WITH RECURSIVE thread(ID, parentID) AS (
+            SELECT c.ID, NULL
+            FROM Comments c
+            WHERE c.resourceID = ?
+            AND NOT EXISTS (SELECT 1 FROM Interactions i WHERE i.replyID = c.ID)
+            UNION
+            SELECT i.replyID, i.commentID
+            FROM Interactions i
+            JOIN thread t ON i.commentID = t.ID
+        )
+        SELECT c.*, t.parentID,
+               u.username, u.password, u.name, u.surname, u.status,
+               u.creationDate AS userCreationDate, u.isAdmin
+        FROM thread t
+        JOIN Comments c ON c.ID = t.ID
+        JOIN Users u ON u.ID = c.userID
+        ORDER BY c.ID;
+    """;
+
+    // Searched through the CommentSegments R*Tree, kept in sync with Comments by triggers
+    private static final String GET_SEGMENT_COMMENTS_OVERLAPPING_STMT = """
+        SELECT c.*
+        FROM CommentSegments s
+        JOIN Comments c ON c.ID = s.ID
+        WHERE s.minResourceID <= ? AND s.maxResourceID >= ?
+        AND s.startTime <= ? AND s.endTime >= ?
+        ORDER BY c.startTrackInterval, c.ID;
+    """;
+
     private static final String INSERT_REPLY_STMT = """
             INSERT INTO Interactions (commentID, replyID)
             VALUES (?, ?)
@@ -97,7 +161,7 @@ public class CommentDAO implements DAO<Comment> {
      */
     @Override
     public Integer insert(Comment comment) {
-        boolean success = dbManager.executeUpdate(INSERT_COMMENT_STMT,
+        Integer id = dbManager.executeInsert(INSERT_COMMENT_STMT,
                 comment.getDescription(),
                 comment.getStartTrackInterval(),
                 comment.getEndTrackInterval(),
@@ -106,11 +170,11 @@ public class CommentDAO implements DAO<Comment> {
                 comment.getResourceID()
         );
 
-        if (!success) {
+        if (id == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
 
-        return dbManager.getLastInsertId();
+        return id;
     }
 
     /**
@@ -129,8 +193,6 @@ public class CommentDAO implements DAO<Comment> {
         if (!success) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-
-        dbManager.getLastInsertId();
     }
 
     /**
@@ -162,21 +224,48 @@ public class CommentDAO implements DAO<Comment> {
      *
      * @param id the ID of the Comment to delete
      * @throws SQLiteException if the database operation fails
+     * @see #deleteThreadById(int)
      */
     @Override
     public void deleteById(int id) {
-        List<Comment> replies = getAllReplies(id);
-        for (Comment reply : replies) {
-            deleteById(reply.getID());
-        }
-        boolean success = dbManager.executeUpdate(DELETE_INTERACTIONS_BY_COMMENT_STMT, id, id);
-        if (!success) {
-            throw new SQLiteException(Strings.ERR_DATABASE);
-        }
-        success = dbManager.executeUpdate(DELETE_COMMENT_STMT, id);
-        if (!success) {
-            throw new SQLiteException(Strings.ERR_DATABASE);
-        }
+        deleteThreadById(id);
+    }
+
+    /**
+     * Deletes a Comment with all its replies, recursively, and their interactions.
+     * <p>
+     * The IDs of the thread are collected by a single recursive query, then the interactions and the comments
+     * are deleted by one statement each, all in one transaction: either the whole thread is deleted or nothing is.
+     *
+     * @param id the ID of the Comment to delete
+     * @return the number of comments deleted, 0 if the Comment does not exist
+     * @throws SQLiteException if the database operation fails
+     */
+    public int deleteThreadById(int id) {
+        return dbManager.executeInTransaction(() -> {
+            List<Integer> ids = new ArrayList<>();
+            boolean found = dbManager.executeQuery(GET_THREAD_IDS_BY_COMMENT_ID_STMT,
+                    rs -> {
+                        while (rs.next()) {
+                            ids.add(rs.getInt(ID));
+                        }
+                        return true;
+                    }, id);
+
+            if (!found) {
+                throw new SQLiteException(Strings.ERR_DATABASE);
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            String jsonIds = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+            if (!dbManager.executeUpdate(DELETE_INTERACTIONS_BY_COMMENT_IDS_STMT, jsonIds, jsonIds)
+                    || !dbManager.executeUpdate(DELETE_COMMENTS_BY_IDS_STMT, jsonIds)) {
+                throw new SQLiteException(Strings.ERR_DATABASE);
+            }
+            return ids.size();
+        });
     }
 
     /**
@@ -276,6 +365,89 @@ public class CommentDAO implements DAO<Comment> {
         return comments;
     }
 
+    /**
+     * Retrieves all the comments of a resource as threads: the top-level comments with their authors,
+     * each holding its replies, recursively. The whole tree is read with a single query.
+     * Comments whose author no longer exists are left out, together with their replies.
+     *
+     * @param resourceId the ID of the resource (track)
+     * @return the top-level comment threads of the resource, oldest first
+     * @throws SQLiteException if the database operation fails
+     */
+    public List<CommentThread> getThreadsByResource(int resourceId) {
+        Map<Integer, CommentThread> threads = new LinkedHashMap<>();
+        Map<Integer, Integer> parents = new LinkedHashMap<>();
+
+        boolean success = dbManager.executeQuery(GET_COMMENT_THREADS_BY_RESOURCE_ID_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        CommentThread thread = mapResultSetToThread(rs);
+                        threads.putIfAbsent(thread.getID(), thread);
+                        int parentId = rs.getInt(PARENT_ID);
+                        if (!rs.wasNull()) {
+                            parents.putIfAbsent(thread.getID(), parentId);
+                        }
+                    }
+                    return true;
+                }, resourceId);
+
+        if (!success) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+
+        // linked after reading every row, since a reply is not guaranteed to come after its parent
+        List<CommentThread> roots = new ArrayList<>();
+        for (CommentThread thread : threads.values()) {
+            Integer parentId = parents.get(thread.getID());
+            if (parentId == null) {
+                roots.add(thread);
+            } else if (threads.containsKey(parentId)) {
+                threads.get(parentId).getReplies().add(thread);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Retrieves the comments of a resource referring to a segment of the track that overlaps a range of time.
+     * A comment referring to a single time is a segment starting and ending at that time.
+     *
+     * @param resourceId the ID of the resource (track)
+     * @param from       the start of the range, in seconds
+     * @param to         the end of the range, in seconds, bounds included
+     * @return the comments found, by start of their segment
+     * @throws SQLiteException if the database operation fails
+     */
+    public List<Comment> getSegmentCommentsOverlapping(int resourceId, int from, int to) {
+        List<Comment> comments = new ArrayList<>();
+
+        boolean success = dbManager.executeQuery(GET_SEGMENT_COMMENTS_OVERLAPPING_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        comments.add(mapResultSetToEntity(rs));
+                    }
+                    return true;
+                }, resourceId, resourceId, to, from);
+
+        if (!success) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+
+        return comments;
+    }
+
+    /**
+     * Retrieves the comments of a resource referring to a segment of the track that covers a given time.
+     *
+     * @param resourceId the ID of the resource (track)
+     * @param time       the time, in seconds
+     * @return the comments found, by start of their segment
+     * @throws SQLiteException if the database operation fails
+     */
+    public List<Comment> getSegmentCommentsAt(int resourceId, int time) {
+        return getSegmentCommentsOverlapping(resourceId, time, time);
+    }
+
     /**
      * Maps a {@link ResultSet} row to a {@link Comment} entity.
      *
@@ -294,4 +466,27 @@ public class CommentDAO implements DAO<Comment> {
 
         return new Comment(id, description, startTrackInterval, endTrackInterval, creationDate, userID, resourceID);
     }
+
+    /**
+     * Maps a {@link ResultSet} row of a comment joined with its author to a {@link CommentThread} without replies.
+     *
+     * @param rs the ResultSet positioned at the current row
+     * @return the mapped CommentThread
+     * @throws SQLException if a database access error occurs
+     */
+    private CommentThread mapResultSetToThread(ResultSet rs) throws SQLException {
+        int userID = rs.getInt(USER_ID);
+        String username = rs.getString(USERNAME);
+        String password = rs.getString(PASSWORD);
+        String name = rs.getString(NAME);
+        String surname = rs.getString(SURNAME);
+        UserStatusEnum status = UserStatusEnum.fromInt(rs.getInt(STATUS));
+        Timestamp userCreationDate = rs.getTimestamp(USER_CREATION_DATE);
+        User user = rs.getInt(IS_ADMIN) == 1
+                ? new Administrator(userID, username, password, name, surname, status, userCreationDate)
+                : new AuthenticatedUser(userID, username, password, name, surname, status, userCreationDate);
+
+        return new CommentThread(rs.getInt(ID), rs.getString(DESCRIPTION), rs.getInt(START_TRACK_INTERVAL),
+                rs.getInt(END_TRACK_INTERVAL), rs.getTimestamp(CREATION_DATE), user, rs.getInt(RESOURCE_ID));
+    }
 }
@@ -0,0 +1,50 @@
+package app.tracktune.model.comments;
+
+import app.tracktune.model.user.User;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Projection of a {@link Comment} together with its author and its replies, each a thread itself,
+ * used by the resource view to show the comments without loading their authors and replies one by one.
+ */
+public class CommentThread extends Comment {
+    private final User user;
+    private final List<CommentThread> replies = new ArrayList<>();
+
+    /**
+     * Constructs a CommentThread with no replies yet.
+     *
+     * @param ID                 the unique identifier of the comment
+     * @param description        the text content of the comment
+     * @param startTrackInterval the start position (in track units) related to the comment
+     * @param endTrackInterval   the end position (in track units) related to the comment
+     * @param creationDate       the timestamp when the comment was created
+     * @param user               the user who created the comment
+     * @param resourceID         the ID of the resource the comment is associated with
+     */
+    public CommentThread(Integer ID, String description, int startTrackInterval, int endTrackInterval, Timestamp creationDate, User user, int resourceID) {
+        super(ID, description, startTrackInterval, endTrackInterval, creationDate, user.getId(), resourceID);
+        this.user = user;
+    }
+
+    /**
+     * Returns the user who created the comment.
+     *
+     * @return the author of the comment
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the replies to the comment, oldest first.
+     *
+     * @return the reply threads, empty if the comment has no replies
+     */
+    public List<CommentThread> getReplies() {
+        return replies;
+    }
+}
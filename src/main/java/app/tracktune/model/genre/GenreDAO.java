@@ -29,6 +29,7 @@ public class GenreDAO implements DAO<Genre> {
     private static final String INSERT_GENRE_STMT = """
         INSERT INTO Genres (name, description)
         VALUES (?, ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_GENRE_STMT = """
@@ -84,15 +85,15 @@ public class GenreDAO implements DAO<Genre> {
      */
     @Override
     public Integer insert(Genre genre) {
-        boolean success = dbManager.executeUpdate(INSERT_GENRE_STMT,
+        Integer id = dbManager.executeInsert(INSERT_GENRE_STMT,
                 genre.getName(),
                 genre.getDescription()
         );
 
-        if (!success) {
+        if (id == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-        return dbManager.getLastInsertId();
+        return id;
     }
 
     /**
@@ -29,6 +29,7 @@ public class MusicalInstrumentDAO implements DAO<MusicalInstrument> {
     private static final String INSERT_MUSICAL_INSTRUMENT_STMT = """
         INSERT INTO MusicalInstruments (name, description)
         VALUES (?, ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_MUSICAL_INSTRUMENT_STMT = """
@@ -87,16 +88,16 @@ public class MusicalInstrumentDAO implements DAO<MusicalInstrument> {
      */
     @Override
     public Integer insert(MusicalInstrument instrument) {
-        boolean success = dbManager.executeUpdate(
+        Integer id = dbManager.executeInsert(
                 INSERT_MUSICAL_INSTRUMENT_STMT,
                 instrument.getName(),
                 instrument.getDescription()
         );
 
-        if (!success) {
+        if (id == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-        return dbManager.getLastInsertId();
+        return id;
     }
 
     /**
@@ -1,14 +1,30 @@
 package app.tracktune.model.resource;
 
 import app.tracktune.Main;
+import app.tracktune.config.AppConfig;
 import app.tracktune.exceptions.SQLiteException;
+import app.tracktune.exceptions.TrackTuneException;
 import app.tracktune.interfaces.DAO;
+import app.tracktune.model.Page;
+import app.tracktune.model.PageRequest;
+import app.tracktune.utils.BlobStore;
 import app.tracktune.utils.DatabaseManager;
+import app.tracktune.utils.KeysetPager;
 import app.tracktune.utils.Strings;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -19,10 +35,21 @@ public class ResourceDAO implements DAO<Resource> {
 
     private final DatabaseManager dbManager;
 
+    /**
+     * Store of the contents saved outside the database file.
+     */
+    private final BlobStore blobStore;
+
+    /**
+     * True if new contents are saved in the blob store, false if they are saved inline.
+     */
+    private final boolean useBlobStore;
+
     // Database table field names
     private static final String ID = "ID";
     private static final String TYPE = "type";
     private static final String DATA = "data";
+    private static final String CONTENT_HASH = "contentHash";
     private static final String CREATION_DATE = "creationDate";
     private static final String IS_MULTIMEDIA = "isMultimedia";
     private static final String LOCATION = "location";
@@ -30,16 +57,32 @@ public class ResourceDAO implements DAO<Resource> {
     private static final String IS_AUTHOR = "isAuthor";
     private static final String TRACK_ID = "trackID";
     private static final String USER_ID = "userID";
+    private static final String DATA_SIZE = "dataSize";
+    private static final String CONTENT_VERSION = "contentVersion";
 
     // SQL statements for CRUD operations
     private static final String INSERT_RESOURCE_STMT = """
-        INSERT INTO Resources (type, data, creationDate, isMultimedia, location, resourceDate, isAuthor, trackID, userID)
-        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        INSERT INTO Resources (type, data, contentHash, contentSize, contentVersion, creationDate, isMultimedia, location, resourceDate, isAuthor, trackID, userID)
+        VALUES (?, COALESCE(?, zeroblob(0)), ?, ?, random(), ?, ?, ?, ?, ?, ?, ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_RESOURCE_STMT = """
         UPDATE Resources
-        SET type = ?, data = ?,
+        SET type = ?, data = COALESCE(?, zeroblob(0)), contentHash = ?, contentSize = ?, contentVersion = random(),
+        creationDate = ?,
+        isMultimedia = ?,
+        location = ?,
+        resourceDate = ?,
+        isAuthor = ?,
+        trackID = ?,
+        userID = ?
+        WHERE ID = ?
+    """;
+
+    private static final String UPDATE_RESOURCE_METADATA_STMT = """
+        UPDATE Resources
+        SET type = ?,
         creationDate = ?,
         isMultimedia = ?,
         location = ?,
@@ -84,12 +127,129 @@ public class ResourceDAO implements DAO<Resource> {
         LIMIT 5
     """;
 
+    // Metadata-only statements, they never read the data column
+    private static final String GET_ALL_RESOURCE_SUMMARIES_STMT = """
+        SELECT ID, type, COALESCE(contentSize, length(data)) AS dataSize, creationDate, isMultimedia, isAuthor, trackID, userID
+        FROM Resources
+    """;
+
+    private static final String GET_ALL_RESOURCE_SUMMARIES_BY_USERID_STMT = """
+        SELECT ID, type, COALESCE(contentSize, length(data)) AS dataSize, creationDate, isMultimedia, isAuthor, trackID, userID
+        FROM Resources
+        WHERE userID = ?
+    """;
+
+    private static final String GET_ALL_RESOURCE_SUMMARIES_BY_TRACK_ID_STMT = """
+        SELECT ID, type, COALESCE(contentSize, length(data)) AS dataSize, creationDate, isMultimedia, isAuthor, trackID, userID
+        FROM Resources
+        WHERE trackID = ?
+    """;
+
+    private static final String GET_RESOURCE_SUMMARIES_COMMENTS_BY_USER_ID_STMT = """
+        SELECT r.ID, r.type, COALESCE(r.contentSize, length(r.data)) AS dataSize, r.creationDate, r.isMultimedia, r.isAuthor, r.trackID, r.userID
+        FROM Resources r
+        JOIN Comments c ON r.ID = c.resourceID
+        WHERE c.userID = ?
+        GROUP BY r.ID
+        ORDER BY MAX(c.creationDate) DESC
+        LIMIT 5
+    """;
+
+    // Paginated queries, completed with the keyset conditions by KeysetPager
+    private static final String SELECT_RESOURCE_SUMMARIES_STMT = """
+        SELECT ID, type, COALESCE(contentSize, length(data)) AS dataSize, creationDate, isMultimedia, isAuthor, trackID, userID
+        FROM Resources
+    """;
+
+    private static final String RESOURCE_BY_USER_ID_FILTER = """
+        userID = ?
+    """;
+
+    private static final String RESOURCE_BY_TRACK_ID_FILTER = """
+        trackID = ?
+    """;
+
+    private static final String GET_RESOURCE_METADATA_BY_ID_STMT = """
+        SELECT ID, type, NULL AS data, creationDate, isMultimedia, location, resourceDate, isAuthor, trackID, userID
+        FROM Resources
+        WHERE ID = ?
+    """;
+
+    private static final String GET_RESOURCE_CONTENT_INFO_BY_ID_STMT = """
+        SELECT COALESCE(contentSize, length(data)) AS dataSize, contentHash FROM Resources
+        WHERE ID = ?
+    """;
+
+    private static final String GET_RESOURCE_CONTENT_VERSION_BY_ID_STMT = """
+        SELECT contentHash, contentVersion FROM Resources
+        WHERE ID = ?
+    """;
+
+    private static final String GET_RESOURCE_DATA_BY_ID_STMT = """
+        SELECT data, contentHash FROM Resources
+        WHERE ID = ?
+    """;
+
+    private static final String GET_RESOURCE_DATA_RANGE_BY_ID_STMT = """
+        SELECT substr(data, ?, ?) AS data FROM Resources
+        WHERE ID = ?
+    """;
+
+    // Thumbnail statements
+    private static final String GET_THUMBNAIL_BY_RESOURCE_ID_STMT = """
+        SELECT data FROM ResourceThumbnails
+        WHERE resourceID = ?
+    """;
+
+    private static final String SAVE_THUMBNAIL_STMT = """
+        INSERT OR REPLACE INTO ResourceThumbnails (resourceID, data)
+        VALUES (?, ?)
+    """;
+
+    private static final String DELETE_THUMBNAIL_BY_ID_STMT = """
+        DELETE FROM ResourceThumbnails
+        WHERE resourceID = ?
+    """;
+
+    // Waveform statements
+    private static final String GET_WAVEFORM_BY_RESOURCE_ID_STMT = """
+        SELECT data FROM ResourceWaveforms
+        WHERE resourceID = ?
+    """;
+
+    private static final String SAVE_WAVEFORM_STMT = """
+        INSERT OR REPLACE INTO ResourceWaveforms (resourceID, data)
+        VALUES (?, ?)
+    """;
+
+    private static final String DELETE_WAVEFORM_BY_ID_STMT = """
+        DELETE FROM ResourceWaveforms
+        WHERE resourceID = ?
+    """;
+
+    // Blob store statements
+    private static final String GET_ALL_CONTENT_HASHES_STMT = """
+        SELECT DISTINCT contentHash FROM Resources
+        WHERE contentHash IS NOT NULL
+    """;
+
+    private static final String GET_INLINE_RESOURCE_IDS_STMT = """
+        SELECT ID FROM Resources
+        WHERE contentHash IS NULL
+    """;
+
+    private static final String MOVE_DATA_TO_BLOB_STORE_STMT = """
+        UPDATE Resources
+        SET data = zeroblob(0), contentHash = ?, contentSize = ?
+        WHERE ID = ? AND contentHash IS NULL
+    """;
+
     /**
      * Constructs a new ResourceDAO using the default {@link DatabaseManager} instance
      * from the main application.
      */
     public ResourceDAO() {
-        dbManager = Main.dbManager;
+        this(Main.dbManager);
     }
 
     /**
@@ -98,7 +258,20 @@ public class ResourceDAO implements DAO<Resource> {
      * @param dbManager the DatabaseManager to use for database operations
      */
     public ResourceDAO(DatabaseManager dbManager) {
+        this(dbManager, new BlobStore(Path.of(AppConfig.BLOB_STORE_DIR)), AppConfig.BLOB_STORE_ENABLED);
+    }
+
+    /**
+     * Constructs a new ResourceDAO with a specified {@link DatabaseManager} and {@link BlobStore}.
+     *
+     * @param dbManager    the DatabaseManager to use for database operations
+     * @param blobStore    the store of the contents saved outside the database
+     * @param useBlobStore true to save new contents in the blob store, false to save them inline
+     */
+    public ResourceDAO(DatabaseManager dbManager, BlobStore blobStore, boolean useBlobStore) {
         this.dbManager = dbManager;
+        this.blobStore = blobStore;
+        this.useBlobStore = useBlobStore;
     }
 
     /**
@@ -111,13 +284,45 @@ public class ResourceDAO implements DAO<Resource> {
      */
     @Override
     public Integer insert(Resource resource) {
-        boolean success;
+        return insert(resource, storeContent(resource.getData()));
+    }
+
+    /**
+     * Inserts a new resource reading its content from a stream, instead of from {@link Resource#getData()}.
+     * <p>
+     * In blob store mode, the default, the content is streamed to disk through a fixed-size buffer.
+     * Otherwise it is read exactly once and, since the SQLite driver has no incremental BLOB writes,
+     * bound to the statement as a single array of {@code size} bytes held in memory.
+     *
+     * @param resource the resource metadata to insert, its data is ignored
+     * @param data     the stream with the resource content, not closed by this method
+     * @param size     the number of bytes to read from the stream
+     * @return the ID of the newly inserted resource
+     * @throws SQLiteException if the insertion fails
+     * @throws TrackTuneException if the content cannot be read
+     */
+    public Integer insert(Resource resource, InputStream data, long size) {
+        return insert(resource, storeContent(data, size));
+    }
+
+    /**
+     * Inserts a new resource with the given content.
+     *
+     * @param resource the resource metadata to insert
+     * @param content  the resource content, already saved in the blob store if needed
+     * @return the ID of the newly inserted resource
+     * @throws SQLiteException if the insertion fails
+     */
+    private Integer insert(Resource resource, StoredContent content) {
+        Integer id;
 
         if (resource instanceof MultimediaResource multimedia) {
-            success = dbManager.executeUpdate(
+            id = dbManager.executeInsert(
                     INSERT_RESOURCE_STMT,
                     multimedia.getType().getValue(),
-                    multimedia.getData(),
+                    content.data(),
+                    content.hash(),
+                    content.size(),
                     multimedia.getCreationDate(),
                     multimedia.isMultimedia(),
                     multimedia.getLocation(),
@@ -127,10 +332,12 @@ public class ResourceDAO implements DAO<Resource> {
                     multimedia.getUserID()
             );
         } else {
-            success = dbManager.executeUpdate(
+            id = dbManager.executeInsert(
                     INSERT_RESOURCE_STMT,
                     resource.getType().getValue(),
-                    resource.getData(),
+                    content.data(),
+                    content.hash(),
+                    content.size(),
                     resource.getCreationDate(),
                     resource.isMultimedia(),
                     null,
@@ -141,15 +348,16 @@ public class ResourceDAO implements DAO<Resource> {
             );
         }
 
-        if (!success) {
+        if (id == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
 
-        return dbManager.getLastInsertId();
+        return id;
     }
 
     /**
      * Updates an existing resource identified by its ID (trackID here seems like a misnomer, should be resource ID).
+     * Its thumbnail and waveform index are deleted in the same transaction, to be computed again from the new content.
      *
      * @param resource the resource with updated data
      * @param trackID  the ID of the resource to update (note: parameter name is misleading, expected resource ID)
@@ -157,38 +365,67 @@ public class ResourceDAO implements DAO<Resource> {
      */
     @Override
     public void updateById(Resource resource, int trackID) {
-        boolean success;
+        StoredContent content = storeContent(resource.getData());
+        String location = null;
+        Date resourceDate = null;
+        if (resource instanceof MultimediaResource multimedia) {
+            location = multimedia.getLocation();
+            resourceDate = multimedia.getResourceDate();
+        }
+        Object[] params = {
+                resource.getType().getValue(),
+                content.data(),
+                content.hash(),
+                content.size(),
+                resource.getCreationDate(),
+                resource.isMultimedia(),
+                location,
+                resourceDate,
+                resource.isAuthor(),
+                resource.getTrackID(),
+                resource.getUserID(),
+                trackID
+        };
 
+        // the thumbnail and the waveform were computed from the previous content
+        dbManager.executeInTransaction(() -> {
+            if (!dbManager.executeUpdate(UPDATE_RESOURCE_STMT, params)
+                    || !dbManager.executeUpdate(DELETE_THUMBNAIL_BY_ID_STMT, trackID)
+                    || !dbManager.executeUpdate(DELETE_WAVEFORM_BY_ID_STMT, trackID)) {
+                throw new SQLiteException(Strings.ERR_DATABASE);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Updates the metadata of an existing resource, leaving its content untouched.
+     *
+     * @param resource the resource with updated metadata, its data is ignored
+     * @param id       the ID of the resource to update
+     * @throws SQLiteException if the update fails
+     */
+    public void updateMetadataById(Resource resource, int id) {
+        String location = null;
+        Date resourceDate = null;
         if (resource instanceof MultimediaResource multimedia) {
-            success = dbManager.executeUpdate(
-                    UPDATE_RESOURCE_STMT,
-                    multimedia.getType().getValue(),
-                    multimedia.getData(),
-                    multimedia.getCreationDate(),
-                    multimedia.isMultimedia(),
-                    multimedia.getLocation(),
-                    multimedia.getResourceDate(),
-                    multimedia.isAuthor(),
-                    multimedia.getTrackID(),
-                    multimedia.getUserID(),
-                    trackID
-            );
-        } else {
-            success = dbManager.executeUpdate(
-                    UPDATE_RESOURCE_STMT,
-                    resource.getType().getValue(),
-                    resource.getData(),
-                    resource.getCreationDate(),
-                    resource.isMultimedia(),
-                    null,
-                    null,
-                    resource.isAuthor(),
-                    resource.getTrackID(),
-                    resource.getUserID(),
-                    trackID
-            );
+            location = multimedia.getLocation();
+            resourceDate = multimedia.getResourceDate();
         }
 
+        boolean success = dbManager.executeUpdate(
+                UPDATE_RESOURCE_METADATA_STMT,
+                resource.getType().getValue(),
+                resource.getCreationDate(),
+                resource.isMultimedia(),
+                location,
+                resourceDate,
+                resource.isAuthor(),
+                resource.getTrackID(),
+                resource.getUserID(),
+                id
+        );
+
         if (!success) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
@@ -196,6 +433,7 @@ public class ResourceDAO implements DAO<Resource> {
 
     /**
      * Deletes a resource by its ID.
+     * A content in the blob store keeps its file until {@link #deleteUnreferencedData()} removes it.
      *
      * @param id the ID of the resource to delete
      * @throws SQLiteException if the deletion fails
@@ -219,6 +457,28 @@ public class ResourceDAO implements DAO<Resource> {
         AtomicReference<Resource> result = new AtomicReference<>();
 
         dbManager.executeQuery(GET_RESOURCE_BY_ID_STMT,
+                rs -> {
+                    if (rs.next()) {
+                        result.set(mapResultSetToResource(rs));
+                        return true;
+                    }
+                    return false;
+                }, id);
+
+        return result.get();
+    }
+
+    /**
+     * Retrieves a resource by its ID without loading its content: {@link Resource#getData()} returns null.
+     * The content can then be read with {@link #openDataStream(int)}.
+     *
+     * @param id the ID of the resource
+     * @return the Resource object, or null if not found
+     */
+    public Resource getMetadataById(int id) {
+        AtomicReference<Resource> result = new AtomicReference<>();
+
+        dbManager.executeQuery(GET_RESOURCE_METADATA_BY_ID_STMT,
                 rs -> {
                     if (rs.next()) {
                         result.set(mapResultSetToEntity(rs));
@@ -243,7 +503,7 @@ public class ResourceDAO implements DAO<Resource> {
                 GET_ALL_RESOURCES_STMT,
                 rs -> {
                     while (rs.next()) {
-                        resources.add(mapResultSetToEntity(rs));
+                        resources.add(mapResultSetToResource(rs));
                     }
                     return null;
                 }
@@ -265,7 +525,7 @@ public class ResourceDAO implements DAO<Resource> {
                 GET_ALL_RESOURCES_BY_USERID_STMT,
                 rs -> {
                     while (rs.next()) {
-                        resources.add(mapResultSetToEntity(rs));
+                        resources.add(mapResultSetToResource(rs));
                     }
                     return null;
                 }, userId
@@ -287,7 +547,7 @@ public class ResourceDAO implements DAO<Resource> {
                 GET_ALL_RESOURCES_BY_TRACK_ID_STMT,
                 rs -> {
                     while (rs.next()) {
-                        resources.add(mapResultSetToEntity(rs));
+                        resources.add(mapResultSetToResource(rs));
                     }
                     return null;
                 }, trackId
@@ -310,7 +570,95 @@ public class ResourceDAO implements DAO<Resource> {
                 GET_RESOURCE_COMMENTS_BY_USER_ID_STMT,
                 rs -> {
                     while (rs.next()) {
-                        resources.add(mapResultSetToEntity(rs));
+                        resources.add(mapResultSetToResource(rs));
+                    }
+                    return null;
+                }, userId
+        );
+
+        return resources;
+    }
+
+    /**
+     * Retrieves the metadata of all resources, without their binary content.
+     *
+     * @return a list of all ResourceSummary objects in the database
+     */
+    public List<ResourceSummary> getAllSummaries() {
+        List<ResourceSummary> resources = new ArrayList<>();
+
+        dbManager.executeQuery(
+                GET_ALL_RESOURCE_SUMMARIES_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        resources.add(mapResultSetToSummary(rs));
+                    }
+                    return null;
+                }
+        );
+
+        return resources;
+    }
+
+    /**
+     * Retrieves the metadata of all resources belonging to a specific user, without their binary content.
+     *
+     * @param userId the user ID
+     * @return a list of ResourceSummary objects owned by the user
+     */
+    public List<ResourceSummary> getAllSummariesByUserID(int userId) {
+        List<ResourceSummary> resources = new ArrayList<>();
+
+        dbManager.executeQuery(
+                GET_ALL_RESOURCE_SUMMARIES_BY_USERID_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        resources.add(mapResultSetToSummary(rs));
+                    }
+                    return null;
+                }, userId
+        );
+
+        return resources;
+    }
+
+    /**
+     * Retrieves the metadata of all resources linked to a specific track, without their binary content.
+     *
+     * @param trackId the track ID
+     * @return a list of ResourceSummary objects linked to the track
+     */
+    public List<ResourceSummary> getAllSummariesByTrackID(int trackId) {
+        List<ResourceSummary> resources = new ArrayList<>();
+
+        dbManager.executeQuery(
+                GET_ALL_RESOURCE_SUMMARIES_BY_TRACK_ID_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        resources.add(mapResultSetToSummary(rs));
+                    }
+                    return null;
+                }, trackId
+        );
+
+        return resources;
+    }
+
+    /**
+     * Retrieves the metadata of the last 5 distinct resources commented on by a specific user,
+     * ordered by the date of the user's latest comment descending, without their binary content.
+     *
+     * @param userId the user ID who made the comments
+     * @return a list of commented ResourceSummary objects
+     */
+    public List<ResourceSummary> getAllCommentedSummariesByUserID(int userId) {
+        List<ResourceSummary> resources = new ArrayList<>();
+
+        dbManager.executeQuery(
+                GET_RESOURCE_SUMMARIES_COMMENTS_BY_USER_ID_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        resources.add(mapResultSetToSummary(rs));
                     }
                     return null;
                 }, userId
@@ -319,6 +667,437 @@ public class ResourceDAO implements DAO<Resource> {
         return resources;
     }
 
+    /**
+     * Retrieves a page of the summaries of the resources belonging to a specific user.
+     *
+     * @param userId  the user ID
+     * @param request the requested page
+     * @return the page of ResourceSummary objects owned by the user
+     */
+    public Page<ResourceSummary> getSummaryPageByUserID(int userId, PageRequest<ResourceSummary> request) {
+        return KeysetPager.fetch(dbManager, SELECT_RESOURCE_SUMMARIES_STMT, RESOURCE_BY_USER_ID_FILTER, request,
+                ResourceDAO::mapResultSetToSummary, ResourceSummary::getId, userId);
+    }
+
+    /**
+     * Retrieves a page of the summaries of the resources linked to a specific track.
+     *
+     * @param trackId the track ID
+     * @param request the requested page
+     * @return the page of ResourceSummary objects linked to the track
+     */
+    public Page<ResourceSummary> getSummaryPageByTrackID(int trackId, PageRequest<ResourceSummary> request) {
+        return KeysetPager.fetch(dbManager, SELECT_RESOURCE_SUMMARIES_STMT, RESOURCE_BY_TRACK_ID_FILTER, request,
+                ResourceDAO::mapResultSetToSummary, ResourceSummary::getId, trackId);
+    }
+
+    /**
+     * Loads only the binary content of a resource, e.g. when a {@link ResourceSummary} is opened.
+     *
+     * @param id the ID of the resource
+     * @return the resource data, or null if the resource does not exist
+     */
+    public byte[] getDataById(int id) {
+        return dbManager.executeQuery(GET_RESOURCE_DATA_BY_ID_STMT,
+                rs -> rs.next() ? readContent(rs) : null, id);
+    }
+
+    /**
+     * Loads the thumbnail of a resource, a small compressed image shown in the resource lists.
+     *
+     * @param id the ID of the resource
+     * @return the thumbnail bytes, or null if no thumbnail has been saved for the resource
+     */
+    public byte[] getThumbnailById(int id) {
+        return dbManager.executeQuery(GET_THUMBNAIL_BY_RESOURCE_ID_STMT,
+                rs -> rs.next() ? rs.getBytes(DATA) : null, id);
+    }
+
+    /**
+     * Saves the thumbnail of a resource, replacing the previous one.
+     * The thumbnail is deleted together with its resource.
+     *
+     * @param id        the ID of the resource
+     * @param thumbnail the thumbnail bytes
+     * @throws SQLiteException if the thumbnail cannot be saved
+     */
+    public void saveThumbnail(int id, byte[] thumbnail) {
+        boolean success = dbManager.executeUpdate(SAVE_THUMBNAIL_STMT, id, thumbnail);
+        if (!success) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+    }
+
+    /**
+     * Loads the waveform peak index of an audio resource, drawn by the player instead of decoding the audio.
+     *
+     * @param id the ID of the resource
+     * @return the serialized index, or null if no index has been saved for the resource
+     */
+    public byte[] getWaveformById(int id) {
+        return dbManager.executeQuery(GET_WAVEFORM_BY_RESOURCE_ID_STMT,
+                rs -> rs.next() ? rs.getBytes(DATA) : null, id);
+    }
+
+    /**
+     * Saves the waveform peak index of an audio resource, replacing the previous one.
+     * The index is deleted together with its resource.
+     *
+     * @param id       the ID of the resource
+     * @param waveform the serialized index
+     * @throws SQLiteException if the index cannot be saved
+     */
+    public void saveWaveform(int id, byte[] waveform) {
+        boolean success = dbManager.executeUpdate(SAVE_WAVEFORM_STMT, id, waveform);
+        if (!success) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+    }
+
+    /**
+     * Returns the size of the content of a resource, without loading it.
+     *
+     * @param id the ID of the resource
+     * @return the size in bytes of the resource data, or -1 if the resource does not exist
+     */
+    public long getDataSize(int id) {
+        ContentInfo info = getContentInfo(id);
+        return info != null ? info.size() : -1;
+    }
+
+    /**
+     * Returns a version identifying the content of a resource without reading it,
+     * e.g. to tell if a file written from the content is still up to date.
+     * It is the hash of the content for contents in the blob store, and otherwise a random number,
+     * as 16 hex digits, changed whenever the content is written.
+     *
+     * @param id the ID of the resource
+     * @return the content version, or null if the resource does not exist or was saved without a version
+     */
+    public String getContentVersion(int id) {
+        return dbManager.executeQuery(GET_RESOURCE_CONTENT_VERSION_BY_ID_STMT,
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    String hash = rs.getString(CONTENT_HASH);
+                    if (hash != null) {
+                        return hash;
+                    }
+                    long version = rs.getLong(CONTENT_VERSION);
+                    return rs.wasNull() ? null : HexFormat.of().toHexDigits(version);
+                }, id);
+    }
+
+    /**
+     * Returns the file holding the content of a resource saved in the blob store,
+     * so that it can be read straight from disk (e.g. by a media player).
+     *
+     * @param id the ID of the resource
+     * @return the path of the content file, or null if the content is saved inline or the resource does not exist
+     */
+    public Path getDataPath(int id) {
+        String hash = getContentHash(id);
+        return hash != null ? blobStore.resolve(hash) : null;
+    }
+
+    /**
+     * Opens a stream over the content of a resource.
+     * Contents saved in the blob store are read incrementally from their file, so reading them needs a bounded amount of heap.
+     * Inline contents are not: the SQLite driver has no incremental BLOB reads and SQLite loads the whole value
+     * even to return a part of it, so they are loaded once in memory and the stream reads that copy.
+     * They can be moved to the blob store with {@link #moveDataToBlobStore()}.
+     *
+     * @param id the ID of the resource
+     * @return a stream over the resource data
+     * @throws SQLiteException if the resource does not exist
+     * @throws TrackTuneException if the content file cannot be opened
+     */
+    public InputStream openDataStream(int id) {
+        ContentInfo info = getContentInfo(id);
+        if (info == null) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+        if (info.hash() != null) {
+            try {
+                return blobStore.open(info.hash());
+            } catch (IOException e) {
+                throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+            }
+        }
+        byte[] data = dbManager.executeQuery(GET_RESOURCE_DATA_BY_ID_STMT,
+                rs -> rs.next() ? rs.getBytes(DATA) : null, id);
+        if (data == null) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+        return new ByteArrayInputStream(data);
+    }
+
+    /**
+     * Loads a range of the content of a resource, e.g. to serve a seek of a media player.
+     * Contents saved in the blob store are read from their file starting at the range.
+     * For inline contents only the bytes of the range are copied out of the database, instead of the whole content
+     * as by {@link #openDataStream(int)}, although SQLite still reads the whole value.
+     *
+     * @param id     the ID of the resource
+     * @param first  the offset of the first byte
+     * @param length the number of bytes to read
+     * @return the bytes of the range, fewer if the content ends before it
+     * @throws SQLiteException if the resource does not exist
+     * @throws TrackTuneException if the content file cannot be read
+     */
+    public byte[] getDataRange(int id, long first, int length) {
+        ContentInfo info = getContentInfo(id);
+        if (info == null) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+        if (info.hash() != null) {
+            try (InputStream in = blobStore.open(info.hash())) {
+                in.skipNBytes(Math.min(first, info.size()));
+                return in.readNBytes(length);
+            } catch (IOException e) {
+                throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+            }
+        }
+        // substr counts the bytes of a BLOB from 1
+        byte[] data = dbManager.executeQuery(GET_RESOURCE_DATA_RANGE_BY_ID_STMT,
+                rs -> rs.next() ? rs.getBytes(DATA) : null, first + 1, length, id);
+        return data != null ? data : new byte[0];
+    }
+
+    /**
+     * Opens a channel over the content of a resource, read as by {@link #openDataStream(int)}.
+     *
+     * @param id the ID of the resource
+     * @return a channel over the resource data
+     * @throws SQLiteException if the resource does not exist
+     */
+    public ReadableByteChannel openDataChannel(int id) {
+        return Channels.newChannel(openDataStream(id));
+    }
+
+    /**
+     * Copies the content of a resource to an output stream, read as by {@link #openDataStream(int)}.
+     *
+     * @param id  the ID of the resource
+     * @param out the destination stream, not closed by this method
+     * @return the number of bytes copied
+     * @throws IOException if writing to the destination fails
+     * @throws SQLiteException if the resource does not exist
+     */
+    public long copyDataTo(int id, OutputStream out) throws IOException {
+        try (InputStream in = openDataStream(id)) {
+            return in.transferTo(out);
+        }
+    }
+
+    /**
+     * Moves the contents still saved inline in the database to the blob store,
+     * leaving an empty BLOB in their place. The database file must be vacuumed afterwards to shrink it.
+     *
+     * @return the number of moved contents
+     * @throws TrackTuneException if a content cannot be saved in the blob store
+     */
+    public int moveDataToBlobStore() {
+        List<Integer> ids = new ArrayList<>();
+        dbManager.executeQuery(GET_INLINE_RESOURCE_IDS_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(ID));
+                    }
+                    return null;
+                });
+
+        int moved = 0;
+        for (int id : ids) {
+            String hash;
+            long size;
+            try (InputStream in = openDataStream(id)) {
+                hash = blobStore.put(in);
+                size = blobStore.size(hash);
+            } catch (IOException e) {
+                throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+            }
+            if (dbManager.executeUpdate(MOVE_DATA_TO_BLOB_STORE_STMT, hash, size, id)) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Deletes the files of the blob store no longer referenced by any resource.
+     * Updates and deletions never remove the file of the previous content themselves, since they may be rolled back
+     * by an enclosing transaction and another resource with the same content may be inserted meanwhile;
+     * the files they leave behind are removed here, when no resource is being written (e.g. at startup).
+     *
+     * @return the number of deleted files
+     * @throws TrackTuneException if the blob store cannot be cleaned
+     */
+    public int deleteUnreferencedData() {
+        Set<String> referenced = new HashSet<>();
+        dbManager.executeQuery(GET_ALL_CONTENT_HASHES_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        referenced.add(rs.getString(1));
+                    }
+                    return null;
+                });
+        try {
+            return blobStore.deleteAllExcept(referenced);
+        } catch (IOException e) {
+            throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+        }
+    }
+
+    /**
+     * Content of a resource as it is saved in the Resources table.
+     *
+     * @param data the inline content, empty if the content is in the blob store
+     * @param hash the hash of the content in the blob store, null if the content is inline
+     * @param size the size of the content in the blob store, null if the content is inline
+     */
+    private record StoredContent(byte[] data, String hash, Long size) {}
+
+    /**
+     * Location and size of the content of a stored resource.
+     *
+     * @param size the size in bytes of the content
+     * @param hash the hash of the content in the blob store, null if the content is inline
+     */
+    private record ContentInfo(long size, String hash) {}
+
+    /**
+     * Prepares a content to be saved, writing it to the blob store if enabled.
+     *
+     * @param data the resource content
+     * @return the values to save in the Resources table
+     * @throws TrackTuneException if the content cannot be written to the blob store
+     */
+    private StoredContent storeContent(byte[] data) {
+        if (!useBlobStore || data == null) {
+            return new StoredContent(data, null, null);
+        }
+        return storeContent(new ByteArrayInputStream(data), data.length);
+    }
+
+    /**
+     * Prepares a content read from a stream to be saved, writing it to the blob store if enabled.
+     *
+     * @param data the stream with the content
+     * @param size the number of bytes of the content
+     * @return the values to save in the Resources table
+     * @throws TrackTuneException if the content cannot be read or written to the blob store
+     */
+    private StoredContent storeContent(InputStream data, long size) {
+        if (!useBlobStore) {
+            return new StoredContent(readData(data, size), null, null);
+        }
+        try {
+            String hash = blobStore.put(data);
+            return new StoredContent(new byte[0], hash, blobStore.size(hash));
+        } catch (IOException e) {
+            throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+        }
+    }
+
+    /**
+     * Returns the hash of the content of a resource saved in the blob store.
+     *
+     * @param id the ID of the resource
+     * @return the content hash, or null if the content is inline or the resource does not exist
+     */
+    private String getContentHash(int id) {
+        ContentInfo info = getContentInfo(id);
+        return info != null ? info.hash() : null;
+    }
+
+    /**
+     * Returns the size and location of the content of a resource, without loading it.
+     *
+     * @param id the ID of the resource
+     * @return the content info, or null if the resource does not exist
+     */
+    private ContentInfo getContentInfo(int id) {
+        return dbManager.executeQuery(GET_RESOURCE_CONTENT_INFO_BY_ID_STMT,
+                rs -> rs.next() ? new ContentInfo(rs.getLong(DATA_SIZE), rs.getString(CONTENT_HASH)) : null, id);
+    }
+
+    /**
+     * Reads the content of the current row, from the blob store if it is saved there.
+     * The row must contain the {@code data} and {@code contentHash} columns.
+     *
+     * @param rs the ResultSet positioned at the current row
+     * @return the resource content
+     * @throws SQLException if a database access error occurs
+     * @throws TrackTuneException if the content file cannot be read
+     */
+    private byte[] readContent(ResultSet rs) throws SQLException {
+        String hash = rs.getString(CONTENT_HASH);
+        if (hash == null) {
+            return rs.getBytes(DATA);
+        }
+        try (InputStream in = blobStore.open(hash)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+        }
+    }
+
+    /**
+     * Maps a full {@link ResultSet} row to a {@link Resource}, loading its content from the blob store if needed.
+     *
+     * @param rs the ResultSet positioned at the current row
+     * @return the mapped Resource object
+     * @throws SQLException if a database access error occurs
+     */
+    private Resource mapResultSetToResource(ResultSet rs) throws SQLException {
+        return mapResultSetToEntity(rs, readContent(rs));
+    }
+
+    /**
+     * Reads exactly {@code size} bytes of resource content from a stream.
+     *
+     * @param data the stream to read
+     * @param size the number of bytes to read
+     * @return the content read
+     * @throws TrackTuneException if the stream cannot be read or is shorter than expected
+     */
+    private static byte[] readData(InputStream data, long size) {
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+        }
+        try {
+            byte[] bytes = data.readNBytes((int) size);
+            if (bytes.length != size) {
+                throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw new TrackTuneException(Strings.ERR_LOAD_FILE);
+        }
+    }
+
+    /**
+     * Maps a {@link ResultSet} row selected without the data column to a {@link ResourceSummary}.
+     * The row must contain the {@code dataSize} column.
+     *
+     * @param rs the ResultSet positioned at the current row
+     * @return the mapped ResourceSummary object
+     * @throws SQLException if a database access error occurs
+     */
+    public static ResourceSummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        int id = rs.getInt(ID);
+        ResourceTypeEnum type = ResourceTypeEnum.fromInt(rs.getInt(TYPE));
+        long dataSize = rs.getLong(DATA_SIZE);
+        Timestamp creationDate = rs.getTimestamp(CREATION_DATE);
+        boolean isMultimedia = rs.getInt(IS_MULTIMEDIA) == 1;
+        boolean isAuthor = rs.getInt(IS_AUTHOR) == 1;
+        int trackID = rs.getInt(TRACK_ID);
+        int userID = rs.getInt(USER_ID);
+        return new ResourceSummary(id, type, dataSize, creationDate, isMultimedia, isAuthor, trackID, userID);
+    }
+
     /**
      * Maps a {@link ResultSet} row to a {@link Resource} or {@link MultimediaResource} entity.
      *
@@ -327,9 +1106,20 @@ public class ResourceDAO implements DAO<Resource> {
      * @throws SQLException if a database access error occurs
      */
     public static Resource mapResultSetToEntity(ResultSet rs) throws SQLException {
+        return mapResultSetToEntity(rs, rs.getBytes(DATA));
+    }
+
+    /**
+     * Maps a {@link ResultSet} row to a {@link Resource} or {@link MultimediaResource} entity with the given content.
+     *
+     * @param rs   the ResultSet positioned at the current row
+     * @param data the resource content
+     * @return the mapped Resource object
+     * @throws SQLException if a database access error occurs
+     */
+    private static Resource mapResultSetToEntity(ResultSet rs, byte[] data) throws SQLException {
         int id = rs.getInt(ID);
         ResourceTypeEnum type = ResourceTypeEnum.fromInt(rs.getInt(TYPE));
-        byte[] data = rs.getBytes(DATA);
         Timestamp creationDate = rs.getTimestamp(CREATION_DATE);
         boolean isMultimedia = rs.getInt(IS_MULTIMEDIA) == 1;
         boolean isAuthor = rs.getInt(IS_AUTHOR) == 1;
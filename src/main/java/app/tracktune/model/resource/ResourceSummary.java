@@ -0,0 +1,40 @@
+package app.tracktune.model.resource;
+
+import java.sql.Timestamp;
+
+/**
+ * Metadata-only projection of a {@link Resource}, used by listing screens.
+ * <p>
+ * It is loaded without the binary content, so {@link #getData()} returns null:
+ * the size of the content is available with {@link #getDataSize()},
+ * while the bytes can be streamed on demand with {@link ResourceDAO#openDataStream(int)}.
+ */
+public class ResourceSummary extends Resource {
+    private final long dataSize;
+
+    /**
+     * Constructs a ResourceSummary with the specified fields.
+     *
+     * @param id            the unique identifier of the resource
+     * @param type          the type of the resource (see {@link ResourceTypeEnum})
+     * @param dataSize      the size in bytes of the binary content of the resource
+     * @param creationDate  the timestamp when the resource was created
+     * @param isMultimedia  true if the resource is multimedia, false otherwise
+     * @param isAuthor      true if the resource is related to an author, false otherwise
+     * @param trackID       the identifier of the track this resource is linked to
+     * @param userID        the identifier of the user who owns or created the resource
+     */
+    public ResourceSummary(Integer id, ResourceTypeEnum type, long dataSize, Timestamp creationDate, boolean isMultimedia, boolean isAuthor, int trackID, int userID) {
+        super(id, type, null, creationDate, isMultimedia, isAuthor, trackID, userID);
+        this.dataSize = dataSize;
+    }
+
+    /**
+     * Returns the size of the binary content of the resource, without loading it.
+     *
+     * @return the size in bytes of the resource data
+     */
+    public long getDataSize() {
+        return dataSize;
+    }
+}
@@ -0,0 +1,156 @@
+package app.tracktune.model.search;
+
+import app.tracktune.utils.DatabaseManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Access Object (DAO) class for the full-text search over tracks, authors, genres, instruments and comments.
+ * <p>
+ * Queries run on the FTS5 indexes created by the schema migrations and kept in sync by triggers,
+ * so no table is scanned: every word typed is looked up as a prefix (search-as-you-type)
+ * and the results are ranked by relevance (bm25).
+ */
+public class SearchDAO {
+    private final DatabaseManager dbManager;
+
+    // Database field names
+    private static final String TYPE = "type";
+    private static final String ID = "ID";
+    private static final String TEXT = "text";
+
+    // Full-text queries, one per indexed table; rank is the bm25 score, lower is more relevant
+    private static final String SEARCH_TRACKS_STMT = """
+        SELECT 1 AS type, rowid AS ID, title AS text, rank AS score
+        FROM TracksFts
+        WHERE TracksFts MATCH ?
+    """;
+
+    private static final String SEARCH_AUTHORS_STMT = """
+        SELECT 2 AS type, rowid AS ID, authorshipName AS text, rank AS score
+        FROM AuthorsFts
+        WHERE AuthorsFts MATCH ?
+    """;
+
+    private static final String SEARCH_GENRES_STMT = """
+        SELECT 3 AS type, rowid AS ID, name AS text, rank AS score
+        FROM GenresFts
+        WHERE GenresFts MATCH ?
+    """;
+
+    private static final String SEARCH_INSTRUMENTS_STMT = """
+        SELECT 4 AS type, rowid AS ID, name AS text, rank AS score
+        FROM MusicalInstrumentsFts
+        WHERE MusicalInstrumentsFts MATCH ?
+    """;
+
+    private static final String SEARCH_COMMENTS_STMT = """
+        SELECT 5 AS type, rowid AS ID, description AS text, rank AS score
+        FROM CommentsFts
+        WHERE CommentsFts MATCH ?
+    """;
+
+    private static final String ORDER_BY_SCORE = """
+        ORDER BY score
+        LIMIT ?
+    """;
+
+    private static final Map<SearchResultTypeEnum, String> SEARCH_STMTS = Map.of(
+            SearchResultTypeEnum.TRACK, SEARCH_TRACKS_STMT,
+            SearchResultTypeEnum.AUTHOR, SEARCH_AUTHORS_STMT,
+            SearchResultTypeEnum.GENRE, SEARCH_GENRES_STMT,
+            SearchResultTypeEnum.INSTRUMENT, SEARCH_INSTRUMENTS_STMT,
+            SearchResultTypeEnum.COMMENT, SEARCH_COMMENTS_STMT
+    );
+
+    private static final String SEARCH_ALL_STMT = String.join(" UNION ALL ",
+            SEARCH_TRACKS_STMT, SEARCH_AUTHORS_STMT, SEARCH_GENRES_STMT, SEARCH_INSTRUMENTS_STMT, SEARCH_COMMENTS_STMT)
+            + ORDER_BY_SCORE;
+
+    /**
+     * Constructs a SearchDAO with the specified DatabaseManager.
+     *
+     * @param dbManager the database manager used to perform SQL operations
+     */
+    public SearchDAO(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Searches the given text in every kind of entity.
+     *
+     * @param text  the text typed by the user, every word is matched as a prefix
+     * @param limit the maximum number of results
+     * @return the matching entities, the most relevant first; empty if the text contains no word
+     */
+    public List<SearchResult> search(String text, int limit) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return executeSearch(SEARCH_ALL_STMT, query, query, query, query, query, limit);
+    }
+
+    /**
+     * Searches the given text in one kind of entity.
+     *
+     * @param text  the text typed by the user, every word is matched as a prefix
+     * @param type  the kind of entity searched
+     * @param limit the maximum number of results
+     * @return the matching entities, the most relevant first; empty if the text contains no word
+     */
+    public List<SearchResult> search(String text, SearchResultTypeEnum type, int limit) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return executeSearch(SEARCH_STMTS.get(type) + ORDER_BY_SCORE, query, limit);
+    }
+
+    /**
+     * Converts the text typed by the user into an FTS5 query matching rows that contain
+     * a word starting with each of the typed words, e.g. {@code nig so} becomes {@code "nig"* "so"*}.
+     * Every word is quoted, so the FTS5 operators and special characters typed by the user have no effect.
+     *
+     * @param text the text typed by the user, may be null
+     * @return the FTS5 query, empty if the text contains no word
+     */
+    public static String toPrefixQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add("\"" + word + "\"*");
+            }
+        }
+        return String.join(" ", terms);
+    }
+
+    /**
+     * Runs a search query and maps its rows to results.
+     *
+     * @param sql    the search query
+     * @param params the values bound to the placeholders of the query
+     * @return the results in the order returned by the query
+     */
+    private List<SearchResult> executeSearch(String sql, Object... params) {
+        List<SearchResult> results = new ArrayList<>();
+        dbManager.executeQuery(sql,
+                rs -> {
+                    while (rs.next()) {
+                        results.add(new SearchResult(
+                                SearchResultTypeEnum.fromInt(rs.getInt(TYPE)),
+                                rs.getInt(ID),
+                                rs.getString(TEXT)
+                        ));
+                    }
+                    return null;
+                }, params);
+        return results;
+    }
+}
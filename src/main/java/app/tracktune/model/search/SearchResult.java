@@ -0,0 +1,12 @@
+package app.tracktune.model.search;
+
+/**
+ * Entity matching a full-text search.
+ *
+ * @param type the kind of the entity
+ * @param id   the ID of the entity in its table
+ * @param text the text shown for the entity: the title of a track, the name of an author, genre or instrument,
+ *             the description of a comment
+ */
+public record SearchResult(SearchResultTypeEnum type, int id, String text) {
+}
@@ -0,0 +1,49 @@
+package app.tracktune.model.search;
+
+/**
+ * Enumeration representing the kinds of entities returned by the full-text search,
+ * each mapped to an integer value returned by the search queries.
+ */
+public enum SearchResultTypeEnum {
+    TRACK(1),
+    AUTHOR(2),
+    GENRE(3),
+    INSTRUMENT(4),
+    COMMENT(5);
+
+    private final int value;
+
+    /**
+     * Constructs a SearchResultTypeEnum with the specified integer value.
+     *
+     * @param value the integer value representing this kind of result
+     */
+    SearchResultTypeEnum(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the integer value associated with this kind of result.
+     *
+     * @return integer value of this kind of result
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Converts an integer value to the corresponding SearchResultTypeEnum.
+     *
+     * @param i the integer value representing a kind of result
+     * @return the matching SearchResultTypeEnum
+     * @throws IllegalArgumentException if the value does not correspond to any SearchResultTypeEnum
+     */
+    public static SearchResultTypeEnum fromInt(int i) {
+        for (SearchResultTypeEnum type : SearchResultTypeEnum.values()) {
+            if (type.getValue() == i) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unexpected value: " + i);
+    }
+}
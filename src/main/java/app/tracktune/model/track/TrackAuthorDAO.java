@@ -9,6 +9,7 @@ import app.tracktune.utils.Strings;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -31,6 +32,15 @@ public class TrackAuthorDAO implements DAO<TrackAuthor> {
     private static final String INSERT_TRACK_AUTHOR_STMT = """
         INSERT INTO TracksAuthors (trackID, authorID)
         VALUES (?, ?)
+        RETURNING ID
+    """;
+
+    // The existence check is part of the insert, so all the links are written by a single batch
+    private static final String INSERT_MISSING_TRACK_AUTHOR_STMT = """
+        INSERT INTO TracksAuthors (trackID, authorID)
+        SELECT ?, ?
+        WHERE NOT EXISTS (SELECT 1 FROM TracksAuthors WHERE trackID = ? AND authorID = ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_TRACK_AUTHOR_STMT = """
@@ -92,15 +102,37 @@ public class TrackAuthorDAO implements DAO<TrackAuthor> {
      */
     @Override
     public Integer insert(TrackAuthor trackAuthor) {
-        boolean success = dbManager.executeUpdate(INSERT_TRACK_AUTHOR_STMT,
+        Integer id = dbManager.executeInsert(INSERT_TRACK_AUTHOR_STMT,
                 trackAuthor.getTrackId(),
                 trackAuthor.getAuthorId()
         );
 
-        if (!success) {
+        if (id == null) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+        return id;
+    }
+
+    /**
+     * Links a track to the given authors, skipping the ones already linked.
+     * All the links are inserted by a single batch, in one transaction.
+     *
+     * @param trackId the ID of the track
+     * @param authorIds the IDs of the authors to link
+     * @return the IDs of the inserted links, empty if every one already existed
+     * @throws SQLiteException if the operation fails
+     */
+    public List<Integer> insertMissing(int trackId, Collection<Integer> authorIds) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int authorId : authorIds) {
+            batch.add(new Object[]{trackId, authorId, trackId, authorId});
+        }
+
+        List<Integer> ids = dbManager.executeInsertBatch(INSERT_MISSING_TRACK_AUTHOR_STMT, batch);
+        if (ids == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-        return dbManager.getLastInsertId();
+        return ids;
     }
 
     /**
@@ -3,7 +3,11 @@ package app.tracktune.model.track;
 import app.tracktune.Main;
 import app.tracktune.exceptions.SQLiteException;
 import app.tracktune.interfaces.DAO;
+import app.tracktune.model.Page;
+import app.tracktune.model.PageRequest;
+import app.tracktune.model.search.SearchDAO;
 import app.tracktune.utils.DatabaseManager;
+import app.tracktune.utils.KeysetPager;
 import app.tracktune.utils.Strings;
 import app.tracktune.view.ViewManager;
 import javafx.scene.control.Alert;
@@ -12,8 +16,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object (DAO) for the {@link Track} entity.
@@ -29,11 +36,21 @@ public class TrackDAO implements DAO<Track> {
     private static final String TITLE = "title";
     private static final String CREATION_DATE = "creationDate";
     private static final String USER_ID = "userID";
+    private static final String AUTHOR_NAMES = "authorNames";
+    private static final String GENRE_NAMES = "genreNames";
+    private static final String INSTRUMENT_NAMES = "instrumentNames";
+
+    /**
+     * Separator of the names concatenated by {@link #GET_TRACK_SUMMARIES_BY_IDS_STMT} (ASCII unit separator),
+     * chosen because it cannot be typed in a name.
+     */
+    private static final String NAME_SEPARATOR = "\u001F";
 
     // SQL statements
     private static final String INSERT_TRACK_STMT = """
         INSERT INTO Tracks (title, creationDate, userID)
         VALUES (?, ?, ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_TRACK_STMT = """
@@ -87,6 +104,47 @@ public class TrackDAO implements DAO<Track> {
         WHERE r.ID = ?
     """;
 
+    // The page of IDs is bound as a single JSON array, so the statement text is the same for every page
+    private static final String GET_TRACK_SUMMARIES_BY_IDS_STMT = """
+        SELECT t.*,
+            (SELECT GROUP_CONCAT(a.authorshipName, char(31) ORDER BY ta.ID)
+             FROM TracksAuthors ta
+             JOIN Authors a ON a.ID = ta.authorID
+             WHERE ta.trackID = t.ID) AS authorNames,
+            (SELECT GROUP_CONCAT(g.name, char(31) ORDER BY tg.ID)
+             FROM TracksGenres tg
+             JOIN Genres g ON g.ID = tg.genreID
+             WHERE tg.trackID = t.ID) AS genreNames,
+            (SELECT GROUP_CONCAT(mi.name, char(31) ORDER BY ti.ID)
+             FROM TracksInstruments ti
+             JOIN MusicalInstruments mi ON mi.ID = ti.instrumentID
+             WHERE ti.trackID = t.ID) AS instrumentNames
+        FROM Tracks t
+        WHERE t.ID IN (SELECT value FROM json_each(?))
+    """;
+
+    // Paginated queries, completed with the keyset conditions by KeysetPager
+    private static final String SELECT_TRACKS_STMT = """
+        SELECT *
+        FROM Tracks
+    """;
+
+    private static final String TRACK_HAS_AUTHOR_FILTER = """
+        EXISTS (SELECT 1 FROM TracksAuthors ta WHERE ta.trackID = Tracks.ID AND ta.authorID = ?)
+    """;
+
+    private static final String TRACK_HAS_GENRE_FILTER = """
+        EXISTS (SELECT 1 FROM TracksGenres tg WHERE tg.trackID = Tracks.ID AND tg.genreID = ?)
+    """;
+
+    private static final String TRACK_HAS_INSTRUMENT_FILTER = """
+        EXISTS (SELECT 1 FROM TracksInstruments ti WHERE ti.trackID = Tracks.ID AND ti.instrumentID = ?)
+    """;
+
+    private static final String TRACK_TITLE_MATCH_FILTER = """
+        ID IN (SELECT rowid FROM TracksFts WHERE TracksFts MATCH ?)
+    """;
+
     private static final String GET_TRACK_BY_TITLE = """
         SELECT *
         FROM Tracks
@@ -117,16 +175,16 @@ public class TrackDAO implements DAO<Track> {
      */
     @Override
     public Integer insert(Track track) {
-        boolean success = dbManager.executeUpdate(INSERT_TRACK_STMT,
+        Integer id = dbManager.executeInsert(INSERT_TRACK_STMT,
                 track.getTitle(),
                 track.getCreationDate(),
                 track.getUserID()
         );
 
-        if (!success) {
+        if (id == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-        return dbManager.getLastInsertId();
+        return id;
     }
 
     /**
@@ -312,6 +370,101 @@ public class TrackDAO implements DAO<Track> {
         return track.get();
     }
 
+    /**
+     * Retrieves a page of tracks.
+     *
+     * @param request the requested page
+     * @return the page of tracks
+     */
+    public Page<Track> getPage(PageRequest<Track> request) {
+        return KeysetPager.fetch(dbManager, SELECT_TRACKS_STMT, null, request, this::mapResultSetToEntity, Track::getId);
+    }
+
+    /**
+     * Retrieves a page of the tracks associated with a given author ID.
+     *
+     * @param authorId the author ID
+     * @param request  the requested page
+     * @return the page of tracks by the author
+     */
+    public Page<Track> getPageByAuthorId(int authorId, PageRequest<Track> request) {
+        return KeysetPager.fetch(dbManager, SELECT_TRACKS_STMT, TRACK_HAS_AUTHOR_FILTER, request,
+                this::mapResultSetToEntity, Track::getId, authorId);
+    }
+
+    /**
+     * Retrieves a page of the tracks associated with a given genre ID.
+     *
+     * @param genreId the genre ID
+     * @param request the requested page
+     * @return the page of tracks of the genre
+     */
+    public Page<Track> getPageByGenreId(int genreId, PageRequest<Track> request) {
+        return KeysetPager.fetch(dbManager, SELECT_TRACKS_STMT, TRACK_HAS_GENRE_FILTER, request,
+                this::mapResultSetToEntity, Track::getId, genreId);
+    }
+
+    /**
+     * Retrieves a page of the tracks associated with a given instrument ID.
+     *
+     * @param instrumentId the instrument ID
+     * @param request      the requested page
+     * @return the page of tracks using the instrument
+     */
+    public Page<Track> getPageByInstrumentId(int instrumentId, PageRequest<Track> request) {
+        return KeysetPager.fetch(dbManager, SELECT_TRACKS_STMT, TRACK_HAS_INSTRUMENT_FILTER, request,
+                this::mapResultSetToEntity, Track::getId, instrumentId);
+    }
+
+    /**
+     * Retrieves a page of the tracks whose title contains a word starting with each word of the given text,
+     * ignoring case and accents. Titles are looked up in the full-text search index.
+     *
+     * @param text    the text to search in the titles
+     * @param request the requested page
+     * @return the page of matching tracks, or of all tracks if the text contains no word
+     */
+    public Page<Track> getPageByTitle(String text, PageRequest<Track> request) {
+        String query = SearchDAO.toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return getPage(request);
+        }
+        return KeysetPager.fetch(dbManager, SELECT_TRACKS_STMT, TRACK_TITLE_MATCH_FILTER, request,
+                this::mapResultSetToEntity, Track::getId, query);
+    }
+
+    /**
+     * Retrieves the tracks with the given IDs together with the names of their authors, genres and instruments,
+     * with a single query regardless of the number of tracks and links.
+     *
+     * @param ids the IDs of the tracks, e.g. the ones shown in a page
+     * @return the summaries of the existing tracks, in the same order as the given IDs
+     */
+    public List<TrackSummary> getSummariesByIds(List<Integer> ids) {
+        if (ids.isEmpty()) return new ArrayList<>();
+
+        Map<Integer, TrackSummary> summaries = new HashMap<>();
+        String jsonIds = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+
+        dbManager.executeQuery(GET_TRACK_SUMMARIES_BY_IDS_STMT,
+                rs -> {
+                    while (rs.next()) {
+                        TrackSummary summary = mapResultSetToSummary(rs);
+                        summaries.put(summary.getId(), summary);
+                    }
+                    return null;
+                }, jsonIds);
+
+        List<TrackSummary> result = new ArrayList<>();
+        for (Integer id : ids) {
+            TrackSummary summary = summaries.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
     /**
      * Retrieves all tracks from the database.
      *
@@ -346,4 +499,33 @@ public class TrackDAO implements DAO<Track> {
         int userID = rs.getInt(USER_ID);
         return new Track(id, title, creationDate, userID);
     }
+
+    /**
+     * Converts a {@link ResultSet} row with the concatenated link names into a {@link TrackSummary} object.
+     *
+     * @param rs the result set
+     * @return a new TrackSummary instance populated with data from the result set
+     * @throws SQLException if a database access error occurs
+     */
+    private TrackSummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        Integer id = rs.getInt(ID);
+        String title = rs.getString(TITLE);
+        Timestamp creationDate = rs.getTimestamp(CREATION_DATE);
+        int userID = rs.getInt(USER_ID);
+        return new TrackSummary(id, title, creationDate, userID,
+                splitNames(rs.getString(AUTHOR_NAMES)),
+                splitNames(rs.getString(GENRE_NAMES)),
+                splitNames(rs.getString(INSTRUMENT_NAMES)));
+    }
+
+    /**
+     * Splits the names concatenated by GROUP_CONCAT.
+     *
+     * @param names the concatenated names, null if there are none
+     * @return the list of names
+     */
+    private static List<String> splitNames(String names) {
+        if (names == null || names.isEmpty()) return List.of();
+        return List.of(names.split(NAME_SEPARATOR));
+    }
 }
@@ -9,6 +9,7 @@ import app.tracktune.utils.Strings;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -29,6 +30,15 @@ public class TrackGenreDAO implements DAO<TrackGenre> {
     private static final String INSERT_TRACK_GENRE_STMT = """
         INSERT INTO TracksGenres (trackID, genreID)
         VALUES (?, ?)
+        RETURNING ID
+    """;
+
+    // The existence check is part of the insert, so all the links are written by a single batch
+    private static final String INSERT_MISSING_TRACK_GENRE_STMT = """
+        INSERT INTO TracksGenres (trackID, genreID)
+        SELECT ?, ?
+        WHERE NOT EXISTS (SELECT 1 FROM TracksGenres WHERE trackID = ? AND genreID = ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_TRACK_GENRE_STMT = """
@@ -91,15 +101,37 @@ public class TrackGenreDAO implements DAO<TrackGenre> {
      */
     @Override
     public Integer insert(TrackGenre trackGenre) {
-        boolean success = dbManager.executeUpdate(INSERT_TRACK_GENRE_STMT,
+        Integer id = dbManager.executeInsert(INSERT_TRACK_GENRE_STMT,
                 trackGenre.getTrackId(),
                 trackGenre.getGenreId()
         );
 
-        if (!success) {
+        if (id == null) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+        return id;
+    }
+
+    /**
+     * Links a track to the given genres, skipping the ones already linked.
+     * All the links are inserted by a single batch, in one transaction.
+     *
+     * @param trackId the ID of the track
+     * @param genreIds the IDs of the genres to link
+     * @return the IDs of the inserted links, empty if every one already existed
+     * @throws SQLiteException if the operation fails
+     */
+    public List<Integer> insertMissing(int trackId, Collection<Integer> genreIds) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int genreId : genreIds) {
+            batch.add(new Object[]{trackId, genreId, trackId, genreId});
+        }
+
+        List<Integer> ids = dbManager.executeInsertBatch(INSERT_MISSING_TRACK_GENRE_STMT, batch);
+        if (ids == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-        return dbManager.getLastInsertId();
+        return ids;
     }
 
     /**
@@ -9,6 +9,7 @@ import app.tracktune.utils.Strings;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -28,6 +29,15 @@ public class TrackInstrumentDAO implements DAO<TrackInstrument> {
     private static final String INSERT_TRACK_INSTRUMENT_STMT = """
         INSERT INTO TracksInstruments (trackID, instrumentID)
         VALUES (?, ?)
+        RETURNING ID
+    """;
+
+    // The existence check is part of the insert, so all the links are written by a single batch
+    private static final String INSERT_MISSING_TRACK_INSTRUMENT_STMT = """
+        INSERT INTO TracksInstruments (trackID, instrumentID)
+        SELECT ?, ?
+        WHERE NOT EXISTS (SELECT 1 FROM TracksInstruments WHERE trackID = ? AND instrumentID = ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_TRACK_INSTRUMENT_STMT = """
@@ -88,14 +98,36 @@ public class TrackInstrumentDAO implements DAO<TrackInstrument> {
      */
     @Override
     public Integer insert(TrackInstrument ti) {
-        boolean success = dbManager.executeUpdate(INSERT_TRACK_INSTRUMENT_STMT,
+        Integer id = dbManager.executeInsert(INSERT_TRACK_INSTRUMENT_STMT,
                 ti.getTrackId(),
                 ti.getInstrumentId());
 
-        if (!success) {
+        if (id == null) {
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+        return id;
+    }
+
+    /**
+     * Links a track to the given instruments, skipping the ones already linked.
+     * All the links are inserted by a single batch, in one transaction.
+     *
+     * @param trackId the ID of the track
+     * @param instrumentIds the IDs of the instruments to link
+     * @return the IDs of the inserted links, empty if every one already existed
+     * @throws SQLiteException if the operation fails
+     */
+    public List<Integer> insertMissing(int trackId, Collection<Integer> instrumentIds) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int instrumentId : instrumentIds) {
+            batch.add(new Object[]{trackId, instrumentId, trackId, instrumentId});
+        }
+
+        List<Integer> ids = dbManager.executeInsertBatch(INSERT_MISSING_TRACK_INSTRUMENT_STMT, batch);
+        if (ids == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-        return dbManager.getLastInsertId();
+        return ids;
     }
 
     /**
@@ -0,0 +1,45 @@
+package app.tracktune.model.track;
+
+import app.tracktune.interfaces.SortKey;
+
+import java.util.function.Function;
+
+/**
+ * Sort orders available for the paginated track queries of {@link TrackDAO}.
+ */
+public enum TrackSortEnum implements SortKey<Track> {
+    /** Insertion order. */
+    ID("ID", false, Track::getId);
+
+    private final String column;
+    private final boolean descending;
+    private final Function<Track, Object> key;
+
+    /**
+     * Constructs a sort order on the given column.
+     *
+     * @param column     the NOT NULL column rows are sorted by
+     * @param descending true to sort from the greatest to the smallest key
+     * @param key        the function returning the value of the column for an entity
+     */
+    TrackSortEnum(String column, boolean descending, Function<Track, Object> key) {
+        this.column = column;
+        this.descending = descending;
+        this.key = key;
+    }
+
+    @Override
+    public String column() {
+        return column;
+    }
+
+    @Override
+    public boolean descending() {
+        return descending;
+    }
+
+    @Override
+    public Object keyOf(Track item) {
+        return key.apply(item);
+    }
+}
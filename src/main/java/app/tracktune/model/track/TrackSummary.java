@@ -0,0 +1,60 @@
+package app.tracktune.model.track;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Projection of a {@link Track} together with the names of its authors, genres and instruments,
+ * used by listing screens to show a track without loading its links one by one.
+ */
+public class TrackSummary extends Track {
+    private final List<String> authorNames;
+    private final List<String> genreNames;
+    private final List<String> instrumentNames;
+
+    /**
+     * Constructs a TrackSummary with the specified fields.
+     *
+     * @param id              the unique identifier of the track
+     * @param title           the title of the track
+     * @param creationDate    the creation timestamp of the track
+     * @param userID          the ID of the user owning the track
+     * @param authorNames     the authorship names of the authors of the track
+     * @param genreNames      the names of the genres of the track
+     * @param instrumentNames the names of the instruments played in the track
+     */
+    public TrackSummary(Integer id, String title, Timestamp creationDate, int userID,
+                        List<String> authorNames, List<String> genreNames, List<String> instrumentNames) {
+        super(id, title, creationDate, userID);
+        this.authorNames = authorNames;
+        this.genreNames = genreNames;
+        this.instrumentNames = instrumentNames;
+    }
+
+    /**
+     * Returns the authorship names of the authors of the track.
+     *
+     * @return the author names, empty if the track has no authors
+     */
+    public List<String> getAuthorNames() {
+        return authorNames;
+    }
+
+    /**
+     * Returns the names of the genres of the track.
+     *
+     * @return the genre names, empty if the track has no genres
+     */
+    public List<String> getGenreNames() {
+        return genreNames;
+    }
+
+    /**
+     * Returns the names of the instruments played in the track.
+     *
+     * @return the instrument names, empty if the track has no instruments
+     */
+    public List<String> getInstrumentNames() {
+        return instrumentNames;
+    }
+}
@@ -3,7 +3,10 @@ package app.tracktune.model.user;
 import app.tracktune.Main;
 import app.tracktune.exceptions.SQLiteException;
 import app.tracktune.interfaces.DAO;
+import app.tracktune.model.Page;
+import app.tracktune.model.PageRequest;
 import app.tracktune.utils.DatabaseManager;
+import app.tracktune.utils.KeysetPager;
 import app.tracktune.utils.Strings;
 
 import java.sql.ResultSet;
@@ -30,6 +33,7 @@ public class PendingUserDAO implements DAO<PendingUser> {
     private static final String INSERT_PENDING_USER_STMT = """
         INSERT INTO PendingUsers (username, password, name, surname, status, requestDate)
         VALUES (?, ?, ?, ?, ?, ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_PENDING_USER_STMT = """
@@ -57,6 +61,16 @@ public class PendingUserDAO implements DAO<PendingUser> {
         FROM PendingUsers
     """;
 
+    // Paginated queries, completed with the keyset conditions by KeysetPager
+    private static final String SELECT_PENDING_USERS_STMT = """
+        SELECT *
+        FROM PendingUsers
+    """;
+
+    private static final String PENDING_USER_BY_STATUS_FILTER = """
+        status = ?
+    """;
+
     private static final String GET_PENDING_USER_BY_ID = """
         SELECT *
         FROM PendingUsers
@@ -94,7 +108,7 @@ public class PendingUserDAO implements DAO<PendingUser> {
      */
     @Override
     public Integer insert(PendingUser pendingUser) {
-        boolean success = dbManager.executeUpdate(
+        Integer id = dbManager.executeInsert(
                 INSERT_PENDING_USER_STMT,
                 pendingUser.getUsername(),
                 pendingUser.getPassword(),
@@ -104,10 +118,10 @@ public class PendingUserDAO implements DAO<PendingUser> {
                 pendingUser.getRequestDate()
         );
 
-        if (!success) {
+        if (id == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-        return dbManager.getLastInsertId();
+        return id;
     }
 
     /**
@@ -217,6 +231,18 @@ public class PendingUserDAO implements DAO<PendingUser> {
         return users;
     }
 
+    /**
+     * Retrieves a page of the requests with the given status.
+     *
+     * @param status  the status of the requests
+     * @param request the requested page
+     * @return the page of matching PendingUsers
+     */
+    public Page<PendingUser> getPageByStatus(AuthRequestStatusEnum status, PageRequest<PendingUser> request) {
+        return KeysetPager.fetch(dbManager, SELECT_PENDING_USERS_STMT, PENDING_USER_BY_STATUS_FILTER, request,
+                this::mapResultSetToEntity, PendingUser::getId, status.getValue());
+    }
+
     /**
      * Retrieves a PendingUser by username.
      *
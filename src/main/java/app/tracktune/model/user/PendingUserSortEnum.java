@@ -0,0 +1,45 @@
+package app.tracktune.model.user;
+
+import app.tracktune.interfaces.SortKey;
+
+import java.util.function.Function;
+
+/**
+ * Sort orders available for the paginated request queries of {@link PendingUserDAO}.
+ */
+public enum PendingUserSortEnum implements SortKey<PendingUser> {
+    /** Oldest request first. */
+    REQUEST_DATE("requestDate", false, PendingUser::getRequestDate);
+
+    private final String column;
+    private final boolean descending;
+    private final Function<PendingUser, Object> key;
+
+    /**
+     * Constructs a sort order on the given column.
+     *
+     * @param column     the NOT NULL column rows are sorted by
+     * @param descending true to sort from the greatest to the smallest key
+     * @param key        the function returning the value of the column for an entity
+     */
+    PendingUserSortEnum(String column, boolean descending, Function<PendingUser, Object> key) {
+        this.column = column;
+        this.descending = descending;
+        this.key = key;
+    }
+
+    @Override
+    public String column() {
+        return column;
+    }
+
+    @Override
+    public boolean descending() {
+        return descending;
+    }
+
+    @Override
+    public Object keyOf(PendingUser item) {
+        return key.apply(item);
+    }
+}
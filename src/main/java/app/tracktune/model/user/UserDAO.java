@@ -3,7 +3,10 @@ package app.tracktune.model.user;
 import app.tracktune.Main;
 import app.tracktune.exceptions.SQLiteException;
 import app.tracktune.interfaces.DAO;
+import app.tracktune.model.Page;
+import app.tracktune.model.PageRequest;
 import app.tracktune.utils.DatabaseManager;
+import app.tracktune.utils.KeysetPager;
 import app.tracktune.utils.Strings;
 
 import java.sql.ResultSet;
@@ -31,6 +34,7 @@ public class UserDAO implements DAO<User> {
     private static final String INSERT_USER_STMT = """
         INSERT INTO Users (username, password, name, surname, status, creationDate, isAdmin)
         VALUES (?, ?, ?, ?, ?, ?, ?)
+        RETURNING ID
     """;
 
     private static final String UPDATE_USER_STMT = """
@@ -67,6 +71,16 @@ public class UserDAO implements DAO<User> {
         WHERE username = ? AND status = 0
     """;
 
+    // Paginated queries, completed with the keyset conditions by KeysetPager
+    private static final String SELECT_USERS_STMT = """
+        SELECT *
+        FROM Users
+    """;
+
+    private static final String USER_BY_STATUS_AND_ROLE_FILTER = """
+        status = ? AND isAdmin = ?
+    """;
+
     private static final String GET_SINGLE_USER_BY_USERNAME_STMT= """
         SELECT *
         FROM Users
@@ -99,9 +113,9 @@ public class UserDAO implements DAO<User> {
      */
     @Override
     public Integer insert(User user) {
-        boolean success = false;
+        Integer id = null;
         if (user instanceof Administrator admin) {
-            success = dbManager.executeUpdate(
+            id = dbManager.executeInsert(
                     INSERT_USER_STMT,
                     admin.getUsername(),
                     admin.getPassword(),
@@ -112,7 +126,7 @@ public class UserDAO implements DAO<User> {
                     1
             );
         } else if (user instanceof AuthenticatedUser authUser) {
-            success = dbManager.executeUpdate(
+            id = dbManager.executeInsert(
                     INSERT_USER_STMT,
                     authUser.getUsername(),
                     authUser.getPassword(),
@@ -124,10 +138,10 @@ public class UserDAO implements DAO<User> {
             );
         }
 
-        if (!success) {
+        if (id == null) {
             throw new SQLiteException(Strings.ERR_DATABASE);
         }
-        return dbManager.getLastInsertId();
+        return id;
     }
 
     /**
@@ -273,6 +287,19 @@ public class UserDAO implements DAO<User> {
         return users;
     }
 
+    /**
+     * Retrieves a page of the users with the given status and role.
+     *
+     * @param status  the status of the users
+     * @param isAdmin true to read administrators, false to read the other users
+     * @param request the requested page
+     * @return the page of matching users
+     */
+    public Page<User> getPageByStatus(UserStatusEnum status, boolean isAdmin, PageRequest<User> request) {
+        return KeysetPager.fetch(dbManager, SELECT_USERS_STMT, USER_BY_STATUS_AND_ROLE_FILTER, request,
+                this::mapResultSetToEntity, User::getId, status.getValue(), isAdmin ? 1 : 0);
+    }
+
     /**
      * Maps a ResultSet row to a User entity, returning either an Administrator
      * or AuthenticatedUser based on the 'isAdmin' flag.
@@ -0,0 +1,45 @@
+package app.tracktune.model.user;
+
+import app.tracktune.interfaces.SortKey;
+
+import java.util.function.Function;
+
+/**
+ * Sort orders available for the paginated user queries of {@link UserDAO}.
+ */
+public enum UserSortEnum implements SortKey<User> {
+    /** Alphabetical order of the username. */
+    USERNAME("username", false, User::getUsername);
+
+    private final String column;
+    private final boolean descending;
+    private final Function<User, Object> key;
+
+    /**
+     * Constructs a sort order on the given column.
+     *
+     * @param column     the NOT NULL column rows are sorted by
+     * @param descending true to sort from the greatest to the smallest key
+     * @param key        the function returning the value of the column for an entity
+     */
+    UserSortEnum(String column, boolean descending, Function<User, Object> key) {
+        this.column = column;
+        this.descending = descending;
+        this.key = key;
+    }
+
+    @Override
+    public String column() {
+        return column;
+    }
+
+    @Override
+    public boolean descending() {
+        return descending;
+    }
+
+    @Override
+    public Object keyOf(User item) {
+        return key.apply(item);
+    }
+}
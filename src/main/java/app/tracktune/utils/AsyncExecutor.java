@@ -0,0 +1,79 @@
+package app.tracktune.utils;
+
+import app.tracktune.config.AppConfig;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of background threads running database queries and media rendering,
+ * so that the JavaFX application thread only builds and updates the views.
+ * <p>
+ * The threads are daemons, so they never keep the application alive after the window is closed.
+ * Controllers should not use this class directly but a {@link TaskScope},
+ * which delivers the results on the JavaFX thread and drops them once the view is left.
+ */
+public final class AsyncExecutor {
+    /**
+     * Counter used to name the background threads.
+     */
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    /**
+     * Pool of {@link AppConfig#ASYNC_THREADS} background threads.
+     */
+    private static final ExecutorService executor = Executors.newFixedThreadPool(AppConfig.ASYNC_THREADS, task -> {
+        Thread thread = new Thread(task, "tracktune-async-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AsyncExecutor() {}
+
+    /**
+     * Runs a task on a background thread.
+     * <p>
+     * Cancelling the returned future before the task starts prevents it from running;
+     * a task already running is not interrupted, but its result is discarded.
+     *
+     * @param task the task to run
+     * @param <T>  the type of the result
+     * @return a future completed with the result of the task, or with the exception it threw
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> complete(future, task));
+        return future;
+    }
+
+    /**
+     * Returns the executor of the background threads, e.g. to chain asynchronous stages.
+     *
+     * @return the executor of the background threads
+     */
+    public static Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Runs a task and completes the future with its outcome, unless the future is already completed or cancelled.
+     *
+     * @param future the future to complete
+     * @param task   the task to run
+     * @param <T>    the type of the result
+     */
+    static <T> void complete(CompletableFuture<T> future, Callable<T> task) {
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            future.complete(task.call());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
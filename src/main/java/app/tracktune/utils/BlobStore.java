@@ -0,0 +1,187 @@
+package app.tracktune.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of binary files, used to keep resource contents outside the database file.
+ * <p>
+ * Every content is saved once, in a file named after its SHA-256 hash, so identical uploads share the same file.
+ * Files are sharded in two levels of directories named after the first bytes of the hash
+ * (e.g. {@code ab/cd/abcd...}), to keep every directory small.
+ * Contents are first written to a temporary file and then moved in place, so a file under its hash is always complete.
+ */
+public class BlobStore {
+    /**
+     * Algorithm used to compute the content hashes.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Format of a valid content hash: 64 lowercase hexadecimal characters.
+     */
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * Name of the directory holding the contents being written.
+     */
+    private static final String TMP_DIR = "tmp";
+
+    /**
+     * Root directory of the store.
+     */
+    private final Path root;
+
+    /**
+     * Creates a store rooted at the given directory, which is created on the first write.
+     *
+     * @param root the root directory of the store
+     */
+    public BlobStore(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Saves a content, unless an identical one is already stored.
+     *
+     * @param data the stream with the content, not closed by this method
+     * @return the hash identifying the content
+     * @throws IOException if the content cannot be read or written
+     */
+    public String put(InputStream data) throws IOException {
+        Path tmpDir = Files.createDirectories(root.resolve(TMP_DIR));
+        Path tmp = Files.createTempFile(tmpDir, "blob", null);
+        try {
+            MessageDigest digest = newDigest();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                data.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Path target = resolve(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // stored concurrently by another upload of the same content
+                }
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Opens a stream over a stored content.
+     *
+     * @param hash the hash of the content
+     * @return a stream over the content
+     * @throws IOException if the content does not exist or cannot be read
+     */
+    public InputStream open(String hash) throws IOException {
+        return Files.newInputStream(resolve(hash));
+    }
+
+    /**
+     * Returns the size of a stored content.
+     *
+     * @param hash the hash of the content
+     * @return the size in bytes of the content
+     * @throws IOException if the content does not exist
+     */
+    public long size(String hash) throws IOException {
+        return Files.size(resolve(hash));
+    }
+
+    /**
+     * Checks if a content is stored.
+     *
+     * @param hash the hash of the content
+     * @return true if the content exists, false otherwise
+     */
+    public boolean exists(String hash) {
+        return Files.isRegularFile(resolve(hash));
+    }
+
+    /**
+     * Deletes a stored content, if present.
+     *
+     * @param hash the hash of the content
+     * @throws IOException if the file cannot be deleted
+     */
+    public void delete(String hash) throws IOException {
+        Files.deleteIfExists(resolve(hash));
+    }
+
+    /**
+     * Deletes every stored content whose hash is not in the given set.
+     *
+     * @param referenced the hashes still in use
+     * @return the number of deleted contents
+     * @throws IOException if the store cannot be listed or a file cannot be deleted
+     */
+    public int deleteAllExcept(Set<String> referenced) throws IOException {
+        if (!Files.isDirectory(root)) return 0;
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (Files.isRegularFile(file) && HASH_PATTERN.matcher(name).matches() && !referenced.contains(name)) {
+                    Files.delete(file);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns the path of the file holding a content, sharded on the first two bytes of the hash.
+     * The file exists only if the content has been stored.
+     *
+     * @param hash the hash of the content
+     * @return the path of the content file
+     * @throws IllegalArgumentException if the hash is not a valid SHA-256 hex string
+     */
+    public Path resolve(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException(Strings.ERR_FILE_NOT_FOUND);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Hashes a content loaded in memory, as it would be named in the store.
+     *
+     * @param data the content
+     * @return the SHA-256 hash of the content as a hex string
+     */
+    static String hash(byte[] data) {
+        return HexFormat.of().formatHex(newDigest().digest(data));
+    }
+
+    /**
+     * Creates the digest used to hash the contents.
+     *
+     * @return a new SHA-256 digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
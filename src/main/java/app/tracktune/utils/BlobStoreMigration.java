@@ -0,0 +1,40 @@
+package app.tracktune.utils;
+
+import app.tracktune.config.AppConfig;
+import app.tracktune.model.resource.ResourceDAO;
+
+import java.nio.file.Path;
+
+/**
+ * Command line tool moving the resource contents of an existing database to the blob store.
+ * <p>
+ * Contents saved inline in the Resources table are written to {@link AppConfig#BLOB_STORE_DIR},
+ * identical contents are stored once, files no longer referenced are deleted and
+ * the database file is finally vacuumed to give the freed pages back to the file system.
+ * The tool can be run again safely: resources already in the blob store are skipped.
+ */
+public class BlobStoreMigration {
+
+    /**
+     * Runs the migration on the database at {@link AppConfig#DATABASE_PATH}.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        if (!dbManager.isConnected()) {
+            System.err.println(Strings.DB_CONN_FAILED);
+            return;
+        }
+
+        ResourceDAO resourceDAO = new ResourceDAO(dbManager, new BlobStore(Path.of(AppConfig.BLOB_STORE_DIR)), true);
+        int moved = resourceDAO.moveDataToBlobStore();
+        int deleted = resourceDAO.deleteUnreferencedData();
+        System.out.println("Resources moved to the blob store: " + moved);
+        System.out.println("Unreferenced files deleted: " + deleted);
+
+        if (moved > 0 && !dbManager.executeUpdate("VACUUM")) {
+            System.err.println(Strings.ERR_DATABASE);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package app.tracktune.utils;
+
+import app.tracktune.config.AppConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of SQLite connections with one writer and N readers.
+ * <p>
+ * SQLite allows a single writer at a time, so every write is serialized on the writer connection
+ * through a reentrant lock. Reader connections are opened in WAL mode with {@code query_only} enabled,
+ * so long reads (e.g. listing resources) run concurrently with uploads instead of blocking them.
+ * <p>
+ * A pool built with {@link #wrap(Connection)} uses the same connection for reads and writes:
+ * this is needed for in-memory databases, where every connection would otherwise see a different database.
+ */
+public class ConnectionPool {
+    /**
+     * Connection used for every write statement.
+     */
+    private final Connection writer;
+
+    /**
+     * Lock guarding the writer connection, reentrant so that a thread holding it can also read.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Actions waiting for the thread holding the writer connection to release it, guarded by the write lock.
+     */
+    private final List<Runnable> afterRelease = new ArrayList<>();
+
+    /**
+     * Idle reader connections, empty when the pool works with a single connection.
+     */
+    private final BlockingQueue<Connection> readers;
+
+    /**
+     * All the reader connections opened by the pool, used to close them.
+     */
+    private final List<Connection> allReaders = new ArrayList<>();
+
+    /**
+     * Prepared statement cache of each connection of the pool.
+     */
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+
+    /**
+     * True if the connections have been opened by the pool and must be closed by it.
+     */
+    private final boolean owned;
+
+    /**
+     * Creates a pool around an already opened writer connection.
+     *
+     * @param writer      the writer connection
+     * @param readerCount number of reader connections the pool will hold
+     * @param owned       true if the pool is responsible for closing the connections
+     */
+    private ConnectionPool(Connection writer, int readerCount, boolean owned) {
+        this.writer = writer;
+        this.readers = new ArrayBlockingQueue<>(Math.max(1, readerCount));
+        this.owned = owned;
+        statementCaches.put(writer, new StatementCache(writer, AppConfig.DB_STATEMENT_CACHE_SIZE));
+    }
+
+    /**
+     * Opens a pool on the given database URL, with one writer and {@code readerCount} readers.
+     * The writer switches the database to WAL journal mode, which is persistent in the database file.
+     *
+     * @param dbUrl       JDBC URL of the SQLite database
+     * @param readerCount number of reader connections to open
+     * @return the opened pool
+     * @throws SQLException if a connection cannot be opened or configured
+     */
+    public static ConnectionPool open(String dbUrl, int readerCount) throws SQLException {
+        Connection writer = DriverManager.getConnection(dbUrl);
+        ConnectionPool pool = new ConnectionPool(writer, readerCount, true);
+        try {
+            try (Statement statement = writer.createStatement()) {
+                statement.execute("PRAGMA journal_mode = WAL;");
+            }
+            configure(writer);
+
+            for (int i = 0; i < readerCount; i++) {
+                Connection reader = DriverManager.getConnection(dbUrl);
+                pool.allReaders.add(reader);
+                pool.statementCaches.put(reader, new StatementCache(reader, AppConfig.DB_STATEMENT_CACHE_SIZE));
+                configure(reader);
+                try (Statement statement = reader.createStatement()) {
+                    statement.execute("PRAGMA query_only = ON;");
+                }
+                pool.readers.add(reader);
+            }
+        } catch (SQLException e) {
+            pool.close();
+            throw e;
+        }
+        return pool;
+    }
+
+    /**
+     * Creates a pool that uses a single existing connection for reads and writes.
+     * The connection is not closed by the pool.
+     *
+     * @param connection the connection to use
+     * @return the pool wrapping the connection
+     */
+    public static ConnectionPool wrap(Connection connection) {
+        return new ConnectionPool(connection, 0, false);
+    }
+
+    /**
+     * Applies the per-connection settings: foreign keys, synchronous mode, busy timeout, mmap and page cache sizes.
+     *
+     * @param connection the connection to configure
+     * @throws SQLException if a pragma fails
+     */
+    private static void configure(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // to be able to do property ON DELETE CASCADE
+            statement.execute("PRAGMA foreign_keys = ON;");
+            statement.execute("PRAGMA synchronous = NORMAL;");
+            statement.execute("PRAGMA busy_timeout = " + AppConfig.DB_BUSY_TIMEOUT_MS + ";");
+            statement.execute("PRAGMA mmap_size = " + AppConfig.DB_MMAP_SIZE + ";");
+            // negative value means KiB instead of pages
+            statement.execute("PRAGMA cache_size = -" + AppConfig.DB_CACHE_SIZE_KIB + ";");
+        }
+    }
+
+    /**
+     * Acquires exclusive access to the writer connection.
+     * Must always be paired with {@link #releaseWriter()}.
+     *
+     * @return the writer connection
+     */
+    public Connection acquireWriter() {
+        writeLock.lock();
+        return writer;
+    }
+
+    /**
+     * Releases the writer connection acquired with {@link #acquireWriter()}.
+     * When the thread gives it back for the last time, i.e. its outermost transaction has ended,
+     * the actions registered with {@link #runAfterRelease(Runnable)} are run.
+     */
+    public void releaseWriter() {
+        List<Runnable> actions = List.of();
+        if (writeLock.getHoldCount() == 1 && !afterRelease.isEmpty()) {
+            actions = new ArrayList<>(afterRelease);
+            afterRelease.clear();
+        }
+        writeLock.unlock();
+        actions.forEach(Runnable::run);
+    }
+
+    /**
+     * Tells if the current thread holds the writer connection, e.g. it is inside a transaction.
+     *
+     * @return true if the writer connection is held by the current thread
+     */
+    public boolean isWriterHeldByCurrentThread() {
+        return writeLock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Runs an action once the current thread has released the writer connection,
+     * so that its changes are committed or rolled back: right away if the thread does not hold it.
+     *
+     * @param action the action to run
+     */
+    public void runAfterRelease(Runnable action) {
+        if (writeLock.isHeldByCurrentThread()) {
+            afterRelease.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Acquires a connection for read-only statements.
+     * <p>
+     * If the pool has no readers, or the current thread already holds the writer (e.g. it is inside a write),
+     * the writer connection is returned so the read sees the thread's own changes.
+     * Must always be paired with {@link #releaseReader(Connection)}.
+     *
+     * @return a connection to read from
+     * @throws SQLException if the thread is interrupted while waiting for a free reader
+     */
+    public Connection acquireReader() throws SQLException {
+        if (allReaders.isEmpty() || writeLock.isHeldByCurrentThread()) {
+            return acquireWriter();
+        }
+        try {
+            return readers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+    }
+
+    /**
+     * Gives back a connection acquired with {@link #acquireReader()}.
+     *
+     * @param connection the connection to release
+     */
+    public void releaseReader(Connection connection) {
+        if (connection == writer) {
+            releaseWriter();
+        } else {
+            readers.offer(connection);
+        }
+    }
+
+    /**
+     * Returns the prepared statement cache of a connection of the pool.
+     *
+     * @param connection a connection acquired from the pool
+     * @return the statement cache of the connection
+     */
+    public StatementCache getStatementCache(Connection connection) {
+        return statementCaches.get(connection);
+    }
+
+    /**
+     * Returns the prepared statement caches of all the connections of the pool.
+     *
+     * @return the statement caches
+     */
+    public Collection<StatementCache> getStatementCaches() {
+        return statementCaches.values();
+    }
+
+    /**
+     * Checks if the writer connection is available.
+     *
+     * @return true if the pool holds an open writer connection
+     */
+    public boolean isOpen() {
+        try {
+            return writer != null && !writer.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the cached statements and all the connections opened by the pool. Wrapped connections are left open.
+     */
+    public void close() {
+        for (StatementCache cache : statementCaches.values()) {
+            cache.close();
+        }
+        if (!owned) return;
+        for (Connection reader : allReaders) {
+            closeQuietly(reader);
+        }
+        closeQuietly(writer);
+    }
+
+    /**
+     * Closes a connection ignoring errors.
+     *
+     * @param connection the connection to close
+     */
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+        }
+    }
+}
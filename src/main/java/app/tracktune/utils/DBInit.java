@@ -1,6 +1,7 @@
 package app.tracktune.utils;
 
 import java.sql.Timestamp;
+import java.util.List;
 
 /**
  * Class containing all the statements to create database structure
@@ -91,6 +92,8 @@ public class DBInit {
             ID INTEGER PRIMARY KEY AUTOINCREMENT,
             type TEXT NOT NULL,
             data BLOB NOT NULL,
+            contentHash TEXT,
+            contentSize INTEGER,
             creationDate TIMESTAMP NOT NULL,
             isMultimedia INTEGER CHECK (isMultimedia IN (0, 1)) NOT NULL,
             location TEXT,
@@ -103,6 +106,22 @@ public class DBInit {
         );
     """;
 
+    public static final String CREATE_RESOURCE_THUMBNAILS_TABLE_STMT = """
+        CREATE TABLE IF NOT EXISTS ResourceThumbnails (
+            resourceID INTEGER PRIMARY KEY,
+            data BLOB NOT NULL,
+            FOREIGN KEY (resourceID) REFERENCES Resources(ID) ON DELETE CASCADE
+        );
+    """;
+
+    public static final String CREATE_RESOURCE_WAVEFORMS_TABLE_STMT = """
+        CREATE TABLE IF NOT EXISTS ResourceWaveforms (
+            resourceID INTEGER PRIMARY KEY,
+            data BLOB NOT NULL,
+            FOREIGN KEY (resourceID) REFERENCES Resources(ID) ON DELETE CASCADE
+        );
+    """;
+
     private static final String CREATE_AUTHORS_TABLE_STMT = """
         CREATE TABLE IF NOT EXISTS Authors (
             ID INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -140,6 +159,283 @@ public class DBInit {
         );
     """;
 
+    // Secondary indexes: the columns filtered by the DAOs, with the other joined column to cover the lookup
+    private static final String CREATE_TRACKS_TITLE_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_tracks_title ON Tracks (title);
+    """;
+
+    private static final String CREATE_TRACKS_USER_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_tracks_user ON Tracks (userID);
+    """;
+
+    private static final String CREATE_RESOURCES_TRACK_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_resources_track ON Resources (trackID);
+    """;
+
+    private static final String CREATE_RESOURCES_USER_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_resources_user ON Resources (userID);
+    """;
+
+    private static final String CREATE_RESOURCES_CONTENT_HASH_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_resources_content_hash ON Resources (contentHash);
+    """;
+
+    private static final String CREATE_COMMENTS_RESOURCE_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_comments_resource ON Comments (resourceID);
+    """;
+
+    private static final String CREATE_INTERACTIONS_COMMENT_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_interactions_comment ON Interactions (commentID, replyID);
+    """;
+
+    private static final String CREATE_INTERACTIONS_REPLY_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_interactions_reply ON Interactions (replyID, commentID);
+    """;
+
+    private static final String CREATE_TRACKS_AUTHORS_AUTHOR_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_tracks_authors_author ON TracksAuthors (authorID, trackID);
+    """;
+
+    private static final String CREATE_TRACKS_GENRES_GENRE_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_tracks_genres_genre ON TracksGenres (genreID, trackID);
+    """;
+
+    private static final String CREATE_TRACKS_GENRES_TRACK_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_tracks_genres_track ON TracksGenres (trackID, genreID);
+    """;
+
+    private static final String CREATE_TRACKS_INSTRUMENTS_TRACK_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_tracks_instruments_track ON TracksInstruments (trackID, instrumentID);
+    """;
+
+    private static final String CREATE_USERS_STATUS_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_users_status ON Users (status, isAdmin, username);
+    """;
+
+    private static final String CREATE_PENDING_USERS_STATUS_INDEX_STMT = """
+        CREATE INDEX IF NOT EXISTS idx_pending_users_status ON PendingUsers (status, requestDate);
+    """;
+
+    // Full-text search indexes: external content FTS5 tables over the searchable columns, kept in sync by triggers
+    private static final String CREATE_TRACKS_FTS_TABLE_STMT = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS TracksFts USING fts5(
+            title,
+            content = 'Tracks', content_rowid = 'ID',
+            tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+        );
+    """;
+
+    private static final String CREATE_TRACKS_FTS_INSERT_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS TracksFts_ai AFTER INSERT ON Tracks BEGIN
+            INSERT INTO TracksFts (rowid, title) VALUES (new.ID, new.title);
+        END;
+    """;
+
+    private static final String CREATE_TRACKS_FTS_DELETE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS TracksFts_ad AFTER DELETE ON Tracks BEGIN
+            INSERT INTO TracksFts (TracksFts, rowid, title) VALUES ('delete', old.ID, old.title);
+        END;
+    """;
+
+    private static final String CREATE_TRACKS_FTS_UPDATE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS TracksFts_au AFTER UPDATE OF title ON Tracks BEGIN
+            INSERT INTO TracksFts (TracksFts, rowid, title) VALUES ('delete', old.ID, old.title);
+            INSERT INTO TracksFts (rowid, title) VALUES (new.ID, new.title);
+        END;
+    """;
+
+    private static final String REBUILD_TRACKS_FTS_STMT = """
+        INSERT INTO TracksFts (TracksFts) VALUES ('rebuild');
+    """;
+
+    private static final String CREATE_AUTHORS_FTS_TABLE_STMT = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS AuthorsFts USING fts5(
+            authorshipName,
+            content = 'Authors', content_rowid = 'ID',
+            tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+        );
+    """;
+
+    private static final String CREATE_AUTHORS_FTS_INSERT_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS AuthorsFts_ai AFTER INSERT ON Authors BEGIN
+            INSERT INTO AuthorsFts (rowid, authorshipName) VALUES (new.ID, new.authorshipName);
+        END;
+    """;
+
+    private static final String CREATE_AUTHORS_FTS_DELETE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS AuthorsFts_ad AFTER DELETE ON Authors BEGIN
+            INSERT INTO AuthorsFts (AuthorsFts, rowid, authorshipName) VALUES ('delete', old.ID, old.authorshipName);
+        END;
+    """;
+
+    private static final String CREATE_AUTHORS_FTS_UPDATE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS AuthorsFts_au AFTER UPDATE OF authorshipName ON Authors BEGIN
+            INSERT INTO AuthorsFts (AuthorsFts, rowid, authorshipName) VALUES ('delete', old.ID, old.authorshipName);
+            INSERT INTO AuthorsFts (rowid, authorshipName) VALUES (new.ID, new.authorshipName);
+        END;
+    """;
+
+    private static final String REBUILD_AUTHORS_FTS_STMT = """
+        INSERT INTO AuthorsFts (AuthorsFts) VALUES ('rebuild');
+    """;
+
+    private static final String CREATE_GENRES_FTS_TABLE_STMT = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS GenresFts USING fts5(
+            name, description,
+            content = 'Genres', content_rowid = 'ID',
+            tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+        );
+    """;
+
+    private static final String CREATE_GENRES_FTS_INSERT_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS GenresFts_ai AFTER INSERT ON Genres BEGIN
+            INSERT INTO GenresFts (rowid, name, description) VALUES (new.ID, new.name, new.description);
+        END;
+    """;
+
+    private static final String CREATE_GENRES_FTS_DELETE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS GenresFts_ad AFTER DELETE ON Genres BEGIN
+            INSERT INTO GenresFts (GenresFts, rowid, name, description) VALUES ('delete', old.ID, old.name, old.description);
+        END;
+    """;
+
+    private static final String CREATE_GENRES_FTS_UPDATE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS GenresFts_au AFTER UPDATE OF name, description ON Genres BEGIN
+            INSERT INTO GenresFts (GenresFts, rowid, name, description) VALUES ('delete', old.ID, old.name, old.description);
+            INSERT INTO GenresFts (rowid, name, description) VALUES (new.ID, new.name, new.description);
+        END;
+    """;
+
+    private static final String REBUILD_GENRES_FTS_STMT = """
+        INSERT INTO GenresFts (GenresFts) VALUES ('rebuild');
+    """;
+
+    private static final String CREATE_MUSICAL_INSTRUMENTS_FTS_TABLE_STMT = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS MusicalInstrumentsFts USING fts5(
+            name, description,
+            content = 'MusicalInstruments', content_rowid = 'ID',
+            tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+        );
+    """;
+
+    private static final String CREATE_MUSICAL_INSTRUMENTS_FTS_INSERT_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS MusicalInstrumentsFts_ai AFTER INSERT ON MusicalInstruments BEGIN
+            INSERT INTO MusicalInstrumentsFts (rowid, name, description) VALUES (new.ID, new.name, new.description);
+        END;
+    """;
+
+    private static final String CREATE_MUSICAL_INSTRUMENTS_FTS_DELETE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS MusicalInstrumentsFts_ad AFTER DELETE ON MusicalInstruments BEGIN
+            INSERT INTO MusicalInstrumentsFts (MusicalInstrumentsFts, rowid, name, description) VALUES ('delete', old.ID, old.name, old.description);
+        END;
+    """;
+
+    private static final String CREATE_MUSICAL_INSTRUMENTS_FTS_UPDATE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS MusicalInstrumentsFts_au AFTER UPDATE OF name, description ON MusicalInstruments BEGIN
+            INSERT INTO MusicalInstrumentsFts (MusicalInstrumentsFts, rowid, name, description) VALUES ('delete', old.ID, old.name, old.description);
+            INSERT INTO MusicalInstrumentsFts (rowid, name, description) VALUES (new.ID, new.name, new.description);
+        END;
+    """;
+
+    private static final String REBUILD_MUSICAL_INSTRUMENTS_FTS_STMT = """
+        INSERT INTO MusicalInstrumentsFts (MusicalInstrumentsFts) VALUES ('rebuild');
+    """;
+
+    private static final String CREATE_COMMENTS_FTS_TABLE_STMT = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS CommentsFts USING fts5(
+            description,
+            content = 'Comments', content_rowid = 'ID',
+            tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+        );
+    """;
+
+    private static final String CREATE_COMMENTS_FTS_INSERT_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS CommentsFts_ai AFTER INSERT ON Comments BEGIN
+            INSERT INTO CommentsFts (rowid, description) VALUES (new.ID, new.description);
+        END;
+    """;
+
+    private static final String CREATE_COMMENTS_FTS_DELETE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS CommentsFts_ad AFTER DELETE ON Comments BEGIN
+            INSERT INTO CommentsFts (CommentsFts, rowid, description) VALUES ('delete', old.ID, old.description);
+        END;
+    """;
+
+    private static final String CREATE_COMMENTS_FTS_UPDATE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS CommentsFts_au AFTER UPDATE OF description ON Comments BEGIN
+            INSERT INTO CommentsFts (CommentsFts, rowid, description) VALUES ('delete', old.ID, old.description);
+            INSERT INTO CommentsFts (rowid, description) VALUES (new.ID, new.description);
+        END;
+    """;
+
+    private static final String REBUILD_COMMENTS_FTS_STMT = """
+        INSERT INTO CommentsFts (CommentsFts) VALUES ('rebuild');
+    """;
+
+    // The resource is a degenerate dimension, so the R*Tree finds the segments of a resource without a second index.
+    // The 32-bit integer variant stores IDs and seconds exactly
+    private static final String CREATE_COMMENT_SEGMENTS_TABLE_STMT = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS CommentSegments USING rtree_i32(
+            ID,
+            minResourceID, maxResourceID,
+            startTime, endTime
+        );
+    """;
+
+    private static final String CREATE_COMMENT_SEGMENTS_INSERT_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS CommentSegments_ai AFTER INSERT ON Comments
+        WHEN new.startTrackInterval != 0 AND new.resourceID IS NOT NULL BEGIN
+            INSERT INTO CommentSegments (ID, minResourceID, maxResourceID, startTime, endTime)
+            VALUES (new.ID, new.resourceID, new.resourceID, new.startTrackInterval, MAX(new.startTrackInterval, new.endTrackInterval));
+        END;
+    """;
+
+    private static final String CREATE_COMMENT_SEGMENTS_DELETE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS CommentSegments_ad AFTER DELETE ON Comments BEGIN
+            DELETE FROM CommentSegments WHERE ID = old.ID;
+        END;
+    """;
+
+    private static final String CREATE_COMMENT_SEGMENTS_UPDATE_TRIGGER_STMT = """
+        CREATE TRIGGER IF NOT EXISTS CommentSegments_au AFTER UPDATE OF startTrackInterval, endTrackInterval, resourceID ON Comments BEGIN
+            DELETE FROM CommentSegments WHERE ID = old.ID;
+            INSERT INTO CommentSegments (ID, minResourceID, maxResourceID, startTime, endTime)
+            SELECT new.ID, new.resourceID, new.resourceID, new.startTrackInterval, MAX(new.startTrackInterval, new.endTrackInterval)
+            WHERE new.startTrackInterval != 0 AND new.resourceID IS NOT NULL;
+        END;
+    """;
+
+    private static final String FILL_COMMENT_SEGMENTS_STMT = """
+        INSERT OR REPLACE INTO CommentSegments (ID, minResourceID, maxResourceID, startTime, endTime)
+        SELECT ID, resourceID, resourceID, startTrackInterval, MAX(startTrackInterval, endTrackInterval)
+        FROM Comments
+        WHERE startTrackInterval != 0 AND resourceID IS NOT NULL;
+    """;
+
+    public static final String GET_SCHEMA_VERSION_STMT = """
+        PRAGMA user_version
+    """;
+    public static final String SET_SCHEMA_VERSION_STMT = """
+        PRAGMA user_version = %d
+    """;
+
+    public static final String GET_RESOURCES_COLUMNS_STMT = """
+        SELECT name FROM pragma_table_info('Resources')
+    """;
+    public static final String ADD_RESOURCES_CONTENT_HASH_STMT = """
+        ALTER TABLE Resources ADD COLUMN contentHash TEXT
+    """;
+    public static final String ADD_RESOURCES_CONTENT_SIZE_STMT = """
+        ALTER TABLE Resources ADD COLUMN contentSize INTEGER
+    """;
+
+    public static final String ADD_RESOURCES_CONTENT_VERSION_STMT = """
+        ALTER TABLE Resources ADD COLUMN contentVersion INTEGER
+    """;
+    public static final String FILL_RESOURCES_CONTENT_VERSION_STMT = """
+        UPDATE Resources SET contentVersion = random()
+    """;
+
     public static final String CHECK_ADMIN_USER_STMT = """
         SELECT *
         FROM Users
@@ -181,4 +477,84 @@ public class DBInit {
                 CREATE_GENRES_TABLE_STMT + ";"+
                 CREATE_TRACKS_GENRES_TABLE_STMT + ";";
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a single SQL string that contains the CREATE INDEX statements
+     * of the secondary indexes, separated by a semicolon like {@link #getDBInitStatement()}.
+     * The tables must already exist.
+     *
+     * @return a concatenated SQL string with all CREATE INDEX statements.
+     */
+    public static String getDBIndexesStatement() {
+        return CREATE_TRACKS_TITLE_INDEX_STMT +
+                CREATE_TRACKS_USER_INDEX_STMT +
+                CREATE_RESOURCES_TRACK_INDEX_STMT +
+                CREATE_RESOURCES_USER_INDEX_STMT +
+                CREATE_RESOURCES_CONTENT_HASH_INDEX_STMT +
+                CREATE_COMMENTS_RESOURCE_INDEX_STMT +
+                CREATE_INTERACTIONS_COMMENT_INDEX_STMT +
+                CREATE_INTERACTIONS_REPLY_INDEX_STMT +
+                CREATE_TRACKS_AUTHORS_AUTHOR_INDEX_STMT +
+                CREATE_TRACKS_GENRES_GENRE_INDEX_STMT +
+                CREATE_TRACKS_GENRES_TRACK_INDEX_STMT +
+                CREATE_TRACKS_INSTRUMENTS_TRACK_INDEX_STMT +
+                CREATE_USERS_STATUS_INDEX_STMT +
+                CREATE_PENDING_USERS_STATUS_INDEX_STMT;
+    }
+
+    /**
+     * Returns the statements creating the full-text search indexes, the triggers keeping them in sync
+     * with the indexed tables, and filling them with the rows already saved.
+     * The statements are returned separately since the triggers contain semicolons.
+     * The tables must already exist.
+     *
+     * @return the statements creating the full-text search indexes, in execution order.
+     */
+    public static List<String> getDBSearchIndexStatements() {
+        return List.of(
+                CREATE_TRACKS_FTS_TABLE_STMT,
+                CREATE_TRACKS_FTS_INSERT_TRIGGER_STMT,
+                CREATE_TRACKS_FTS_DELETE_TRIGGER_STMT,
+                CREATE_TRACKS_FTS_UPDATE_TRIGGER_STMT,
+                REBUILD_TRACKS_FTS_STMT,
+                CREATE_AUTHORS_FTS_TABLE_STMT,
+                CREATE_AUTHORS_FTS_INSERT_TRIGGER_STMT,
+                CREATE_AUTHORS_FTS_DELETE_TRIGGER_STMT,
+                CREATE_AUTHORS_FTS_UPDATE_TRIGGER_STMT,
+                REBUILD_AUTHORS_FTS_STMT,
+                CREATE_GENRES_FTS_TABLE_STMT,
+                CREATE_GENRES_FTS_INSERT_TRIGGER_STMT,
+                CREATE_GENRES_FTS_DELETE_TRIGGER_STMT,
+                CREATE_GENRES_FTS_UPDATE_TRIGGER_STMT,
+                REBUILD_GENRES_FTS_STMT,
+                CREATE_MUSICAL_INSTRUMENTS_FTS_TABLE_STMT,
+                CREATE_MUSICAL_INSTRUMENTS_FTS_INSERT_TRIGGER_STMT,
+                CREATE_MUSICAL_INSTRUMENTS_FTS_DELETE_TRIGGER_STMT,
+                CREATE_MUSICAL_INSTRUMENTS_FTS_UPDATE_TRIGGER_STMT,
+                REBUILD_MUSICAL_INSTRUMENTS_FTS_STMT,
+                CREATE_COMMENTS_FTS_TABLE_STMT,
+                CREATE_COMMENTS_FTS_INSERT_TRIGGER_STMT,
+                CREATE_COMMENTS_FTS_DELETE_TRIGGER_STMT,
+                CREATE_COMMENTS_FTS_UPDATE_TRIGGER_STMT,
+                REBUILD_COMMENTS_FTS_STMT
+        );
+    }
+
+    /**
+     * Returns the statements creating the interval index of the comments referring to a segment of a track,
+     * the triggers keeping it in sync with the comments, and filling it with the comments already saved.
+     * The statements are returned separately since the triggers contain semicolons.
+     * The tables must already exist.
+     *
+     * @return the statements creating the comment segment index, in execution order.
+     */
+    public static List<String> getDBSegmentIndexStatements() {
+        return List.of(
+                CREATE_COMMENT_SEGMENTS_TABLE_STMT,
+                CREATE_COMMENT_SEGMENTS_INSERT_TRIGGER_STMT,
+                CREATE_COMMENT_SEGMENTS_DELETE_TRIGGER_STMT,
+                CREATE_COMMENT_SEGMENTS_UPDATE_TRIGGER_STMT,
+                FILL_COMMENT_SEGMENTS_STMT
+        );
+    }
+}
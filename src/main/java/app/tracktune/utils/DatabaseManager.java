@@ -1,10 +1,14 @@
 package app.tracktune.utils;
 
 import app.tracktune.config.AppConfig;
+import app.tracktune.exceptions.SQLiteException;
 import app.tracktune.model.DAOProvider;
 
 import java.io.File;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Dedicated class for data manipulation
@@ -18,10 +22,10 @@ public class DatabaseManager {
     private static DatabaseManager instance;
 
     /**
-     * Active connection to the SQLite database.
+     * Pool of connections to the SQLite database, with one writer and several readers.
      * Used to execute queries and manage transactions.
      */
-    private Connection dbConnection;
+    private ConnectionPool pool;
 
     /**
      * URL of the SQLite database file.
@@ -40,7 +44,14 @@ public class DatabaseManager {
      * Create the instance of the database manager following singleton pattern
      */
     private DatabaseManager() {
-        String dbPath = AppConfig.DATABASE_PATH;
+        this(AppConfig.DATABASE_PATH);
+    }
+
+    /**
+     * Create the instance of the database manager on the given database file
+     * @param dbPath path of the SQLite database file
+     */
+    private DatabaseManager(String dbPath) {
         File dbFile = new File(dbPath);
         if (dbFile.getParentFile() != null && !dbFile.getParentFile().exists()) {
             if (!dbFile.getParentFile().mkdirs())
@@ -70,32 +81,28 @@ public class DatabaseManager {
     }
 
     /**
-     * Initialize database with DDL statements if tables don't exist, also creating an admin user to manage system
+     * Initialize database applying the schema migrations it has not gone through yet (see {@link SchemaMigrator}),
+     * also creating an admin user to manage system
      */
     private void initializeDatabase() {
-        if (dbConnection != null) return;
+        if (pool != null) return;
         try {
-            dbConnection = DriverManager.getConnection(dbUrl);
-            // to be able to do property ON DELETE CASCADE
-            dbConnection.createStatement().execute("PRAGMA foreign_keys = ON;");
-            Statement statement = dbConnection.createStatement();
-
-            String sqlStatements = DBInit.getDBInitStatement();
-            String[] queries = sqlStatements.split(";");
-            for (String query : queries) {
-                String trimmedQuery = query.trim();
-                if (!trimmedQuery.isEmpty()) {
-                    statement.executeUpdate(trimmedQuery + ";");
-                }
-            }
+            pool = ConnectionPool.open(dbUrl, AppConfig.DB_READER_CONNECTIONS);
+            Connection dbConnection = pool.acquireWriter();
+            try {
+                SchemaMigrator.migrate(dbConnection);
 
-            ResultSet rs = statement.executeQuery(DBInit.CHECK_ADMIN_USER_STMT);
-            if (!rs.next()) {
-                PreparedStatement prepStatement = dbConnection.prepareStatement(DBInit.INSERT_ADMIN_USER_STMT);
-                for (int i = 0; i < DBInit.ADMIN_PARAMS.length; i++) {
-                    prepStatement.setObject(i + 1, DBInit.ADMIN_PARAMS[i]);
+                Statement statement = dbConnection.createStatement();
+                ResultSet rs = statement.executeQuery(DBInit.CHECK_ADMIN_USER_STMT);
+                if (!rs.next()) {
+                    PreparedStatement prepStatement = dbConnection.prepareStatement(DBInit.INSERT_ADMIN_USER_STMT);
+                    for (int i = 0; i < DBInit.ADMIN_PARAMS.length; i++) {
+                        prepStatement.setObject(i + 1, DBInit.ADMIN_PARAMS[i]);
+                    }
+                    prepStatement.executeUpdate();
                 }
-                prepStatement.executeUpdate();
+            } finally {
+                pool.releaseWriter();
             }
         } catch (SQLException e) {
             System.err.println(Strings.ERR_INIT_DB + e.getMessage());
@@ -113,7 +120,32 @@ public class DatabaseManager {
         if (instance == null) {
             instance = new DatabaseManager();
         }
-        instance.dbConnection = testConnection;
+        if (instance.pool != null) {
+            instance.pool.close();
+        }
+        instance.pool = ConnectionPool.wrap(testConnection);
+    }
+
+    /**
+     * Points the singleton instance to another database file, e.g. a generated one to run benchmarks on.
+     * The file is created if missing and brought to the latest schema version; the current connections are closed.
+     * If the singleton instance does not exist yet, it is created on that file instead of the application database.
+     * The DAO provider is dropped as well, so no entity cached from the previous file is served.
+     *
+     * @param dbPath path of the SQLite database file
+     */
+    public static synchronized void setDatabasePath(String dbPath) {
+        DAOprovider = null;
+        if (instance == null) {
+            instance = new DatabaseManager(dbPath);
+            return;
+        }
+        if (instance.pool != null) {
+            instance.pool.close();
+            instance.pool = null;
+        }
+        instance.dbUrl = "jdbc:sqlite:" + dbPath;
+        instance.initializeDatabase();
     }
 
     /**
@@ -121,33 +153,40 @@ public class DatabaseManager {
      * @return true if it's connected, false otherwise
      */
     public boolean isConnected() {
-        return dbConnection != null;
+        return pool != null && pool.isOpen();
     }
 
     /**
-     * Method to execute a statement that updates or create tables
+     * Method to execute a statement that updates or create tables.
+     * Runs on the writer connection, so writes are serialized.
      * @param sql statement converted in string
      * @param params statement parameters
      * @return true if the statement ran without problems, false otherwise
      */
     public boolean executeUpdate(String sql, Object... params) {
         boolean result = false;
+        Connection dbConnection = pool.acquireWriter();
+        StatementCache cache = pool.getStatementCache(dbConnection);
+        PreparedStatement prepStatement = null;
         try {
-            PreparedStatement prepStatement = dbConnection.prepareStatement(sql);
-            for (int i = 0; i < params.length; i++) {
-                prepStatement.setObject(i + 1, params[i]);
-            }
+            prepStatement = cache.prepare(sql);
+            bindParameters(prepStatement, params);
 
             prepStatement.executeUpdate();
             result = true;
         } catch (SQLException e) {
             System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+        } finally {
+            if (prepStatement != null)
+                cache.release(sql, prepStatement);
+            pool.releaseWriter();
         }
         return result;
     }
 
     /**
-     * Method to execute a query that returns a result set
+     * Method to execute a query that returns a result set.
+     * Runs on a reader connection, so it does not wait for writes in progress on other threads.
      * @param sql sql statement converted in string
      * @param processor lambda expression (processor type) that contains the result set management
      * @param params statement parameters
@@ -155,15 +194,14 @@ public class DatabaseManager {
      */
     public <T> T executeQuery(String sql, ResultSetProcessor<T> processor, Object... params) {
         T result = null;
+        Connection dbConnection = null;
+        StatementCache cache = null;
+        PreparedStatement prepStatement = null;
         try {
-            PreparedStatement prepStatement = dbConnection.prepareStatement(sql);
-            if(params != null)
-                for (int i = 0; i < params.length; i++) {
-                    if(params[i] instanceof byte[] data)
-                        prepStatement.setBytes(i + 1, data);
-                    else
-                        prepStatement.setObject(i + 1, params[i]);
-                }
+            dbConnection = pool.acquireReader();
+            cache = pool.getStatementCache(dbConnection);
+            prepStatement = cache.prepare(sql);
+            bindParameters(prepStatement, params);
 
             try (ResultSet rs = prepStatement.executeQuery()) {
                 result = processor.process(rs);
@@ -171,38 +209,223 @@ public class DatabaseManager {
 
         } catch (SQLException e) {
             System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+        } finally {
+            if (prepStatement != null)
+                cache.release(sql, prepStatement);
+            if (dbConnection != null)
+                pool.releaseReader(dbConnection);
         }
         return result;
     }
 
     /**
-     * lambda expression (processor type) that contains the result set management
-     * @param <T> type of the object returned from the processor
+     * Method to execute an insert returning the ID of the new row, e.g. {@code INSERT ... RETURNING ID}.
+     * The ID is read from the result of the statement itself, so it cannot be the one of a row
+     * inserted meanwhile by another statement, and no further query is needed.
+     * Runs on the writer connection, so writes are serialized.
+     * @param sql insert statement converted in string, returning the ID of the inserted row
+     * @param params statement parameters
+     * @return the ID of the inserted row, or null if the statement failed or inserted nothing
      */
-    public interface ResultSetProcessor<T> {
-        T process(ResultSet rs) throws SQLException;
+    public Integer executeInsert(String sql, Object... params) {
+        Integer result = null;
+        Connection dbConnection = pool.acquireWriter();
+        StatementCache cache = pool.getStatementCache(dbConnection);
+        PreparedStatement prepStatement = null;
+        try {
+            prepStatement = cache.prepare(sql);
+            bindParameters(prepStatement, params);
+            List<Integer> ids = readGeneratedIds(prepStatement);
+            if (!ids.isEmpty())
+                result = ids.getFirst();
+        } catch (SQLException e) {
+            System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+        } finally {
+            if (prepStatement != null)
+                cache.release(sql, prepStatement);
+            pool.releaseWriter();
+        }
+        return result;
     }
 
     /**
-     * Retrieves the last inserted row ID from the current database connection.
-     * Works with SQLite's last_insert_rowid() function.
-     *
-     * @return the last inserted ID as Integer, or null if an error occurs
+     * Method to execute the same insert once for every set of parameters, returning the IDs of all the new rows.
+     * The statement is compiled once and the inserts run in one transaction, so either all of them are applied or none is;
+     * inside an open transaction the inserts join it as a nested one.
+     * @param sql insert statement converted in string, returning the ID of the inserted rows
+     * @param batch the parameters of every execution of the statement
+     * @return the IDs of the inserted rows in execution order, or null if a statement failed
      */
-    public Integer getLastInsertId() {
-        String sql = "SELECT last_insert_rowid()";
-
-        try (Statement stmt = dbConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    public List<Integer> executeInsertBatch(String sql, List<Object[]> batch) {
+        List<Integer> result = null;
+        try (Transaction transaction = beginTransaction()) {
+            StatementCache cache = pool.getStatementCache(transaction.getConnection());
+            PreparedStatement prepStatement = cache.prepare(sql);
+            List<Integer> ids = new ArrayList<>();
+            try {
+                for (Object[] params : batch) {
+                    bindParameters(prepStatement, params);
+                    ids.addAll(readGeneratedIds(prepStatement));
+                }
+            } finally {
+                cache.release(sql, prepStatement);
+            }
+            transaction.commit();
+            result = ids;
+        } catch (SQLException | SQLiteException e) {
+            System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+        }
+        return result;
+    }
 
-            if (rs.next()) {
-                return rs.getInt(1);
+    /**
+     * Method to execute the same statement once for every set of parameters, as a single JDBC batch.
+     * The statements run in one transaction, so either all of them are applied or none is;
+     * inside an open transaction the batch joins it as a nested one.
+     * @param sql statement converted in string
+     * @param batch the parameters of every execution of the statement
+     * @return true if every statement ran without problems, false otherwise
+     */
+    public boolean executeBatch(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        boolean result = false;
+        try (Transaction transaction = beginTransaction()) {
+            StatementCache cache = pool.getStatementCache(transaction.getConnection());
+            PreparedStatement prepStatement = cache.prepare(sql);
+            try {
+                for (Object[] params : batch) {
+                    bindParameters(prepStatement, params);
+                    prepStatement.addBatch();
+                }
+                prepStatement.executeBatch();
+            } finally {
+                cache.release(sql, prepStatement);
             }
+            transaction.commit();
+            result = true;
+        } catch (SQLException | SQLiteException e) {
+            System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+        }
+        return result;
+    }
 
+    /**
+     * Starts a unit of work on the writer connection, to be committed or rolled back as a whole.
+     * A transaction started inside another one on the same thread is a savepoint of it (see {@link Transaction}).
+     *
+     * @return the open transaction, to be closed by the caller
+     * @throws SQLiteException if the transaction cannot be started
+     */
+    public Transaction beginTransaction() {
+        try {
+            return new Transaction(pool);
         } catch (SQLException e) {
             System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+            throw new SQLiteException(Strings.ERR_DATABASE);
         }
+    }
+
+    /**
+     * Tells if the current thread is writing, e.g. inside a transaction, so its queries may see changes
+     * not committed yet.
+     *
+     * @return true if the current thread holds the writer connection
+     */
+    public boolean isWriting() {
+        return pool.isWriterHeldByCurrentThread();
+    }
+
+    /**
+     * Runs an action once the writes of the current thread are committed, e.g. to drop the cached copies
+     * of the rows they changed: right away outside a transaction, otherwise when the outermost one ends.
+     *
+     * @param action the action to run
+     */
+    public void runAfterWrites(Runnable action) {
+        pool.runAfterRelease(action);
+    }
 
-        return null;
+    /**
+     * Runs a unit of work as a single transaction on the writer connection.
+     * <p>
+     * The statements the work executes through this manager, on the same thread, join the transaction
+     * and its queries see its own changes; other threads wait to write until the transaction ends.
+     * The changes are committed together, with a single sync to disk, or rolled back if the work throws.
+     * A transaction started inside another one is nested in it (see {@link Transaction}).
+     *
+     * @param work the statements to execute, returning the result of the transaction
+     * @return the result of the work
+     * @param <T> type of the result
+     * @throws SQLiteException if the transaction cannot be started or committed
+     */
+    public <T> T executeInTransaction(Supplier<T> work) {
+        try (Transaction transaction = beginTransaction()) {
+            T result = work.get();
+            transaction.commit();
+            return result;
+        }
+    }
+
+    /**
+     * Executes an insert returning the IDs of the rows it inserted.
+     *
+     * @param prepStatement the insert, with its parameters bound
+     * @return the IDs of the inserted rows, empty if it inserted nothing
+     * @throws SQLException if the insert fails
+     */
+    private static List<Integer> readGeneratedIds(PreparedStatement prepStatement) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (ResultSet rs = prepStatement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Binds the parameters of a statement, in order, byte arrays as BLOBs.
+     *
+     * @param prepStatement the statement
+     * @param params the statement parameters, null if none
+     * @throws SQLException if a parameter cannot be bound
+     */
+    private static void bindParameters(PreparedStatement prepStatement, Object... params) throws SQLException {
+        if (params == null)
+            return;
+        for (int i = 0; i < params.length; i++) {
+            if (params[i] instanceof byte[] data)
+                prepStatement.setBytes(i + 1, data);
+            else
+                prepStatement.setObject(i + 1, params[i]);
+        }
+    }
+
+    /**
+     * Returns how many statements have been served by the prepared statement caches without compiling SQL.
+     *
+     * @return the statement cache hits of all the connections
+     */
+    public long getStatementCacheHits() {
+        return pool.getStatementCaches().stream().mapToLong(StatementCache::getHits).sum();
+    }
+
+    /**
+     * Returns how many statements had to be compiled because they were not in the prepared statement caches.
+     *
+     * @return the statement cache misses of all the connections
+     */
+    public long getStatementCacheMisses() {
+        return pool.getStatementCaches().stream().mapToLong(StatementCache::getMisses).sum();
+    }
+
+    /**
+     * lambda expression (processor type) that contains the result set management
+     * @param <T> type of the object returned from the processor
+     */
+    public interface ResultSetProcessor<T> {
+        T process(ResultSet rs) throws SQLException;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,165 @@
+package app.tracktune.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * In-memory cache of entities keyed by ID, used by the DAOs of reference data (authors, genres, instruments, users)
+ * that the views read once per row while rendering their lists.
+ * <p>
+ * The cache is read-through: a missing entity is loaded by the DAO and kept for the next reads.
+ * It holds up to a maximum number of entities, evicting the least recently used ones first,
+ * and the DAO invalidates an entity whenever a write of it is committed, so a read never returns data older than the last commit.
+ * An entity loaded while it was being written is not kept, as it may be the old one.
+ *
+ * @param <V> type of the entities
+ */
+public class EntityCache<V> {
+    /**
+     * Maximum number of cached entities.
+     */
+    private final int maxEntries;
+
+    /**
+     * Cached entities keyed by ID, in access order.
+     */
+    private final LinkedHashMap<Integer, V> entries;
+
+    /**
+     * Incremented on every invalidation, so that entities loaded before it are not cached.
+     */
+    private long version = 0;
+
+    /**
+     * Number of reads served from memory.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Number of reads that had to load the entity.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Number of entities evicted to make room for new ones.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries maximum number of cached entities
+     */
+    public EntityCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, V> eldest) {
+                if (size() > EntityCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns an entity, loading and caching it if it is not cached yet.
+     * Missing entities are not cached, so that they are found once inserted.
+     *
+     * @param id     the ID of the entity
+     * @param loader reads the entity from the database, returning null if it does not exist
+     * @return the entity, or null if it does not exist
+     */
+    public V get(int id, IntFunction<V> loader) {
+        long loadVersion;
+        synchronized (this) {
+            V cached = entries.get(id);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            loadVersion = version;
+        }
+
+        misses.incrementAndGet();
+        // loaded without holding the lock, so that other reads are not blocked by the query
+        V loaded = loader.apply(id);
+        if (loaded != null) {
+            synchronized (this) {
+                if (version == loadVersion) {
+                    entries.put(id, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Removes an entity after it has been written.
+     *
+     * @param id the ID of the entity
+     */
+    public synchronized void invalidate(int id) {
+        version++;
+        entries.remove(id);
+    }
+
+    /**
+     * Removes all the entities.
+     */
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached entities.
+     *
+     * @return the size of the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of reads served from memory.
+     *
+     * @return the cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of reads that had to load the entity.
+     *
+     * @return the cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entities evicted to make room for new ones.
+     *
+     * @return the cache evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the share of the reads served from memory.
+     *
+     * @return the hit rate, from 0 to 1, or 0 if nothing has been read yet
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,60 @@
+package app.tracktune.utils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validates the text typed by the users before it is saved or used to log in,
+ * rejecting the texts that look like SQL injection attempts.
+ * <p>
+ * The SQL keywords and characters are searched with a single pattern compiled once and matched ignoring case,
+ * so a check neither compiles a regular expression nor copies the text, and every thread reuses its own matcher.
+ * Checking the thousands of names of a bulk import therefore costs a scan of each name.
+ */
+public final class InputValidator {
+    /**
+     * SQL comment and statement separator, and SQL keywords as whole words, in any case.
+     * The keywords are ASCII, so the case is ignored without the locale-dependent {@link String#toUpperCase()}.
+     * The leading lookahead skips at once the characters that cannot start a match, instead of trying every alternative.
+     */
+    private static final Pattern SQL_INJECTION_PATTERN = Pattern.compile(
+            "(?=[-;ACDEFIJSTUW])(?:--|;|\\b(?:DROP|SELECT|INSERT|UPDATE|DELETE|TRUNCATE|ALTER|CREATE|EXEC|UNION|FROM|WHERE|JOIN)\\b)",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Matcher of the pattern of every thread, reset on each check.
+     */
+    private static final ThreadLocal<Matcher> MATCHER = ThreadLocal.withInitial(() -> SQL_INJECTION_PATTERN.matcher(""));
+
+    private InputValidator() {
+    }
+
+    /**
+     * Checks if a text contains SQL keywords or characters commonly used in SQL injection attacks.
+     *
+     * @param text the text to check, not null
+     * @return {@code true} if the text contains SQL keywords or characters, {@code false} otherwise
+     */
+    public static boolean containsSQL(CharSequence text) {
+        Matcher matcher = MATCHER.get().reset(text);
+        boolean found = matcher.find();
+        // do not keep the text reachable from the thread
+        matcher.reset("");
+        return found;
+    }
+
+    /**
+     * Checks if any of the texts is missing or looks like an SQL injection attempt.
+     *
+     * @param texts the texts to check
+     * @return {@code true} if any text is null, blank, or contains SQL keywords or characters; {@code false} otherwise
+     */
+    public static boolean isInvalid(String... texts) {
+        for (String text : texts) {
+            if (text == null || text.isBlank() || containsSQL(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,139 @@
+package app.tracktune.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Static interval tree answering which items cover a time or overlap a range of times,
+ * e.g. which comments of a track refer to the part being played.
+ * <p>
+ * The items are sorted by start and seen as a balanced binary tree laid out in the array
+ * (the middle item of every range is the root of that range), each node keeping the greatest end
+ * of its subtree: a query skips every subtree ending before the range and every right subtree
+ * starting after it, so it costs O(log n + k) for k items found instead of a scan of all the items.
+ * <p>
+ * The tree is immutable; it is built again when the items change.
+ *
+ * @param <T> type of the items
+ */
+public final class IntervalTree<T> {
+    private final List<T> items;
+    private final int[] starts;
+    private final int[] ends;
+
+    /**
+     * Greatest end of the subtree rooted at every item.
+     */
+    private final int[] maxEnds;
+
+    private IntervalTree(List<T> items, int[] starts, int[] ends) {
+        this.items = items;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new int[items.size()];
+        computeMaxEnds(0, items.size() - 1);
+    }
+
+    /**
+     * Builds the tree of some items.
+     *
+     * @param items the items
+     * @param start the start of the interval of an item
+     * @param end   the end of the interval of an item, not before its start
+     * @return the tree
+     * @param <T> type of the items
+     */
+    public static <T> IntervalTree<T> of(Collection<T> items, ToIntFunction<T> start, ToIntFunction<T> end) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingInt(start));
+        int[] starts = new int[sorted.size()];
+        int[] ends = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            starts[i] = start.applyAsInt(sorted.get(i));
+            ends[i] = Math.max(starts[i], end.applyAsInt(sorted.get(i)));
+        }
+        return new IntervalTree<>(sorted, starts, ends);
+    }
+
+    /**
+     * Returns the number of items of the tree.
+     *
+     * @return the item count
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Finds the items whose interval overlaps a range, bounds included.
+     *
+     * @param from the start of the range
+     * @param to   the end of the range
+     * @return the items found, by start
+     */
+    public List<T> findOverlapping(int from, int to) {
+        List<T> found = new ArrayList<>();
+        if (from <= to) {
+            find(0, items.size() - 1, from, to, found);
+        }
+        return found;
+    }
+
+    /**
+     * Finds the items whose interval covers a time, bounds included.
+     *
+     * @param time the time
+     * @return the items found, by start
+     */
+    public List<T> findAt(int time) {
+        return findOverlapping(time, time);
+    }
+
+    /**
+     * Computes the greatest end of the subtree of the given range.
+     *
+     * @param low  the first item of the range
+     * @param high the last item of the range
+     * @return the greatest end, or {@link Integer#MIN_VALUE} for an empty range
+     */
+    private int computeMaxEnds(int low, int high) {
+        if (low > high) {
+            return Integer.MIN_VALUE;
+        }
+        int middle = (low + high) >>> 1;
+        int maxEnd = Math.max(ends[middle], Math.max(computeMaxEnds(low, middle - 1), computeMaxEnds(middle + 1, high)));
+        maxEnds[middle] = maxEnd;
+        return maxEnd;
+    }
+
+    /**
+     * Collects the items of the subtree of the given range overlapping a range of times, in start order.
+     *
+     * @param low   the first item of the subtree
+     * @param high  the last item of the subtree
+     * @param from  the start of the range of times
+     * @param to    the end of the range of times
+     * @param found the list collecting the items
+     */
+    private void find(int low, int high, int from, int to, List<T> found) {
+        if (low > high) {
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        if (maxEnds[middle] < from) {
+            return;
+        }
+        find(low, middle - 1, from, to, found);
+        if (starts[middle] > to) {
+            // the right subtree starts even later
+            return;
+        }
+        if (ends[middle] >= from) {
+            found.add(items.get(middle));
+        }
+        find(middle + 1, high, from, to, found);
+    }
+}
@@ -0,0 +1,89 @@
+package app.tracktune.utils;
+
+import app.tracktune.interfaces.SortKey;
+import app.tracktune.model.Page;
+import app.tracktune.model.PageCursor;
+import app.tracktune.model.PageRequest;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs paginated queries with keyset (seek) pagination.
+ * <p>
+ * Instead of skipping rows with OFFSET, a page starts right after the sort key and ID of the last row
+ * of the previous page: {@code WHERE (key, ID) > (?, ?) ORDER BY key, ID LIMIT ?}.
+ * Every page therefore costs the same, and reads only the rows it returns plus one,
+ * used to know whether a following page exists.
+ */
+public class KeysetPager {
+
+    /**
+     * Maps the current row of a result set to an entity.
+     *
+     * @param <T> the type of the entity
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Reads a page of rows.
+     *
+     * @param dbManager the database manager used to run the query
+     * @param select    the query without WHERE, ORDER BY and LIMIT clauses (e.g. {@code SELECT * FROM Tracks});
+     *                  the selected table must have an {@code ID} column
+     * @param filter    an optional condition on the rows, with {@code ?} placeholders, or null
+     * @param request   the requested page
+     * @param mapper    the function mapping a row to an entity
+     * @param idOf      the function returning the ID of an entity
+     * @param params    the values bound to the placeholders of the filter
+     * @param <T>       the type of the entities
+     * @return the page of entities
+     */
+    public static <T> Page<T> fetch(DatabaseManager dbManager, String select, String filter, PageRequest<T> request,
+                                    RowMapper<T> mapper, ToIntFunction<T> idOf, Object... params) {
+        SortKey<T> sort = request.sort();
+        String direction = sort.descending() ? "DESC" : "ASC";
+
+        List<String> conditions = new ArrayList<>();
+        if (filter != null) {
+            conditions.add("(" + filter + ")");
+        }
+        List<Object> values = new ArrayList<>(Arrays.asList(params));
+        if (request.after() != null) {
+            conditions.add("(" + sort.column() + ", ID) " + (sort.descending() ? "<" : ">") + " (?, ?)");
+            values.add(request.after().key());
+            values.add(request.after().id());
+        }
+        // one extra row tells if there is a following page
+        values.add(request.size() + 1);
+
+        String sql = select.strip()
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + sort.column() + " " + direction + ", ID " + direction
+                + " LIMIT ?";
+
+        List<T> items = new ArrayList<>();
+        dbManager.executeQuery(sql,
+                rs -> {
+                    while (rs.next()) {
+                        items.add(mapper.map(rs));
+                    }
+                    return null;
+                }, values.toArray());
+
+        PageCursor next = null;
+        if (items.size() > request.size()) {
+            items.removeLast();
+            T last = items.getLast();
+            next = new PageCursor(sort.keyOf(last), idOf.applyAsInt(last));
+        }
+        return new Page<>(items, next);
+    }
+}
@@ -0,0 +1,333 @@
+package app.tracktune.utils;
+
+import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceDAO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of the files played by the media players, which can only read media from a URI.
+ * <p>
+ * The content of an audio or video resource is written once to a file named after the resource ID
+ * and the version of the content (e.g. {@code 42-abcd....mp4}), then reused by every view playing it,
+ * also in later sessions, as long as the content keeps that version.
+ * The version is the SHA-256 hash of the content when it is known without reading the content from the database,
+ * i.e. the content is loaded or saved in the blob store, and otherwise the random version the database assigns
+ * to every content written (see {@link ResourceDAO#getContentVersion(int)}). Files are kept up to a maximum number of bytes, deleting the least recently used ones first.
+ * Contents saved in the {@link BlobStore} are already files and are played in place, without copies.
+ * Saved media are usually streamed by the {@link MediaStreamServer} instead, this cache being used
+ * when streaming is disabled (see {@link app.tracktune.config.AppConfig#MEDIA_STREAMING_ENABLED}).
+ * <p>
+ * The methods block while writing and are meant to be called on the {@link AsyncExecutor} threads.
+ */
+public class MediaFileCache {
+    /**
+     * Format of the name of a cached file: resource ID, content version (hash or random number) and extension.
+     */
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("(\\d+)-([0-9a-f]{64}|[0-9a-f]{16})\\.\\w+");
+
+    /**
+     * Name of the directory holding the files being written.
+     */
+    private static final String TMP_DIR = "tmp";
+
+    /**
+     * A cached file.
+     *
+     * @param file    the path of the file
+     * @param version the version of the content
+     * @param size    the size in bytes of the file
+     */
+    private record CachedFile(Path file, String version, long size) {
+    }
+
+    /**
+     * Directory of the cached files.
+     */
+    private final Path root;
+
+    /**
+     * Maximum number of bytes of the cached files.
+     */
+    private final long maxBytes;
+
+    /**
+     * Current number of bytes of the cached files.
+     */
+    private long cachedBytes;
+
+    /**
+     * Cached files keyed by resource ID, in access order.
+     */
+    private final LinkedHashMap<Integer, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * True once the files left by the previous sessions have been indexed.
+     */
+    private boolean indexed = false;
+
+    /**
+     * Number of media served from a cached file.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Number of media that had to be written to disk.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Number of files deleted to make room for new ones.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache in the given directory, which is created on the first write.
+     *
+     * @param root     the directory of the cached files
+     * @param maxBytes maximum number of bytes of the cached files
+     */
+    public MediaFileCache(Path root, long maxBytes) {
+        this.root = root;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns a file holding the content of a resource, writing it only if it is not cached yet.
+     *
+     * @param resource the resource, with or without its content loaded
+     * @return the path of the file, to be played and not modified
+     * @throws IOException if the content cannot be read or written
+     */
+    public Path get(Resource resource) throws IOException {
+        index();
+        String extension = "." + resource.getType().toString();
+        if (resource.getId() == null) {
+            // not saved yet, so there is no key to find it again
+            misses.incrementAndGet();
+            Path file = write(resource, "new", extension).file();
+            file.toFile().deleteOnExit();
+            return file;
+        }
+
+        String version;
+        if (resource.getData() != null) {
+            version = BlobStore.hash(resource.getData());
+        } else {
+            ResourceDAO resourceDAO = DatabaseManager.getDAOProvider().getResourceDAO();
+            Path blob = resourceDAO.getDataPath(resource.getId());
+            if (blob != null && Files.isRegularFile(blob)) {
+                return blob;
+            }
+            version = resourceDAO.getContentVersion(resource.getId());
+        }
+
+        Path cached = getCached(resource.getId(), version);
+        if (cached != null) {
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        CachedFile written = write(resource, String.valueOf(resource.getId()), extension);
+        if (version == null) {
+            // saved before the content versions, so it cannot be found again
+            written.file().toFile().deleteOnExit();
+            return written.file();
+        }
+        return put(resource.getId(), new CachedFile(written.file(), version, written.size()), extension);
+    }
+
+    /**
+     * Returns the number of media served from a cached file.
+     *
+     * @return the cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of media that had to be written to disk.
+     *
+     * @return the cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of files deleted to make room for new ones.
+     *
+     * @return the cache evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the number of bytes of the cached files.
+     *
+     * @return the size of the cache in bytes
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Looks up the cached file of a resource.
+     * A file written from another version of the content of the resource is stale and deleted.
+     *
+     * @param resourceId the ID of the resource
+     * @param version    the version of the content of the resource, null if unknown
+     * @return the path of the cached file, or null if not cached
+     */
+    private synchronized Path getCached(int resourceId, String version) {
+        CachedFile cached = files.get(resourceId);
+        if (cached == null) {
+            return null;
+        }
+        if (!cached.version().equals(version) || !Files.isRegularFile(cached.file())) {
+            files.remove(resourceId);
+            cachedBytes -= cached.size();
+            delete(cached.file());
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.file();
+    }
+
+    /**
+     * Writes the content of a resource to a temporary file of the cache directory.
+     *
+     * @param resource  the resource
+     * @param prefix    the prefix of the temporary file name
+     * @param extension the extension of the file, read by the media players to detect its format
+     * @return the written file with the size of its content, without version
+     * @throws IOException if the content cannot be read or written
+     */
+    private CachedFile write(Resource resource, String prefix, String extension) throws IOException {
+        Path tmpDir = Files.createDirectories(root.resolve(TMP_DIR));
+        Path tmp = Files.createTempFile(tmpDir, prefix + "-", extension);
+        long size;
+        try (InputStream input = ResourceManager.openData(resource);
+             OutputStream output = Files.newOutputStream(tmp)) {
+            size = input.transferTo(output);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return new CachedFile(tmp, null, size);
+    }
+
+    /**
+     * Moves a written file in the cache under its resource ID and content version,
+     * deleting the least recently used files until the cache fits its size.
+     * The new file is always kept, even if bigger than the whole cache, since it is about to be played.
+     *
+     * @param resourceId the ID of the resource
+     * @param written    the written temporary file, with the version of its content
+     * @param extension  the extension of the file
+     * @return the path of the cached file
+     * @throws IOException if the file cannot be moved
+     */
+    private synchronized Path put(int resourceId, CachedFile written, String extension) throws IOException {
+        long size = written.size();
+        Path target = root.resolve(resourceId + "-" + written.version() + extension);
+        Files.move(written.file(), target, StandardCopyOption.REPLACE_EXISTING);
+
+        CachedFile previous = files.put(resourceId, new CachedFile(target, written.version(), size));
+        if (previous != null) {
+            cachedBytes -= previous.size();
+            if (!previous.file().equals(target)) {
+                delete(previous.file());
+            }
+        }
+        cachedBytes += size;
+        evict(resourceId);
+        return target;
+    }
+
+    /**
+     * Deletes the least recently used files, except the given one, until the cache fits its size.
+     *
+     * @param keep the ID of the resource whose file is kept
+     */
+    private void evict(int keep) {
+        Iterator<Map.Entry<Integer, CachedFile>> eldest = files.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Integer, CachedFile> entry = eldest.next();
+            if (entry.getKey() == keep) {
+                continue;
+            }
+            cachedBytes -= entry.getValue().size();
+            eldest.remove();
+            delete(entry.getValue().file());
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Indexes the files left in the cache directory by the previous sessions, oldest first,
+     * and deletes the partial files of interrupted writes. Done once, before the first write of the session.
+     *
+     * @throws IOException if the cache directory cannot be read
+     */
+    private synchronized void index() throws IOException {
+        if (indexed) {
+            return;
+        }
+        indexed = true;
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        List<Path> found = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(root)) {
+            entries.filter(Files::isRegularFile)
+                    .filter(file -> FILE_NAME_PATTERN.matcher(file.getFileName().toString()).matches())
+                    .forEach(found::add);
+        }
+        Map<Path, Long> modified = new HashMap<>();
+        for (Path file : found) {
+            modified.put(file, Files.getLastModifiedTime(file).toMillis());
+        }
+        found.sort(Comparator.comparing(modified::get));
+
+        for (Path file : found) {
+            Matcher matcher = FILE_NAME_PATTERN.matcher(file.getFileName().toString());
+            if (matcher.matches()) {
+                long size = Files.size(file);
+                files.put(Integer.parseInt(matcher.group(1)), new CachedFile(file, matcher.group(2), size));
+                cachedBytes += size;
+            }
+        }
+
+        Path tmpDir = root.resolve(TMP_DIR);
+        if (Files.isDirectory(tmpDir)) {
+            try (Stream<Path> partial = Files.list(tmpDir)) {
+                partial.forEach(MediaFileCache::delete);
+            }
+        }
+    }
+
+    /**
+     * Deletes a file, only logging the errors: a file still open by a media player may not be deletable on some systems.
+     *
+     * @param file the file to delete
+     */
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println(Strings.ERR_LOAD_FILE + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package app.tracktune.utils;
+
+import app.tracktune.config.AppConfig;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.media.MediaPlayer;
+import javafx.scene.media.MediaView;
+import javafx.util.Duration;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Loads the media players of a view, handing each one to the view once it is ready to play.
+ * <p>
+ * Each media node is created once, in the background, and its player is then followed through its
+ * ready and error events, without polling. At most {@link AppConfig#MEDIA_MAX_CONCURRENT_LOADS} players
+ * of the whole application are loading at the same time, the others waiting in line, so opening a list
+ * of videos does not start all their decoders at once. A player that fails is disposed and created again
+ * after a delay doubling at each attempt, up to {@link AppConfig#MEDIA_LOAD_ATTEMPTS} attempts.
+ * <p>
+ * Every method must be called on the JavaFX application thread, where the player events are delivered too.
+ */
+public class MediaPreloader {
+    /**
+     * Loads waiting for a free slot, shared by all the views.
+     */
+    private static final Deque<Load> queue = new ArrayDeque<>();
+
+    /**
+     * Number of players currently loading.
+     */
+    private static int activeLoads = 0;
+
+    /**
+     * Loads of this preloader not completed yet.
+     */
+    private final Set<Load> loads = new HashSet<>();
+
+    /**
+     * Loads a media node in the background and hands it to the callback once its player is ready.
+     * Nodes without a player (e.g. a label) are handed over as soon as they are created.
+     *
+     * @param factory the creation of the media node, run on a background thread
+     * @param onReady the callback receiving the node once ready
+     * @param onError the callback receiving the last error once every attempt has failed
+     */
+    public void load(Callable<Node> factory, Consumer<Node> onReady, Consumer<Throwable> onError) {
+        Load load = new Load(factory, onReady, onError);
+        loads.add(load);
+        queue.add(load);
+        startQueued();
+    }
+
+    /**
+     * Cancels the loads not completed yet, disposing the players already created for them.
+     * Nodes already handed to the view are not affected.
+     */
+    public void cancelAll() {
+        // dequeued first, so the slots freed below are not given to loads about to be cancelled
+        queue.removeAll(loads);
+        for (Load load : loads) {
+            load.cancel();
+        }
+        loads.clear();
+        startQueued();
+    }
+
+    /**
+     * Cancels the loads not completed yet when the given node is removed from its scene, i.e. when the view is left.
+     *
+     * @param node a node of the view, e.g. its root container
+     */
+    public void cancelOnDetach(Node node) {
+        node.sceneProperty().addListener((_, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                cancelAll();
+            }
+        });
+    }
+
+    /**
+     * Starts the queued loads while there are free slots.
+     */
+    private static void startQueued() {
+        while (activeLoads < AppConfig.MEDIA_MAX_CONCURRENT_LOADS && !queue.isEmpty()) {
+            queue.poll().start();
+        }
+    }
+
+    /**
+     * A media node being loaded.
+     */
+    private final class Load {
+        private final Callable<Node> factory;
+        private final Consumer<Node> onReady;
+        private final Consumer<Throwable> onError;
+
+        /** Number of attempts started. */
+        private int attempts = 0;
+
+        /** Player of the current attempt, null until created. */
+        private MediaPlayer player;
+
+        /** True while the load holds one of the slots. */
+        private boolean active = false;
+
+        private boolean cancelled = false;
+
+        Load(Callable<Node> factory, Consumer<Node> onReady, Consumer<Throwable> onError) {
+            this.factory = factory;
+            this.onReady = onReady;
+            this.onError = onError;
+        }
+
+        /**
+         * Takes a slot and creates the media node in the background.
+         */
+        void start() {
+            active = true;
+            activeLoads++;
+            attempts++;
+            AsyncExecutor.supply(factory).whenComplete((node, error) ->
+                    Platform.runLater(() -> created(node, error)));
+        }
+
+        /**
+         * Follows the player of a newly created node until it is ready or fails.
+         *
+         * @param node  the created node, null if the creation failed
+         * @param error the exception thrown by the creation, null if it succeeded
+         */
+        private void created(Node node, Throwable error) {
+            if (cancelled) {
+                disposePlayer(node instanceof MediaView mediaView ? mediaView.getMediaPlayer() : null);
+                return;
+            }
+            if (error != null) {
+                failed(error);
+                return;
+            }
+            if (!(node instanceof MediaView mediaView)) {
+                ready(node);
+                return;
+            }
+
+            player = mediaView.getMediaPlayer();
+            if (player == null) {
+                failed(new IllegalStateException(Strings.MEDIA_ERROR));
+            } else if (player.getStatus() == MediaPlayer.Status.READY) {
+                ready(node);
+            } else {
+                MediaPlayer attemptPlayer = player;
+                player.setOnReady(() -> {
+                    if (player == attemptPlayer) {
+                        ready(node);
+                    }
+                });
+                player.setOnError(() -> {
+                    if (player == attemptPlayer) {
+                        failed(attemptPlayer.getError());
+                    }
+                });
+            }
+        }
+
+        /**
+         * Hands the node to the view and frees the slot.
+         *
+         * @param node the ready node
+         */
+        private void ready(Node node) {
+            if (cancelled) {
+                return;
+            }
+            if (player != null) {
+                player.setOnReady(null);
+                player.setOnError(null);
+            }
+            loads.remove(this);
+            release();
+            onReady.accept(node);
+        }
+
+        /**
+         * Disposes the failed player and frees the slot, then schedules a new attempt or reports the error.
+         *
+         * @param error the error of the attempt
+         */
+        private void failed(Throwable error) {
+            if (cancelled) {
+                return;
+            }
+            disposePlayer(player);
+            player = null;
+            release();
+
+            if (attempts < AppConfig.MEDIA_LOAD_ATTEMPTS) {
+                long delay = AppConfig.MEDIA_RETRY_DELAY_MS << (attempts - 1);
+                PauseTransition backoff = new PauseTransition(Duration.millis(delay));
+                backoff.setOnFinished(_ -> {
+                    if (!cancelled) {
+                        queue.add(this);
+                        startQueued();
+                    }
+                });
+                backoff.play();
+            } else {
+                loads.remove(this);
+                System.err.println(Strings.MEDIA_ERROR + (error != null ? error.getMessage() : ""));
+                onError.accept(error);
+            }
+        }
+
+        /**
+         * Cancels the load, disposing its player.
+         */
+        void cancel() {
+            cancelled = true;
+            queue.remove(this);
+            disposePlayer(player);
+            player = null;
+            release();
+        }
+
+        /**
+         * Frees the slot held by the load, if any.
+         */
+        private void release() {
+            if (active) {
+                active = false;
+                activeLoads--;
+                startQueued();
+            }
+        }
+    }
+
+    /**
+     * Disposes a player, ignoring a null one.
+     *
+     * @param player the player to dispose
+     */
+    private static void disposePlayer(MediaPlayer player) {
+        if (player != null) {
+            player.dispose();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package app.tracktune.utils;
+
+import app.tracktune.config.AppConfig;
+import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceDAO;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP server on the loopback interface streaming the content of the resources to the media players.
+ * <p>
+ * The media players only read media from a URI; through this server they read the content straight
+ * from the blob store, or from the database for inline contents, and seek with {@code Range} requests,
+ * so a video starts playing without being copied to disk first.
+ * Every range of an inline content still makes SQLite read the whole value, so a database whose contents
+ * are not in the blob store yet should be moved to it with {@link BlobStoreMigration} before streaming.
+ * <p>
+ * The server only accepts local connections, on a port chosen by the system, and only serves the paths
+ * starting with a random token generated at every start, so other local processes cannot guess the URIs.
+ */
+public class MediaStreamServer {
+    /**
+     * Format of a served path: token, resource ID and extension.
+     */
+    private static final Pattern PATH_PATTERN = Pattern.compile("/([0-9a-f]+)/(\\d+)\\.(\\w+)");
+
+    /**
+     * Format of a single byte range: first and last byte, or only the number of last bytes.
+     */
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    /**
+     * Counter used to name the server threads.
+     */
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    /**
+     * DAO reading the resource contents.
+     */
+    private final ResourceDAO resourceDAO;
+
+    /**
+     * The running server, null while stopped.
+     */
+    private HttpServer server;
+
+    /**
+     * Threads answering the requests.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Token every served path starts with.
+     */
+    private String token;
+
+    /**
+     * Creates a stopped server.
+     *
+     * @param resourceDAO the DAO reading the resource contents
+     */
+    public MediaStreamServer(ResourceDAO resourceDAO) {
+        this.resourceDAO = resourceDAO;
+    }
+
+    /**
+     * Returns the URI streaming the content of a saved resource, starting the server if needed.
+     *
+     * @param resource the saved resource
+     * @return the URI of the content
+     * @throws IOException if the server cannot be started
+     */
+    public synchronized URI getUri(Resource resource) throws IOException {
+        if (server == null) {
+            start();
+        }
+        InetSocketAddress address = server.getAddress();
+        try {
+            return new URI("http", null, address.getAddress().getHostAddress(), address.getPort(),
+                    "/" + token + "/" + resource.getId() + "." + resource.getType().toString(), null, null);
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Starts the server on a free port of the loopback interface.
+     *
+     * @throws IOException if the server cannot be bound
+     */
+    private void start() throws IOException {
+        byte[] tokenBytes = new byte[16];
+        new SecureRandom().nextBytes(tokenBytes);
+        token = HexFormat.of().formatHex(tokenBytes);
+
+        executor = Executors.newFixedThreadPool(AppConfig.MEDIA_STREAM_THREADS, task -> {
+            Thread thread = new Thread(task, "tracktune-media-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Stops the server, if running, closing the open connections.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+
+    /**
+     * Answers a request for the content of a resource, or a range of it.
+     *
+     * Errors of the connection are ignored: the player closes it as soon as it seeks elsewhere.
+     *
+     * @param exchange the request and its response
+     */
+    private void handle(HttpExchange exchange) {
+        try (exchange) {
+            boolean head = "HEAD".equals(exchange.getRequestMethod());
+            if (!head && !"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            Matcher path = PATH_PATTERN.matcher(exchange.getRequestURI().getPath());
+            if (!path.matches() || !path.group(1).equals(token)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            int id;
+            try {
+                id = Integer.parseInt(path.group(2));
+            } catch (NumberFormatException e) {
+                // beyond the range of the IDs
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            long size = resourceDAO.getDataSize(id);
+            if (size < 0) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", contentType(path.group(3)));
+            headers.set("Accept-Ranges", "bytes");
+
+            long first = 0;
+            long last = size - 1;
+            int status = 200;
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            if (range != null) {
+                long[] bounds = parseRange(range, size);
+                if (bounds == null) {
+                    headers.set("Content-Range", "bytes */" + size);
+                    exchange.sendResponseHeaders(416, -1);
+                    return;
+                }
+                first = bounds[0];
+                last = bounds[1];
+                status = 206;
+                headers.set("Content-Range", "bytes " + first + "-" + last + "/" + size);
+            }
+
+            long length = last - first + 1;
+            if (head) {
+                headers.set("Content-Length", String.valueOf(length));
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            // a length of 0 means an unknown length to the server, -1 no body
+            exchange.sendResponseHeaders(status, length > 0 ? length : -1);
+            if (length > 0) {
+                copyRange(id, first, length, exchange.getResponseBody());
+            }
+        } catch (IOException e) {
+            // connection closed by the player
+        } catch (RuntimeException e) {
+            System.err.println(Strings.MEDIA_ERROR + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies a range of the content of a resource.
+     * Contents in the blob store are read from their file starting at the range, without reading the bytes before it;
+     * of inline contents only the range is loaded from the database (see {@link ResourceDAO#getDataRange(int, long, int)}).
+     *
+     * @param id     the ID of the resource
+     * @param first  the offset of the first byte
+     * @param length the number of bytes to copy
+     * @param out    the destination stream
+     * @throws IOException if the content cannot be read or the connection is closed
+     */
+    private void copyRange(int id, long first, long length, OutputStream out) throws IOException {
+        Path file = resourceDAO.getDataPath(id);
+        if (file != null) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = first;
+                long end = first + length;
+                while (position < end) {
+                    long transferred = channel.transferTo(position, end - position, target);
+                    if (transferred <= 0) {
+                        throw new IOException(Strings.ERR_LOAD_FILE);
+                    }
+                    position += transferred;
+                }
+            }
+            return;
+        }
+
+        // a single query, since SQLite reads the whole value for every range
+        byte[] range = resourceDAO.getDataRange(id, first, (int) Math.min(length, Integer.MAX_VALUE));
+        if (range.length < length) {
+            throw new IOException(Strings.ERR_LOAD_FILE);
+        }
+        out.write(range);
+    }
+
+    /**
+     * Parses a {@code Range} header holding a single byte range.
+     *
+     * @param range the value of the header
+     * @param size  the size of the content
+     * @return the first and last byte of the range, or null if the range cannot be satisfied
+     */
+    static long[] parseRange(String range, long size) {
+        Matcher matcher = RANGE_PATTERN.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        try {
+            long first;
+            long last;
+            if (matcher.group(1).isEmpty()) {
+                // suffix range: the last n bytes
+                first = Math.max(0, size - Long.parseLong(matcher.group(2)));
+                last = size - 1;
+            } else {
+                first = Long.parseLong(matcher.group(1));
+                last = matcher.group(2).isEmpty() ? size - 1 : Math.min(Long.parseLong(matcher.group(2)), size - 1);
+            }
+            return first <= last && first < size ? new long[]{first, last} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the MIME type of a media extension.
+     *
+     * @param extension the extension of the resource type
+     * @return the MIME type sent to the player
+     */
+    private static String contentType(String extension) {
+        return switch (extension) {
+            case "mp3" -> "audio/mpeg";
+            case "mp4" -> "video/mp4";
+            default -> "application/octet-stream";
+        };
+    }
+}
@@ -0,0 +1,212 @@
+package app.tracktune.utils;
+
+import app.tracktune.interfaces.SortKey;
+import app.tracktune.model.Page;
+import app.tracktune.model.PageCursor;
+import app.tracktune.model.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Previous/next navigation over the pages returned by a DAO with keyset pagination.
+ * <p>
+ * Only the current page is held in memory, together with the cursors where the previous pages start,
+ * so going back re-reads the page instead of keeping the whole list loaded.
+ * The methods are synchronized, so pages can be read on a background thread while the view checks the buttons state.
+ * <p>
+ * A view reading its pages in the background uses the {@code read} methods instead, which read the page
+ * a move leads to without moving the navigator, and then moves it with {@link #moveTo(Position)} on the JavaFX thread,
+ * so the buttons state always matches the page shown.
+ *
+ * @param <T> the type of the paginated entities
+ */
+public class PageNavigator<T> {
+    private final int pageSize;
+    private final SortKey<T> sort;
+
+    /**
+     * Page currently shown and where it and the previous pages start.
+     */
+    private Position<T> position = new Position<>(null, List.of(), null, new Page<>(List.of(), null));
+
+    /**
+     * Position of a navigator, immutable so that it can be read on a thread and applied on another.
+     *
+     * @param loader  function reading a page from the database, e.g. a DAO method with the current filter applied
+     * @param history cursors where the previous pages start, the first page starts at null
+     * @param start   cursor where the page starts, null for the first page
+     * @param page    the page read at this position
+     * @param <T>     the type of the paginated entities
+     */
+    public record Position<T>(Function<PageRequest<T>, Page<T>> loader, List<PageCursor> history,
+                              PageCursor start, Page<T> page) {}
+
+    /**
+     * Creates a navigator, no page is read until {@link #reset(Function)} is called.
+     *
+     * @param pageSize the number of items per page
+     * @param sort     the order of the items
+     */
+    public PageNavigator(int pageSize, SortKey<T> sort) {
+        this.pageSize = pageSize;
+        this.sort = sort;
+    }
+
+    /**
+     * Sets the function reading the pages (e.g. after a filter change) and reads the first page.
+     *
+     * @param loader the function reading a page
+     * @return the first page
+     */
+    public synchronized Page<T> reset(Function<PageRequest<T>, Page<T>> loader) {
+        position = readFirst(loader);
+        return position.page();
+    }
+
+    /**
+     * Reads the current page again, e.g. after an item has been updated or deleted.
+     * If the page is now empty, the previous one is read instead.
+     *
+     * @return the current page
+     */
+    public synchronized Page<T> reload() {
+        position = readAgain(position);
+        return position.page();
+    }
+
+    /**
+     * Moves to the following page, if any.
+     *
+     * @return the new current page
+     */
+    public synchronized Page<T> next() {
+        position = readNext(position);
+        return position.page();
+    }
+
+    /**
+     * Moves to the previous page, if any.
+     *
+     * @return the new current page
+     */
+    public synchronized Page<T> previous() {
+        position = readPrevious(position);
+        return position.page();
+    }
+
+    /**
+     * Returns the current position, to read a move from it with the {@code read} methods.
+     *
+     * @return the current position
+     */
+    public synchronized Position<T> getPosition() {
+        return position;
+    }
+
+    /**
+     * Moves to a position read by the {@code read} methods.
+     *
+     * @param position the new current position
+     */
+    public synchronized void moveTo(Position<T> position) {
+        this.position = position;
+    }
+
+    /**
+     * Reads the first page of a function reading the pages, without moving the navigator.
+     *
+     * @param loader the function reading a page
+     * @return the position of the first page
+     */
+    public Position<T> readFirst(Function<PageRequest<T>, Page<T>> loader) {
+        return read(loader, List.of(), null);
+    }
+
+    /**
+     * Reads the page of a position again, or the previous one if it is now empty, without moving the navigator.
+     *
+     * @param from the position to read again
+     * @return the position of the page read
+     */
+    public Position<T> readAgain(Position<T> from) {
+        Position<T> current = read(from.loader(), from.history(), from.start());
+        if (current.page().items().isEmpty() && !current.history().isEmpty()) {
+            return readPrevious(current);
+        }
+        return current;
+    }
+
+    /**
+     * Reads the page following the one of a position, without moving the navigator.
+     *
+     * @param from the position to move from
+     * @return the position of the following page, or {@code from} if there is none
+     */
+    public Position<T> readNext(Position<T> from) {
+        if (!from.page().hasNext()) {
+            return from;
+        }
+        List<PageCursor> history = new ArrayList<>(from.history());
+        history.add(from.start());
+        return read(from.loader(), history, from.page().next());
+    }
+
+    /**
+     * Reads the page preceding the one of a position, without moving the navigator.
+     *
+     * @param from the position to move from
+     * @return the position of the previous page, or {@code from} if there is none
+     */
+    public Position<T> readPrevious(Position<T> from) {
+        if (from.history().isEmpty()) {
+            return from;
+        }
+        List<PageCursor> history = new ArrayList<>(from.history());
+        PageCursor start = history.removeLast();
+        return read(from.loader(), history, start);
+    }
+
+    /**
+     * Tells if there is a page after the current one.
+     *
+     * @return true if a following page exists
+     */
+    public synchronized boolean hasNext() {
+        return position.page().hasNext();
+    }
+
+    /**
+     * Tells if there is a page before the current one.
+     *
+     * @return true if a previous page exists
+     */
+    public synchronized boolean hasPrevious() {
+        return !position.history().isEmpty();
+    }
+
+    /**
+     * Returns the items of the current page.
+     *
+     * @return the items of the current page
+     */
+    public synchronized List<T> getItems() {
+        return position.page().items();
+    }
+
+    /**
+     * Reads the page starting at a cursor.
+     *
+     * @param loader  the function reading a page
+     * @param history the cursors where the previous pages start
+     * @param start   the cursor where the page starts
+     * @return the position of the page read
+     */
+    private Position<T> read(Function<PageRequest<T>, Page<T>> loader, List<PageCursor> history, PageCursor start) {
+        Page<T> page = loader != null ? loader.apply(new PageRequest<>(pageSize, sort, start)) : new Page<>(List.of(), null);
+        // the history holds null for the first page, which List.copyOf rejects
+        return new Position<>(loader, Collections.unmodifiableList(new ArrayList<>(history)), start, page);
+    }
+}
@@ -0,0 +1,165 @@
+package app.tracktune.utils;
+
+import javafx.application.Platform;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Scrollable viewer of the pages of a PDF document that only renders the pages in view.
+ * <p>
+ * The viewer is a list of page numbers: like every list, it creates cells only for the visible rows
+ * and reuses them while scrolling, so a cell drops the image of the page scrolled away and asks for the new one,
+ * rendered in the background. Only the pages in view are held by the viewer, the others being
+ * at most in the bounded cache of the {@link PdfRenderService}, so memory does not grow with the page count.
+ * <p>
+ * The document is closed when the viewer is removed from its scene, i.e. when the view is left.
+ */
+public class PdfPageViewer extends ListView<Integer> {
+    /**
+     * Vertical space between two pages.
+     */
+    private static final double PAGE_GAP = 10;
+
+    /**
+     * Horizontal space left for the vertical scroll bar.
+     */
+    private static final double SCROLL_BAR_WIDTH = 20;
+
+    /**
+     * Document whose pages are shown.
+     */
+    private final PdfRenderService.OpenDocument document;
+
+    /**
+     * Width of the pages in the viewer.
+     */
+    private final double pageWidth;
+
+    /**
+     * Resolution the pages are rendered at.
+     */
+    private final float dpi;
+
+    /**
+     * Creates a viewer of the given document.
+     *
+     * @param document the open document, closed by the viewer when it leaves its scene
+     * @param width    the width of the viewer
+     * @param height   the height of the viewer
+     * @param dpi      the resolution the pages are rendered at
+     */
+    public PdfPageViewer(PdfRenderService.OpenDocument document, double width, double height, float dpi) {
+        this.document = document;
+        this.pageWidth = width - SCROLL_BAR_WIDTH;
+        this.dpi = dpi;
+
+        setPrefSize(width, height);
+        getStyleClass().add("pdf-viewer");
+        setFocusTraversable(false);
+
+        // every row has the height of the first page, so the list never measures the rows it does not show
+        if (document.getPageCount() > 0) {
+            setFixedCellSize(pageWidth * document.getPageAspectRatio(0) + PAGE_GAP);
+        }
+        setCellFactory(_ -> new PageCell());
+        getItems().setAll(IntStream.range(0, document.getPageCount()).boxed().collect(Collectors.toList()));
+
+        sceneProperty().addListener((_, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                closeDocument();
+            }
+        });
+    }
+
+    /**
+     * Closes the document, ignoring errors.
+     */
+    private void closeDocument() {
+        try {
+            document.close();
+        } catch (IOException e) {
+            System.err.println(Strings.MEDIA_ERROR + e.getMessage());
+        }
+    }
+
+    /**
+     * Cell showing a page, with a progress indicator while the page is rendered.
+     */
+    private class PageCell extends ListCell<Integer> {
+        private final ImageView imageView = new ImageView();
+        private final ProgressIndicator indicator = new ProgressIndicator();
+        private final StackPane pane = new StackPane();
+
+        /**
+         * Page shown or being rendered by the cell, -1 if none; read by the rendering threads.
+         */
+        private volatile int requestedPage = -1;
+
+        /**
+         * Creates an empty cell.
+         */
+        PageCell() {
+            imageView.setFitWidth(pageWidth);
+            imageView.setPreserveRatio(true);
+            indicator.setMaxSize(40, 40);
+            getStyleClass().add("pdf-page-cell");
+        }
+
+        @Override
+        protected void updateItem(Integer page, boolean empty) {
+            super.updateItem(page, empty);
+            if (empty || page == null) {
+                requestedPage = -1;
+                imageView.setImage(null);
+                setGraphic(null);
+                return;
+            }
+            if (page == requestedPage) {
+                return; // already shown or being rendered
+            }
+
+            // the image of the page scrolled away is released
+            requestedPage = page;
+            imageView.setImage(null);
+            pane.getChildren().setAll(indicator);
+            setGraphic(pane);
+
+            AsyncExecutor.supply(() -> requestedPage == page ? renderPage(page) : null)
+                    .whenComplete((image, error) -> Platform.runLater(() -> {
+                        if (requestedPage != page) {
+                            return;
+                        }
+                        if (error != null) {
+                            Label errorLabel = new Label(Strings.MEDIA_ERROR);
+                            errorLabel.getStyleClass().add("resource-link-label");
+                            pane.getChildren().setAll(errorLabel);
+                            System.err.println(Strings.MEDIA_ERROR + error.getMessage());
+                        } else if (image != null) {
+                            imageView.setImage(image);
+                            pane.getChildren().setAll(imageView);
+                        }
+                    }));
+        }
+
+        /**
+         * Renders a page of the document, off the JavaFX thread.
+         *
+         * @param page the index of the page
+         * @return the page as a JavaFX image
+         * @throws IOException if the page cannot be rendered
+         */
+        private Image renderPage(int page) throws IOException {
+            return SwingFXUtils.toFXImage(document.renderPage(page, dpi), null);
+        }
+    }
+}
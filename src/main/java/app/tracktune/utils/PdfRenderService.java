@@ -0,0 +1,341 @@
+package app.tracktune.utils;
+
+import app.tracktune.model.resource.Resource;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders the pages of PDF resources into images, keeping the most recently used ones in memory.
+ * <p>
+ * Rendered pages are cached by resource, content version, page and resolution up to a maximum number of bytes,
+ * evicting the least recently used pages first, so reopening a score only reads the cache.
+ * The version is the one the {@link MediaFileCache} keys its files on, so the pages of a replaced content
+ * are never served again and are left to be evicted.
+ * A document being viewed is kept open ({@link #open(Resource)}) and its pages are rendered on demand,
+ * e.g. only the ones scrolled into view.
+ * <p>
+ * The methods block while rendering and are meant to be called on the {@link AsyncExecutor} threads;
+ * documents of different resources can be rendered concurrently.
+ */
+public class PdfRenderService {
+
+    /**
+     * Key of a rendered page in the cache.
+     *
+     * @param resourceId the ID of the PDF resource
+     * @param version    the version of the content the page is rendered from
+     * @param page       the index of the page, starting from 0
+     * @param dpi        the resolution the page is rendered at
+     */
+    public record PageKey(int resourceId, String version, int page, float dpi) {
+    }
+
+    /**
+     * A PDF document kept open while it is viewed, rendering its pages on demand through the cache of the service.
+     * Pages are rendered one at a time, since a loaded document cannot be rendered by several threads at once.
+     */
+    public final class OpenDocument implements Closeable {
+        private final Resource resource;
+        private final String version;
+        private final PDDocument document;
+        private final PDFRenderer renderer;
+        private boolean closed = false;
+
+        /**
+         * Wraps a loaded document.
+         *
+         * @param resource the PDF resource
+         * @param version  the version of the loaded content
+         * @param document the document loaded from its content
+         */
+        private OpenDocument(Resource resource, String version, PDDocument document) {
+            this.resource = resource;
+            this.version = version;
+            this.document = document;
+            this.renderer = new PDFRenderer(document);
+        }
+
+        /**
+         * Returns the number of pages of the document.
+         *
+         * @return the page count
+         */
+        public int getPageCount() {
+            return document.getNumberOfPages();
+        }
+
+        /**
+         * Returns the ratio between the height and the width of a page once rendered, taking its rotation into account.
+         *
+         * @param page the index of the page, starting from 0
+         * @return the height of the page divided by its width
+         */
+        public synchronized double getPageAspectRatio(int page) {
+            PDPage pdPage = document.getPage(page);
+            PDRectangle box = pdPage.getCropBox();
+            boolean rotated = pdPage.getRotation() % 180 != 0;
+            return rotated ? box.getWidth() / box.getHeight() : box.getHeight() / box.getWidth();
+        }
+
+        /**
+         * Returns a page of the document, rendering it only if it is not cached.
+         *
+         * @param page the index of the page, starting from 0
+         * @param dpi  the resolution of the image
+         * @return the rendered page
+         * @throws IOException if the page cannot be rendered or the document has been closed
+         */
+        public synchronized BufferedImage renderPage(int page, float dpi) throws IOException {
+            BufferedImage cached = getCached(resource, version, page, dpi);
+            if (cached != null) {
+                return cached;
+            }
+            if (closed) {
+                throw new IOException(Strings.MEDIA_ERROR);
+            }
+            return render(renderer, resource, version, page, dpi);
+        }
+
+        /**
+         * Closes the document; the pages already rendered stay cached.
+         *
+         * @throws IOException if the document cannot be closed
+         */
+        @Override
+        public synchronized void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                document.close();
+            }
+        }
+    }
+
+    /**
+     * Maximum number of bytes of the cached images.
+     */
+    private final long maxBytes;
+
+    /**
+     * Number of bytes of the cached images.
+     */
+    private long cachedBytes;
+
+    /**
+     * Rendered pages in access order.
+     */
+    private final LinkedHashMap<PageKey, BufferedImage> pages = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Number of pages served from the cache.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Number of pages that had to be rendered.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Number of pages evicted from the cache to make room for new ones.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a render service.
+     *
+     * @param maxBytes maximum number of bytes of the rendered pages kept in memory
+     */
+    public PdfRenderService(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns a page of a PDF resource, rendering it only if it is not cached.
+     *
+     * @param resource the PDF resource, with or without its content loaded
+     * @param page     the index of the page, starting from 0
+     * @param dpi      the resolution of the image
+     * @return the rendered page
+     * @throws IOException if the document cannot be read or rendered
+     */
+    public BufferedImage renderPage(Resource resource, int page, float dpi) throws IOException {
+        String version = contentVersion(resource);
+        BufferedImage cached = getCached(resource, version, page, dpi);
+        if (cached != null) {
+            return cached;
+        }
+        try (PDDocument document = load(resource)) {
+            return render(new PDFRenderer(document), resource, version, page, dpi);
+        }
+    }
+
+    /**
+     * Loads the document of a PDF resource and keeps it open to render its pages on demand.
+     *
+     * @param resource the PDF resource, with or without its content loaded
+     * @return the open document, to be closed once it is no longer viewed
+     * @throws IOException if the document cannot be read
+     */
+    public OpenDocument open(Resource resource) throws IOException {
+        // read before the content, so a content replaced meanwhile is cached under the older version
+        String version = contentVersion(resource);
+        return new OpenDocument(resource, version, load(resource));
+    }
+
+    /**
+     * Returns the number of pages served from the cache.
+     *
+     * @return the cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of pages that had to be rendered.
+     *
+     * @return the cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of pages evicted from the cache.
+     *
+     * @return the cache evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the number of bytes of the rendered pages currently cached.
+     *
+     * @return the size of the cache in bytes
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Returns the version of the content of a resource: the hash of the content if it is loaded,
+     * otherwise the version saved in the database (see {@link app.tracktune.model.resource.ResourceDAO#getContentVersion(int)}).
+     *
+     * @param resource the PDF resource
+     * @return the content version, or null if the resource is not saved yet or was saved without a version
+     */
+    private static String contentVersion(Resource resource) {
+        if (resource.getId() == null) {
+            return null;
+        }
+        if (resource.getData() != null) {
+            return BlobStore.hash(resource.getData());
+        }
+        return DatabaseManager.getDAOProvider().getResourceDAO().getContentVersion(resource.getId());
+    }
+
+    /**
+     * Loads the document of a PDF resource.
+     *
+     * @param resource the PDF resource
+     * @return the loaded document, to be closed by the caller
+     * @throws IOException if the document cannot be read
+     */
+    private static PDDocument load(Resource resource) throws IOException {
+        try (InputStream input = ResourceManager.openData(resource)) {
+            return PDDocument.load(input);
+        }
+    }
+
+    /**
+     * Renders a page and adds it to the cache.
+     *
+     * @param renderer the renderer of the loaded document
+     * @param resource the PDF resource
+     * @param version  the version of the content of the document
+     * @param page     the index of the page
+     * @param dpi      the resolution of the image
+     * @return the rendered page
+     * @throws IOException if the page cannot be rendered
+     */
+    private BufferedImage render(PDFRenderer renderer, Resource resource, String version, int page, float dpi) throws IOException {
+        misses.incrementAndGet();
+        BufferedImage image = renderer.renderImageWithDPI(page, dpi);
+        if (resource.getId() != null && version != null) {
+            put(new PageKey(resource.getId(), version, page, dpi), image);
+        }
+        return image;
+    }
+
+    /**
+     * Looks up a rendered page in the cache.
+     *
+     * @param resource the PDF resource
+     * @param version  the version of the content
+     * @param page     the index of the page
+     * @param dpi      the resolution of the image
+     * @return the cached page, or null if it has not been rendered or the resource has no saved version
+     */
+    private synchronized BufferedImage getCached(Resource resource, String version, int page, float dpi) {
+        if (resource.getId() == null || version == null) {
+            return null;
+        }
+        BufferedImage image = pages.get(new PageKey(resource.getId(), version, page, dpi));
+        if (image != null) {
+            hits.incrementAndGet();
+        }
+        return image;
+    }
+
+    /**
+     * Adds a rendered page to the cache, evicting the least recently used pages until it fits.
+     * A page bigger than the whole cache is not kept.
+     *
+     * @param key   the key of the page
+     * @param image the rendered page
+     */
+    private synchronized void put(PageKey key, BufferedImage image) {
+        long size = sizeOf(image);
+        if (size > maxBytes) {
+            return;
+        }
+        BufferedImage previous = pages.put(key, image);
+        if (previous != null) {
+            cachedBytes -= sizeOf(previous);
+        }
+        cachedBytes += size;
+
+        Iterator<Map.Entry<PageKey, BufferedImage>> eldest = pages.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<PageKey, BufferedImage> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            cachedBytes -= sizeOf(entry.getValue());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Estimates the memory used by an image, 4 bytes per pixel.
+     *
+     * @param image the image
+     * @return the size of the image in bytes
+     */
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+}
@@ -1,28 +1,27 @@
 package app.tracktune.utils;
 
+import app.tracktune.config.AppConfig;
 import app.tracktune.exceptions.MediaNotSupportedException;
 import app.tracktune.exceptions.TrackTuneException;
 import app.tracktune.model.resource.AudioVideoFileEnum;
 import app.tracktune.model.resource.ImageFileEnum;
 import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceDAO;
+import app.tracktune.model.resource.ResourceSummary;
 import app.tracktune.model.resource.ResourceTypeEnum;
-import app.tracktune.view.ViewManager;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.Node;
-import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.VBox;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.MediaView;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.rendering.PDFRenderer;
 
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.net.URI;
+import java.nio.file.Path;
 
 /**
  * Singleton class responsible for managing the current {@link Resource} instance
@@ -36,6 +35,15 @@ public final class ResourceManager {
     /** The current resource being managed */
     private Resource resource;
 
+    /** Renderer of the PDF resources, caching the rendered pages */
+    private final PdfRenderService pdfRenderService = new PdfRenderService(AppConfig.PDF_CACHE_MAX_BYTES);
+
+    /** Files played by the media players, written once per resource content and reused */
+    private final MediaFileCache mediaFileCache = new MediaFileCache(Path.of(AppConfig.MEDIA_CACHE_DIR), AppConfig.MEDIA_CACHE_MAX_BYTES);
+
+    /** Server streaming the saved media to the media players, created on the first playback */
+    private MediaStreamServer mediaStreamServer;
+
     /**
      * Create the instance of the resource manager following singleton pattern
      */
@@ -65,8 +73,9 @@ public final class ResourceManager {
      * The Node returned depends on the resource type:
      * <ul>
      *   <li>For {@link ResourceTypeEnum#link}, returns a styled Label with the link type.</li>
-     *   <li>For supported image types (including PDF), returns an ImageView or a ScrollPane
-     *       containing PDF pages as images. PDF previews show only the first page.</li>
+     *   <li>For supported image types (including PDF), returns an ImageView or a {@link PdfPageViewer}
+     *       showing the PDF pages as images, rendered only while in view. Previews show the thumbnail
+     *       of the resource, i.e. only the first page of PDF documents.</li>
      *   <li>For supported audio/video types, returns a MediaView player or a label preview for MP3.</li>
      *   <li>Throws an exception if the media type is unsupported.</li>
      * </ul>
@@ -89,54 +98,38 @@ public final class ResourceManager {
             linkLabel.getStyleClass().add("fx-font-style: underline;");
             return linkLabel;
         } else if (ImageFileEnum.isSupported(extension)) {
+            if (isPreview && resource.getId() != null) {
+                // Saved thumbnail, decoded instead of the full content
+                ImageView thumbnailView = createThumbnailView(resource, width, height);
+                if (thumbnailView != null) {
+                    return thumbnailView;
+                }
+            }
             if (type.equals(ResourceTypeEnum.pdf)) {
                 // Pdf images
-                try {
-                    InputStream input = new ByteArrayInputStream(resource.getData());
-                    PDDocument document = PDDocument.load(input);
-                    PDFRenderer pdfRenderer = new PDFRenderer(document);
-
-                    BufferedImage bim = pdfRenderer.renderImageWithDPI(0, 150);
-                    Image fxImage = SwingFXUtils.toFXImage(bim, null);
-                    ImageView imageView = new ImageView(fxImage);
-                    imageView.setFitWidth(width);
-                    imageView.setPreserveRatio(true);
-
+                if (isPreview) {
                     // If it's preview, returns the first page
-                    if (isPreview) {
-                        document.close();
-                        return imageView;
-                    } else {
-                        VBox pdfPagesBox = new VBox(10);
-                        pdfPagesBox.setPrefWidth(width);
-                        pdfPagesBox.getChildren().add(imageView);
-
-                        int pageCount = document.getNumberOfPages();
-                        for (int page = 1; page < pageCount; page++) {
-                            bim = pdfRenderer.renderImageWithDPI(page, 150);
-                            fxImage = SwingFXUtils.toFXImage(bim, null);
-                            ImageView extraPage = new ImageView(fxImage);
-                            extraPage.setFitWidth(width);
-                            extraPage.setPreserveRatio(true);
-                            pdfPagesBox.getChildren().add(extraPage);
-                        }
-
-                        ScrollPane scrollPane = new ScrollPane(pdfPagesBox);
-                        scrollPane.setPrefWidth(width);
-                        scrollPane.setPrefHeight(height);
-                        scrollPane.setFitToWidth(true);
-                        scrollPane.getStyleClass().add("scroll-pane");
-                        document.close();
-                        return scrollPane;
+                    try {
+                        BufferedImage bim = pdfRenderService.renderPage(resource, 0, AppConfig.PDF_PREVIEW_DPI);
+                        return createPdfPage(bim, width);
+                    } catch (IOException e) {
+                        throw new TrackTuneException(Strings.MEDIA_ERROR);
+                    }
+                } else {
+                    try {
+                        return new PdfPageViewer(pdfRenderService.open(resource), width, height, AppConfig.PDF_RENDER_DPI);
+                    } catch (IOException e) {
+                        throw new TrackTuneException(Strings.MEDIA_ERROR);
                     }
-
-                } catch (IOException e) {
-                    throw new TrackTuneException(Strings.MEDIA_ERROR);
                 }
             } else {
                 // Normal images
-                ByteArrayInputStream bis = new ByteArrayInputStream(resource.getData());
-                Image image = new Image(bis, width, height, true, true);
+                Image image;
+                try (InputStream input = openData(resource)) {
+                    image = new Image(input, width, height, true, true);
+                } catch (IOException e) {
+                    throw new TrackTuneException(Strings.MEDIA_ERROR);
+                }
                 ImageView imgView = new ImageView(image);
                 imgView.setFitWidth(width);
                 imgView.setFitHeight(height);
@@ -152,7 +145,7 @@ public final class ResourceManager {
                 linkLabel.getStyleClass().add("resource-link-label");
                 return linkLabel;
             }else{
-                MediaView mediaView = createMediaPlayer(resource.getData(), extension);
+                MediaView mediaView = createMediaPlayer(resource);
                 mediaView.setFitWidth(width);
                 mediaView.setFitHeight(height);
                 return mediaView;
@@ -163,32 +156,106 @@ public final class ResourceManager {
     }
 
     /**
-     * Initializes the media player with a video file located at a specific path.
-     * The video will be displayed inside the fileContainer.
-     * If the video cannot be loaded or played, an error alert is shown.
+     * Creates the view of the thumbnail of a saved image or PDF resource, generating the thumbnail if missing.
+     *
+     * @param resource the saved resource
+     * @param width    the width of the view
+     * @param height   the height of the view
+     * @return an ImageView showing the thumbnail, or null if the resource content cannot be decoded
+     * @throws TrackTuneException if the resource content cannot be read
      */
-    private static MediaView createMediaPlayer(byte[] videoBytes, String extension) {
-        MediaView mediaView = null;
+    private static ImageView createThumbnailView(Resource resource, double width, double height) throws TrackTuneException {
+        byte[] thumbnail;
         try {
-            File tempFile = File.createTempFile("temp", extension);
-            tempFile.deleteOnExit();
+            thumbnail = ThumbnailStore.get(resource);
+        } catch (IOException e) {
+            throw new TrackTuneException(Strings.MEDIA_ERROR);
+        }
+        if (thumbnail == null) {
+            return null;
+        }
+        ImageView imgView = new ImageView(new Image(new ByteArrayInputStream(thumbnail), width, height, true, true));
+        imgView.setFitWidth(width);
+        imgView.setFitHeight(height);
+        imgView.setPreserveRatio(true);
+        return imgView;
+    }
 
-            try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-                fos.write(videoBytes);
-            }
+    /**
+     * Creates the view of a rendered PDF page, scaled to the given width.
+     *
+     * @param bim   the rendered page
+     * @param width the width of the page
+     * @return an ImageView showing the page
+     */
+    private static ImageView createPdfPage(BufferedImage bim, double width) {
+        Image fxImage = SwingFXUtils.toFXImage(bim, null);
+        ImageView imageView = new ImageView(fxImage);
+        imageView.setFitWidth(width);
+        imageView.setPreserveRatio(true);
+        return imageView;
+    }
 
-            Media media = new Media(tempFile.toURI().toString());
+    /**
+     * Opens a stream over the binary content of a resource.
+     * Resources loaded without their content (e.g. {@link ResourceSummary}) are read through {@link ResourceDAO#openDataStream(int)}.
+     *
+     * @param resource the resource whose content is needed
+     * @return a stream over the resource data
+     */
+    static InputStream openData(Resource resource) {
+        if (resource.getData() != null) {
+            return new ByteArrayInputStream(resource.getData());
+        }
+        return DatabaseManager.getDAOProvider().getResourceDAO().openDataStream(resource.getId());
+    }
+
+    /**
+     * Initializes the media player with the content of the resource, streamed from the database
+     * by the {@link MediaStreamServer} for saved resources, or read from the file of the resource in the media cache.
+     * The player is returned while still loading the media, its readiness being reported by its own events.
+     *
+     * @throws TrackTuneException if the media cannot be loaded, left to the caller to retry or report
+     */
+    private MediaView createMediaPlayer(Resource resource) throws TrackTuneException {
+        MediaView mediaView;
+        try {
+            URI uri = AppConfig.MEDIA_STREAMING_ENABLED && resource.getId() != null
+                    ? getMediaStreamServer().getUri(resource)
+                    : mediaFileCache.get(resource).toUri();
+            Media media = new Media(uri.toString());
             MediaPlayer mediaPlayer = new MediaPlayer(media);
 
             mediaView = new MediaView(mediaPlayer);
             mediaView.setPreserveRatio(true);
         } catch (Exception e) {
-            ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, Strings.MEDIA_ERROR, Alert.AlertType.ERROR);
             System.err.println(Strings.MEDIA_ERROR + e.getMessage());
+            throw new TrackTuneException(Strings.MEDIA_ERROR);
         }
         return mediaView;
     }
 
+    /**
+     * Returns the server streaming the saved media, creating it on the first call.
+     *
+     * @return the media stream server
+     */
+    private synchronized MediaStreamServer getMediaStreamServer() {
+        if (mediaStreamServer == null) {
+            mediaStreamServer = new MediaStreamServer(DatabaseManager.getDAOProvider().getResourceDAO());
+        }
+        return mediaStreamServer;
+    }
+
+    /**
+     * Stops the server streaming the media, if started, e.g. when the application is closed.
+     */
+    public synchronized void stopMediaStreaming() {
+        if (mediaStreamServer != null) {
+            mediaStreamServer.stop();
+        }
+    }
+
     /**
      * Sets the current Resource.
      *
@@ -1,7 +1,7 @@
 package app.tracktune.utils;
 
-import app.tracktune.model.resource.Resource;
 import app.tracktune.model.resource.ResourceDAO;
+import app.tracktune.model.resource.ResourceSummary;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,46 +14,33 @@ public class SQLiteScripts {
      * @param texts Variable number of input strings to check.
      * @return {@code true} if any text is null, blank, or contains SQL keywords potentially
      * indicating injection attempts; {@code false} otherwise.
+     * @see InputValidator
      */
     public static boolean checkForSQLInjection(String... texts) {
-        String pattern = "(--|;|\\bDROP\\b|\\bSELECT\\b|\\bINSERT\\b|\\bUPDATE\\b|\\bDELETE\\b|\\bTRUNCATE\\b|\\bALTER\\b|\\bCREATE\\b|\\bEXEC\\b|\\bUNION\\b|\\bFROM\\b|\\bWHERE\\b|\\bJOIN\\b)";
-        boolean result = false;
-
-        for (String text : texts) {
-            if (text == null || text.isBlank()) {
-                result = true;
-                break;
-            }
-
-            if (text.toUpperCase().matches(".*" + pattern + ".*")) {
-                result = true;
-            }
-        }
-
-        return result;
+        return InputValidator.isInvalid(texts);
     }
 
     /**
-     * Retrieves the 5 most recent resources based on their creation date.
+     * Retrieves the 5 most recent resources based on their creation date, without their binary content.
      *
      * @param dbManager DatabaseManager instance to execute SQL queries.
-     * @return A list of the 5 most recently created {@link Resource} objects.
+     * @return A list of the 5 most recently created {@link ResourceSummary} objects.
      */
-    public static List<Resource> getMostRecentResources(DatabaseManager dbManager) {
+    public static List<ResourceSummary> getMostRecentResources(DatabaseManager dbManager) {
         String query = """
-            SELECT *
+            SELECT ID, type, COALESCE(contentSize, length(data)) AS dataSize, creationDate, isMultimedia, isAuthor, trackID, userID
             FROM Resources
             ORDER BY CreationDate DESC
             LIMIT 5
         """;
 
-        List<Resource> resources = new ArrayList<>();
+        List<ResourceSummary> resources = new ArrayList<>();
 
         dbManager.executeQuery(
                 query,
                 rs -> {
                     while (rs.next()) {
-                        resources.add(ResourceDAO.mapResultSetToEntity(rs));
+                        resources.add(ResourceDAO.mapResultSetToSummary(rs));
                     }
                     return null;
                 }, null
@@ -67,11 +54,11 @@ public class SQLiteScripts {
      * Useful to find the most "popular" resources by track count.
      *
      * @param dbManager DatabaseManager instance to execute SQL queries.
-     * @return A list of {@link Resource} objects belonging to the top 5 tracks with the most resources.
+     * @return A list of {@link ResourceSummary} objects belonging to the top 5 tracks with the most resources.
      */
-    public static List<Resource> getMostPopularResources(DatabaseManager dbManager) {
+    public static List<ResourceSummary> getMostPopularResources(DatabaseManager dbManager) {
         String query = """
-            SELECT R.*
+            SELECT R.ID, R.type, COALESCE(R.contentSize, length(R.data)) AS dataSize, R.creationDate, R.isMultimedia, R.isAuthor, R.trackID, R.userID
             FROM Resources R
             WHERE R.trackID IN (
                 SELECT trackID
@@ -83,13 +70,13 @@ public class SQLiteScripts {
             ORDER BY R.trackID
         """;
 
-        List<Resource> resources = new ArrayList<>();
+        List<ResourceSummary> resources = new ArrayList<>();
 
         dbManager.executeQuery(
                 query,
                 rs -> {
                     while (rs.next()) {
-                        resources.add(ResourceDAO.mapResultSetToEntity(rs));
+                        resources.add(ResourceDAO.mapResultSetToSummary(rs));
                     }
                     return null;
                 },
@@ -103,11 +90,11 @@ public class SQLiteScripts {
      * Retrieves the top 5 resources with the highest number of comments.
      *
      * @param dbManager DatabaseManager instance to execute SQL queries.
-     * @return A list of the 5 most commented {@link Resource} objects.
+     * @return A list of the 5 most commented {@link ResourceSummary} objects.
      */
-    public static List<Resource> getMostCommentedResources(DatabaseManager dbManager) {
+    public static List<ResourceSummary> getMostCommentedResources(DatabaseManager dbManager) {
         String query = """
-            SELECT R.*
+            SELECT R.ID, R.type, COALESCE(R.contentSize, length(R.data)) AS dataSize, R.creationDate, R.isMultimedia, R.isAuthor, R.trackID, R.userID
             FROM Resources R
             LEFT JOIN Comments C ON R.ID = C.resourceID
             GROUP BY R.ID
@@ -115,13 +102,13 @@ public class SQLiteScripts {
             LIMIT 5
         """;
 
-        List<Resource> resources = new ArrayList<>();
+        List<ResourceSummary> resources = new ArrayList<>();
 
         dbManager.executeQuery(
                 query,
                 rs -> {
                     while (rs.next()) {
-                        resources.add(ResourceDAO.mapResultSetToEntity(rs));
+                        resources.add(ResourceDAO.mapResultSetToSummary(rs));
                     }
                     return null;
                 },
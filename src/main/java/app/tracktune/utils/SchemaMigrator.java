@@ -0,0 +1,155 @@
+package app.tracktune.utils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings the database schema up to date with numbered migrations.
+ * <p>
+ * The version of the schema is stored in the database header ({@code PRAGMA user_version}):
+ * at startup only the migrations above that version are applied, each one in its own transaction
+ * together with the new version number, so a database already up to date costs a single query.
+ * A database created before versioning has version 0 and goes through every migration,
+ * which are therefore written to be harmless on a schema that already has their changes.
+ * <p>
+ * New schema changes are added as a new migration at the end of the list, existing ones are never edited.
+ */
+public class SchemaMigrator {
+
+    /**
+     * A change of the database schema.
+     */
+    @FunctionalInterface
+    public interface Migration {
+        void apply(Statement statement) throws SQLException;
+    }
+
+    /**
+     * Migrations in order: the migration at index {@code i} brings the schema to version {@code i + 1}.
+     */
+    private static final List<Migration> MIGRATIONS = List.of(
+            // 1: tables
+            statement -> executeAll(statement, DBInit.getDBInitStatement()),
+            // 2: columns referencing the blob store
+            SchemaMigrator::addResourcesBlobStoreColumns,
+            // 3: secondary indexes
+            statement -> executeAll(statement, DBInit.getDBIndexesStatement()),
+            // 4: full-text search indexes
+            statement -> {
+                for (String query : DBInit.getDBSearchIndexStatements()) {
+                    statement.executeUpdate(query);
+                }
+            },
+            // 5: thumbnails of the resources
+            statement -> statement.executeUpdate(DBInit.CREATE_RESOURCE_THUMBNAILS_TABLE_STMT),
+            // 6: waveform peak indexes of the audio resources
+            statement -> statement.executeUpdate(DBInit.CREATE_RESOURCE_WAVEFORMS_TABLE_STMT),
+            // 7: interval index of the comments referring to a segment of a track
+            statement -> {
+                for (String query : DBInit.getDBSegmentIndexStatements()) {
+                    statement.executeUpdate(query);
+                }
+            },
+            // 8: random version of the resource contents, changed whenever a content is written
+            statement -> {
+                statement.executeUpdate(DBInit.ADD_RESOURCES_CONTENT_VERSION_STMT);
+                statement.executeUpdate(DBInit.FILL_RESOURCES_CONTENT_VERSION_STMT);
+            }
+    );
+
+    /**
+     * Returns the version of the schema once every migration has been applied.
+     *
+     * @return the latest schema version
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.size();
+    }
+
+    /**
+     * Reads the version of the schema of a database.
+     *
+     * @param connection the connection to the database
+     * @return the schema version, 0 for a new database or one created before versioning
+     * @throws SQLException if the version cannot be read
+     */
+    public static int getVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(DBInit.GET_SCHEMA_VERSION_STMT)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Applies the migrations the database has not gone through yet.
+     * If a migration fails, its changes are rolled back and the following ones are not applied.
+     *
+     * @param connection the connection to the database, not used by other threads meanwhile
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails
+     */
+    public static int migrate(Connection connection) throws SQLException {
+        int version = getVersion(connection);
+        if (version >= MIGRATIONS.size()) {
+            return 0;
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (int next = version + 1; next <= MIGRATIONS.size(); next++) {
+                MIGRATIONS.get(next - 1).apply(statement);
+                statement.executeUpdate(String.format(DBInit.SET_SCHEMA_VERSION_STMT, next));
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return MIGRATIONS.size() - version;
+    }
+
+    /**
+     * Executes the statements of a script separated by semicolons.
+     *
+     * @param statement the statement used to execute the script
+     * @param script    the statements to execute
+     * @throws SQLException if a statement fails
+     */
+    private static void executeAll(Statement statement, String script) throws SQLException {
+        for (String query : script.split(";")) {
+            String trimmedQuery = query.trim();
+            if (!trimmedQuery.isEmpty()) {
+                statement.executeUpdate(trimmedQuery + ";");
+            }
+        }
+    }
+
+    /**
+     * Adds the columns referencing the blob store to a Resources table created before they existed.
+     *
+     * @param statement a statement of the connection being migrated
+     * @throws SQLException if the table cannot be altered
+     */
+    private static void addResourcesBlobStoreColumns(Statement statement) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (ResultSet rs = statement.executeQuery(DBInit.GET_RESOURCES_COLUMNS_STMT)) {
+            while (rs.next()) {
+                columns.add(rs.getString(1));
+            }
+        }
+        if (!columns.contains("contentHash")) {
+            statement.executeUpdate(DBInit.ADD_RESOURCES_CONTENT_HASH_STMT);
+        }
+        if (!columns.contains("contentSize")) {
+            statement.executeUpdate(DBInit.ADD_RESOURCES_CONTENT_SIZE_STMT);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package app.tracktune.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of prepared statements of a single connection, keyed by SQL text.
+ * <p>
+ * Statements are kept in least-recently-used order: when the cache is full the eldest statement is closed.
+ * A statement is handed out to one caller at a time; if the cached statement is still in use
+ * (e.g. a nested query with the same SQL), a temporary statement is prepared and closed on release.
+ */
+public class StatementCache {
+    /**
+     * Connection the statements belong to.
+     */
+    private final Connection connection;
+
+    /**
+     * Cached statements in access order.
+     */
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * Statements currently handed out to callers.
+     */
+    private final Set<PreparedStatement> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Number of requests served with an already compiled statement.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Number of requests that needed to compile the statement.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Number of statements closed to make room for new ones.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a statement cache for the given connection.
+     *
+     * @param connection the connection used to prepare statements
+     * @param capacity   maximum number of cached statements
+     */
+    public StatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= capacity) return false;
+                evictions.incrementAndGet();
+                // statements still in use are closed by release()
+                if (!inUse.contains(eldest.getValue()))
+                    closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL, compiling it only if it is not cached.
+     * Must always be paired with {@link #release(String, PreparedStatement)}.
+     *
+     * @param sql the SQL text
+     * @return a prepared statement with no parameters bound
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public synchronized PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement cached = statements.get(sql);
+        if (cached != null && !inUse.contains(cached) && !cached.isClosed()) {
+            hits.incrementAndGet();
+            inUse.add(cached);
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement statement = connection.prepareStatement(sql);
+        if (cached == null || cached.isClosed()) {
+            statements.put(sql, statement);
+        }
+        inUse.add(statement);
+        return statement;
+    }
+
+    /**
+     * Gives back a statement obtained with {@link #prepare(String)}.
+     * Cached statements are reset for the next caller, the others are closed.
+     *
+     * @param sql       the SQL text used to obtain the statement
+     * @param statement the statement to release
+     */
+    public synchronized void release(String sql, PreparedStatement statement) {
+        inUse.remove(statement);
+        if (statements.get(sql) == statement) {
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                statements.remove(sql);
+                closeQuietly(statement);
+            }
+        } else {
+            closeQuietly(statement);
+        }
+    }
+
+    /**
+     * Closes every cached statement and empties the cache.
+     */
+    public synchronized void close() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    /**
+     * Returns the number of requests served by an already compiled statement.
+     *
+     * @return the cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of requests that compiled a new statement.
+     *
+     * @return the cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of statements evicted from the cache.
+     *
+     * @return the cache evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Closes a statement ignoring errors.
+     *
+     * @param statement the statement to close
+     */
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package app.tracktune.utils;
+
+import app.tracktune.view.ViewManager;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.Alert;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Background tasks started by a view.
+ * <p>
+ * Tasks run on the {@link AsyncExecutor} threads and their results are handed to the given callbacks
+ * on the JavaFX application thread. When the view is left all the pending tasks are cancelled:
+ * the ones not started yet never run and the results of the others are discarded,
+ * so a slow query can never update a view that is no longer shown.
+ */
+public class TaskScope {
+    /**
+     * Tasks started and not completed yet.
+     */
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Incremented by {@link #cancelAll()}: results of tasks started in a previous generation are discarded.
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Last task started with {@link #runInOrder(Callable, Consumer, Consumer)}, the next one starts after it.
+     */
+    private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+
+    /**
+     * Runs a task in the background, showing an error alert if it fails.
+     *
+     * @param task      the task to run, e.g. a query
+     * @param onSuccess the callback receiving the result on the JavaFX thread
+     * @param <T>       the type of the result
+     * @return the future of the task, which can be cancelled
+     */
+    public <T> CompletableFuture<T> run(Callable<T> task, Consumer<T> onSuccess) {
+        return run(task, onSuccess, TaskScope::showError);
+    }
+
+    /**
+     * Runs a task in the background, concurrently with the other tasks of the scope.
+     *
+     * @param task      the task to run, e.g. a query
+     * @param onSuccess the callback receiving the result on the JavaFX thread
+     * @param onError   the callback receiving the exception thrown by the task on the JavaFX thread
+     * @param <T>       the type of the result
+     * @return the future of the task, which can be cancelled
+     */
+    public <T> CompletableFuture<T> run(Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        return deliver(AsyncExecutor.supply(task), onSuccess, onError);
+    }
+
+    /**
+     * Runs a task in the background, showing an error alert if it fails.
+     *
+     * @param task      the task to run, e.g. a query
+     * @param onSuccess the callback receiving the result on the JavaFX thread
+     * @param <T>       the type of the result
+     * @return the future of the task, which can be cancelled
+     */
+    public <T> CompletableFuture<T> runInOrder(Callable<T> task, Consumer<T> onSuccess) {
+        return runInOrder(task, onSuccess, TaskScope::showError);
+    }
+
+    /**
+     * Runs a task in the background after the tasks previously started with this method have completed.
+     * Tasks run in order therefore see the effects of the previous ones, e.g. a list is read after a deletion from it.
+     *
+     * @param task      the task to run, e.g. a query
+     * @param onSuccess the callback receiving the result on the JavaFX thread
+     * @param onError   the callback receiving the exception thrown by the task on the JavaFX thread
+     * @param <T>       the type of the result
+     * @return the future of the task, which can be cancelled
+     */
+    public synchronized <T> CompletableFuture<T> runInOrder(Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        tail = tail.handleAsync((_, _) -> {
+            AsyncExecutor.complete(future, task);
+            return null;
+        }, AsyncExecutor.executor());
+        return deliver(future, onSuccess, onError);
+    }
+
+    /**
+     * Cancels all the pending tasks: the ones not started yet never run and the results of the others are discarded.
+     */
+    public void cancelAll() {
+        generation.incrementAndGet();
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Cancels all the pending tasks when the given node is removed from its scene, i.e. when the view is left.
+     *
+     * @param node a node of the view, e.g. its root container
+     */
+    public void cancelOnDetach(Node node) {
+        node.sceneProperty().addListener((_, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                cancelAll();
+            }
+        });
+    }
+
+    /**
+     * Hands the outcome of a task to the callbacks on the JavaFX thread,
+     * unless the task has been cancelled meanwhile.
+     *
+     * @param future    the future of the task
+     * @param onSuccess the callback receiving the result
+     * @param onError   the callback receiving the exception thrown by the task
+     * @param <T>       the type of the result
+     * @return the future of the task
+     */
+    private <T> CompletableFuture<T> deliver(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        int startGeneration = generation.get();
+        pending.add(future);
+        future.whenComplete((result, error) -> {
+            pending.remove(future);
+            if (future.isCancelled()) {
+                return;
+            }
+            Platform.runLater(() -> {
+                if (generation.get() != startGeneration) {
+                    return;
+                }
+                if (error == null) {
+                    onSuccess.accept(result);
+                } else {
+                    onError.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                }
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Default error callback: shows a generic error alert and logs the exception.
+     *
+     * @param error the exception thrown by the task
+     */
+    private static void showError(Throwable error) {
+        ViewManager.setAndShowAlert(Strings.ERROR, Strings.ERROR, Strings.ERR_GENERAL, Alert.AlertType.ERROR);
+        System.err.println(error.getMessage());
+    }
+}
@@ -0,0 +1,134 @@
+package app.tracktune.utils;
+
+import app.tracktune.config.AppConfig;
+import app.tracktune.model.resource.ImageFileEnum;
+import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceDAO;
+import app.tracktune.model.resource.ResourceTypeEnum;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Thumbnails of the image and PDF resources, shown as previews in the resource lists.
+ * <p>
+ * A thumbnail is a small JPEG image saved in the database next to its resource:
+ * it is generated in the background right after the upload, or on the first preview
+ * for resources uploaded before thumbnails existed. Previews then decode only these few kilobytes
+ * instead of the full image or the first page of the PDF document.
+ */
+public final class ThumbnailStore {
+
+    private ThumbnailStore() {}
+
+    /**
+     * Tells if resources of the given type have a thumbnail.
+     *
+     * @param type the type of the resource
+     * @return true for images and PDF documents
+     */
+    public static boolean isSupported(ResourceTypeEnum type) {
+        return ImageFileEnum.isSupported(type.toString());
+    }
+
+    /**
+     * Returns the thumbnail of a saved resource, generating and saving it if it does not exist yet.
+     *
+     * @param resource the resource, with or without its content loaded
+     * @return the thumbnail bytes, or null if the content of the resource cannot be decoded
+     * @throws IOException if the content of the resource cannot be read
+     */
+    public static byte[] get(Resource resource) throws IOException {
+        ResourceDAO resourceDAO = DatabaseManager.getDAOProvider().getResourceDAO();
+        byte[] thumbnail = resourceDAO.getThumbnailById(resource.getId());
+        if (thumbnail == null) {
+            thumbnail = create(resource);
+            if (thumbnail != null) {
+                resourceDAO.saveThumbnail(resource.getId(), thumbnail);
+            }
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Generates and saves the thumbnail of a resource in the background, e.g. right after its upload.
+     * Errors are only logged, since the thumbnail is generated again on the first preview.
+     *
+     * @param resourceId the ID of the saved resource
+     */
+    public static void createAsync(int resourceId) {
+        AsyncExecutor.supply(() -> {
+            Resource resource = DatabaseManager.getDAOProvider().getResourceDAO().getMetadataById(resourceId);
+            if (resource != null && isSupported(resource.getType())) {
+                get(resource);
+            }
+            return null;
+        }).exceptionally(e -> {
+            System.err.println(e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Generates the thumbnail of a resource: the image, or the first page of the PDF document,
+     * scaled to fit {@link AppConfig#THUMBNAIL_SIZE} and encoded as JPEG.
+     *
+     * @param resource the image or PDF resource, with or without its content loaded
+     * @return the thumbnail bytes, or null if the content of the resource cannot be decoded
+     * @throws IOException if the content of the resource cannot be read
+     */
+    public static byte[] create(Resource resource) throws IOException {
+        BufferedImage source;
+        try (InputStream input = ResourceManager.openData(resource)) {
+            if (resource.getType() == ResourceTypeEnum.pdf) {
+                try (PDDocument document = PDDocument.load(input)) {
+                    source = document.getNumberOfPages() > 0
+                            ? new PDFRenderer(document).renderImageWithDPI(0, AppConfig.PDF_PREVIEW_DPI)
+                            : null;
+                }
+            } else {
+                source = ImageIO.read(input);
+            }
+        }
+        if (source == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(scale(source, AppConfig.THUMBNAIL_SIZE), "jpg", output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Scales an image to fit a square, keeping its aspect ratio, on a white background
+     * since JPEG images have no transparency.
+     *
+     * @param source the image to scale
+     * @param size   the side of the square, in pixels
+     * @return the scaled image, never larger than the source
+     */
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
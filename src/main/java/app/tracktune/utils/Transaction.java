@@ -0,0 +1,163 @@
+package app.tracktune.utils;
+
+import app.tracktune.exceptions.SQLiteException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Unit of work on the writer connection, started with {@link DatabaseManager#beginTransaction()}
+ * and meant to be used in a try-with-resources block:
+ * <pre>{@code
+ * try (Transaction transaction = dbManager.beginTransaction()) {
+ *     ...
+ *     transaction.commit();
+ * }
+ * }</pre>
+ * While the transaction is open the thread holds the writer connection: the statements it executes through
+ * the {@link DatabaseManager} join the transaction, its queries see its own changes and other threads wait to write.
+ * The changes are written with a single sync to disk on commit; a transaction closed without committing is rolled back.
+ * <p>
+ * A transaction started while another one is open on the same thread is nested: it is a savepoint of the outer one,
+ * so rolling it back only undoes its own changes, while committing it keeps them until the outer one ends.
+ */
+public class Transaction implements AutoCloseable {
+    /**
+     * Pool the writer connection is borrowed from.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * The writer connection, held until the transaction is closed.
+     */
+    private final Connection connection;
+
+    /**
+     * Savepoint of a nested transaction, null for the outermost one.
+     */
+    private final Savepoint savepoint;
+
+    /**
+     * True once committed or rolled back.
+     */
+    private boolean finished = false;
+
+    /**
+     * Starts a transaction, or a savepoint if the thread is already inside one.
+     *
+     * @param pool the pool holding the writer connection
+     * @throws SQLException if the transaction cannot be started
+     */
+    Transaction(ConnectionPool pool) throws SQLException {
+        this.pool = pool;
+        this.connection = pool.acquireWriter();
+        try {
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                this.savepoint = null;
+            } else {
+                this.savepoint = connection.setSavepoint();
+            }
+        } catch (SQLException e) {
+            pool.releaseWriter();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the connection the transaction runs on.
+     *
+     * @return the writer connection
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Tells if the transaction is nested inside another one.
+     *
+     * @return true if the transaction is a savepoint of an outer transaction
+     */
+    public boolean isNested() {
+        return savepoint != null;
+    }
+
+    /**
+     * Commits the changes of the transaction, or releases the savepoint of a nested one.
+     *
+     * @throws SQLiteException if the changes cannot be committed
+     * @throws IllegalStateException if the transaction is already committed or rolled back
+     */
+    public void commit() {
+        checkNotFinished();
+        try {
+            if (savepoint == null) {
+                connection.commit();
+            } else {
+                connection.releaseSavepoint(savepoint);
+            }
+            finished = true;
+        } catch (SQLException e) {
+            System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+    }
+
+    /**
+     * Undoes the changes of the transaction, or of a nested one since its savepoint.
+     *
+     * @throws SQLiteException if the changes cannot be rolled back
+     * @throws IllegalStateException if the transaction is already committed or rolled back
+     */
+    public void rollback() {
+        checkNotFinished();
+        finished = true;
+        try {
+            if (savepoint == null) {
+                connection.rollback();
+            } else {
+                connection.rollback(savepoint);
+                connection.releaseSavepoint(savepoint);
+            }
+        } catch (SQLException e) {
+            System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+            throw new SQLiteException(Strings.ERR_DATABASE);
+        }
+    }
+
+    /**
+     * Ends the transaction, rolling it back if not committed, and gives back the writer connection.
+     *
+     * @throws SQLiteException if the changes cannot be rolled back
+     */
+    @Override
+    public void close() {
+        try {
+            if (!finished) {
+                rollback();
+            }
+        } finally {
+            try {
+                if (savepoint == null) {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                System.err.println(Strings.ERR_EXEC_STMT + e.getMessage());
+            } finally {
+                pool.releaseWriter();
+            }
+        }
+    }
+
+    /**
+     * Checks that the transaction can still be committed or rolled back.
+     *
+     * @throws IllegalStateException if the transaction is already committed or rolled back
+     */
+    private void checkNotFinished() {
+        if (finished) {
+            throw new IllegalStateException(Strings.ERR_DATABASE);
+        }
+    }
+}
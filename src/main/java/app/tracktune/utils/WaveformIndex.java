@@ -0,0 +1,206 @@
+package app.tracktune.utils;
+
+import java.io.*;
+
+/**
+ * Multi-resolution peak index of an audio track, used to draw its waveform without decoding it.
+ * <p>
+ * The audio is split in buckets of a fixed number of samples, each keeping the minimum and maximum
+ * sample value scaled to a byte. Level 0 holds the finest buckets; every following level merges
+ * pairs of buckets of the previous one, down to a few hundred buckets, so a waveform of any width
+ * is drawn from the level closest to one bucket per pixel.
+ */
+public final class WaveformIndex {
+    /**
+     * Version of the serialized format, written first.
+     */
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * Levels are merged until a level has at most this number of buckets.
+     */
+    private static final int MIN_BUCKETS = 256;
+
+    /**
+     * Sample rate of the decoded audio, in Hz.
+     */
+    private final int sampleRate;
+
+    /**
+     * Number of samples per bucket at level 0.
+     */
+    private final int samplesPerBucket;
+
+    /**
+     * Minimum sample value of every bucket, by level.
+     */
+    private final byte[][] mins;
+
+    /**
+     * Maximum sample value of every bucket, by level.
+     */
+    private final byte[][] maxs;
+
+    private WaveformIndex(int sampleRate, int samplesPerBucket, byte[][] mins, byte[][] maxs) {
+        this.sampleRate = sampleRate;
+        this.samplesPerBucket = samplesPerBucket;
+        this.mins = mins;
+        this.maxs = maxs;
+    }
+
+    /**
+     * Builds the index from the finest peaks, computing the coarser levels.
+     *
+     * @param sampleRate       the sample rate of the audio, in Hz
+     * @param samplesPerBucket the number of samples of every bucket
+     * @param mins             the minimum sample value of every bucket
+     * @param maxs             the maximum sample value of every bucket, as many as the minimums
+     * @return the index
+     */
+    public static WaveformIndex fromPeaks(int sampleRate, int samplesPerBucket, byte[] mins, byte[] maxs) {
+        int levels = 1;
+        for (int count = mins.length; count > MIN_BUCKETS; count = (count + 1) / 2) {
+            levels++;
+        }
+
+        byte[][] levelMins = new byte[levels][];
+        byte[][] levelMaxs = new byte[levels][];
+        levelMins[0] = mins;
+        levelMaxs[0] = maxs;
+        for (int level = 1; level < levels; level++) {
+            byte[] finerMins = levelMins[level - 1];
+            byte[] finerMaxs = levelMaxs[level - 1];
+            int count = (finerMins.length + 1) / 2;
+            levelMins[level] = new byte[count];
+            levelMaxs[level] = new byte[count];
+            for (int i = 0; i < count; i++) {
+                int next = Math.min(2 * i + 1, finerMins.length - 1);
+                levelMins[level][i] = (byte) Math.min(finerMins[2 * i], finerMins[next]);
+                levelMaxs[level][i] = (byte) Math.max(finerMaxs[2 * i], finerMaxs[next]);
+            }
+        }
+        return new WaveformIndex(sampleRate, samplesPerBucket, levelMins, levelMaxs);
+    }
+
+    /**
+     * Returns the duration of the indexed audio.
+     *
+     * @return the duration in seconds
+     */
+    public double getDuration() {
+        return sampleRate > 0 ? (double) mins[0].length * samplesPerBucket / sampleRate : 0;
+    }
+
+    /**
+     * Returns the number of levels of the index.
+     *
+     * @return the level count, at least 1
+     */
+    public int getLevelCount() {
+        return mins.length;
+    }
+
+    /**
+     * Returns the number of buckets of a level.
+     *
+     * @param level the level, 0 being the finest
+     * @return the bucket count
+     */
+    public int getBucketCount(int level) {
+        return mins[level].length;
+    }
+
+    /**
+     * Returns the minimum sample value of a bucket.
+     *
+     * @param level  the level
+     * @param bucket the index of the bucket
+     * @return the minimum, from -128 to 127
+     */
+    public byte getMin(int level, int bucket) {
+        return mins[level][bucket];
+    }
+
+    /**
+     * Returns the maximum sample value of a bucket.
+     *
+     * @param level  the level
+     * @param bucket the index of the bucket
+     * @return the maximum, from -128 to 127
+     */
+    public byte getMax(int level, int bucket) {
+        return maxs[level][bucket];
+    }
+
+    /**
+     * Selects the coarsest level with at least the given number of buckets,
+     * i.e. at least one bucket per pixel of a waveform of that width.
+     *
+     * @param width the number of columns to draw
+     * @return the level, 0 if even the finest level has fewer buckets
+     */
+    public int selectLevel(int width) {
+        for (int level = mins.length - 1; level > 0; level--) {
+            if (mins[level].length >= width) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Serializes the index, with all its levels, to be saved in the database.
+     *
+     * @return the serialized index
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(FORMAT_VERSION);
+            output.writeInt(sampleRate);
+            output.writeInt(samplesPerBucket);
+            output.writeInt(mins.length);
+            for (int level = 0; level < mins.length; level++) {
+                output.writeInt(mins[level].length);
+                output.write(mins[level]);
+                output.write(maxs[level]);
+            }
+        } catch (IOException e) {
+            // writing to memory does not fail
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads an index serialized by {@link #toBytes()}.
+     *
+     * @param data the serialized index
+     * @return the index
+     * @throws IOException if the data is not a serialized index of a supported version
+     */
+    public static WaveformIndex fromBytes(byte[] data) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (input.readByte() != FORMAT_VERSION) {
+                throw new IOException(Strings.ERR_LOAD_FILE);
+            }
+            int sampleRate = input.readInt();
+            int samplesPerBucket = input.readInt();
+            int levels = input.readInt();
+            if (levels < 1 || levels > 32) {
+                throw new IOException(Strings.ERR_LOAD_FILE);
+            }
+            byte[][] mins = new byte[levels][];
+            byte[][] maxs = new byte[levels][];
+            for (int level = 0; level < levels; level++) {
+                int count = input.readInt();
+                if (count < 0 || count > input.available() / 2) {
+                    throw new IOException(Strings.ERR_LOAD_FILE);
+                }
+                mins[level] = input.readNBytes(count);
+                maxs[level] = input.readNBytes(count);
+            }
+            return new WaveformIndex(sampleRate, samplesPerBucket, mins, maxs);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package app.tracktune.utils;
+
+import app.tracktune.config.AppConfig;
+import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceDAO;
+import app.tracktune.model.resource.ResourceTypeEnum;
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.JavaLayerException;
+import javazoom.jl.decoder.SampleBuffer;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Waveform peak indexes of the MP3 resources, drawn by the audio player.
+ * <p>
+ * An MP3 resource is decoded once, in the background right after the upload or on its first view
+ * for resources uploaded before waveforms existed, and its {@link WaveformIndex} is saved in the database
+ * next to it. Later views only read these few kilobytes instead of decoding the audio.
+ */
+public final class WaveformStore {
+
+    private WaveformStore() {}
+
+    /**
+     * Tells if resources of the given type have a waveform.
+     *
+     * @param type the type of the resource
+     * @return true for MP3 resources
+     */
+    public static boolean isSupported(ResourceTypeEnum type) {
+        return type == ResourceTypeEnum.mp3;
+    }
+
+    /**
+     * Returns the waveform index of a saved resource, decoding the audio and saving the index if it does not exist yet.
+     *
+     * @param resource the MP3 resource, with or without its content loaded
+     * @return the waveform index
+     * @throws IOException if the content of the resource cannot be read or decoded
+     */
+    public static WaveformIndex get(Resource resource) throws IOException {
+        ResourceDAO resourceDAO = DatabaseManager.getDAOProvider().getResourceDAO();
+        byte[] saved = resourceDAO.getWaveformById(resource.getId());
+        if (saved != null) {
+            try {
+                return WaveformIndex.fromBytes(saved);
+            } catch (IOException e) {
+                // saved by an older format, created again below
+                System.err.println(e.getMessage());
+            }
+        }
+        WaveformIndex index = create(resource);
+        resourceDAO.saveWaveform(resource.getId(), index.toBytes());
+        return index;
+    }
+
+    /**
+     * Creates and saves the waveform index of a resource in the background, e.g. right after its upload.
+     * Errors are only logged, since the index is created again on the first view.
+     *
+     * @param resourceId the ID of the saved resource
+     */
+    public static void createAsync(int resourceId) {
+        AsyncExecutor.supply(() -> {
+            Resource resource = DatabaseManager.getDAOProvider().getResourceDAO().getMetadataById(resourceId);
+            if (resource != null && isSupported(resource.getType())) {
+                get(resource);
+            }
+            return null;
+        }).exceptionally(e -> {
+            System.err.println(e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Decodes the audio of a resource and builds its waveform index,
+     * the channels being mixed down and the samples summarized in buckets of
+     * {@link AppConfig#WAVEFORM_SAMPLES_PER_BUCKET} samples.
+     *
+     * @param resource the MP3 resource, with or without its content loaded
+     * @return the waveform index
+     * @throws IOException if the content of the resource cannot be read or decoded
+     */
+    public static WaveformIndex create(Resource resource) throws IOException {
+        try (InputStream input = new BufferedInputStream(ResourceManager.openData(resource))) {
+            return decode(input, AppConfig.WAVEFORM_SAMPLES_PER_BUCKET);
+        }
+    }
+
+    /**
+     * Decodes an MP3 stream frame by frame, keeping only the peaks of every bucket.
+     *
+     * @param input            the MP3 stream, not closed by this method
+     * @param samplesPerBucket the number of samples of every bucket
+     * @return the waveform index
+     * @throws IOException if the stream cannot be read or decoded
+     */
+    static WaveformIndex decode(InputStream input, int samplesPerBucket) throws IOException {
+        PeakBuilder peaks = new PeakBuilder(samplesPerBucket);
+        int sampleRate = 0;
+
+        Bitstream bitstream = new Bitstream(input);
+        Decoder decoder = new Decoder();
+        try {
+            Header header;
+            while ((header = bitstream.readFrame()) != null) {
+                SampleBuffer buffer = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+                sampleRate = buffer.getSampleFrequency();
+                int channels = buffer.getChannelCount();
+                short[] samples = buffer.getBuffer();
+                int length = buffer.getBufferLength();
+                for (int i = 0; i + channels <= length; i += channels) {
+                    int sum = 0;
+                    for (int channel = 0; channel < channels; channel++) {
+                        sum += samples[i + channel];
+                    }
+                    peaks.add(sum / channels);
+                }
+                bitstream.closeFrame();
+            }
+        } catch (JavaLayerException e) {
+            throw new IOException(Strings.MEDIA_ERROR, e);
+        }
+        if (sampleRate == 0) {
+            throw new IOException(Strings.MEDIA_ERROR);
+        }
+        return peaks.build(sampleRate);
+    }
+
+    /**
+     * Collects the minimum and maximum of every bucket of samples, scaled from 16 to 8 bits.
+     */
+    static final class PeakBuilder {
+        private final int samplesPerBucket;
+        private byte[] mins = new byte[1024];
+        private byte[] maxs = new byte[1024];
+        private int buckets = 0;
+
+        /** Samples added to the current bucket. */
+        private int count = 0;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+
+        PeakBuilder(int samplesPerBucket) {
+            this.samplesPerBucket = samplesPerBucket;
+        }
+
+        /**
+         * Adds a sample to the current bucket.
+         *
+         * @param sample the 16-bit sample
+         */
+        void add(int sample) {
+            min = Math.min(min, sample);
+            max = Math.max(max, sample);
+            if (++count == samplesPerBucket) {
+                flush();
+            }
+        }
+
+        /**
+         * Builds the index from the buckets collected, including the last partial bucket.
+         *
+         * @param sampleRate the sample rate of the audio
+         * @return the waveform index
+         */
+        WaveformIndex build(int sampleRate) {
+            if (count > 0) {
+                flush();
+            }
+            return WaveformIndex.fromPeaks(sampleRate, samplesPerBucket,
+                    Arrays.copyOf(mins, buckets), Arrays.copyOf(maxs, buckets));
+        }
+
+        /**
+         * Closes the current bucket.
+         */
+        private void flush() {
+            if (buckets == mins.length) {
+                mins = Arrays.copyOf(mins, buckets * 2);
+                maxs = Arrays.copyOf(maxs, buckets * 2);
+            }
+            mins[buckets] = (byte) (min >> 8);
+            maxs[buckets] = (byte) (max >> 8);
+            buckets++;
+            count = 0;
+            min = Integer.MAX_VALUE;
+            max = Integer.MIN_VALUE;
+        }
+    }
+}
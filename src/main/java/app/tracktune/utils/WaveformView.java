@@ -0,0 +1,155 @@
+package app.tracktune.utils;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Waveform of an audio track drawn from its {@link WaveformIndex}, with the played part highlighted
+ * and the segments referred to by the comments marked.
+ * <p>
+ * Every column of the canvas shows the peaks of the buckets it covers, taken from the index level
+ * closest to one bucket per column, so drawing never decodes audio and costs the same for any track length.
+ * Clicking the waveform seeks to the clicked time.
+ */
+public class WaveformView extends Canvas {
+    private static final Color PLAYED_COLOR = Color.web("#fae3b4");
+    private static final Color UNPLAYED_COLOR = Color.web("#fae3b4", 0.35);
+    private static final Color SEGMENT_COLOR = Color.web("#fae3b4", 0.15);
+
+    /**
+     * Peaks drawn, null until loaded.
+     */
+    private WaveformIndex index;
+
+    /**
+     * Time played, in seconds.
+     */
+    private double position = 0;
+
+    /**
+     * Start and end of the marked segments, in seconds.
+     */
+    private final List<double[]> segments = new ArrayList<>();
+
+    /**
+     * Callback receiving the clicked time, in seconds.
+     */
+    private Consumer<Double> onSeek;
+
+    /**
+     * Creates an empty waveform, drawn once its index is set.
+     *
+     * @param width  the width of the waveform
+     * @param height the height of the waveform
+     */
+    public WaveformView(double width, double height) {
+        super(width, height);
+        setOnMouseClicked(event -> {
+            if (index != null && onSeek != null && getWidth() > 0) {
+                onSeek.accept(event.getX() / getWidth() * index.getDuration());
+            }
+        });
+    }
+
+    /**
+     * Sets the peaks to draw.
+     *
+     * @param index the waveform index of the track
+     */
+    public void setIndex(WaveformIndex index) {
+        this.index = index;
+        draw();
+    }
+
+    /**
+     * Moves the boundary between the played and the unplayed part, redrawing only if it moved by a column.
+     *
+     * @param seconds the time played
+     */
+    public void setPosition(double seconds) {
+        int previousColumn = toColumn(position);
+        position = seconds;
+        if (toColumn(seconds) != previousColumn) {
+            draw();
+        }
+    }
+
+    /**
+     * Marks a segment of the track, e.g. the one a comment refers to.
+     *
+     * @param start the start of the segment, in seconds
+     * @param end   the end of the segment, in seconds
+     */
+    public void addSegment(double start, double end) {
+        segments.add(new double[]{start, end});
+        draw();
+    }
+
+    /**
+     * Sets the callback receiving the clicked time.
+     *
+     * @param onSeek the callback, receiving the time in seconds
+     */
+    public void setOnSeek(Consumer<Double> onSeek) {
+        this.onSeek = onSeek;
+    }
+
+    /**
+     * Returns the column of the canvas showing a time.
+     *
+     * @param seconds the time
+     * @return the column, or -1 while the index is not loaded
+     */
+    private int toColumn(double seconds) {
+        if (index == null || index.getDuration() <= 0) {
+            return -1;
+        }
+        return (int) (seconds / index.getDuration() * getWidth());
+    }
+
+    /**
+     * Draws the segments and the peaks of every column.
+     */
+    private void draw() {
+        GraphicsContext graphics = getGraphicsContext2D();
+        graphics.clearRect(0, 0, getWidth(), getHeight());
+        if (index == null) {
+            return;
+        }
+
+        int width = (int) getWidth();
+        double middle = getHeight() / 2;
+
+        graphics.setFill(SEGMENT_COLOR);
+        for (double[] segment : segments) {
+            int start = toColumn(segment[0]);
+            int end = Math.max(start + 1, toColumn(segment[1]));
+            graphics.fillRect(start, 0, end - start, getHeight());
+        }
+
+        int level = index.selectLevel(width);
+        int buckets = index.getBucketCount(level);
+        int playedColumn = toColumn(position);
+        graphics.setLineWidth(1);
+        for (int x = 0; x < width && buckets > 0; x++) {
+            int from = (int) ((long) x * buckets / width);
+            int to = Math.max(from + 1, (int) ((long) (x + 1) * buckets / width));
+            int min = Byte.MAX_VALUE;
+            int max = Byte.MIN_VALUE;
+            for (int bucket = from; bucket < to && bucket < buckets; bucket++) {
+                min = Math.min(min, index.getMin(level, bucket));
+                max = Math.max(max, index.getMax(level, bucket));
+            }
+            if (min > max) {
+                continue;
+            }
+            graphics.setStroke(x <= playedColumn ? PLAYED_COLOR : UNPLAYED_COLOR);
+            graphics.strokeLine(x + 0.5, middle - max / 128.0 * middle, x + 0.5, middle - min / 128.0 * middle);
+        }
+    }
+}
@@ -9,7 +9,9 @@ module app.tracktune {
     requires java.sql.rowset;
     requires org.kordamp.ikonli.javafx;
     requires jdk.compiler;
+    requires jdk.httpserver;
     requires org.apache.pdfbox;
+    requires jlayer;
 
     opens app.tracktune to javafx.fxml;
     opens app.tracktune.controller to javafx.fxml;
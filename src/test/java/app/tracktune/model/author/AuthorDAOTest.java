@@ -1,7 +1,9 @@
 package app.tracktune.model.author;
 
+import app.tracktune.model.CachedDAO;
 import app.tracktune.utils.DatabaseManager;
 import app.tracktune.utils.DBInit;
+import app.tracktune.utils.Transaction;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
@@ -131,4 +133,44 @@ public class AuthorDAOTest {
         List<Author> authors = authorDAO.getAllAuthorsByTrackId(1);
         assertNotNull(authors);
     }
+
+    /**
+     * Tests that the cached DAO reads an author once and sees its updates and deletion.
+     */
+    @Test
+    void testCachedGetById() {
+        DatabaseManager db = DatabaseManager.getInstance();
+        CachedDAO<Author, AuthorDAO> cachedDAO = new CachedDAO<>(db, new AuthorDAO(db), 16);
+        Integer id = cachedDAO.insert(new Author(null, "Cached Author", AuthorStatusEnum.ACTIVE));
+
+        assertEquals("Cached Author", cachedDAO.getById(id).getAuthorshipName());
+        assertEquals("Cached Author", cachedDAO.getById(id).getAuthorshipName());
+        assertEquals(1, cachedDAO.getCache().getMisses());
+        assertEquals(1, cachedDAO.getCache().getHits());
+
+        cachedDAO.updateById(new Author(id, "Renamed Author", AuthorStatusEnum.ACTIVE), id);
+        assertEquals("Renamed Author", cachedDAO.getById(id).getAuthorshipName());
+
+        cachedDAO.deleteById(id);
+        assertNull(cachedDAO.getById(id));
+    }
+
+    /**
+     * Tests that the cached DAO does not keep an author read inside a transaction that is rolled back.
+     */
+    @Test
+    void testCachedRolledBack() {
+        DatabaseManager db = DatabaseManager.getInstance();
+        CachedDAO<Author, AuthorDAO> cachedDAO = new CachedDAO<>(db, new AuthorDAO(db), 16);
+        Integer id = cachedDAO.insert(new Author(null, "Committed Author", AuthorStatusEnum.ACTIVE));
+        assertEquals("Committed Author", cachedDAO.getById(id).getAuthorshipName());
+
+        try (Transaction transaction = db.beginTransaction()) {
+            cachedDAO.updateById(new Author(id, "Rolled Back Author", AuthorStatusEnum.ACTIVE), id);
+            assertEquals("Rolled Back Author", cachedDAO.getById(id).getAuthorshipName());
+            transaction.rollback();
+        }
+
+        assertEquals("Committed Author", cachedDAO.getById(id).getAuthorshipName());
+    }
 }
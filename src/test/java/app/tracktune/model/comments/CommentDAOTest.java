@@ -9,7 +9,7 @@ import app.tracktune.model.track.TrackDAO;
 import app.tracktune.model.user.Administrator;
 import app.tracktune.model.user.UserDAO;
 import app.tracktune.model.user.UserStatusEnum;
-import app.tracktune.utils.DBInit;
+import app.tracktune.utils.SchemaMigrator;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
@@ -37,10 +37,7 @@ public class CommentDAOTest {
         Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
         Statement stmt = connection.createStatement();
         stmt.execute("PRAGMA foreign_keys = ON;");
-        String[] ddl = DBInit.getDBInitStatement().split(";");
-        for (String query : ddl) {
-            if (!query.trim().isEmpty()) stmt.execute(query.trim() + ";");
-        }
+        SchemaMigrator.migrate(connection);
 
         DatabaseManager.setTestConnection(connection);
         DatabaseManager db = DatabaseManager.getInstance();
@@ -149,4 +146,90 @@ public class CommentDAOTest {
         assertNotNull(comments);
         assertTrue(comments.size() >= 2);
     }
+
+    /**
+     * Tests retrieving the comment threads of a Resource, with their authors and nested replies.
+     */
+    @Test
+    void testGetThreadsByResource() {
+        Integer parentId = commentDAO.insert(new Comment("Thread Comment", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        Integer replyId = commentDAO.insert(new Comment("Thread Reply", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        Integer nestedId = commentDAO.insert(new Comment("Thread Nested Reply", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        commentDAO.insertReply(parentId, replyId);
+        commentDAO.insertReply(replyId, nestedId);
+
+        List<CommentThread> threads = commentDAO.getThreadsByResource(resourceId);
+        assertTrue(threads.stream().noneMatch(t -> t.getID().equals(replyId) || t.getID().equals(nestedId)));
+
+        CommentThread thread = threads.stream().filter(t -> t.getID().equals(parentId)).findFirst().orElseThrow();
+        assertEquals("Thread Comment", thread.getDescription());
+        assertEquals(userId, thread.getUser().getId());
+        assertInstanceOf(Administrator.class, thread.getUser());
+
+        assertEquals(1, thread.getReplies().size());
+        CommentThread reply = thread.getReplies().getFirst();
+        assertEquals(replyId, reply.getID());
+        assertEquals(1, reply.getReplies().size());
+        assertEquals(nestedId, reply.getReplies().getFirst().getID());
+        assertTrue(reply.getReplies().getFirst().getReplies().isEmpty());
+    }
+
+    /**
+     * Tests deleting a Comment with its nested replies, counting the deleted comments.
+     */
+    @Test
+    void testDeleteThread() {
+        Integer parentId = commentDAO.insert(new Comment("Deleted Thread", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        Integer replyId = commentDAO.insert(new Comment("Deleted Reply", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        Integer nestedId = commentDAO.insert(new Comment("Deleted Nested Reply", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        Integer otherId = commentDAO.insert(new Comment("Kept Comment", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        commentDAO.insertReply(parentId, replyId);
+        commentDAO.insertReply(replyId, nestedId);
+
+        assertEquals(3, commentDAO.deleteThreadById(parentId));
+
+        assertThrows(app.tracktune.exceptions.SQLiteException.class, () -> commentDAO.getById(parentId));
+        assertThrows(app.tracktune.exceptions.SQLiteException.class, () -> commentDAO.getById(replyId));
+        assertThrows(app.tracktune.exceptions.SQLiteException.class, () -> commentDAO.getById(nestedId));
+        assertTrue(commentDAO.getAllReplies(replyId).isEmpty());
+        assertNotNull(commentDAO.getById(otherId));
+        assertEquals(0, commentDAO.deleteThreadById(parentId));
+    }
+
+    /**
+     * Tests finding the comments whose segment overlaps a range or covers a time, through the segment index.
+     */
+    @Test
+    void testGetSegmentComments() {
+        Integer soloId = commentDAO.insert(new Comment("Solo", 130, 150, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        Integer pointId = commentDAO.insert(new Comment("Point", 140, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        Integer movedId = commentDAO.insert(new Comment("Moved", 500, 520, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+        commentDAO.insert(new Comment("Whole Track", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId));
+
+        assertEquals(List.of(soloId, pointId), commentDAO.getSegmentCommentsAt(resourceId, 140).stream().map(Comment::getID).toList());
+        assertEquals(List.of(soloId), commentDAO.getSegmentCommentsOverlapping(resourceId, 100, 135).stream().map(Comment::getID).toList());
+        assertTrue(commentDAO.getSegmentCommentsAt(resourceId, 0).isEmpty());
+        assertTrue(commentDAO.getSegmentCommentsAt(resourceId + 1, 140).isEmpty());
+
+        commentDAO.updateById(new Comment(movedId, "Moved", 120, 135, new Timestamp(System.currentTimeMillis()), userId, resourceId), movedId);
+        assertEquals(List.of(movedId, soloId), commentDAO.getSegmentCommentsOverlapping(resourceId, 100, 135).stream().map(Comment::getID).toList());
+
+        commentDAO.deleteById(soloId);
+        assertEquals(List.of(pointId), commentDAO.getSegmentCommentsAt(resourceId, 140).stream().map(Comment::getID).toList());
+    }
+
+    /**
+     * Tests that the comments indexed by segment in the database are the ones the view indexes by segment.
+     */
+    @Test
+    void testSegmentIndexMatchesOnSegment() {
+        Comment instant = new Comment("Instant", 300, 300, new Timestamp(System.currentTimeMillis()), userId, resourceId);
+        Comment wholeTrack = new Comment("Whole Track", 0, 0, new Timestamp(System.currentTimeMillis()), userId, resourceId);
+        Integer instantId = commentDAO.insert(instant);
+        commentDAO.insert(wholeTrack);
+
+        assertTrue(instant.isOnSegment());
+        assertFalse(wholeTrack.isOnSegment());
+        assertEquals(List.of(instantId), commentDAO.getSegmentCommentsAt(resourceId, 300).stream().map(Comment::getID).toList());
+    }
 }
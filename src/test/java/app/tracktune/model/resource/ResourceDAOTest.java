@@ -1,19 +1,31 @@
 package app.tracktune.model.resource;
 
+import app.tracktune.config.AppConfig;
+import app.tracktune.exceptions.SQLiteException;
+import app.tracktune.utils.BlobStore;
 import app.tracktune.utils.DatabaseManager;
 import app.tracktune.model.track.Track;
 import app.tracktune.model.track.TrackDAO;
 import app.tracktune.model.user.Administrator;
 import app.tracktune.model.user.UserDAO;
 import app.tracktune.model.user.UserStatusEnum;
-import app.tracktune.utils.DBInit;
+import app.tracktune.utils.SchemaMigrator;
+import app.tracktune.utils.Transaction;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,21 +40,20 @@ public class ResourceDAOTest {
 
     /**
      * Initial setup performed once before all tests.
-     * It initializes the database in memory, executes DDL queries, and creates a user and a test trace.
+     * It initializes the database in memory, applies the schema migrations, and creates a user and a test trace.
      */
     @BeforeAll
     void setup() throws Exception {
         Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
         Statement stmt = connection.createStatement();
         stmt.execute("PRAGMA foreign_keys = ON;");
-        String[] ddl = DBInit.getDBInitStatement().split(";");
-        for (String query : ddl) {
-            if (!query.trim().isEmpty()) stmt.execute(query.trim() + ";");
-        }
+
+        SchemaMigrator.migrate(connection);
 
         DatabaseManager.setTestConnection(connection);
         db = DatabaseManager.getInstance();
-        resourceDAO = new ResourceDAO(db);
+        // contents kept inline, as in the databases written before the blob store
+        resourceDAO = new ResourceDAO(db, new BlobStore(Files.createTempDirectory("blobs")), false);
         TrackDAO trackDAO = new TrackDAO(db);
         UserDAO userDAO = new UserDAO(db);
 
@@ -159,6 +170,302 @@ public class ResourceDAOTest {
         assertEquals(2, resources.size());
     }
 
+    /**
+     * Tests that summaries carry the metadata and the data size, but not the binary content.
+     */
+    @Test
+    void testGetAllSummariesByTrackID() {
+        resourceDAO.insert(new Resource(null, ResourceTypeEnum.pdf, new byte[]{1, 2, 3},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId));
+
+        List<ResourceSummary> summaries = resourceDAO.getAllSummariesByTrackID(trackId);
+        assertEquals(1, summaries.size());
+
+        ResourceSummary summary = summaries.getFirst();
+        assertEquals(ResourceTypeEnum.pdf, summary.getType());
+        assertEquals(3, summary.getDataSize());
+        assertEquals(userId, summary.getUserID());
+        assertNull(summary.getData());
+    }
+
+    /**
+     * Tests the on-demand loading of the binary content of a resource.
+     */
+    @Test
+    void testGetDataById() {
+        Integer id = resourceDAO.insert(new Resource(null, ResourceTypeEnum.mp3, new byte[]{4, 5, 6},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId));
+
+        assertArrayEquals(new byte[]{4, 5, 6}, resourceDAO.getDataById(id));
+        assertNull(resourceDAO.getDataById(-1));
+    }
+
+    /**
+     * Tests that a resource larger than one chunk is streamed in and out unchanged.
+     */
+    @Test
+    void testStreamData() throws Exception {
+        byte[] content = new byte[AppConfig.BLOB_CHUNK_SIZE * 2 + 123];
+        new Random(42).nextBytes(content);
+
+        Resource metadata = new Resource(null, ResourceTypeEnum.mp4, null,
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId);
+        Integer id = resourceDAO.insert(metadata, new ByteArrayInputStream(content), content.length);
+
+        assertEquals(content.length, resourceDAO.getDataSize(id));
+        try (InputStream in = resourceDAO.openDataStream(id)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(content.length, resourceDAO.copyDataTo(id, out));
+        assertArrayEquals(content, out.toByteArray());
+        assertEquals(-1, resourceDAO.getDataSize(-1));
+    }
+
+    /**
+     * Tests that in blob store mode a resource larger than one chunk is streamed to its file and back unchanged.
+     */
+    @Test
+    void testStreamDataFromBlobStore(@TempDir Path blobDir) throws Exception {
+        ResourceDAO blobDAO = new ResourceDAO(db, new BlobStore(blobDir), true);
+        byte[] content = new byte[AppConfig.BLOB_CHUNK_SIZE * 2 + 123];
+        new Random(11).nextBytes(content);
+
+        Integer id = blobDAO.insert(new Resource(null, ResourceTypeEnum.mp4, null,
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId),
+                new ByteArrayInputStream(content), content.length);
+
+        assertEquals(content.length, Files.size(blobDAO.getDataPath(id)));
+        assertEquals(content.length, blobDAO.getDataSize(id));
+        try (InputStream in = blobDAO.openDataStream(id)) {
+            long offset = AppConfig.BLOB_CHUNK_SIZE + 9;
+            assertEquals(offset, in.skip(offset));
+            assertArrayEquals(Arrays.copyOfRange(content, (int) offset, content.length), in.readAllBytes());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(content.length, blobDAO.copyDataTo(id, out));
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    /**
+     * Tests loading a range of a content saved inline and of one saved in the blob store.
+     */
+    @Test
+    void testGetDataRange(@TempDir Path blobDir) {
+        byte[] content = new byte[AppConfig.BLOB_CHUNK_SIZE + 321];
+        new Random(5).nextBytes(content);
+        ResourceDAO blobDAO = new ResourceDAO(db, new BlobStore(blobDir), true);
+
+        for (ResourceDAO dao : List.of(resourceDAO, blobDAO)) {
+            Integer id = dao.insert(new Resource(null, ResourceTypeEnum.mp4, null,
+                    new Timestamp(System.currentTimeMillis()), true, false, trackId, userId),
+                    new ByteArrayInputStream(content), content.length);
+
+            int first = AppConfig.BLOB_CHUNK_SIZE - 7;
+            assertArrayEquals(Arrays.copyOfRange(content, first, first + 100), dao.getDataRange(id, first, 100));
+            assertArrayEquals(Arrays.copyOfRange(content, first, content.length), dao.getDataRange(id, first, 1000));
+            assertEquals(0, dao.getDataRange(id, content.length, 10).length);
+        }
+        assertThrows(SQLiteException.class, () -> resourceDAO.getDataRange(-1, 0, 10));
+    }
+
+    /**
+     * Tests that skipping in a streamed resource positions the stream at the right byte.
+     */
+    @Test
+    void testSkipData() throws Exception {
+        byte[] content = new byte[AppConfig.BLOB_CHUNK_SIZE * 3];
+        new Random(7).nextBytes(content);
+        Integer id = resourceDAO.insert(new Resource(null, ResourceTypeEnum.mp4, null,
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId),
+                new ByteArrayInputStream(content), content.length);
+
+        try (InputStream in = resourceDAO.openDataStream(id)) {
+            assertEquals(content[0], (byte) in.read());
+            long offset = AppConfig.BLOB_CHUNK_SIZE * 2L + 5;
+            assertEquals(offset - 1, in.skip(offset - 1));
+            assertEquals(content[(int) offset], (byte) in.read());
+            assertEquals(2, in.skip(2));
+            assertEquals(content[(int) offset + 3], (byte) in.read());
+            assertEquals(content.length - offset - 4, in.skip(Long.MAX_VALUE));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    /**
+     * Tests that updating the metadata of a resource leaves its content untouched.
+     */
+    @Test
+    void testUpdateMetadataById() {
+        Integer id = resourceDAO.insert(new Resource(null, ResourceTypeEnum.pdf, new byte[]{7, 8, 9},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId));
+
+        resourceDAO.updateMetadataById(new Resource(null, ResourceTypeEnum.pdf, null,
+                new Timestamp(System.currentTimeMillis()), false, true, trackId, userId), id);
+
+        Resource fetched = resourceDAO.getMetadataById(id);
+        assertNull(fetched.getData());
+        assertFalse(fetched.isMultimedia());
+        assertTrue(fetched.isAuthor());
+        assertArrayEquals(new byte[]{7, 8, 9}, resourceDAO.getDataById(id));
+    }
+
+    /**
+     * Tests that in blob store mode identical contents are saved once outside the database,
+     * and the file is kept until the unreferenced files are deleted.
+     */
+    @Test
+    void testBlobStoreDeduplication(@TempDir Path blobDir) throws Exception {
+        ResourceDAO blobDAO = new ResourceDAO(db, new BlobStore(blobDir), true);
+        byte[] content = {10, 20, 30, 40};
+
+        Integer first = blobDAO.insert(new Resource(null, ResourceTypeEnum.mp3, content,
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId));
+        Integer second = blobDAO.insert(new Resource(null, ResourceTypeEnum.mp3, null,
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId),
+                new ByteArrayInputStream(content), content.length);
+
+        Path file = blobDAO.getDataPath(first);
+        assertNotNull(file);
+        assertEquals(file, blobDAO.getDataPath(second));
+        assertEquals(content.length, blobDAO.getDataSize(second));
+        assertEquals(content.length, blobDAO.getAllSummariesByTrackID(trackId).getFirst().getDataSize());
+        assertArrayEquals(content, blobDAO.getById(first).getData());
+        try (InputStream in = blobDAO.openDataStream(second)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+
+        blobDAO.deleteById(first);
+        assertEquals(0, blobDAO.deleteUnreferencedData());
+        assertTrue(Files.exists(file));
+        blobDAO.deleteById(second);
+        assertTrue(Files.exists(file));
+        assertEquals(1, blobDAO.deleteUnreferencedData());
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * Tests that the file of a content stays in the blob store when the deletion of its resource is rolled back.
+     */
+    @Test
+    void testBlobStoreDeleteRolledBack(@TempDir Path blobDir) {
+        ResourceDAO blobDAO = new ResourceDAO(db, new BlobStore(blobDir), true);
+        Integer id = blobDAO.insert(new Resource(null, ResourceTypeEnum.mp3, new byte[]{1, 1, 2, 3},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId));
+        Path file = blobDAO.getDataPath(id);
+
+        try (Transaction ignored = db.beginTransaction()) {
+            blobDAO.deleteById(id);
+        }
+
+        assertTrue(Files.exists(file));
+        assertArrayEquals(new byte[]{1, 1, 2, 3}, blobDAO.getDataById(id));
+    }
+
+    /**
+     * Tests that the content version of a resource changes with its content only,
+     * and is the content hash in the blob store.
+     */
+    @Test
+    void testContentVersion(@TempDir Path blobDir) {
+        Resource resource = new Resource(null, ResourceTypeEnum.mp3, new byte[]{1, 2, 3},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId);
+        Integer id = resourceDAO.insert(resource);
+        String version = resourceDAO.getContentVersion(id);
+        assertTrue(version.matches("[0-9a-f]{16}"));
+
+        resourceDAO.updateMetadataById(resource, id);
+        assertEquals(version, resourceDAO.getContentVersion(id));
+        resourceDAO.updateById(new Resource(null, ResourceTypeEnum.mp3, new byte[]{3, 2, 1},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId), id);
+        assertNotEquals(version, resourceDAO.getContentVersion(id));
+
+        ResourceDAO blobDAO = new ResourceDAO(db, new BlobStore(blobDir), true);
+        Integer blobId = blobDAO.insert(resource);
+        assertEquals(blobDAO.getDataPath(blobId).getFileName().toString(), blobDAO.getContentVersion(blobId));
+        assertNull(resourceDAO.getContentVersion(-1));
+    }
+
+    /**
+     * Tests that inline contents are moved to the blob store and stay readable.
+     */
+    @Test
+    void testMoveDataToBlobStore(@TempDir Path blobDir) {
+        Integer id = resourceDAO.insert(new Resource(null, ResourceTypeEnum.pdf, new byte[]{5, 6, 7},
+                new Timestamp(System.currentTimeMillis()), false, false, trackId, userId));
+        assertNull(resourceDAO.getDataPath(id));
+
+        ResourceDAO blobDAO = new ResourceDAO(db, new BlobStore(blobDir), true);
+        assertEquals(1, blobDAO.moveDataToBlobStore());
+        assertEquals(0, blobDAO.moveDataToBlobStore());
+
+        assertNotNull(blobDAO.getDataPath(id));
+        assertEquals(3, blobDAO.getDataSize(id));
+        assertArrayEquals(new byte[]{5, 6, 7}, blobDAO.getDataById(id));
+        assertEquals(0, blobDAO.deleteUnreferencedData());
+    }
+
+    /**
+     * Tests that the thumbnail of a resource is saved, replaced and deleted together with the resource.
+     */
+    @Test
+    void testThumbnail() {
+        Resource resource = new Resource(null, ResourceTypeEnum.png, new byte[]{1, 2, 3},
+                new Timestamp(System.currentTimeMillis()), false, false, trackId, userId);
+        Integer id = resourceDAO.insert(resource);
+        assertNull(resourceDAO.getThumbnailById(id));
+
+        resourceDAO.saveThumbnail(id, new byte[]{4, 5});
+        resourceDAO.saveThumbnail(id, new byte[]{6});
+        assertArrayEquals(new byte[]{6}, resourceDAO.getThumbnailById(id));
+
+        resourceDAO.deleteById(id);
+        assertNull(resourceDAO.getThumbnailById(id));
+    }
+
+    /**
+     * Tests that the thumbnail and the waveform index of a resource are deleted when its content is updated,
+     * and kept when only its metadata is.
+     */
+    @Test
+    void testUpdateDeletesDerivedData() {
+        Resource resource = new Resource(null, ResourceTypeEnum.mp3, new byte[]{1, 2, 3},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId);
+        Integer id = resourceDAO.insert(resource);
+        resourceDAO.saveThumbnail(id, new byte[]{4});
+        resourceDAO.saveWaveform(id, new byte[]{5});
+
+        resourceDAO.updateMetadataById(resource, id);
+        assertArrayEquals(new byte[]{4}, resourceDAO.getThumbnailById(id));
+        assertArrayEquals(new byte[]{5}, resourceDAO.getWaveformById(id));
+
+        resourceDAO.updateById(new Resource(null, ResourceTypeEnum.mp3, new byte[]{9, 9},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId), id);
+        assertNull(resourceDAO.getThumbnailById(id));
+        assertNull(resourceDAO.getWaveformById(id));
+        assertArrayEquals(new byte[]{9, 9}, resourceDAO.getDataById(id));
+    }
+
+    /**
+     * Tests that the waveform index of a resource is replaced when saved again and deleted with the resource.
+     */
+    @Test
+    void testWaveform() {
+        Resource resource = new Resource(null, ResourceTypeEnum.mp3, new byte[]{1, 2, 3},
+                new Timestamp(System.currentTimeMillis()), true, false, trackId, userId);
+        Integer id = resourceDAO.insert(resource);
+        assertNull(resourceDAO.getWaveformById(id));
+
+        resourceDAO.saveWaveform(id, new byte[]{4, 5});
+        resourceDAO.saveWaveform(id, new byte[]{6});
+        assertArrayEquals(new byte[]{6}, resourceDAO.getWaveformById(id));
+
+        resourceDAO.deleteById(id);
+        assertNull(resourceDAO.getWaveformById(id));
+    }
+
     /**
      * Tests the retrieval of all resources commented on by a user.
      * Since no comments are included in the test, it only checks that it does not throw exceptions.
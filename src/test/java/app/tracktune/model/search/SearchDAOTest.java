@@ -0,0 +1,110 @@
+package app.tracktune.model.search;
+
+import app.tracktune.model.author.Author;
+import app.tracktune.model.author.AuthorDAO;
+import app.tracktune.model.author.AuthorStatusEnum;
+import app.tracktune.model.genre.Genre;
+import app.tracktune.model.genre.GenreDAO;
+import app.tracktune.model.track.Track;
+import app.tracktune.model.track.TrackDAO;
+import app.tracktune.model.user.Administrator;
+import app.tracktune.model.user.UserDAO;
+import app.tracktune.model.user.UserStatusEnum;
+import app.tracktune.utils.DatabaseManager;
+import app.tracktune.utils.SchemaMigrator;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link SearchDAO}.
+ * The in-memory database is created with the schema migrations, which also create the full-text search indexes.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SearchDAOTest {
+
+    private DatabaseManager db;
+    private SearchDAO searchDAO;
+    private TrackDAO trackDAO;
+    private AuthorDAO authorDAO;
+    private GenreDAO genreDAO;
+
+    private int userId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        Statement stmt = connection.createStatement();
+        stmt.execute("PRAGMA foreign_keys = ON;");
+        SchemaMigrator.migrate(connection);
+
+        DatabaseManager.setTestConnection(connection);
+        db = DatabaseManager.getInstance();
+        searchDAO = new SearchDAO(db);
+        trackDAO = new TrackDAO(db);
+        authorDAO = new AuthorDAO(db);
+        genreDAO = new GenreDAO(db);
+
+        Administrator testUser = new Administrator("testUser", "passwordHash", "name", "surname", UserStatusEnum.ACTIVE, new Timestamp(System.currentTimeMillis()));
+        userId = new UserDAO(db).insert(testUser);
+    }
+
+    @BeforeEach
+    void clearTables() {
+        db.executeUpdate("DELETE FROM Tracks");
+        db.executeUpdate("DELETE FROM Authors");
+        db.executeUpdate("DELETE FROM Genres");
+    }
+
+    /**
+     * Tests that every typed word is matched as the prefix of a word, ignoring case and accents.
+     */
+    @Test
+    void testPrefixSearch() {
+        Integer trackId = trackDAO.insert(new Track(null, "Café del Mar", new Timestamp(System.currentTimeMillis()), userId));
+        trackDAO.insert(new Track(null, "Mare Nostrum", new Timestamp(System.currentTimeMillis()), userId));
+
+        List<SearchResult> results = searchDAO.search("cafe ma", SearchResultTypeEnum.TRACK, 10);
+        assertEquals(1, results.size());
+        assertEquals(new SearchResult(SearchResultTypeEnum.TRACK, trackId, "Café del Mar"), results.getFirst());
+
+        assertEquals(2, searchDAO.search("MA", SearchResultTypeEnum.TRACK, 10).size());
+        assertTrue(searchDAO.search("  \"*", 10).isEmpty());
+    }
+
+    /**
+     * Tests that the search covers every indexed table and is kept in sync on update and delete.
+     */
+    @Test
+    void testSearchAllKeptInSync() {
+        int authorId = authorDAO.insert(new Author(null, "Rockers", AuthorStatusEnum.ACTIVE));
+        genreDAO.insert(new Genre("Rock", "Loud guitars"));
+
+        List<SearchResult> results = searchDAO.search("rock", 10);
+        assertEquals(2, results.size());
+        assertTrue(results.stream().anyMatch(r -> r.type() == SearchResultTypeEnum.GENRE && r.text().equals("Rock")));
+
+        authorDAO.updateById(new Author(authorId, "Jazzmen", AuthorStatusEnum.ACTIVE), authorId);
+        assertTrue(searchDAO.search("rock", SearchResultTypeEnum.AUTHOR, 10).isEmpty());
+        assertEquals(1, searchDAO.search("jazz", SearchResultTypeEnum.AUTHOR, 10).size());
+
+        authorDAO.deleteById(authorId);
+        assertTrue(searchDAO.search("jazz", 10).isEmpty());
+    }
+
+    /**
+     * Tests the conversion of the typed text into an FTS5 query.
+     */
+    @Test
+    void testToPrefixQuery() {
+        assertEquals("\"night\"* \"so\"*", SearchDAO.toPrefixQuery(" night-so "));
+        assertEquals("\"OR\"*", SearchDAO.toPrefixQuery("\"OR\""));
+        assertEquals("", SearchDAO.toPrefixQuery(null));
+    }
+}
@@ -152,4 +152,20 @@ public class TrackAuthorDAOTest {
         assertEquals(trackId, result.getTrackId());
         assertEquals(authorId3, result.getAuthorId());
     }
+
+    /**
+     * Tests linking a track to several authors at once, skipping the authors already linked.
+     */
+    @Test
+    void testInsertMissing() {
+        trackAuthorDAO.insert(new TrackAuthor(trackId, authorId1));
+
+        List<Integer> ids = trackAuthorDAO.insertMissing(trackId, List.of(authorId1, authorId2, authorId3, authorId2));
+
+        assertEquals(2, ids.size());
+        assertEquals(authorId2, trackAuthorDAO.getById(ids.get(0)).getAuthorId());
+        assertEquals(authorId3, trackAuthorDAO.getById(ids.get(1)).getAuthorId());
+        List<Integer> authorIds = trackAuthorDAO.getByTrackId(trackId).stream().map(TrackAuthor::getAuthorId).sorted().toList();
+        assertEquals(List.of(authorId1, authorId2, authorId3), authorIds);
+    }
 }
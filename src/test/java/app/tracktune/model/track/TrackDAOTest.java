@@ -1,5 +1,7 @@
 package app.tracktune.model.track;
 
+import app.tracktune.model.Page;
+import app.tracktune.model.PageRequest;
 import app.tracktune.utils.DatabaseManager;
 import app.tracktune.model.author.Author;
 import app.tracktune.model.author.AuthorDAO;
@@ -12,7 +14,7 @@ import app.tracktune.model.resource.ResourceTypeEnum;
 import app.tracktune.model.user.Administrator;
 import app.tracktune.model.user.UserDAO;
 import app.tracktune.model.user.UserStatusEnum;
-import app.tracktune.utils.DBInit;
+import app.tracktune.utils.SchemaMigrator;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
@@ -44,10 +46,7 @@ class TrackDAOTest {
         Statement stmt = connection.createStatement();
         stmt.execute("PRAGMA foreign_keys = ON;");
 
-        String[] ddl = DBInit.getDBInitStatement().split(";");
-        for (String query : ddl) {
-            if (!query.trim().isEmpty()) stmt.execute(query.trim() + ";");
-        }
+        SchemaMigrator.migrate(connection);
 
         DatabaseManager.setTestConnection(connection);
         db = DatabaseManager.getInstance();
@@ -204,4 +203,69 @@ class TrackDAOTest {
         assertNotNull(tracks);
         assertTrue(tracks.stream().anyMatch(t -> t.getId().equals(trackId)));
     }
+
+    /**
+     * Tests retrieving the summaries of a page of tracks, with the names of their links and in the requested order.
+     */
+    @Test
+    void testGetSummariesByIds() {
+        Integer first = trackDAO.insert(new Track(null, "First", new Timestamp(System.currentTimeMillis()), userId));
+        Integer second = trackDAO.insert(new Track(null, "Second", new Timestamp(System.currentTimeMillis()), userId));
+        int otherAuthorId = authorDAO.insert(new Author(null, "Other Author", AuthorStatusEnum.ACTIVE));
+
+        trackAuthorDAO.insert(new TrackAuthor(first, authorId));
+        trackAuthorDAO.insert(new TrackAuthor(first, otherAuthorId));
+        trackInstrumentDAO.insert(new TrackInstrument(first, instrumentId));
+
+        List<TrackSummary> summaries = trackDAO.getSummariesByIds(List.of(second, first, -1));
+        assertEquals(2, summaries.size());
+
+        TrackSummary secondSummary = summaries.get(0);
+        assertEquals(second, secondSummary.getId());
+        assertTrue(secondSummary.getAuthorNames().isEmpty());
+        assertTrue(secondSummary.getInstrumentNames().isEmpty());
+
+        TrackSummary firstSummary = summaries.get(1);
+        assertEquals("First", firstSummary.getTitle());
+        assertEquals(List.of("Test Author", "Other Author"), firstSummary.getAuthorNames());
+        assertEquals(List.of("Test Instrument"), firstSummary.getInstrumentNames());
+        assertTrue(firstSummary.getGenreNames().isEmpty());
+
+        assertTrue(trackDAO.getSummariesByIds(List.of()).isEmpty());
+    }
+
+    /**
+     * Tests reading the tracks page by page, following the cursor of each page.
+     */
+    @Test
+    void testGetPage() {
+        Integer first = trackDAO.insert(new Track(null, "Alpha", new Timestamp(System.currentTimeMillis()), userId));
+        Integer second = trackDAO.insert(new Track(null, "Beta", new Timestamp(System.currentTimeMillis()), userId));
+        Integer third = trackDAO.insert(new Track(null, "Gamma", new Timestamp(System.currentTimeMillis()), userId));
+
+        Page<Track> page = trackDAO.getPage(PageRequest.first(2, TrackSortEnum.ID));
+        assertEquals(List.of(first, second), page.items().stream().map(Track::getId).toList());
+        assertTrue(page.hasNext());
+
+        page = trackDAO.getPage(new PageRequest<>(2, TrackSortEnum.ID, page.next()));
+        assertEquals(List.of(third), page.items().stream().map(Track::getId).toList());
+        assertFalse(page.hasNext());
+    }
+
+    /**
+     * Tests reading a page of the tracks matching a filter.
+     */
+    @Test
+    void testGetPageFiltered() {
+        Integer withAuthor = trackDAO.insert(new Track(null, "Night Song", new Timestamp(System.currentTimeMillis()), userId));
+        trackDAO.insert(new Track(null, "Day Song", new Timestamp(System.currentTimeMillis()), userId));
+        trackAuthorDAO.insert(new TrackAuthor(withAuthor, authorId));
+
+        Page<Track> byAuthor = trackDAO.getPageByAuthorId(authorId, PageRequest.first(10, TrackSortEnum.ID));
+        assertEquals(List.of(withAuthor), byAuthor.items().stream().map(Track::getId).toList());
+
+        Page<Track> byTitle = trackDAO.getPageByTitle("song", PageRequest.first(10, TrackSortEnum.ID));
+        assertEquals(2, byTitle.items().size());
+        assertFalse(byTitle.hasNext());
+    }
 }
@@ -1,5 +1,7 @@
 package app.tracktune.model.user;
 
+import app.tracktune.model.Page;
+import app.tracktune.model.PageRequest;
 import app.tracktune.utils.DatabaseManager;
 import app.tracktune.utils.DBInit;
 import org.junit.jupiter.api.*;
@@ -127,4 +129,26 @@ public class PendingUserDAOTest {
         assertEquals("User", fetched.getSurname());
         assertEquals(AuthRequestStatusEnum.CREATED, fetched.getStatus());
     }
+
+    /**
+     * Tests reading the requests with a status page by page, sorted by request date.
+     */
+    @Test
+    @Order(6)
+    void testGetPageByStatus() {
+        DatabaseManager.getInstance().executeUpdate("DELETE FROM PendingUsers");
+        long now = System.currentTimeMillis();
+        pendingUserDAO.insert(new PendingUser("latest", "password", "Latest", "User", new Timestamp(now), AuthRequestStatusEnum.CREATED));
+        pendingUserDAO.insert(new PendingUser("oldest", "password", "Oldest", "User", new Timestamp(now - 2000), AuthRequestStatusEnum.CREATED));
+        pendingUserDAO.insert(new PendingUser("middle", "password", "Middle", "User", new Timestamp(now - 1000), AuthRequestStatusEnum.CREATED));
+        pendingUserDAO.insert(new PendingUser("rejected", "password", "Rejected", "User", new Timestamp(now), AuthRequestStatusEnum.REJECTED));
+
+        Page<PendingUser> page = pendingUserDAO.getPageByStatus(AuthRequestStatusEnum.CREATED, PageRequest.first(2, PendingUserSortEnum.REQUEST_DATE));
+        assertEquals(List.of("oldest", "middle"), page.items().stream().map(PendingUser::getUsername).toList());
+        assertTrue(page.hasNext());
+
+        page = pendingUserDAO.getPageByStatus(AuthRequestStatusEnum.CREATED, new PageRequest<>(2, PendingUserSortEnum.REQUEST_DATE, page.next()));
+        assertEquals(List.of("latest"), page.items().stream().map(PendingUser::getUsername).toList());
+        assertFalse(page.hasNext());
+    }
 }
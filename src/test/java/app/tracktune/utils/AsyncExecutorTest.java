@@ -0,0 +1,58 @@
+package app.tracktune.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AsyncExecutor class.
+ */
+public class AsyncExecutorTest {
+
+    /**
+     * Tests that a task runs on a background thread and completes the future with its result.
+     */
+    @Test
+    void testSupply() throws Exception {
+        CompletableFuture<String> future = AsyncExecutor.supply(() -> Thread.currentThread().getName());
+
+        String threadName = future.get(5, TimeUnit.SECONDS);
+        assertTrue(threadName.startsWith("tracktune-async-"));
+    }
+
+    /**
+     * Tests that the exception thrown by a task completes the future exceptionally.
+     */
+    @Test
+    void testSupplyFailure() {
+        CompletableFuture<Object> future = AsyncExecutor.supply(() -> {
+            throw new IllegalStateException("failure");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    /**
+     * Tests that a task whose future is cancelled before it starts never runs.
+     */
+    @Test
+    void testCancelBeforeStart() {
+        AtomicBoolean ran = new AtomicBoolean(false);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.cancel(false);
+
+        AsyncExecutor.complete(future, () -> {
+            ran.set(true);
+            return null;
+        });
+
+        assertTrue(future.isCancelled());
+        assertFalse(ran.get());
+    }
+}
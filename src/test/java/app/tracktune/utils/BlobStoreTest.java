@@ -0,0 +1,84 @@
+package app.tracktune.utils;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BlobStore class.
+ * Uses a temporary directory as the root of the store.
+ */
+public class BlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+
+    /**
+     * Creates an empty store before each test.
+     */
+    @BeforeEach
+    void setup() {
+        blobStore = new BlobStore(root);
+    }
+
+    /**
+     * Tests that a content is saved under its SHA-256 hash, in a sharded directory.
+     */
+    @Test
+    void testPutAndOpen() throws Exception {
+        String hash = blobStore.put(new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", hash);
+        assertEquals(root.resolve("ba").resolve("78").resolve(hash), blobStore.resolve(hash));
+        assertEquals(3, blobStore.size(hash));
+        try (InputStream in = blobStore.open(hash)) {
+            assertEquals("abc", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Tests that identical contents share the same file and no temporary file is left behind.
+     */
+    @Test
+    void testDeduplication() throws Exception {
+        byte[] content = {1, 2, 3, 4};
+        String first = blobStore.put(new ByteArrayInputStream(content));
+        String second = blobStore.put(new ByteArrayInputStream(content));
+
+        assertEquals(first, second);
+        try (var files = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Tests that only the unreferenced contents are deleted.
+     */
+    @Test
+    void testDeleteAllExcept() throws Exception {
+        String kept = blobStore.put(new ByteArrayInputStream(new byte[]{1}));
+        String removed = blobStore.put(new ByteArrayInputStream(new byte[]{2}));
+
+        assertEquals(1, blobStore.deleteAllExcept(Set.of(kept)));
+        assertTrue(blobStore.exists(kept));
+        assertFalse(blobStore.exists(removed));
+    }
+
+    /**
+     * Tests that a malformed hash cannot be used to reach files outside the store.
+     */
+    @Test
+    void testInvalidHash() {
+        assertThrows(IllegalArgumentException.class, () -> blobStore.resolve("../database.db"));
+    }
+}
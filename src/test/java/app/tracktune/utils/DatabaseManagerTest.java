@@ -0,0 +1,213 @@
+package app.tracktune.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DatabaseManager class.
+ * Uses an in-memory SQLite database to isolate test cases.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DatabaseManagerTest {
+
+    private DatabaseManager dbManager;
+
+    /**
+     * Initializes the in-memory database and runs DDL statements.
+     */
+    @BeforeAll
+    void setup() throws Exception {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON;");
+            String[] ddl = DBInit.getDBInitStatement().split(";");
+            for (String query : ddl) {
+                if (!query.trim().isEmpty()) {
+                    stmt.execute(query.trim() + ";");
+                }
+            }
+        }
+
+        DatabaseManager.setTestConnection(connection);
+        dbManager = DatabaseManager.getInstance();
+    }
+
+    /**
+     * Cleans the genres table before each test to avoid interference.
+     */
+    @BeforeEach
+    void clearTables() {
+        dbManager.executeUpdate("DELETE FROM Genres");
+    }
+
+    /**
+     * Tests that a statement executed twice is compiled only once.
+     */
+    @Test
+    void testStatementCacheHit() {
+        String sql = "SELECT COUNT(*) FROM Genres WHERE name = ?";
+        dbManager.executeQuery(sql, rs -> rs.next() ? rs.getInt(1) : null, "rock");
+
+        long hits = dbManager.getStatementCacheHits();
+        long misses = dbManager.getStatementCacheMisses();
+        Integer count = dbManager.executeQuery(sql, rs -> rs.next() ? rs.getInt(1) : null, "rock");
+
+        assertEquals(0, count);
+        assertEquals(hits + 1, dbManager.getStatementCacheHits());
+        assertEquals(misses, dbManager.getStatementCacheMisses());
+    }
+
+    /**
+     * Tests that a cached statement does not keep the parameters of the previous execution.
+     */
+    @Test
+    void testCachedStatementRebindsParameters() {
+        String insert = "INSERT INTO Genres (name, description) VALUES (?, ?)";
+        assertTrue(dbManager.executeUpdate(insert, "Rock", "Rock music"));
+        assertTrue(dbManager.executeUpdate(insert, "Jazz", "Jazz music"));
+
+        String sql = "SELECT description FROM Genres WHERE name = ?";
+        assertEquals("Rock music", dbManager.executeQuery(sql, rs -> rs.next() ? rs.getString(1) : null, "Rock"));
+        assertEquals("Jazz music", dbManager.executeQuery(sql, rs -> rs.next() ? rs.getString(1) : null, "Jazz"));
+    }
+
+    /**
+     * Tests that a query nested in the processor of the same query does not reuse the open statement.
+     */
+    @Test
+    void testNestedQueryWithSameStatement() {
+        dbManager.executeUpdate("INSERT INTO Genres (name, description) VALUES (?, ?)", "Rock", "Rock music");
+
+        String sql = "SELECT name FROM Genres WHERE name = ?";
+        String result = dbManager.executeQuery(sql, rs -> {
+            rs.next();
+            String inner = dbManager.executeQuery(sql, innerRs -> innerRs.next() ? innerRs.getString(1) : null, "Rock");
+            return rs.getString(1) + inner;
+        }, "Rock");
+
+        assertEquals("RockRock", result);
+    }
+
+    /**
+     * Tests that the statements of a committed transaction are saved, and those of a transaction closed
+     * without committing are not.
+     */
+    @Test
+    void testTransaction() {
+        String insert = "INSERT INTO Genres (name, description) VALUES (?, ?)";
+        try (Transaction transaction = dbManager.beginTransaction()) {
+            assertTrue(dbManager.executeUpdate(insert, "Rock", "Rock music"));
+            assertEquals(1, countGenres());
+            transaction.commit();
+        }
+        try (Transaction transaction = dbManager.beginTransaction()) {
+            assertTrue(dbManager.executeUpdate(insert, "Jazz", "Jazz music"));
+        }
+
+        assertEquals(1, countGenres());
+        assertThrows(IllegalStateException.class, () -> {
+            try (Transaction transaction = dbManager.beginTransaction()) {
+                transaction.commit();
+                transaction.commit();
+            }
+        });
+    }
+
+    /**
+     * Tests that rolling back a nested transaction only undoes its own statements.
+     */
+    @Test
+    void testNestedTransaction() {
+        String insert = "INSERT INTO Genres (name, description) VALUES (?, ?)";
+        try (Transaction transaction = dbManager.beginTransaction()) {
+            assertFalse(transaction.isNested());
+            dbManager.executeUpdate(insert, "Rock", "Rock music");
+            try (Transaction nested = dbManager.beginTransaction()) {
+                assertTrue(nested.isNested());
+                dbManager.executeUpdate(insert, "Jazz", "Jazz music");
+                nested.rollback();
+            }
+            transaction.commit();
+        }
+
+        assertEquals(1, countGenres());
+        assertThrows(IllegalStateException.class, () -> dbManager.executeInTransaction(() -> {
+            dbManager.executeUpdate(insert, "Blues", "Blues music");
+            throw new IllegalStateException();
+        }));
+        assertEquals(1, countGenres());
+    }
+
+    /**
+     * Tests that a batch applies all its statements, or none of them if one fails.
+     */
+    @Test
+    void testBatch() {
+        String insert = "INSERT INTO Genres (name, description) VALUES (?, ?)";
+        assertTrue(dbManager.executeBatch(insert, List.of(
+                new Object[]{"Rock", "Rock music"},
+                new Object[]{"Jazz", "Jazz music"})));
+        assertEquals(2, countGenres());
+
+        assertFalse(dbManager.executeBatch(insert, List.of(
+                new Object[]{"Blues", "Blues music"},
+                new Object[]{"Folk", null})));
+        assertEquals(2, countGenres());
+        assertTrue(dbManager.executeUpdate(insert, "Pop", "Pop music"));
+        assertEquals(3, countGenres());
+    }
+
+    /**
+     * Tests that an insert returns the ID of its own row, also when run inside a transaction.
+     */
+    @Test
+    void testInsertReturnsId() {
+        String insert = "INSERT INTO Genres (name, description) VALUES (?, ?) RETURNING ID";
+        Integer rock = dbManager.executeInsert(insert, "Rock", "Rock music");
+        Integer jazz = dbManager.executeInTransaction(() -> dbManager.executeInsert(insert, "Jazz", "Jazz music"));
+
+        assertNotNull(rock);
+        assertNotNull(jazz);
+        assertNotEquals(rock, jazz);
+        String sql = "SELECT name FROM Genres WHERE ID = ?";
+        assertEquals("Rock", dbManager.executeQuery(sql, rs -> rs.next() ? rs.getString(1) : null, rock));
+        assertEquals("Jazz", dbManager.executeQuery(sql, rs -> rs.next() ? rs.getString(1) : null, jazz));
+        assertNull(dbManager.executeInsert(insert, "Folk", null));
+    }
+
+    /**
+     * Tests that a batch of inserts returns the IDs of all its rows, in order, or none if one fails.
+     */
+    @Test
+    void testInsertBatchReturnsIds() {
+        String insert = "INSERT INTO Genres (name, description) VALUES (?, ?) RETURNING ID";
+        List<Integer> ids = dbManager.executeInsertBatch(insert, List.of(
+                new Object[]{"Rock", "Rock music"},
+                new Object[]{"Jazz", "Jazz music"},
+                new Object[]{"Blues", "Blues music"}));
+
+        assertEquals(3, ids.size());
+        String sql = "SELECT name FROM Genres WHERE ID = ?";
+        assertEquals("Jazz", dbManager.executeQuery(sql, rs -> rs.next() ? rs.getString(1) : null, ids.get(1)));
+
+        assertNull(dbManager.executeInsertBatch(insert, List.of(
+                new Object[]{"Pop", "Pop music"},
+                new Object[]{"Folk", null})));
+        assertEquals(3, countGenres());
+    }
+
+    /**
+     * Counts the saved genres.
+     *
+     * @return the number of rows of the genres table
+     */
+    private int countGenres() {
+        return dbManager.executeQuery("SELECT COUNT(*) FROM Genres", rs -> rs.next() ? rs.getInt(1) : 0);
+    }
+}
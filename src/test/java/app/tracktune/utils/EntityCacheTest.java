@@ -0,0 +1,79 @@
+package app.tracktune.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EntityCache class.
+ */
+public class EntityCacheTest {
+
+    /**
+     * Tests that an entity is loaded once, then served from memory until invalidated.
+     */
+    @Test
+    void testReadThroughAndInvalidate() {
+        EntityCache<String> cache = new EntityCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get(1, id -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get(1, id -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate());
+
+        cache.invalidate(1);
+        assertEquals("v2", cache.get(1, id -> "v" + loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that missing entities are not cached.
+     */
+    @Test
+    void testMissingNotCached() {
+        EntityCache<String> cache = new EntityCache<>(10);
+
+        assertNull(cache.get(1, id -> null));
+        assertEquals("found", cache.get(1, id -> "found"));
+        assertEquals(2, cache.getMisses());
+    }
+
+    /**
+     * Tests that the least recently used entities are evicted once the cache is full.
+     */
+    @Test
+    void testEviction() {
+        EntityCache<Integer> cache = new EntityCache<>(2);
+        cache.get(1, id -> id);
+        cache.get(2, id -> id);
+        cache.get(1, id -> id);
+        cache.get(3, id -> id);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        // 2 was the least recently used one, so it is loaded again
+        assertEquals(3, cache.get(3, id -> -id));
+        assertEquals(1, cache.get(1, id -> -id));
+        assertEquals(-2, cache.get(2, id -> -id));
+    }
+
+    /**
+     * Tests that an entity loaded while it was being written is not kept.
+     */
+    @Test
+    void testInvalidatedWhileLoading() {
+        EntityCache<String> cache = new EntityCache<>(10);
+
+        assertEquals("old", cache.get(1, id -> {
+            cache.invalidate(id);
+            return "old";
+        }));
+        assertEquals("new", cache.get(1, id -> "new"));
+    }
+}
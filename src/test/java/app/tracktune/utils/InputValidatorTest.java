@@ -0,0 +1,41 @@
+package app.tracktune.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the InputValidator class.
+ */
+public class InputValidatorTest {
+
+    /**
+     * Tests that SQL keywords are found as whole words in any case, and SQL comments and separators anywhere.
+     */
+    @Test
+    void testContainsSQL() {
+        assertTrue(InputValidator.containsSQL("DROP TABLE users"));
+        assertTrue(InputValidator.containsSQL("select * from users"));
+        assertTrue(InputValidator.containsSQL("UnIoN"));
+        assertTrue(InputValidator.containsSQL("name'--"));
+        assertTrue(InputValidator.containsSQL("a;b"));
+        // keywords after a line break are found too
+        assertTrue(InputValidator.containsSQL("name\nDELETE"));
+
+        assertFalse(InputValidator.containsSQL("Selection"));
+        assertFalse(InputValidator.containsSQL("dropout"));
+        assertFalse(InputValidator.containsSQL("Guns N' Roses"));
+        assertFalse(InputValidator.containsSQL("A-ha"));
+    }
+
+    /**
+     * Tests that missing and blank texts are invalid, and that a single invalid text is enough.
+     */
+    @Test
+    void testIsInvalid() {
+        assertFalse(InputValidator.isInvalid("John", "Doe"));
+        assertTrue(InputValidator.isInvalid("John", null));
+        assertTrue(InputValidator.isInvalid("John", " "));
+        assertTrue(InputValidator.isInvalid("John", "x; DROP TABLE Users"));
+    }
+}
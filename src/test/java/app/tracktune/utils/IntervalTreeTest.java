@@ -0,0 +1,69 @@
+package app.tracktune.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the IntervalTree class.
+ */
+public class IntervalTreeTest {
+
+    /**
+     * An interval, with a name to tell it apart.
+     */
+    private record Segment(String name, int start, int end) {
+    }
+
+    /**
+     * Tests point and range lookups, bounds included, with results sorted by start.
+     */
+    @Test
+    void testFind() {
+        Segment intro = new Segment("intro", 0, 30);
+        Segment verse = new Segment("verse", 30, 90);
+        Segment solo = new Segment("solo", 130, 150);
+        Segment point = new Segment("point", 140, 0);
+        IntervalTree<Segment> tree = IntervalTree.of(List.of(solo, point, verse, intro), Segment::start, Segment::end);
+
+        assertEquals(4, tree.size());
+        assertEquals(List.of(intro, verse), tree.findAt(30));
+        assertEquals(List.of(verse), tree.findAt(60));
+        assertEquals(List.of(), tree.findAt(100));
+        assertEquals(List.of(solo, point), tree.findAt(140));
+        assertEquals(List.of(verse, solo), tree.findOverlapping(90, 130));
+        assertEquals(List.of(), tree.findOverlapping(151, 200));
+        assertEquals(List.of(), tree.findOverlapping(100, 50));
+        assertEquals(List.of(), IntervalTree.of(List.<Segment>of(), Segment::start, Segment::end).findAt(0));
+    }
+
+    /**
+     * Tests that range lookups find the same intervals as a scan of all of them.
+     */
+    @Test
+    void testMatchesScan() {
+        Random random = new Random(42);
+        List<Segment> segments = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(600);
+            segments.add(new Segment("s" + i, start, start + random.nextInt(60)));
+        }
+        IntervalTree<Segment> tree = IntervalTree.of(segments, Segment::start, Segment::end);
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(700);
+            int to = from + random.nextInt(30);
+            List<Segment> expected = segments.stream()
+                    .filter(s -> s.start() <= to && s.end() >= from)
+                    .sorted((a, b) -> Integer.compare(a.start(), b.start()))
+                    .toList();
+            List<Segment> found = tree.findOverlapping(from, to);
+            assertEquals(expected.size(), found.size());
+            assertTrue(found.containsAll(expected));
+        }
+    }
+}
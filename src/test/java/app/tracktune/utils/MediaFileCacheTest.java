@@ -0,0 +1,117 @@
+package app.tracktune.utils;
+
+import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceTypeEnum;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MediaFileCache class.
+ * Uses a temporary directory as the cache and resources with their content loaded, so no database is needed.
+ */
+public class MediaFileCacheTest {
+
+    @TempDir
+    Path root;
+
+    /**
+     * Tests that a media is written once and the same file is reused afterwards.
+     */
+    @Test
+    void testReuse() throws Exception {
+        MediaFileCache cache = new MediaFileCache(root, 1024);
+        Resource resource = createResource(1, new byte[]{1, 2, 3});
+
+        Path first = cache.get(resource);
+        Path second = cache.get(resource);
+
+        assertEquals(first, second);
+        assertTrue(first.getFileName().toString().matches("1-[0-9a-f]{64}\\.mp4"));
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(first));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getCachedBytes());
+    }
+
+    /**
+     * Tests that the files written in a previous session are found again.
+     */
+    @Test
+    void testReuseAcrossSessions() throws Exception {
+        Path file = new MediaFileCache(root, 1024).get(createResource(1, new byte[]{1, 2, 3}));
+
+        MediaFileCache cache = new MediaFileCache(root, 1024);
+        assertEquals(file, cache.get(createResource(1, new byte[]{1, 2, 3})));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    /**
+     * Tests that a file no longer matching the content of its resource is written again.
+     */
+    @Test
+    void testStaleFile() throws Exception {
+        MediaFileCache cache = new MediaFileCache(root, 1024);
+        Path first = cache.get(createResource(1, new byte[]{1, 2, 3}));
+        Path second = cache.get(createResource(1, new byte[]{4, 5, 6, 7}));
+
+        assertNotEquals(first, second);
+        assertFalse(Files.exists(first));
+        assertEquals(2, cache.getMisses());
+        assertEquals(4, cache.getCachedBytes());
+    }
+
+    /**
+     * Tests that a file is written again when the content of its resource changes without changing size.
+     */
+    @Test
+    void testStaleFileOfSameSize() throws Exception {
+        MediaFileCache cache = new MediaFileCache(root, 1024);
+        Path first = cache.get(createResource(1, new byte[]{1, 2, 3}));
+        Path second = cache.get(createResource(1, new byte[]{3, 2, 1}));
+
+        assertNotEquals(first, second);
+        assertArrayEquals(new byte[]{3, 2, 1}, Files.readAllBytes(second));
+        assertEquals(0, cache.getHits());
+        assertEquals(3, cache.getCachedBytes());
+    }
+
+    /**
+     * Tests that the least recently used files are deleted to keep the cache within its size,
+     * while the file just written is always kept.
+     */
+    @Test
+    void testEviction() throws Exception {
+        MediaFileCache cache = new MediaFileCache(root, 8);
+        Path first = cache.get(createResource(1, new byte[4]));
+        Path second = cache.get(createResource(2, new byte[4]));
+        cache.get(createResource(1, new byte[4]));
+        Path third = cache.get(createResource(3, new byte[4]));
+
+        assertEquals(1, cache.getEvictions());
+        assertTrue(Files.exists(first));
+        assertFalse(Files.exists(second));
+        assertTrue(Files.exists(third));
+
+        Path big = cache.get(createResource(4, new byte[16]));
+        assertTrue(Files.exists(big));
+        assertEquals(16, cache.getCachedBytes());
+    }
+
+    /**
+     * Creates a saved video resource with its content loaded.
+     *
+     * @param id   the ID of the resource
+     * @param data the content of the resource
+     * @return the resource
+     */
+    private Resource createResource(int id, byte[] data) {
+        return new Resource(id, ResourceTypeEnum.mp4, data, new Timestamp(System.currentTimeMillis()), false, false, 1, 1);
+    }
+}
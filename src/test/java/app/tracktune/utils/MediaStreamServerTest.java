@@ -0,0 +1,192 @@
+package app.tracktune.utils;
+
+import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceDAO;
+import app.tracktune.model.resource.ResourceTypeEnum;
+import app.tracktune.model.track.Track;
+import app.tracktune.model.track.TrackDAO;
+import app.tracktune.model.user.Administrator;
+import app.tracktune.model.user.UserDAO;
+import app.tracktune.model.user.UserStatusEnum;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MediaStreamServer class.
+ * The media are saved in an in-memory database and requested through a real HTTP client.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MediaStreamServerTest {
+
+    private MediaStreamServer server;
+
+    /**
+     * Media with the same content, saved inline and in the blob store.
+     */
+    private Resource inlineResource;
+    private Resource blobResource;
+    private byte[] content;
+
+    /**
+     * Initializes the database in memory, saves a media inline and the same one in the blob store, and starts the server.
+     */
+    @BeforeAll
+    void setup() throws Exception {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        Statement stmt = connection.createStatement();
+        stmt.execute("PRAGMA foreign_keys = ON;");
+        SchemaMigrator.migrate(connection);
+        DatabaseManager.setTestConnection(connection);
+        DatabaseManager db = DatabaseManager.getInstance();
+
+        int userId = new UserDAO(db).insert(new Administrator("streamUser", "passwordHash", "name", "surname",
+                UserStatusEnum.ACTIVE, new Timestamp(System.currentTimeMillis())));
+        int trackId = new TrackDAO(db).insert(new Track(null, "Stream Track", new Timestamp(System.currentTimeMillis()), userId));
+
+        content = new byte[3 * 1024 * 1024 + 17];
+        new Random(3).nextBytes(content);
+        BlobStore blobStore = new BlobStore(Files.createTempDirectory("blobs"));
+        ResourceDAO inlineDAO = new ResourceDAO(db, blobStore, false);
+        ResourceDAO blobDAO = new ResourceDAO(db, blobStore, true);
+        Resource resource = new Resource(null, ResourceTypeEnum.mp4, null, new Timestamp(System.currentTimeMillis()), true, false, trackId, userId);
+        inlineResource = inlineDAO.getMetadataById(inlineDAO.insert(resource, new ByteArrayInputStream(content), content.length));
+        blobResource = blobDAO.getMetadataById(blobDAO.insert(resource, new ByteArrayInputStream(content), content.length));
+        assertNull(blobDAO.getDataPath(inlineResource.getId()));
+        assertNotNull(blobDAO.getDataPath(blobResource.getId()));
+
+        server = new MediaStreamServer(blobDAO);
+    }
+
+    /**
+     * Stops the server.
+     */
+    @AfterAll
+    void tearDown() {
+        server.stop();
+    }
+
+    /**
+     * Tests that the whole content is served on the loopback interface, whether inline or in the blob store.
+     */
+    @Test
+    void testGetAll() throws Exception {
+        for (Resource resource : List.of(inlineResource, blobResource)) {
+            URI uri = server.getUri(resource);
+            assertTrue(InetAddress.getByName(uri.getHost()).isLoopbackAddress());
+
+            HttpURLConnection connection = send(uri, null);
+            assertEquals(200, connection.getResponseCode());
+            assertEquals("video/mp4", connection.getHeaderField("Content-Type"));
+            assertEquals("bytes", connection.getHeaderField("Accept-Ranges"));
+            assertArrayEquals(content, readBody(connection));
+        }
+    }
+
+    /**
+     * Tests that a range of an inline content is served, e.g. when the player seeks.
+     */
+    @Test
+    void testGetRange() throws Exception {
+        assertRangesServed(inlineResource);
+    }
+
+    /**
+     * Tests that a range of a content in the blob store is served from its file.
+     */
+    @Test
+    void testGetBlobStoreRange() throws Exception {
+        assertRangesServed(blobResource);
+    }
+
+    /**
+     * Requests some ranges of the content of a media and checks the responses.
+     *
+     * @param resource the media
+     */
+    private void assertRangesServed(Resource resource) throws Exception {
+        URI uri = server.getUri(resource);
+        int first = 2 * 1024 * 1024 + 5;
+
+        HttpURLConnection connection = send(uri, "bytes=" + first + "-" + (first + 99));
+        assertEquals(206, connection.getResponseCode());
+        assertEquals("bytes " + first + "-" + (first + 99) + "/" + content.length, connection.getHeaderField("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, first, first + 100), readBody(connection));
+
+        connection = send(uri, "bytes=-10");
+        assertArrayEquals(Arrays.copyOfRange(content, content.length - 10, content.length), readBody(connection));
+
+        assertEquals(416, send(uri, "bytes=" + content.length + "-").getResponseCode());
+    }
+
+    /**
+     * Tests that paths without the token of the server or of missing resources, also beyond the range of the IDs, are not served.
+     */
+    @Test
+    void testNotFound() throws Exception {
+        URI uri = server.getUri(inlineResource);
+        String path = uri.getPath();
+        String tokenPath = path.substring(0, path.lastIndexOf('/'));
+
+        assertEquals(404, send(uri.resolve("/0123/" + inlineResource.getId() + ".mp4"), null).getResponseCode());
+        assertEquals(404, send(uri.resolve(tokenPath + "/999999.mp4"), null).getResponseCode());
+        assertEquals(404, send(uri.resolve(tokenPath + "/99999999999999999999.mp4"), null).getResponseCode());
+    }
+
+    /**
+     * Tests the parsing of the ranges.
+     */
+    @Test
+    void testParseRange() {
+        assertArrayEquals(new long[]{0, 99}, MediaStreamServer.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[]{500, 999}, MediaStreamServer.parseRange("bytes=500-", 1000));
+        assertArrayEquals(new long[]{900, 999}, MediaStreamServer.parseRange("bytes=900-5000", 1000));
+        assertArrayEquals(new long[]{0, 999}, MediaStreamServer.parseRange("bytes=-5000", 1000));
+        assertNull(MediaStreamServer.parseRange("bytes=1000-", 1000));
+        assertNull(MediaStreamServer.parseRange("bytes=5-1", 1000));
+        assertNull(MediaStreamServer.parseRange("bytes=0-1,5-6", 1000));
+        assertNull(MediaStreamServer.parseRange("bytes=-", 1000));
+    }
+
+    /**
+     * Sends a GET request.
+     *
+     * @param uri   the URI of the media
+     * @param range the value of the Range header, null for the whole content
+     * @return the connection, with the response
+     */
+    private HttpURLConnection send(URI uri, String range) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+        if (range != null) {
+            connection.setRequestProperty("Range", range);
+        }
+        connection.connect();
+        return connection;
+    }
+
+    /**
+     * Reads the body of a response.
+     *
+     * @param connection the connection
+     * @return the bytes of the body
+     */
+    private byte[] readBody(HttpURLConnection connection) throws Exception {
+        try (InputStream in = connection.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package app.tracktune.utils;
+
+import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceTypeEnum;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PdfRenderService class.
+ * The PDF documents are created in memory, so no database is needed.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PdfRenderServiceTest {
+
+    private static final float DPI = 36;
+
+    private byte[] pdf;
+
+    /**
+     * Creates a PDF document of three blank pages.
+     */
+    @BeforeAll
+    void setup() throws Exception {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            for (int i = 0; i < 3; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(output);
+            pdf = output.toByteArray();
+        }
+    }
+
+    /**
+     * Tests that the pages of an open document are rendered on demand and served from the cache afterwards.
+     */
+    @Test
+    void testOpenDocumentCached() throws Exception {
+        PdfRenderService service = new PdfRenderService(64L * 1024 * 1024);
+        Resource resource = createResource(1);
+
+        try (PdfRenderService.OpenDocument document = service.open(resource)) {
+            assertEquals(3, document.getPageCount());
+            assertEquals(792.0 / 612.0, document.getPageAspectRatio(0), 0.001);
+
+            document.renderPage(2, DPI);
+            assertEquals(1, service.getMisses());
+            document.renderPage(2, DPI);
+            assertEquals(1, service.getHits());
+        }
+
+        assertNotNull(service.renderPage(resource, 2, DPI));
+        assertEquals(1, service.getMisses());
+        assertEquals(2, service.getHits());
+
+        service.renderPage(resource, 2, DPI * 2);
+        assertEquals(2, service.getMisses());
+    }
+
+    /**
+     * Tests that a closed document still serves the cached pages but cannot render the others.
+     */
+    @Test
+    void testClosedDocument() throws Exception {
+        PdfRenderService service = new PdfRenderService(64L * 1024 * 1024);
+
+        PdfRenderService.OpenDocument document = service.open(createResource(2));
+        document.renderPage(0, DPI);
+        document.close();
+
+        assertNotNull(document.renderPage(0, DPI));
+        assertThrows(IOException.class, () -> document.renderPage(1, DPI));
+    }
+
+    /**
+     * Tests that the least recently used pages are evicted to keep the cache within its size.
+     */
+    @Test
+    void testEviction() throws Exception {
+        Resource resource = createResource(3);
+        BufferedImage page = new PdfRenderService(0).renderPage(resource, 0, DPI);
+        long pageBytes = (long) page.getWidth() * page.getHeight() * 4;
+
+        PdfRenderService service = new PdfRenderService(pageBytes * 2);
+        service.renderPage(resource, 0, DPI);
+        service.renderPage(resource, 1, DPI);
+        service.renderPage(resource, 0, DPI);
+        service.renderPage(resource, 2, DPI);
+
+        assertEquals(1, service.getEvictions());
+        assertEquals(pageBytes * 2, service.getCachedBytes());
+
+        service.renderPage(resource, 0, DPI);
+        assertEquals(2, service.getHits());
+        service.renderPage(resource, 1, DPI);
+        assertEquals(4, service.getMisses());
+    }
+
+    /**
+     * Tests that the pages rendered from a replaced content are not served for the new content.
+     */
+    @Test
+    void testReplacedContent() throws Exception {
+        PdfRenderService service = new PdfRenderService(64L * 1024 * 1024);
+        service.renderPage(createResource(4), 0, DPI);
+
+        byte[] replaced;
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.save(output);
+            replaced = output.toByteArray();
+        }
+        Resource updated = new Resource(4, ResourceTypeEnum.pdf, replaced, new Timestamp(System.currentTimeMillis()), false, false, 1, 1);
+
+        BufferedImage page = service.renderPage(updated, 0, DPI);
+        assertEquals(2, service.getMisses());
+        assertEquals(0, service.getHits());
+        assertEquals(Math.round(PDRectangle.A4.getWidth() * DPI / 72), page.getWidth(), 1);
+    }
+
+    /**
+     * Creates a saved PDF resource with its content loaded.
+     *
+     * @param id the ID of the resource
+     * @return the resource
+     */
+    private Resource createResource(int id) {
+        return new Resource(id, ResourceTypeEnum.pdf, pdf, new Timestamp(System.currentTimeMillis()), false, false, 1, 1);
+    }
+}
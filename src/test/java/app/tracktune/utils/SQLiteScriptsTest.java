@@ -1,8 +1,11 @@
 package app.tracktune.utils;
 
 import app.tracktune.exceptions.SQLiteException;
+import app.tracktune.model.comments.Comment;
+import app.tracktune.model.comments.CommentDAO;
 import app.tracktune.model.resource.Resource;
 import app.tracktune.model.resource.ResourceDAO;
+import app.tracktune.model.resource.ResourceSummary;
 import app.tracktune.model.resource.ResourceTypeEnum;
 import app.tracktune.model.track.Track;
 import app.tracktune.model.track.TrackDAO;
@@ -10,7 +13,9 @@ import app.tracktune.model.user.Administrator;
 import app.tracktune.model.user.UserDAO;
 import app.tracktune.model.user.UserStatusEnum;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -35,20 +40,15 @@ public class SQLiteScriptsTest {
     private int trackId;
 
     /**
-     * Initializes the in-memory database, runs DDL statements, and inserts test data.
+     * Initializes the in-memory database, applies the schema migrations, and inserts test data.
      */
     @BeforeAll
     void setup() throws Exception {
         Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
         try (Statement stmt = connection.createStatement()) {
             stmt.execute("PRAGMA foreign_keys = ON;");
-            String[] ddl = DBInit.getDBInitStatement().split(";");
-            for (String query : ddl) {
-                if (!query.trim().isEmpty()) {
-                    stmt.execute(query.trim() + ";");
-                }
-            }
         }
+        SchemaMigrator.migrate(connection);
 
         DatabaseManager.setTestConnection(connection);
         dbManager = DatabaseManager.getInstance();
@@ -178,7 +178,7 @@ public class SQLiteScriptsTest {
         resourceDAO.insert(resource3);
 
         // Get most recent resources
-        List<Resource> recentResources = SQLiteScripts.getMostRecentResources(dbManager);
+        List<ResourceSummary> recentResources = SQLiteScripts.getMostRecentResources(dbManager);
 
         // Verify results
         assertNotNull(recentResources);
@@ -223,7 +223,7 @@ public class SQLiteScriptsTest {
         resourceDAO.insert(resource);
 
         // Get most popular resources
-        List<Resource> popularResources = SQLiteScripts.getMostPopularResources(dbManager);
+        List<ResourceSummary> popularResources = SQLiteScripts.getMostPopularResources(dbManager);
 
         // Verify results
         assertNotNull(popularResources);
@@ -243,10 +243,35 @@ public class SQLiteScriptsTest {
         // This test would require setting up comments in the database
         // For simplicity, we'll just verify the method doesn't throw exceptions
 
-        List<Resource> commentedResources = SQLiteScripts.getMostCommentedResources(dbManager);
+        List<ResourceSummary> commentedResources = SQLiteScripts.getMostCommentedResources(dbManager);
 
         // Verify results
         assertNotNull(commentedResources);
         // The list might be empty if no comments exist
     }
+
+    /**
+     * Tests that the most commented resources report the size of the contents saved in the blob store.
+     */
+    @Test
+    void testGetMostCommentedResources_BlobStoreSize(@TempDir Path blobDir) {
+        ResourceDAO blobDAO = new ResourceDAO(dbManager, new BlobStore(blobDir), true);
+        CommentDAO commentDAO = new CommentDAO(dbManager);
+        byte[] data = "Blob store data".getBytes();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        int resourceId = blobDAO.insert(new Resource(
+                ResourceTypeEnum.pdf, data, now,
+                false, false, trackId, userId
+        ));
+        for (int i = 0; i < 10; i++) {
+            commentDAO.insert(new Comment("Comment " + i, now, userId, resourceId));
+        }
+
+        ResourceSummary summary = SQLiteScripts.getMostCommentedResources(dbManager).stream()
+                .filter(r -> r.getId() == resourceId)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(data.length, summary.getDataSize());
+    }
 }
@@ -0,0 +1,106 @@
+package app.tracktune.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SchemaMigrator class.
+ * Each test migrates a new in-memory SQLite database.
+ */
+public class SchemaMigratorTest {
+
+    private Connection connection;
+
+    /**
+     * Opens an empty in-memory database before each test.
+     */
+    @BeforeEach
+    void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+    }
+
+    /**
+     * Closes the database after each test.
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    /**
+     * Tests that a new database goes through every migration, and that they are not applied again.
+     */
+    @Test
+    void testMigrateNewDatabase() throws Exception {
+        assertEquals(0, SchemaMigrator.getVersion(connection));
+
+        assertEquals(SchemaMigrator.getLatestVersion(), SchemaMigrator.migrate(connection));
+        assertEquals(SchemaMigrator.getLatestVersion(), SchemaMigrator.getVersion(connection));
+        assertTrue(indexExists("idx_resources_track"));
+        assertTrue(indexExists("idx_tracks_authors_author"));
+
+        assertEquals(0, SchemaMigrator.migrate(connection));
+    }
+
+    /**
+     * Tests that a database created before versioning, without the blob store and content version columns, is brought up to date.
+     */
+    @Test
+    void testMigrateUnversionedDatabase() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                CREATE TABLE Resources (
+                    ID INTEGER PRIMARY KEY AUTOINCREMENT,
+                    type TEXT NOT NULL,
+                    data BLOB NOT NULL,
+                    creationDate TIMESTAMP NOT NULL,
+                    isMultimedia INTEGER NOT NULL,
+                    trackID INTEGER,
+                    userID INTEGER
+                )
+            """);
+        }
+
+        SchemaMigrator.migrate(connection);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT contentHash, contentSize, contentVersion FROM Resources")) {
+            assertFalse(rs.next());
+        }
+        assertTrue(indexExists("idx_resources_content_hash"));
+    }
+
+    /**
+     * Tests that the filters on the foreign keys use the new indexes instead of scanning the table.
+     */
+    @Test
+    void testQueryPlanUsesIndex() throws Exception {
+        SchemaMigrator.migrate(connection);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN QUERY PLAN SELECT ID FROM Comments WHERE resourceID = 1")) {
+            assertTrue(rs.next());
+            assertTrue(rs.getString("detail").contains("idx_comments_resource"));
+        }
+    }
+
+    /**
+     * Tells if an index exists in the database.
+     *
+     * @param name the name of the index
+     * @return true if the index exists
+     */
+    private boolean indexExists(String name) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = '" + name + "'")) {
+            return rs.next();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package app.tracktune.utils;
+
+import app.tracktune.config.AppConfig;
+import app.tracktune.model.resource.Resource;
+import app.tracktune.model.resource.ResourceTypeEnum;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the generation of thumbnails by the ThumbnailStore class.
+ * The resource contents are created in memory, so no database is needed.
+ */
+public class ThumbnailStoreTest {
+
+    /**
+     * Tests that an image is scaled to fit the thumbnail size, keeping its aspect ratio.
+     */
+    @Test
+    void testCreateImageThumbnail() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_ARGB), "png", output);
+
+        BufferedImage thumbnail = decode(ThumbnailStore.create(createResource(ResourceTypeEnum.png, output.toByteArray())));
+        assertEquals(AppConfig.THUMBNAIL_SIZE, thumbnail.getWidth());
+        assertEquals(AppConfig.THUMBNAIL_SIZE / 2, thumbnail.getHeight());
+    }
+
+    /**
+     * Tests that the thumbnail of a PDF document shows its first page.
+     */
+    @Test
+    void testCreatePdfThumbnail() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage());
+            document.save(output);
+        }
+
+        BufferedImage thumbnail = decode(ThumbnailStore.create(createResource(ResourceTypeEnum.pdf, output.toByteArray())));
+        assertTrue(thumbnail.getHeight() > thumbnail.getWidth());
+        assertTrue(thumbnail.getHeight() <= AppConfig.THUMBNAIL_SIZE);
+    }
+
+    /**
+     * Tests that no thumbnail is created for a content that is not an image.
+     */
+    @Test
+    void testCreateUndecodable() throws Exception {
+        assertNull(ThumbnailStore.create(createResource(ResourceTypeEnum.png, new byte[]{1, 2, 3})));
+        assertTrue(ThumbnailStore.isSupported(ResourceTypeEnum.jpg));
+        assertFalse(ThumbnailStore.isSupported(ResourceTypeEnum.mp3));
+    }
+
+    /**
+     * Creates a resource with its content loaded.
+     *
+     * @param type the type of the resource
+     * @param data the content of the resource
+     * @return the resource
+     */
+    private Resource createResource(ResourceTypeEnum type, byte[] data) {
+        return new Resource(1, type, data, new Timestamp(System.currentTimeMillis()), false, false, 1, 1);
+    }
+
+    /**
+     * Decodes a thumbnail.
+     *
+     * @param thumbnail the thumbnail bytes
+     * @return the decoded image
+     */
+    private BufferedImage decode(byte[] thumbnail) throws Exception {
+        assertNotNull(thumbnail);
+        return ImageIO.read(new ByteArrayInputStream(thumbnail));
+    }
+}
@@ -0,0 +1,77 @@
+package app.tracktune.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the WaveformIndex class and the collection of the peaks by the WaveformStore class.
+ */
+public class WaveformIndexTest {
+
+    /**
+     * Tests that the coarser levels merge pairs of buckets of the finer ones, down to a few hundred buckets.
+     */
+    @Test
+    void testLevels() {
+        byte[] mins = new byte[1000];
+        byte[] maxs = new byte[1000];
+        for (int i = 0; i < mins.length; i++) {
+            mins[i] = (byte) -(i % 100);
+            maxs[i] = (byte) (i % 100);
+        }
+        WaveformIndex index = WaveformIndex.fromPeaks(44100, 1024, mins, maxs);
+
+        assertEquals(3, index.getLevelCount());
+        assertEquals(1000, index.getBucketCount(0));
+        assertEquals(500, index.getBucketCount(1));
+        assertEquals(250, index.getBucketCount(2));
+        assertEquals(-99, index.getMin(2, 24));
+        assertEquals(99, index.getMax(2, 24));
+        assertEquals(1000 * 1024 / 44100.0, index.getDuration(), 0.0001);
+
+        assertEquals(2, index.selectLevel(200));
+        assertEquals(1, index.selectLevel(400));
+        assertEquals(0, index.selectLevel(800));
+        assertEquals(0, index.selectLevel(5000));
+    }
+
+    /**
+     * Tests that an index is read back unchanged, and that invalid data is rejected.
+     */
+    @Test
+    void testSerialization() throws Exception {
+        WaveformIndex index = WaveformIndex.fromPeaks(22050, 512, new byte[]{-5, -10, 0}, new byte[]{5, 10, 1});
+        WaveformIndex read = WaveformIndex.fromBytes(index.toBytes());
+
+        assertEquals(index.getLevelCount(), read.getLevelCount());
+        assertEquals(index.getDuration(), read.getDuration());
+        for (int bucket = 0; bucket < 3; bucket++) {
+            assertEquals(index.getMin(0, bucket), read.getMin(0, bucket));
+            assertEquals(index.getMax(0, bucket), read.getMax(0, bucket));
+        }
+        assertThrows(IOException.class, () -> WaveformIndex.fromBytes(new byte[]{9, 0, 0}));
+    }
+
+    /**
+     * Tests that the samples are summarized in buckets, the last partial bucket included.
+     */
+    @Test
+    void testPeakBuilder() {
+        WaveformStore.PeakBuilder peaks = new WaveformStore.PeakBuilder(4);
+        for (int sample : new int[]{0, 256, -512, 1024, 32767, -32768, 0, 0, 2560}) {
+            peaks.add(sample);
+        }
+        WaveformIndex index = peaks.build(8000);
+
+        assertEquals(3, index.getBucketCount(0));
+        assertEquals(-2, index.getMin(0, 0));
+        assertEquals(4, index.getMax(0, 0));
+        assertEquals(-128, index.getMin(0, 1));
+        assertEquals(127, index.getMax(0, 1));
+        assertEquals(10, index.getMin(0, 2));
+        assertEquals(10, index.getMax(0, 2));
+    }
+}